@@ -0,0 +1,383 @@
+import java.awt.Color;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import reversi.benchmarks.Harness;
+
+/**
+ * Class:       BenchmarkHarness
+ * Category:    Benchmarks
+ * Implements:  Harness
+ * Summary:     This class implements the benchmarked operations on a game of Reversi for the JMH benchmarks, from
+ *              the default package such that it can use the game's classes. The session is saved & loaded in
+ *              the .rvsi format by a SessionFile, as Reversi saves & loads it.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class BenchmarkHarness implements Harness
+{
+    // The seed for the random moves played to set up the position.
+    private static final long SEED = 2021;
+
+    // The share of the squares filled in the position set up.
+    private static final double FILLED_SHARE = 0.4;
+
+    // The session, its current game & board.
+    private Session session;
+    private Game game;
+    private Board board;
+
+    // The legal moves of the player to move, & the index of the next to be made.
+    private int[] moves;
+    private int moveCount;
+    private int nextMove;
+
+    // The buffer for the square indices returned by queries.
+    private int[] buffer;
+
+    // The move made on each recorded turn, or -1 for a pass.
+    private final int[] turnMoves = new int[TURN_COUNT];
+
+    // The state of the game in the position set up, from which it is restored after the recorded turns.
+    private LocalDateTime startDate;
+    private int turnCount;
+    private int passCount;
+    private int setUpMoveCount;
+    private byte[] turnRecord;
+    private int undoCount;
+
+    // The pattern evaluator, with weights which are all zero, as the time taken doesn't depend on them.
+    private final PatternEvaluator evaluator = new PatternEvaluator();
+
+    /**
+     * (1) Constructor of BenchmarkHarness objects
+     */
+    public BenchmarkHarness()
+    {
+    }
+
+    /**
+     * Set up a session with a game part way through, on a board of a
+     * given size with a given number of players.
+     *
+     * @param   boardSize       The board size.
+     * @param   playerCount     The number of players.
+     */
+    @Override
+    public void setUp(int boardSize, int playerCount)
+    {
+        // Create the players & the session.
+        Player[] players = new Player[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            players[i] = new Player("Player " + (i + 1), "Color " + (i + 1), new Color(i * 0x3F, i * 0x3F, i * 0x3F));
+            players[i].setID(i + 1);
+        }
+
+        session = new Session(players);
+        session.createGame(boardSize);
+        moves = new int[boardSize * boardSize];
+        buffer = new int[boardSize * boardSize];
+        setUpGame(session.getCurrentGame());
+    }
+
+    /**
+     * Set the game back to the position set up, in a new game of the
+     * same size with the same players, & record the turns played on
+     * from it by playTurns.
+     */
+    @Override
+    public void resetGame()
+    {
+        setUpGame(new Game(game.getPlayers(), game.getBoardSize()));
+    }
+
+    /**
+     * Play the seeded random moves which set up the position in a given
+     * new game, & make it the game benchmarked.
+     *
+     * @param   game    The new game.
+     */
+    private void setUpGame(Game game)
+    {
+        this.game = game;
+        board = game.getBoard();
+
+        // Play seeded random moves until the share of the squares is filled, passing where needed.
+        Random random = new Random(SEED);
+        int filledCount = (int) (FILLED_SHARE * board.getSize() * board.getSize());
+        while (!game.isFinished() && getFilledCount() < filledCount) {
+            int pid = game.getCurrentPlayer().getID();
+            int legalMoveCount = board.getLegalMoves(pid, moves);
+
+            if (legalMoveCount > 0) {
+                try {
+                    board.makeMove(moves[random.nextInt(legalMoveCount)], pid);
+                }
+                catch (IllegalMoveException ex) {
+                    throw new IllegalStateException("Illegal move generated by board", ex);
+                }
+            }
+            game.nextTurn();
+        }
+
+        moveCount = board.getLegalMoves(game.getCurrentPlayer().getID(), moves);
+        nextMove = 0;
+
+        // Keep the state the game is restored to.
+        startDate = game.getStartDate();
+        turnCount = game.getTurnCount();
+        passCount = game.getPassCount();
+        setUpMoveCount = game.getMoveCount();
+        turnRecord = game.getTurnRecord();
+        undoCount = board.getUndoCount();
+
+        // Record the turns played on from the position, making the first legal move of each player or passing.
+        for (int turn = 0; turn < TURN_COUNT; turn++) {
+            if (game.isFinished()) {
+                throw new IllegalStateException("Game finished before the recorded turns");
+            }
+
+            int pid = game.getCurrentPlayer().getID();
+            turnMoves[turn] = (board.getLegalMoves(pid, buffer) > 0) ? buffer[0] : -1;
+            if (turnMoves[turn] >= 0) {
+                try {
+                    board.makeMove(turnMoves[turn], pid);
+                }
+                catch (IllegalMoveException ex) {
+                    throw new IllegalStateException("Illegal move generated by board", ex);
+                }
+            }
+            game.nextTurn();
+        }
+        restoreGame();
+    }
+
+    /**
+     * Count the legal moves of the player to move.
+     *
+     * @return      The number of legal moves.
+     */
+    @Override
+    public int countLegalMoves()
+    {
+        return board.getLegalMoveCount(board.getTurn());
+    }
+
+    /**
+     * Make the next of the legal moves of the player to move in turn,
+     * then take it back.
+     *
+     * @return      The score of the player after the move.
+     */
+    @Override
+    public int makeMove()
+    {
+        int move = getNextMove();
+        if (move < 0) {
+            return 0;
+        }
+
+        int pid = board.getTurn();
+
+        try {
+            UndoRecord record = board.makeMove(move, pid);
+            int score = board.getScore(pid);
+            board.unmakeMove(record);
+
+            return score;
+        }
+        catch (IllegalMoveException ex) {
+            throw new IllegalStateException("Illegal move generated by board", ex);
+        }
+    }
+
+    /**
+     * Return the set of legal moves of the player to move.
+     *
+     * @return      The set of legal moves.
+     */
+    @Override
+    public Object getLegalMoves()
+    {
+        return board.getLegalMoves(board.getTurn());
+    }
+
+    /**
+     * Write the legal moves of the player to move into a buffer, as
+     * square indices.
+     *
+     * @return      The number of legal moves.
+     */
+    @Override
+    public int getLegalMoveIndices()
+    {
+        return board.getLegalMoves(board.getTurn(), buffer);
+    }
+
+    /**
+     * Return the set of squares flanked by the next of the legal moves
+     * of the player to move in turn.
+     *
+     * @return      The set of flanked squares.
+     */
+    @Override
+    public Object getFlankedSquares()
+    {
+        int move = getNextMove();
+        int size = board.getSize();
+
+        return (move < 0) ? null : board.getFlankedSquares(board.getSquares()[move / size][move % size], board.getTurn());
+    }
+
+    /**
+     * Write the squares flanked by the next of the legal moves of the
+     * player to move in turn into a buffer, as square indices.
+     *
+     * @return      The number of flanked squares.
+     */
+    @Override
+    public int getFlankedSquareIndices()
+    {
+        int move = getNextMove();
+
+        return (move < 0) ? 0 : board.getFlankedSquares(move, board.getTurn(), buffer);
+    }
+
+    /**
+     * Evaluate the position for the player to move with the pattern
+     * evaluator, on the standard board.
+     *
+     * @param   counted     True if the legal moves are counted by the
+     *                      board, as in a search, else false if they are
+     *                      found from the disk masks.
+     * @return              The evaluation.
+     */
+    @Override
+    public int evaluate(boolean counted)
+    {
+        int pid = board.getTurn(), opponent = board.getPlayerCount() + 1 - pid;
+        long player = board.getDiskMask(pid), opponentDisks = board.getDiskMask(opponent);
+
+        if (counted) {
+            return evaluator.evaluate(player, opponentDisks, board.getLegalMoveCount(pid) - board.getLegalMoveCount(opponent));
+        }
+
+        return evaluator.evaluate(player, opponentDisks);
+    }
+
+    /**
+     * Play the recorded turns from the position set up, making each move
+     * or passing & moving the game to the next turn, then set the game
+     * back to the position by taking the moves back.
+     *
+     * @return      The number of moves played in the game after the
+     *              turns.
+     */
+    @Override
+    public int playTurns()
+    {
+        for (int move : turnMoves) {
+            if (move >= 0) {
+                try {
+                    board.makeMove(move, board.getTurn());
+                }
+                catch (IllegalMoveException ex) {
+                    throw new IllegalStateException("Illegal move generated by board", ex);
+                }
+            }
+            game.nextTurn();
+        }
+
+        int playedMoveCount = game.getMoveCount();
+        restoreGame();
+
+        return playedMoveCount;
+    }
+
+    /**
+     * Serialize the session, as it is saved.
+     *
+     * @return      The serialized session.
+     *
+     * @throws      IOException
+     */
+    @Override
+    public byte[] serializeSession() throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SessionFile.write(session, Channels.newChannel(bytes));
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Deserialize a given serialized session, as it is loaded.
+     *
+     * @param   data    The serialized session.
+     * @return          The session.
+     *
+     * @throws          IOException
+     */
+    @Override
+    public Object deserializeSession(byte[] data) throws IOException
+    {
+        try {
+            return SessionFile.read(Channels.newChannel(new ByteArrayInputStream(data)));
+        }
+        catch (CorruptedSessionException ex) {
+            throw new IOException("Saved session could not be read", ex);
+        }
+    }
+
+    /**
+     * Return the next of the legal moves of the player to move in turn.
+     *
+     * @return      The square index of the move, or -1 if there are no
+     *              legal moves.
+     */
+    private int getNextMove()
+    {
+        if (moveCount == 0) {
+            return -1;
+        }
+
+        int move = moves[nextMove];
+        nextMove = (nextMove + 1) % moveCount;
+
+        return move;
+    }
+
+    /**
+     * Take back the moves made since the position was set up, & restore
+     * the game to its state in the position, as a saved game is restored.
+     */
+    private void restoreGame()
+    {
+        while (board.getUndoCount() > undoCount) {
+            board.unmakeMove(board.getUndoRecord(board.getUndoCount() - 1));
+        }
+
+        game = new Game(game.getPlayers(), board, startDate, turnCount, passCount, setUpMoveCount, false, null, turnRecord);
+    }
+
+    /**
+     * Return the number of filled squares on the board.
+     *
+     * @return      The number of filled squares.
+     */
+    private int getFilledCount()
+    {
+        int filledCount = 0;
+
+        for (int pid = 1; pid <= board.getPlayerCount(); pid++) {
+            filledCount += board.getScore(pid);
+        }
+
+        return filledCount;
+    }
+}
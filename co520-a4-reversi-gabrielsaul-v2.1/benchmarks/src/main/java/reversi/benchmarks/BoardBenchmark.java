@@ -0,0 +1,124 @@
+package reversi.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Class:       BoardBenchmark
+ * Category:    Benchmarks
+ * Summary:     This class benchmarks the Board hot paths part way through a game, at each board size & with each
+ *              board model: Counting the legal moves (which the bitboards cache until the disks change), making & taking
+ *              back a move, and querying the legal moves & flanked squares, both as sets (which are created on
+ *              every call) and into buffers of square indices.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark
+{
+    // The board size.
+    @Param({ "6", "8", "10" })
+    public int boardSize;
+
+    // The board model.
+    @Param({ Harness.BITBOARD, Harness.MAILBOX })
+    public String model;
+
+    // The harness holding the position.
+    private Harness harness;
+
+    /**
+     * Set up the position for the board size & model.
+     *
+     * @throws      ReflectiveOperationException
+     */
+    @Setup
+    public void setUp() throws ReflectiveOperationException
+    {
+        harness = Harness.create();
+        harness.setUp(boardSize, Harness.getPlayerCount(boardSize, model));
+    }
+
+    /**
+     * Benchmark Board.getLegalMoveCount.
+     *
+     * @return      The number of legal moves.
+     */
+    @Benchmark
+    public int countLegalMoves()
+    {
+        return harness.countLegalMoves();
+    }
+
+    /**
+     * Benchmark Board.makeMove, along with taking the move back.
+     *
+     * @return      The score after the move.
+     */
+    @Benchmark
+    public int makeMove()
+    {
+        return harness.makeMove();
+    }
+
+    /**
+     * Benchmark Board.getLegalMoves.
+     *
+     * @return      The set of legal moves.
+     */
+    @Benchmark
+    public Object getLegalMoves()
+    {
+        return harness.getLegalMoves();
+    }
+
+    /**
+     * Benchmark Board.getLegalMoves, into a buffer.
+     *
+     * @return      The number of legal moves.
+     */
+    @Benchmark
+    public int getLegalMoveIndices()
+    {
+        return harness.getLegalMoveIndices();
+    }
+
+    /**
+     * Benchmark Board.getFlankedSquares.
+     *
+     * @return      The set of flanked squares.
+     */
+    @Benchmark
+    public Object getFlankedSquares()
+    {
+        return harness.getFlankedSquares();
+    }
+
+    /**
+     * Benchmark Board.getFlankedSquares, into a buffer.
+     *
+     * @return      The number of flanked squares.
+     */
+    @Benchmark
+    public int getFlankedSquareIndices()
+    {
+        return harness.getFlankedSquareIndices();
+    }
+}
@@ -0,0 +1,73 @@
+package reversi.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Class:       EvaluationBenchmark
+ * Category:    Benchmarks
+ * Summary:     This class benchmarks PatternEvaluator.evaluate part way through a game on the standard 8 × 8 board,
+ *              the only board it evaluates, as a search engine calls it: With the legal moves already counted by
+ *              the board, and from the disk masks alone.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluationBenchmark
+{
+    // The standard board size.
+    private static final int BOARD_SIZE = 8;
+
+    // The harness holding the position.
+    private Harness harness;
+
+    /**
+     * Set up the position on the standard board.
+     *
+     * @throws      ReflectiveOperationException
+     */
+    @Setup
+    public void setUp() throws ReflectiveOperationException
+    {
+        harness = Harness.create();
+        harness.setUp(BOARD_SIZE, Harness.getPlayerCount(BOARD_SIZE, Harness.BITBOARD));
+    }
+
+    /**
+     * Benchmark PatternEvaluator.evaluate, given the legal move counts.
+     *
+     * @return      The evaluation.
+     */
+    @Benchmark
+    public int evaluate()
+    {
+        return harness.evaluate(true);
+    }
+
+    /**
+     * Benchmark PatternEvaluator.evaluate, from the disk masks alone.
+     *
+     * @return      The evaluation.
+     */
+    @Benchmark
+    public int evaluateMasks()
+    {
+        return harness.evaluate(false);
+    }
+}
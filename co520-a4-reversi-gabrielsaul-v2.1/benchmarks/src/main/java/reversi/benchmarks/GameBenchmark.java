@@ -0,0 +1,83 @@
+package reversi.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Class:       GameBenchmark
+ * Category:    Benchmarks
+ * Summary:     This class benchmarks a turn part way through a game, at each board size & with each board model:
+ *              A legal move is made & Game.nextTurn moves the game on. Each call plays the same recorded batch of
+ *              turns from the same position & then takes the moves back, restoring the game as it was before the
+ *              batch, so the time reported per turn includes a share of taking the batch back. A new game is set
+ *              up before each iteration, outside the timing.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark
+{
+    // The board size.
+    @Param({ "6", "8", "10" })
+    public int boardSize;
+
+    // The board model.
+    @Param({ Harness.BITBOARD, Harness.MAILBOX })
+    public String model;
+
+    // The harness holding the game.
+    private Harness harness;
+
+    /**
+     * Set up the game for the board size & model.
+     *
+     * @throws      ReflectiveOperationException
+     */
+    @Setup
+    public void setUp() throws ReflectiveOperationException
+    {
+        harness = Harness.create();
+        harness.setUp(boardSize, Harness.getPlayerCount(boardSize, model));
+    }
+
+    /**
+     * Set the game back to the position set up, before each iteration.
+     */
+    @Setup(Level.Iteration)
+    public void resetGame()
+    {
+        harness.resetGame();
+    }
+
+    /**
+     * Benchmark a move followed by Game.nextTurn, for each turn of the
+     * recorded batch.
+     *
+     * @return      The number of moves played in the game.
+     */
+    @Benchmark
+    @OperationsPerInvocation(Harness.TURN_COUNT)
+    public int nextTurn()
+    {
+        return harness.playTurns();
+    }
+}
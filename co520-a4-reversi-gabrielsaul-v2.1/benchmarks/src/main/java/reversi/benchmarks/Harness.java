@@ -0,0 +1,161 @@
+package reversi.benchmarks;
+
+import java.io.IOException;
+
+/**
+ * Class:       Harness
+ * Category:    Benchmarks
+ * Summary:     This interface represents the operations benchmarked on a game of Reversi. The game's classes are in
+ *              the default package, which JMH benchmarks can't be in & named packages can't import, so the
+ *              benchmarks reach them through this interface, which is implemented by BenchmarkHarness in the
+ *              default package. Each harness holds one position, set up part way through a seeded random game.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public interface Harness
+{
+    // The name of the implementing class, in the default package.
+    String IMPLEMENTATION = "BenchmarkHarness";
+
+    // The number of turns played from the position set up by each call to playTurns.
+    int TURN_COUNT = 8;
+
+    // The board models benchmarked: Bitboards for two players, or the mailbox for more players.
+    String BITBOARD = "bitboard";
+    String MAILBOX = "mailbox";
+
+    /**
+     * Return the number of players that selects a given board model
+     * for a given board size: Two for the bitboard, or else the fewest
+     * players over two that the board size is divisible by.
+     *
+     * @param   boardSize   The board size.
+     * @param   model       The board model, BITBOARD or MAILBOX.
+     * @return              The number of players.
+     */
+    static int getPlayerCount(int boardSize, String model)
+    {
+        int playerCount = 2;
+
+        if (MAILBOX.equals(model)) {
+            for (playerCount = 3; boardSize % playerCount != 0; playerCount++) {
+            }
+        }
+
+        return playerCount;
+    }
+
+    /**
+     * Create a harness, by loading the implementing class.
+     *
+     * @return      A new harness.
+     *
+     * @throws      ReflectiveOperationException
+     */
+    static Harness create() throws ReflectiveOperationException
+    {
+        return (Harness) Class.forName(IMPLEMENTATION).getDeclaredConstructor().newInstance();
+    }
+
+    /**
+     * Set up a session with a game part way through, on a board of a
+     * given size with a given number of players.
+     *
+     * @param   boardSize       The board size.
+     * @param   playerCount     The number of players.
+     */
+    void setUp(int boardSize, int playerCount);
+
+    /**
+     * Set the game back to the position set up, in a new game, & record
+     * the turns played on from it by playTurns.
+     */
+    void resetGame();
+
+    /**
+     * Count the legal moves of the player to move.
+     *
+     * @return      The number of legal moves.
+     */
+    int countLegalMoves();
+
+    /**
+     * Make the next of the legal moves of the player to move in turn,
+     * then take it back.
+     *
+     * @return      The score of the player after the move.
+     */
+    int makeMove();
+
+    /**
+     * Return the set of legal moves of the player to move.
+     *
+     * @return      The set of legal moves.
+     */
+    Object getLegalMoves();
+
+    /**
+     * Write the legal moves of the player to move into a buffer, as
+     * square indices.
+     *
+     * @return      The number of legal moves.
+     */
+    int getLegalMoveIndices();
+
+    /**
+     * Return the set of squares flanked by the next of the legal moves
+     * of the player to move in turn.
+     *
+     * @return      The set of flanked squares.
+     */
+    Object getFlankedSquares();
+
+    /**
+     * Write the squares flanked by the next of the legal moves of the
+     * player to move in turn into a buffer, as square indices.
+     *
+     * @return      The number of flanked squares.
+     */
+    int getFlankedSquareIndices();
+
+    /**
+     * Evaluate the position for the player to move with the pattern
+     * evaluator, on the standard board.
+     *
+     * @param   counted     True if the legal moves are counted by the
+     *                      board, as in a search, else false if they are
+     *                      found from the disk masks.
+     * @return              The evaluation.
+     */
+    int evaluate(boolean counted);
+
+    /**
+     * Play the recorded turns from the position set up, making each move
+     * or passing & moving the game to the next turn, then set the game
+     * back to the position by taking the moves back.
+     *
+     * @return      The number of moves played in the game after the
+     *              turns.
+     */
+    int playTurns();
+
+    /**
+     * Serialize the session, as it is saved.
+     *
+     * @return      The serialized session.
+     *
+     * @throws      IOException
+     */
+    byte[] serializeSession() throws IOException;
+
+    /**
+     * Deserialize a given serialized session, as it is loaded.
+     *
+     * @param   data    The serialized session.
+     * @return          The session.
+     *
+     * @throws          IOException
+     */
+    Object deserializeSession(byte[] data) throws IOException;
+}
@@ -0,0 +1,72 @@
+package reversi.benchmarks;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Class:       RunBenchmarks
+ * Category:    Benchmarks
+ * Summary:     This class runs the JMH benchmarks, accepting the usual JMH command line options, but writes the
+ *              results as JSON to jmh-result.json unless another result format or file is given, such that each
+ *              run can be compared with the last by a machine.
+ *
+ *              Usage: java -jar benchmarks/target/benchmarks.jar [JMH options] [benchmark regex]
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class RunBenchmarks
+{
+    // The default result file.
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    /**
+     * (1) Constructor of RunBenchmarks objects: Not used, as the
+     *     class only provides the main method.
+     */
+    private RunBenchmarks()
+    {
+    }
+
+    /**
+     * Run the benchmarks.
+     *
+     * @param   args    The JMH command line options.
+     *
+     * @throws          CommandLineOptionException
+     * @throws          IOException
+     * @throws          RunnerException
+     */
+    public static void main(String[] args) throws CommandLineOptionException, IOException, RunnerException
+    {
+        CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+        // Show the help or the benchmark list, if asked.
+        if (commandLineOptions.shouldHelp()) {
+            commandLineOptions.showHelp();
+            return;
+        }
+        else if (commandLineOptions.shouldList()) {
+            new Runner(commandLineOptions).list();
+            return;
+        }
+
+        // Default to JSON results.
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLineOptions);
+        if (!commandLineOptions.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLineOptions.getResult().hasValue()) {
+            options.result(DEFAULT_RESULT_FILE);
+        }
+
+        new Runner(options.build()).run();
+    }
+}
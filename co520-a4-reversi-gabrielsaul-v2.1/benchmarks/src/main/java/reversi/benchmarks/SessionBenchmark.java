@@ -0,0 +1,97 @@
+package reversi.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Class:       SessionBenchmark
+ * Category:    Benchmarks
+ * Summary:     This class benchmarks saving & loading a two-player session with a game part way through, at each
+ *              board size: Serializing the session, deserializing it, and the round trip of both.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionBenchmark
+{
+    // The board size.
+    @Param({ "6", "8", "10" })
+    public int boardSize;
+
+    // The harness holding the session.
+    private Harness harness;
+
+    // The serialized session.
+    private byte[] data;
+
+    /**
+     * Set up & serialize the session for the board size.
+     *
+     * @throws      ReflectiveOperationException
+     * @throws      IOException
+     */
+    @Setup
+    public void setUp() throws ReflectiveOperationException, IOException
+    {
+        harness = Harness.create();
+        harness.setUp(boardSize, Harness.getPlayerCount(boardSize, Harness.BITBOARD));
+        data = harness.serializeSession();
+    }
+
+    /**
+     * Benchmark serializing the session.
+     *
+     * @return      The serialized session.
+     *
+     * @throws      IOException
+     */
+    @Benchmark
+    public byte[] serialize() throws IOException
+    {
+        return harness.serializeSession();
+    }
+
+    /**
+     * Benchmark deserializing the session.
+     *
+     * @return      The session.
+     *
+     * @throws      IOException
+     */
+    @Benchmark
+    public Object deserialize() throws IOException
+    {
+        return harness.deserializeSession(data);
+    }
+
+    /**
+     * Benchmark serializing the session & deserializing the result.
+     *
+     * @return      The session.
+     *
+     * @throws      IOException
+     */
+    @Benchmark
+    public Object roundTrip() throws IOException
+    {
+        return harness.deserializeSession(harness.serializeSession());
+    }
+}
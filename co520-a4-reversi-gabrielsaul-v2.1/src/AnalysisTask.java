@@ -0,0 +1,92 @@
+import javax.swing.SwingWorker;
+
+/**
+ * Class:       AnalysisTask
+ * Category:    Game Logic
+ * Superclass:  SwingWorker
+ * Summary:     This class analyses a position in the background, scoring every legal move for the player to move.
+ *              The analysis of each completed depth is published as soon as it is found, & handed to process on
+ *              the event dispatch thread, so that a display of the scores deepens as the search does.
+ *
+ *              Stopping the task cancels it & stops the engine's search. An engine searches one position at a
+ *              time, so tasks sharing an engine must be run one at a time, such as by a single thread.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class AnalysisTask extends SwingWorker<MoveAnalysis, MoveAnalysis>
+{
+    /* * * * * * * * * * * * Instance Variables * * * * * * * * * * * */
+
+    // The engine which analyses the position.
+    private final SearchEngine engine;
+
+    // A copy of the position analysed.
+    private final Board board;
+
+    // The time budget, in milliseconds.
+    private final long timeBudget;
+
+    // Whether or not the task has been stopped: Guarded by the task.
+    private boolean stopped;
+
+    /**
+     * (1) Constructor of AnalysisTask objects: Analyse a copy of a given
+     * board's current position.
+     *
+     * @param   engine          The search engine.
+     * @param   board           The board.
+     * @param   timeBudget      The time budget, in milliseconds.
+     *
+     * @throws                  IllegalArgumentException
+     */
+    public AnalysisTask(SearchEngine engine, Board board, long timeBudget) throws IllegalArgumentException
+    {
+        // Validate time budget argument.
+        if (timeBudget <= 0) {
+            throw new IllegalArgumentException("Invalid time budget passed to AnalysisTask constructor");
+        }
+
+        this.engine = engine;
+        this.board = new Board(board);
+        this.timeBudget = timeBudget;
+    }
+
+    /**
+     * Return the hash of the position analysed.
+     *
+     * @return      The hash of the position.
+     */
+    public long getHash()
+    {
+        return board.hash();
+    }
+
+    /**
+     * Cancel the task & stop the engine's search, if it has begun.
+     */
+    public synchronized void stop()
+    {
+        stopped = true;
+        cancel(false);
+        engine.stop();
+    }
+
+    /**
+     * Analyse the position, unless the task was stopped before it began.
+     *
+     * @return      The analysis of the deepest completed depth.
+     */
+    @Override
+    protected MoveAnalysis doInBackground()
+    {
+        // Let the engine search again, unless the task has already been stopped.
+        synchronized (this) {
+            if (!stopped) {
+                engine.resume();
+            }
+        }
+
+        return engine.analyse(board, timeBudget, analysis -> publish(analysis));
+    }
+}
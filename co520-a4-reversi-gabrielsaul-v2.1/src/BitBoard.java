@@ -0,0 +1,446 @@
+/**
+ * Class:       BitBoard
+ * Category:    Game Logic, Data
+ * Implements:  BoardModel
+ * Summary:     This class represents the state of a standard 8 × 8 board for a two-player game of Reversi as a pair
+ *              of 64-bit masks, one for each player ID, where bit (y * 8 + x) is set if the player occupies the
+ *              square at (x, y). Legal moves & flanked squares are calculated for every square at once by shifting
+ *              the masks in each of the eight directions, masking off any bits that would wrap around an edge of
+ *              the board. The Board class uses a BitBoard automatically for games it is able to represent.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class BitBoard implements BoardModel
+{
+    /* * * * * * * * * * * * Class Variables * * * * * * * * * * * */
+
+    // The size of the board represented.
+    public static final int SIZE = 8;
+
+    // The number of players represented.
+    public static final int PLAYER_COUNT = 2;
+
+    // Edge masks: Every square except those on the given edge.
+    private static final long NOT_WEST_EDGE = 0xFEFEFEFEFEFEFEFEL;
+    private static final long NOT_EAST_EDGE = 0x7F7F7F7F7F7F7F7FL;
+
+    // The shift for each direction: E, W, S, N, SE, SW, NE, NW.
+    private static final int[] SHIFTS = { 1, -1, SIZE, -SIZE, SIZE + 1, SIZE - 1, -(SIZE - 1), -(SIZE + 1) };
+
+    // The mask applied after a shift in each direction, removing any bits which wrapped around an edge.
+    private static final long[] MASKS = { NOT_WEST_EDGE, NOT_EAST_EDGE, -1L, -1L, NOT_WEST_EDGE, NOT_EAST_EDGE, NOT_WEST_EDGE, NOT_EAST_EDGE };
+
+    // Every square except those on the west & east edges, which a run of disks can't cross.
+    private static final long NOT_SIDE_EDGES = NOT_WEST_EDGE & NOT_EAST_EDGE;
+
+    /* * * * * * * * * * * * Instance Variables * * * * * * * * * * * */
+
+    // The disk masks, indexed by player ID - 1.
+    private long[] disks;
+
+    // The legal move masks, indexed by player ID - 1.
+    private long[] legalMoves;
+
+    // Whether or not each legal move mask reflects the current disks.
+    private boolean[] legalMovesValid;
+
+    /**
+     * (1) Constructor of BitBoard objects: Initially empty.
+     */
+    public BitBoard()
+    {
+        disks = new long[PLAYER_COUNT];
+        legalMoves = new long[PLAYER_COUNT];
+        legalMovesValid = new boolean[PLAYER_COUNT];
+    }
+
+    /**
+     * Return the player ID held at a given square index,
+     * or 0 if the square is empty.
+     *
+     * @param   index   The square index (y * 8 + x).
+     * @return          The player ID held at the square.
+     */
+    @Override
+    public int getPID(int index)
+    {
+        long bit = 1L << index;
+
+        for (int i = 0; i < PLAYER_COUNT; i++) {
+            if ((disks[i] & bit) != 0) {
+                return i + 1;
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Place a given player ID at a given square index without
+     * flanking, for setting up the initial board.
+     *
+     * @param   index   The square index (y * 8 + x).
+     * @param   pid     The player ID to place.
+     */
+    @Override
+    public void setPID(int index, int pid)
+    {
+        long bit = 1L << index;
+
+        // Clear the square, then fill it.
+        for (int i = 0; i < PLAYER_COUNT; i++) {
+            disks[i] &= ~bit;
+        }
+        disks[pid - 1] |= bit;
+
+        invalidateLegalMoves();
+    }
+
+    /**
+     * Return the disk mask for a given player ID.
+     *
+     * @param   pid     The given player ID.
+     * @return          The disk mask for the player ID.
+     */
+    public long getDisks(int pid)
+    {
+        return disks[pid - 1];
+    }
+
+    /**
+     * Return the number of disks held by a given player ID.
+     *
+     * @param   pid     The given player ID.
+     * @return          The number of disks held by the player ID.
+     */
+    @Override
+    public int getScore(int pid)
+    {
+        return Long.bitCount(disks[pid - 1]);
+    }
+
+    /**
+     * Return the legal move mask for a given player ID, calculating
+     * it only if the disks have changed since it was last requested.
+     *
+     * @param   pid     The given player ID.
+     * @return          The legal move mask for the player ID.
+     */
+    public long getLegalMoves(int pid)
+    {
+        if (!legalMovesValid[pid - 1]) {
+            legalMoves[pid - 1] = generateMoves(disks[pid - 1], disks[PLAYER_COUNT - pid]);
+            legalMovesValid[pid - 1] = true;
+        }
+
+        return legalMoves[pid - 1];
+    }
+
+    /**
+     * Check if a move is legal at a given square index by a
+     * given player ID.
+     *
+     * @param   index   The square index (y * 8 + x).
+     * @param   pid     The given player ID.
+     * @return          True if the move is legal, else false.
+     */
+    @Override
+    public boolean isMoveLegal(int index, int pid)
+    {
+        return (getLegalMoves(pid) & (1L << index)) != 0;
+    }
+
+    /**
+     * Check if a given player ID currently has a legal move.
+     *
+     * @param   pid     The given player ID.
+     * @return          True if the player ID has a legal move,
+     *                  else false.
+     */
+    @Override
+    public boolean hasLegalMove(int pid)
+    {
+        return getLegalMoves(pid) != 0;
+    }
+
+    /**
+     * Write the square index of every legal move for a given
+     * player ID into a given buffer.
+     *
+     * @param   pid     The given player ID.
+     * @param   moves   The buffer, with room for every square.
+     * @return          The number of legal moves written.
+     */
+    @Override
+    public int getLegalMoves(int pid, int[] moves)
+    {
+        return toIndices(getLegalMoves(pid), moves);
+    }
+
+    /**
+     * Return the number of legal moves for a given player ID.
+     *
+     * @param   pid     The given player ID.
+     * @return          The number of legal moves.
+     */
+    @Override
+    public int getLegalMoveCount(int pid)
+    {
+        return Long.bitCount(getLegalMoves(pid));
+    }
+
+    /**
+     * Return the mask of squares flanked by a move at a given square
+     * index by a given player ID.
+     *
+     * @param   index   The square index (y * 8 + x).
+     * @param   pid     The given player ID.
+     * @return          The flanked square mask, or 0 if the move is
+     *                  not legal.
+     */
+    public long getFlips(int index, int pid)
+    {
+        if (((disks[0] | disks[1]) & (1L << index)) != 0) {
+            return 0;
+        }
+
+        return computeFlips(index, disks[pid - 1], disks[PLAYER_COUNT - pid]);
+    }
+
+    /**
+     * Write the square index of every square flanked by a move at
+     * a given square index by a given player ID into a given buffer.
+     *
+     * @param   index   The square index (y * 8 + x).
+     * @param   pid     The given player ID.
+     * @param   flips   The buffer, with room for every square.
+     * @return          The number of flanked squares written, or 0
+     *                  if the move is not legal.
+     */
+    @Override
+    public int getFlips(int index, int pid, int[] flips)
+    {
+        return toIndices(getFlips(index, pid), flips);
+    }
+
+    /**
+     * Check if every square on the board is filled.
+     *
+     * @return      True if the board is full, else false.
+     */
+    @Override
+    public boolean isFull()
+    {
+        return (disks[0] | disks[1]) == -1L;
+    }
+
+    /**
+     * Return an independent copy of the bitboard.
+     *
+     * @return      The copy of the bitboard.
+     */
+    @Override
+    public BitBoard copy()
+    {
+        BitBoard copy = new BitBoard();
+        System.arraycopy(disks, 0, copy.disks, 0, PLAYER_COUNT);
+
+        return copy;
+    }
+
+    /**
+     * Make a move at a given square index by a given player ID, which
+     * is asserted to be legal when this method is called.
+     *
+     * @param   index   The square index (y * 8 + x).
+     * @param   pid     The player ID.
+     * @return          The mask of squares flipped by the move.
+     */
+    public long makeMove(int index, int pid)
+    {
+        long flips = computeFlips(index, disks[pid - 1], disks[PLAYER_COUNT - pid]);
+
+        // Place the disk & flip the flanked disks.
+        disks[pid - 1] |= flips | (1L << index);
+        disks[PLAYER_COUNT - pid] &= ~flips;
+
+        invalidateLegalMoves();
+
+        return flips;
+    }
+
+    /**
+     * Make a move at a given square index by a given player ID, which is
+     * asserted to be legal, writing the flipped square indices & the
+     * player IDs they held into given buffers.
+     *
+     * @param   index           The square index (y * 8 + x).
+     * @param   pid             The player ID.
+     * @param   flips           The buffer, with room for every square.
+     * @param   flippedPIDs     The buffer, with room for every square.
+     * @return                  The number of flipped squares written.
+     */
+    @Override
+    public int makeMove(int index, int pid, int[] flips, int[] flippedPIDs)
+    {
+        int flipCount = toIndices(makeMove(index, pid), flips);
+        for (int i = 0; i < flipCount; i++) {
+            flippedPIDs[i] = PLAYER_COUNT + 1 - pid;
+        }
+
+        return flipCount;
+    }
+
+    /**
+     * Take back a move at a given square index by a given player ID,
+     * which is asserted to be the most recent move made, restoring
+     * the given flipped squares to the opponent.
+     *
+     * @param   index           The square index (y * 8 + x).
+     * @param   pid             The player ID that made the move.
+     * @param   flips           The square indices flipped by the move.
+     * @param   flippedPIDs     The player IDs held by the flipped squares,
+     *                          which are always the opponent's.
+     * @param   flipCount       The number of flipped squares.
+     */
+    @Override
+    public void unmakeMove(int index, int pid, int[] flips, int[] flippedPIDs, int flipCount)
+    {
+        long flipMask = 0;
+        for (int i = 0; i < flipCount; i++) {
+            flipMask |= 1L << flips[i];
+        }
+
+        // Empty the square & return the flipped disks.
+        disks[pid - 1] &= ~(flipMask | (1L << index));
+        disks[PLAYER_COUNT - pid] |= flipMask;
+
+        invalidateLegalMoves();
+    }
+
+    /**
+     * Mark every legal move mask as out of date.
+     */
+    private void invalidateLegalMoves()
+    {
+        for (int i = 0; i < PLAYER_COUNT; i++) {
+            legalMovesValid[i] = false;
+        }
+    }
+
+    /**
+     * Write the index of every bit set in a mask into a given buffer.
+     *
+     * @param   mask        The mask.
+     * @param   indices     The buffer.
+     * @return              The number of indices written.
+     */
+    public static int toIndices(long mask, int[] indices)
+    {
+        int count = 0;
+
+        for (; mask != 0; mask &= mask - 1) {
+            indices[count++] = Long.numberOfTrailingZeros(mask);
+        }
+
+        return count;
+    }
+
+    /**
+     * Shift a mask one square in a given direction, removing
+     * any bits which leave the board.
+     *
+     * @param   mask    The mask to shift.
+     * @param   dir     The direction index.
+     * @return          The shifted mask.
+     */
+    private static long shift(long mask, int dir)
+    {
+        int shift = SHIFTS[dir];
+
+        return (shift > 0 ? (mask << shift) : (mask >>> -shift)) & MASKS[dir];
+    }
+
+    /**
+     * Calculate the legal move mask for a player, given the
+     * player's disks & their opponent's disks.
+     *
+     * @param   player      The player's disk mask.
+     * @param   opponent    The opponent's disk mask.
+     * @return              The legal move mask.
+     */
+    public static long generateMoves(long player, long opponent)
+    {
+        // Runs which move across the rows can't include a disk on the west or east edge, as they couldn't be flanked.
+        long inner = opponent & NOT_SIDE_EDGES;
+        long moves = generateMoves(player, inner, 1) | generateMoves(player, opponent, SIZE)
+            | generateMoves(player, inner, SIZE - 1) | generateMoves(player, inner, SIZE + 1);
+
+        return moves & ~(player | opponent);
+    }
+
+    /**
+     * Calculate the squares at the end of runs of opponent disks from the
+     * player's disks, along a given axis in both directions. The shifts
+     * are constant for each axis, such that they can be unrolled.
+     *
+     * @param   player      The player's disk mask.
+     * @param   opponent    The opponent's disks which a run may include.
+     * @param   shift       The shift of the axis: 1, SIZE - 1, SIZE or
+     *                      SIZE + 1.
+     * @return              The squares at the end of the runs, which may
+     *                      be filled.
+     */
+    private static long generateMoves(long player, long opponent, int shift)
+    {
+        // Collect the runs of opponent disks adjacent to the player's disks, which are at most SIZE - 2 long.
+        long forward = opponent & (player << shift);
+        long backward = opponent & (player >>> shift);
+        forward |= opponent & (forward << shift);
+        backward |= opponent & (backward >>> shift);
+        forward |= opponent & (forward << shift);
+        backward |= opponent & (backward >>> shift);
+        forward |= opponent & (forward << shift);
+        backward |= opponent & (backward >>> shift);
+        forward |= opponent & (forward << shift);
+        backward |= opponent & (backward >>> shift);
+        forward |= opponent & (forward << shift);
+        backward |= opponent & (backward >>> shift);
+
+        return (forward << shift) | (backward >>> shift);
+    }
+
+    /**
+     * Calculate the mask of squares flanked by a move at a given
+     * square index, given the player's disks & their opponent's
+     * disks. The square is asserted to be empty.
+     *
+     * @param   index       The square index (y * 8 + x).
+     * @param   player      The player's disk mask.
+     * @param   opponent    The opponent's disk mask.
+     * @return              The flanked square mask.
+     */
+    public static long computeFlips(int index, long player, long opponent)
+    {
+        long move = 1L << index;
+        long flips = 0;
+
+        for (int dir = 0; dir < SHIFTS.length; dir++) {
+            // Follow the run of opponent disks in this direction.
+            long run = 0;
+            long next = shift(move, dir);
+            while ((next & opponent) != 0) {
+                run |= next;
+                next = shift(next, dir);
+            }
+
+            // The run is flanked if it ends at one of the player's disks.
+            if ((next & player) != 0) {
+                flips |= run;
+            }
+        }
+
+        return flips;
+    }
+}
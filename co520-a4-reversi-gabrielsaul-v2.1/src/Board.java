@@ -1,5 +1,8 @@
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.HashSet;
 
 /**
@@ -12,15 +15,32 @@ import java.util.HashSet;
  *              quickly accessed. The Board class is designed to be serialized, such that information about the 
  *              board's state can be stored when a session is saved.
  *              
+ *              The board state is held by a model which refers to squares by their index (y * size + x): Two-player
+ *              boards are backed by a bitboard (a BitBoard for the standard 8 × 8 size, or else a WideBitBoard),
+ *              which calculates legal moves & flanked squares with bitwise operations, and any other board is
+ *              backed by a MailboxBoard, which follows the rays shared by every board of its size. Square objects
+ *              are only created when the square matrix is first requested for display, and are then kept up to
+ *              date as moves are made & taken back, such that boards used for searching hold no squares at all.
+ *              
+ *              Every move made is recorded on an undo stack, such that moves can be taken back in reverse order
+ *              & a line of play can be explored on a single Board. Each position is identified by a Zobrist hash
+ *              of its filled squares & the player to move, which is updated as disks are placed & flipped.
+ *              
+ *              Sessions are saved by a SessionFile, which stores each board as its move list or its packed
+ *              squares. Boards are still Serializable, such that sessions saved by Java serialization before the
+ *              board model existed can be migrated: The square matrix of such a board is read into a new model.
  *
  * @author  Gabriel Doyle-Finch
- * @version 2021.04.28
+ * @version 2026.10.18
  */
 
 public class Board implements Serializable
 {
-    // The board's square matrix.
-    private Square[][] squares; 
+    // The serial version of the original class, such that sessions saved by Java serialization can be migrated.
+    private static final long serialVersionUID = 4304080877617323943L;
+
+    // The board's square matrix: Null until it is first requested.
+    private transient Square[][] squares;
 
     // The size of the board.
     private int size;
@@ -28,14 +48,20 @@ public class Board implements Serializable
     // The player IDs.
     private int[] pids;
 
-    // The player scores.
-    private int[] scores;
+    // The Zobrist hash of the current position.
+    private long hash;
+
+    // The player ID to move.
+    private int turn;
+
+    // The board model.
+    private BoardModel model;
 
-    // All empty squares adjacent to filled squares.
-    private HashSet<Square> emptyAdjacents;
+    // The undo stack: Null until a move is made. Records are reused once their moves have been taken back.
+    private UndoRecord[] undoStack;
 
-    // All available moves for each player, mapped to any flanked squares.
-    private HashMap<Square, HashSet<Square>>[] moves;
+    // The number of moves on the undo stack.
+    private int undoCount;
 
     /**
      * (1) Constructor of Board objects
@@ -46,12 +72,76 @@ public class Board implements Serializable
      * @throws          IllegalArgumentException
      */
     public Board(int size, int[] pids) throws IllegalArgumentException
+    {
+        // Create the board in its initial state.
+        initialize(size, pids);
+        create();
+    }
+
+    /**
+     * (2) Constructor of Board objects: A copy of a given board in
+     *     its current position, with an empty undo stack, such that
+     *     moves can be explored on the copy without affecting the
+     *     original.
+     * 
+     * @param   board   The board to be copied.
+     */
+    public Board(Board board)
+    {
+        // Copy the board size, player IDs & position. The copy creates its own squares if they are requested.
+        size = board.size;
+        pids = board.pids.clone();
+        hash = board.hash;
+        turn = board.turn;
+        model = board.model.copy();
+    }
+
+    /**
+     * (3) Constructor of Board objects: A board in a given position,
+     *     with the first player ID to move & an empty undo stack.
+     * 
+     * @param   size    The size of the board to be created.
+     * @param   pids    The array of player IDs.
+     * @param   cells   The player ID held at each square index
+     *                  (y * size + x), or 0 where the square is
+     *                  empty.
+     * 
+     * @throws          IllegalArgumentException
+     */
+    public Board(int size, int[] pids, int[] cells) throws IllegalArgumentException
+    {
+        initialize(size, pids);
+
+        // Validate cells argument.
+        if (cells == null || cells.length != size * size) {
+            throw new IllegalArgumentException("Invalid cells array passed to Board constructor");
+        }
+        for (int cell : cells) {
+            if (cell < 0 || cell > pids.length) {
+                throw new IllegalArgumentException("Invalid player ID in cells array passed to Board constructor");
+            }
+        }
+
+        // Fill the empty model with the position.
+        setPosition(cells);
+    }
+
+    /**
+     * Validate & assign the board size & player IDs, & create the
+     * empty model, for a new board.
+     * 
+     * @param   size    The size of the board to be created.
+     * @param   pids    The array of player IDs.
+     * 
+     * @throws          IllegalArgumentException
+     */
+    private void initialize(int size, int[] pids) throws IllegalArgumentException
     {
         // Validate arguments.
         if (pids == null) {
             throw new IllegalArgumentException("Null player IDs array passed to Board constructor");
         }
-        else if ((size % pids.length) != 0) {
+        else if ((size % pids.length) != 0 || size < 2 || (size / 2) - 1 + pids.length > size) {
             throw new IllegalArgumentException("Invalid size passed to Board constructor");
         }
 
@@ -59,16 +149,90 @@ public class Board implements Serializable
         this.size = size;
         this.pids = pids;
 
-        // Create the game data maps, lists & arrays.
-        scores = new int[pids.length];
-        emptyAdjacents = new HashSet<>();
-        moves = new HashMap[pids.length];
-        for (int i = 0; i < pids.length; i++) {
-            moves[i] = new HashMap<>();
+        model = createModel(size, pids.length);
+    }
+
+    /**
+     * Restore a board read by Java serialization. A board saved before
+     * the board model existed holds a square matrix instead, which is
+     * read into a new model with the first player ID to move.
+     * 
+     * @param   ois     The stream the board is read from.
+     * 
+     * @throws          IOException
+     * @throws          ClassNotFoundException
+     */
+    private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException
+    {
+        ObjectInputStream.GetField fields = ois.readFields();
+        size = fields.get("size", 0);
+        pids = (int[]) fields.get("pids", null);
+
+        // Read the current fields, if they were saved.
+        if (!fields.defaulted("model")) {
+            model = (BoardModel) fields.get("model", null);
+            hash = fields.get("hash", 0L);
+            turn = fields.get("turn", 0);
+            undoStack = (UndoRecord[]) fields.get("undoStack", null);
+            undoCount = fields.get("undoCount", 0);
+            return;
         }
 
-        // Create the board in its initial state.
-        create();
+        // Otherwise, read the player IDs held by the square matrix.
+        Square[][] savedSquares = (Square[][]) fields.get("squares", null);
+        if (pids == null || savedSquares == null || savedSquares.length != size) {
+            throw new InvalidObjectException("Invalid board read by readObject");
+        }
+
+        int[] cells = new int[size * size];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                cells[y * size + x] = savedSquares[y][x].getPID();
+            }
+        }
+
+        model = createModel(size, pids.length);
+        setPosition(cells);
+    }
+
+    /**
+     * Create the model for a board of a given size with a given number
+     * of players: A bitboard for two-player boards, or else a mailbox.
+     * 
+     * @param   size            The size of the board.
+     * @param   playerCount     The number of players.
+     * @return                  The empty model.
+     */
+    private static BoardModel createModel(int size, int playerCount)
+    {
+        if (playerCount == BitBoard.PLAYER_COUNT && size == BitBoard.SIZE) {
+            return new BitBoard();
+        }
+        else if (playerCount == WideBitBoard.PLAYER_COUNT && size >= WideBitBoard.MIN_SIZE && size <= WideBitBoard.MAX_SIZE) {
+            return new WideBitBoard(size);
+        }
+
+        return new MailboxBoard(size, playerCount);
+    }
+
+    /**
+     * Fill the empty model with a given position, with the first
+     * player ID to move.
+     * 
+     * @param   cells   The player ID held at each square index, or 0
+     *                  where the square is empty.
+     */
+    private void setPosition(int[] cells)
+    {
+        turn = pids[0];
+        hash = Zobrist.getTurnKey(turn);
+
+        for (int index = 0; index < cells.length; index++) {
+            if (cells[index] > 0) {
+                model.setPID(index, cells[index]);
+                hash ^= Zobrist.getSquareKey(index, cells[index]);
+            }
+        }
     }
 
     /**
@@ -78,38 +242,39 @@ public class Board implements Serializable
      */
     private void create()
     {
-        // Create the board matrix.
-        squares = new Square[size][size];
-
-        // Create square matrix.
-        for (int y = 0; y < size; y++) {
-            for (int x = 0; x < size; x++) {
-                squares[y][x] = new Square(x, y);
-            }
-        }
+        // The first player ID moves first.
+        turn = pids[0];
+        hash = Zobrist.getTurnKey(turn);
 
         // Fill central squares.
         for (int y = (size / 2) - 1, i = 0, p = pids.length - 1; i < pids.length; y++, i++) {
             for (int x = (size / 2) - 1, j = 0; j < pids.length; x++, j++, p = (p + 1) % pids.length) {
-                squares[y][x].setPID(pids[p]);
-
-                // Set the initial scores.
-                scores[pids[p] - 1] += 1;
-
-                // Store the empty adjacent squares.
-                setEmptyAdjacents(squares[y][x]);
+                model.setPID(y * size + x, pids[p]);
+                hash ^= Zobrist.getSquareKey(y * size + x, pids[p]);
             }
             p = (p - 1) % pids.length;
         }
     }
 
     /**
-     * Return the square matrix.
+     * Return the square matrix, creating it from the board model
+     * the first time it is requested. The squares are then kept
+     * up to date as moves are made & taken back.
      * 
      * @return      The square matrix.
      */
     public Square[][] getSquares()
     {
+        if (squares == null) {
+            squares = new Square[size][size];
+            for (int y = 0; y < size; y++) {
+                for (int x = 0; x < size; x++) {
+                    squares[y][x] = new Square(x, y);
+                    squares[y][x].setPID(model.getPID(y * size + x));
+                }
+            }
+        }
+
         return squares;
     }
 
@@ -123,6 +288,114 @@ public class Board implements Serializable
         return size;
     }
 
+    /**
+     * Return the number of players on the board.
+     * 
+     * @return      The number of players.
+     */
+    public int getPlayerCount()
+    {
+        return pids.length;
+    }
+
+    /**
+     * Return the player ID held at a given square index,
+     * or 0 if the square is empty.
+     * 
+     * @param   index   The square index (y * size + x).
+     * @return          The player ID held at the square.
+     */
+    public int getPID(int index)
+    {
+        return model.getPID(index);
+    }
+
+    /**
+     * Check if the board is backed by a 64-bit BitBoard, such that
+     * the disks of each player ID can be read as a mask.
+     * 
+     * @return      True if the board has disk masks, else false.
+     */
+    public boolean hasDiskMasks()
+    {
+        return model instanceof BitBoard;
+    }
+
+    /**
+     * Return the disks of a given player ID as a 64-bit mask, where
+     * bit (y * 8 + x) is set if the player ID occupies the square.
+     * 
+     * @param   pid     The given player ID.
+     * @return          The disk mask for the player ID.
+     * 
+     * @throws          IllegalStateException
+     */
+    public long getDiskMask(int pid) throws IllegalStateException
+    {
+        if (!hasDiskMasks() || pid < 1 || pid > pids.length) {
+            throw new IllegalStateException("Disk mask requested from a board without one");
+        }
+
+        return ((BitBoard) model).getDisks(pid);
+    }
+
+    /**
+     * Return the legal moves of a given player ID as a 64-bit mask,
+     * where bit (y * 8 + x) is set if the player ID can move there.
+     * 
+     * @param   pid     The given player ID.
+     * @return          The legal move mask for the player ID.
+     * 
+     * @throws          IllegalStateException
+     */
+    public long getLegalMoveMask(int pid) throws IllegalStateException
+    {
+        if (!hasDiskMasks() || pid < 1 || pid > pids.length) {
+            throw new IllegalStateException("Legal move mask requested from a board without one");
+        }
+
+        return ((BitBoard) model).getLegalMoves(pid);
+    }
+
+    /**
+     * Return the Zobrist hash of the current position, which
+     * identifies the filled squares & the player to move.
+     * 
+     * @return      The hash of the current position.
+     */
+    public long hash()
+    {
+        return hash;
+    }
+
+    /**
+     * Return the player ID to move.
+     * 
+     * @return      The player ID to move.
+     */
+    public int getTurn()
+    {
+        return turn;
+    }
+
+    /**
+     * Set the player ID to move, such as when a player passes.
+     * Making a move passes the turn to the next player ID.
+     * 
+     * @param   pid     The player ID to move.
+     * 
+     * @throws          IllegalArgumentException
+     */
+    public void setTurn(int pid) throws IllegalArgumentException
+    {
+        if (pid < 1 || pid > pids.length) {
+            throw new IllegalArgumentException("Invalid player ID passed to setTurn");
+        }
+
+        hash ^= Zobrist.getTurnKey(turn) ^ Zobrist.getTurnKey(pid);
+        turn = pid;
+    }
+
     /**
      * Return the score for a given player ID.
      * 
@@ -133,7 +406,7 @@ public class Board implements Serializable
     public int getScore(int pid)
     {
         if (pid >= 1 && pid <= pids.length) {
-            return scores[pid - 1];
+            return model.getScore(pid);
         }
 
         return -1;
@@ -150,12 +423,30 @@ public class Board implements Serializable
      */
     public HashSet<Square> getFlankedSquares(Square square, int pid)
     {
-        // Return the move if it exists.
-        if (pid >= 1 && pid <= pids.length && moves[pid - 1].containsKey(square)) {
-            return moves[pid - 1].get(square);
+        if (pid < 1 || pid > pids.length || !contains(square)) {
+            return null;
         }
 
-        return null;
+        int[] indices = new int[size * size];
+        int flipCount = model.getFlips(getIndex(square), pid, indices);
+
+        return (flipCount > 0) ? toSquareSet(indices, flipCount) : null;
+    }
+
+    /**
+     * Write the square index of every square flanked by a move at a
+     * given square index by a given player ID into a given buffer,
+     * without creating any squares or sets.
+     * 
+     * @param   index       The square index of the move (y * size + x).
+     * @param   pid         The player ID making the move.
+     * @param   buffer      The buffer, with room for every square.
+     * @return              The number of flanked squares written, or 0
+     *                      if the move is not legal.
+     */
+    public int getFlankedSquares(int index, int pid, int[] buffer)
+    {
+        return isMoveLegal(index, pid) ? model.getFlips(index, pid, buffer) : 0;
     }
 
     /**
@@ -171,12 +462,43 @@ public class Board implements Serializable
         HashSet<Square> legalMoves = null;
 
         if (pid >= 1 && pid <= pids.length) {
-            legalMoves = new HashSet<Square>(moves[pid - 1].keySet());
+            int[] indices = new int[size * size];
+            legalMoves = toSquareSet(indices, model.getLegalMoves(pid, indices));
         }
 
         return legalMoves;
     }
 
+    /**
+     * Write the square index of every legal move for a given player
+     * ID into a given buffer, without creating any squares or sets.
+     * 
+     * @param   pid         The player ID to query.
+     * @param   buffer      The buffer, with room for every square.
+     * @return              The number of legal moves written, or 0 if
+     *                      the player ID does not exist.
+     */
+    public int getLegalMoves(int pid, int[] buffer)
+    {
+        return (pid >= 1 && pid <= pids.length) ? model.getLegalMoves(pid, buffer) : 0;
+    }
+
+    /**
+     * Return the number of legal moves for a given player ID.
+     * 
+     * @param   pid     The player ID to query.
+     * @return          The number of legal moves, or 0 if the
+     *                  player ID does not exist.
+     */
+    public int getLegalMoveCount(int pid)
+    {
+        if (pid >= 1 && pid <= pids.length) {
+            return model.getLegalMoveCount(pid);
+        }
+
+        return 0;
+    }
+
     /**
      * Check if a move is legal at a given square by a
      * given player ID.
@@ -188,11 +510,25 @@ public class Board implements Serializable
      */
     public boolean isMoveLegal(Square square, int pid)
     {
-        if (pid >= 1 && pid <= pids.length) {
-            return moves[pid - 1].containsKey(square);
+        return contains(square) && isMoveLegal(getIndex(square), pid);
+    }
+
+    /**
+     * Check if a move is legal at a given square index by a
+     * given player ID.
+     * 
+     * @param   index   The square index (y * size + x).
+     * @param   pid     The given player ID.
+     * @return          True if the move is legal, else
+     *                  false.
+     */
+    public boolean isMoveLegal(int index, int pid)
+    {
+        if (pid < 1 || pid > pids.length || index < 0 || index >= size * size) {
+            return false;
         }
 
-        return false;
+        return model.isMoveLegal(index, pid);
     }
 
     /**
@@ -206,12 +542,31 @@ public class Board implements Serializable
     public boolean hasLegalMove(int pid)
     {
         if (pid >= 1 && pid <= pids.length) {
-            return !moves[pid - 1].isEmpty();
+            return model.hasLegalMove(pid);
         }
 
         return false;
     }
 
+    /**
+     * Rebuild the legal moves for a given player ID from scratch,
+     * based on every empty square. Legal moves are otherwise kept up
+     * to date as moves are made & taken back, so this is only needed
+     * to verify them.
+     *
+     * @param   pid     The player ID for which legal moves will
+     *                  be rebuilt.
+     */
+    public void updateLegalMoves(int pid)
+    {
+        // Check if the player ID exists. The bitboards calculate their legal moves on demand.
+        if (pid < 1 || pid > pids.length || !(model instanceof MailboxBoard)) {
+            return;
+        }
+
+        ((MailboxBoard) model).updateLegalMoves(pid);
+    }
+
     /**
      * Check if the board is full.
      * 
@@ -220,7 +575,7 @@ public class Board implements Serializable
      */
     public boolean isFull()
     {
-        return (emptyAdjacents.isEmpty());
+        return model.isFull();
     }
 
     /**
@@ -230,150 +585,218 @@ public class Board implements Serializable
      * 
      * @param   square      The square to be filled.
      * @param   pid         The player ID.
+     * @return              The undo record for the move, which is
+     *                      valid until the move is taken back.
      * 
      * @throws              IllegalMoveException
      */
-    public void makeMove(Square square, int pid) throws IllegalMoveException
+    public UndoRecord makeMove(Square square, int pid) throws IllegalMoveException
+    {
+        // Throw an exception if the square does not exist.
+        if (!contains(square)) {
+            throw new IllegalMoveException("Illegal move attempted in makeMove");
+        }
+
+        return makeMove(getIndex(square), pid);
+    }
+
+    /**
+     * Make a move by placing a given player ID at a given square
+     * index. Throws an illegal move exception if the move attempted
+     * is not legal.
+     * 
+     * @param   index       The square index (y * size + x).
+     * @param   pid         The player ID.
+     * @return              The undo record for the move, which is
+     *                      valid until the move is taken back.
+     * 
+     * @throws              IllegalMoveException
+     */
+    public UndoRecord makeMove(int index, int pid) throws IllegalMoveException
     {
         // Throw an exception if the attempted move is not legal, or if the player ID/square does not exist.
         if (pid < 1 || pid > pids.length) {
             throw new IllegalMoveException("Invalid player ID passed to makeMove");
         }
-        else if (!isMoveLegal(square, pid)) {
+        else if (!isMoveLegal(index, pid)) {
             throw new IllegalMoveException("Illegal move attempted in makeMove");
         }
 
-        // Fill the square.
-        square.setPID(pid);
+        // Push a record of the move onto the undo stack.
+        UndoRecord record = pushUndoRecord(index, pid);
 
-        // Fill the flanked squares & set scores.
-        scores[pid - 1] += 1;
-        for (Square flankedSquare : getFlankedSquares(square, pid)) {            
-            // Decrement flipped players' score(s).
-            scores[flankedSquare.getPID() - 1]--;
+        // Place the disk in the hash & pass the turn.
+        hash ^= Zobrist.getSquareKey(index, pid);
+        setTurn(pid % pids.length + 1);
 
-            // Flip flanked square.
-            flankedSquare.setPID(pid);
+        // Make the move on the model.
+        record.flipCount = model.makeMove(index, pid, record.flips, record.flippedPIDs);
 
-            // Increment active player's score.
-            scores[pid - 1]++;
+        // Flip the disks in the hash.
+        for (int i = 0; i < record.flipCount; i++) {
+            hash ^= Zobrist.getSquareKey(record.flips[i], record.flippedPIDs[i]) ^ Zobrist.getSquareKey(record.flips[i], pid);
         }
 
-        // Make the filled square an illegal move for any player.
-        for (int i = 0; i < pids.length; i++) {
-            moves[i].remove(square);
+        // Fill the squares for display, if they exist.
+        if (squares != null) {
+            squares[index / size][index % size].setPID(pid);
+            setSquarePIDs(record.flips, record.flipCount, pid);
+        }
+
+        return record;
+    }
+
+    /**
+     * Return the number of moves on the undo stack, which is every
+     * move made on the board that has not been taken back.
+     * 
+     * @return      The number of moves.
+     */
+    public int getUndoCount()
+    {
+        return undoCount;
+    }
+
+    /**
+     * Return the undo record of a move on the undo stack.
+     * 
+     * @param   i   The position of the move on the stack, from 0 (the
+     *              first move) up to the undo count.
+     * @return      The undo record, which is valid until the move is
+     *              taken back.
+     * 
+     * @throws      IndexOutOfBoundsException
+     */
+    public UndoRecord getUndoRecord(int i) throws IndexOutOfBoundsException
+    {
+        if (i < 0 || i >= undoCount) {
+            throw new IndexOutOfBoundsException("Invalid undo stack position passed to getUndoRecord");
         }
 
-        // Update the empty adjacents.
-        setEmptyAdjacents(square);
+        return undoStack[i];
     }
 
     /**
-     * Set the empty adjacent squares from a given square, which
-     * is asserted to be filled when this method is called, thus it
-     * will be removed from the empty adjacents list.
+     * Take back the most recent move made on the board, restoring
+     * the board to its state before the move.
+     * 
+     * @param   record      The undo record returned by makeMove.
      * 
-     * @param   square    The given square.
+     * @throws              IllegalArgumentException
      */
-    private void setEmptyAdjacents(Square square)
+    public void unmakeMove(UndoRecord record) throws IllegalArgumentException
     {
-        // Remove the filled square.
-        emptyAdjacents.remove(square);
+        // Only the most recent move can be taken back.
+        if (undoCount == 0 || undoStack[undoCount - 1] != record) {
+            throw new IllegalArgumentException("Undo record passed to unmakeMove is not for the most recent move");
+        }
+        undoCount--;
 
-        // Search for empty adjacent squares.
-        for (int y = -1, adjY = square.y + y; y <= 1; y++, adjY = square.y + y) {
-            for (int x = -1, adjX = square.x + x; adjY >= 0 && adjY < size && x <= 1; x++, adjX = square.x + x) {
-                if ((x != 0 || y != 0) && adjX >= 0 && adjX < size && squares[adjY][adjX].getPID() == 0) {
-                    emptyAdjacents.add(squares[adjY][adjX]);
+        // Restore the hash & the player to move.
+        hash = record.hash;
+        turn = record.turn;
 
-                    // Set the filled adjacents for an empty adjacent square.
-                    setFilledAdjacents(squares[adjY][adjX]);
-                }
+        // Take back the move on the model.
+        model.unmakeMove(record.index, record.pid, record.flips, record.flippedPIDs, record.flipCount);
+
+        // Empty the square & return the flipped squares for display, if they exist.
+        if (squares != null) {
+            squares[record.index / size][record.index % size].setPID(0);
+            for (int i = 0; i < record.flipCount; i++) {
+                squares[record.flips[i] / size][record.flips[i] % size].setPID(record.flippedPIDs[i]);
             }
         }
     }
 
     /**
-     * Set the filled adjacent squares for a given square, which
-     * is asserted to be empty when this method is called.
+     * Push a record for a move onto the undo stack, reusing the record
+     * of a move that has been taken back if one is available.
      * 
-     * @param       square      The given square.
+     * @param   index   The square index of the move.
+     * @param   pid     The player ID making the move.
+     * @return          The record for the move.
      */
-    private void setFilledAdjacents(Square square)
+    private UndoRecord pushUndoRecord(int index, int pid)
     {
-        // Search for filled adjacent squares.
-        for (int y = -1, adjY = square.y + y; y <= 1; y++, adjY = square.y + y) {
-            for (int x = -1, adjX = square.x + x; adjY >= 0 && adjY < size && x <= 1; x++, adjX = square.x + x) {
-                if ((adjX != 0 || adjY != 0) && adjX >= 0 && adjX < size && squares[adjY][adjX].getPID() > 0) {
-                    square.addFilledAdjacent(squares[adjY][adjX]);
-                }
-            }
+        // Create the undo stack with room for a move on every square, or grow it if needed.
+        if (undoStack == null) {
+            undoStack = new UndoRecord[size * size + 1];
+        }
+        else if (undoCount == undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, undoStack.length * 2);
         }
+        if (undoStack[undoCount] == null) {
+            undoStack[undoCount] = new UndoRecord(size * size, pids.length);
+        }
+
+        // Reset the record & store the scores, hash & turn before the move.
+        UndoRecord record = undoStack[undoCount++];
+        record.index = index;
+        record.pid = pid;
+        record.hash = hash;
+        record.turn = turn;
+        record.flipCount = 0;
+        for (int i = 0; i < pids.length; i++) {
+            record.scores[i] = getScore(i + 1);
+        }
+
+        return record;
     }
 
     /**
-     * Update the legal move mask, based on the empty squares
-     * adjacent to filled squares, for a given player ID.
+     * Return the square index of a given square.
      * 
-     * @param   pid     The player ID for which legal moves will
-     *                  be updated.
+     * @param   square      The given square.
+     * @return              The index of the square (y * size + x).
      */
-    public void updateLegalMoves(int pid)
+    private int getIndex(Square square)
     {
-        // Check if the player ID exists.
-        if (pid < 1 || pid > pids.length) {
-            return;
+        return square.y * size + square.x;
+    }
+
+    /**
+     * Check if a given square lies on the board.
+     * 
+     * @param   square      The given square.
+     * @return              True if the square is non-null & lies
+     *                      on the board, else false.
+     */
+    private boolean contains(Square square)
+    {
+        return square != null && square.x >= 0 && square.x < size && square.y >= 0 && square.y < size;
+    }
+
+    /**
+     * Convert the square indices in a given buffer into a set of squares.
+     * 
+     * @param   indices     The buffer of square indices.
+     * @param   count       The number of square indices in the buffer.
+     * @return              The set of squares.
+     */
+    private HashSet<Square> toSquareSet(int[] indices, int count)
+    {
+        Square[][] squares = getSquares();
+        HashSet<Square> squareSet = new HashSet<>();
+
+        for (int i = 0; i < count; i++) {
+            squareSet.add(squares[indices[i] / size][indices[i] % size]);
         }
 
-        // Set for storing flanked squares.
-        HashSet<Square> flankedSquareSet = new HashSet<>();
-
-        // Update legal moves from empty adjacent squares.
-        moves[pid - 1].clear();
-        for (Square empty : emptyAdjacents) {
-            for (Square filled : empty.getFilledAdjacents()) {
-                // Check if a flank is possible.
-                if (filled.getPID() != pid) {
-                    // Store the direction.
-                    int xDir = filled.x - empty.x, yDir = filled.y - empty.y;
-
-                    // Clear the list of flanked squares.
-                    flankedSquareSet.clear();
-
-                    // Store the first (possible) flanked square.
-                    flankedSquareSet.add(squares[filled.y][filled.x]);
-
-                    // Search in the given direction for a differing ID.
-                    int nextX = filled.x + xDir, nextY = filled.y + yDir;
-                    while (nextX >= 0 && nextX < size && nextY >= 0 && nextY < size) {
-                        int nextPID = squares[nextY][nextX].getPID();
-
-                        // Empty square found.
-                        if (nextPID == 0) {
-                            break;
-                        }
-
-                        // There is a flank. Move is legal.
-                        if (nextPID == pid) {
-                            // Add the flanked squares.
-                            if (!moves[pid - 1].containsKey(squares[empty.y][empty.x])) {
-                                moves[pid - 1].put(squares[empty.y][empty.x], new HashSet<>(flankedSquareSet));
-                            }
-                            else {
-                                moves[pid - 1].get(squares[empty.y][empty.x]).addAll(flankedSquareSet);
-                            }
-
-                            break;
-                        }
-
-                        // Add a (possible) flanked square.
-                        flankedSquareSet.add(squares[nextY][nextX]);
-
-                        nextX += xDir;
-                        nextY += yDir;
-                    }
-                }
-            }
+        return squareSet;
+    }
+
+    /**
+     * Set the player ID held at each square in a given array of
+     * square indices.
+     * 
+     * @param   indices     The square indices.
+     * @param   count       The number of square indices to set.
+     * @param   pid         The player ID to set.
+     */
+    private void setSquarePIDs(int[] indices, int count, int pid)
+    {
+        for (int i = 0; i < count; i++) {
+            squares[indices[i] / size][indices[i] % size].setPID(pid);
         }
     }
-}
\ No newline at end of file
+}
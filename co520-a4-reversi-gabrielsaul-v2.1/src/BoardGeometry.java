@@ -0,0 +1,129 @@
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class:       BoardGeometry
+ * Category:    Game Logic, Data
+ * Summary:     This class represents the fixed layout of a board of a given size in terms of square indices
+ *              (y * size + x): The ray of squares leading from each square to the edge of the board in each of
+ *              the eight directions. The tables are calculated once for each board size & shared by every board of
+ *              that size, such that a board only needs to store the player ID held at each square.
+ *
+ *              The tables are stored as flat arrays: The ray from square index i in direction d is held at
+ *              raySquares[rayStarts[i * 8 + d]] onwards, with a length of rayLengths[i * 8 + d].
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class BoardGeometry
+{
+    /* * * * * * * * * * * * Class Variables * * * * * * * * * * * */
+
+    // The number of directions: E, W, S, N, SE, SW, NE, NW.
+    public static final int DIRECTION_COUNT = 8;
+
+    // The x & y steps for each direction.
+    private static final int[] X_STEPS = { 1, -1, 0, 0, 1, -1, 1, -1 };
+    private static final int[] Y_STEPS = { 0, 0, 1, -1, 1, 1, -1, -1 };
+
+    // The geometry of each board size created so far.
+    private static final ConcurrentHashMap<Integer, BoardGeometry> GEOMETRIES = new ConcurrentHashMap<>();
+
+    /* * * * * * * * * * * * Instance Variables * * * * * * * * * * * */
+
+    // The size of the board.
+    private final int size;
+
+    // The squares along every ray, & the start & length of each ray, indexed by (square index * 8 + direction).
+    final int[] raySquares;
+    final int[] rayStarts;
+    final int[] rayLengths;
+
+    /**
+     * (1) Constructor of BoardGeometry objects
+     *
+     * @param   size    The size of the board.
+     */
+    private BoardGeometry(int size)
+    {
+        this.size = size;
+
+        int squareCount = size * size;
+        rayStarts = new int[squareCount * DIRECTION_COUNT];
+        rayLengths = new int[squareCount * DIRECTION_COUNT];
+
+        // Measure every ray.
+        int raySquareCount = 0;
+        for (int index = 0; index < squareCount; index++) {
+            for (int dir = 0; dir < DIRECTION_COUNT; dir++) {
+                int length = getRayLength(index % size, index / size, dir);
+                rayStarts[index * DIRECTION_COUNT + dir] = raySquareCount;
+                rayLengths[index * DIRECTION_COUNT + dir] = length;
+                raySquareCount += length;
+            }
+        }
+
+        raySquares = new int[raySquareCount];
+
+        // Fill the rays.
+        for (int index = 0; index < squareCount; index++) {
+            for (int dir = 0; dir < DIRECTION_COUNT; dir++) {
+                int start = rayStarts[index * DIRECTION_COUNT + dir];
+                int length = rayLengths[index * DIRECTION_COUNT + dir];
+                for (int i = 0, x = index % size, y = index / size; i < length; i++) {
+                    x += X_STEPS[dir];
+                    y += Y_STEPS[dir];
+                    raySquares[start + i] = y * size + x;
+                }
+            }
+        }
+    }
+
+    /**
+     * Return the geometry for a given board size, creating it the
+     * first time the size is requested.
+     *
+     * @param   size    The size of the board.
+     * @return          The geometry, shared by every board of the size.
+     *
+     * @throws          IllegalArgumentException
+     */
+    public static BoardGeometry forSize(int size) throws IllegalArgumentException
+    {
+        // Validate size argument.
+        if (size < 1) {
+            throw new IllegalArgumentException("Invalid size passed to forSize");
+        }
+
+        return GEOMETRIES.computeIfAbsent(size, BoardGeometry::new);
+    }
+
+    /**
+     * Return the number of squares from a given square to the edge
+     * of the board in a given direction.
+     *
+     * @param   x       The x-coordinate of the square.
+     * @param   y       The y-coordinate of the square.
+     * @param   dir     The direction index.
+     * @return          The number of squares.
+     */
+    private int getRayLength(int x, int y, int dir)
+    {
+        int length = 0;
+
+        for (x += X_STEPS[dir], y += Y_STEPS[dir]; x >= 0 && x < size && y >= 0 && y < size; x += X_STEPS[dir], y += Y_STEPS[dir]) {
+            length++;
+        }
+
+        return length;
+    }
+
+    /**
+     * Return the size of the board.
+     *
+     * @return      The size of the board.
+     */
+    public int getSize()
+    {
+        return size;
+    }
+}
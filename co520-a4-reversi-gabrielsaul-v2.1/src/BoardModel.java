@@ -0,0 +1,132 @@
+import java.io.Serializable;
+
+/**
+ * Interface:   BoardModel
+ * Category:    Game Logic, Data
+ * Extends:     Serializable
+ * Summary:     This interface represents a numerical model of the board state for a game of Reversi, which a Board
+ *              delegates to: A bitboard for two-player games of the sizes it supports, or else a MailboxBoard. Squares are referred to by their
+ *              index (y * size + x), and any squares returned by a query are written into a caller-supplied
+ *              buffer, such that no objects are allocated when the model is queried or updated.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public interface BoardModel extends Serializable
+{
+    /**
+     * Return the player ID held at a given square index,
+     * or 0 if the square is empty.
+     *
+     * @param   index   The square index.
+     * @return          The player ID held at the square.
+     */
+    int getPID(int index);
+
+    /**
+     * Place a given player ID at a given square index without
+     * flanking, for setting up the initial board.
+     *
+     * @param   index   The square index.
+     * @param   pid     The player ID to place.
+     */
+    void setPID(int index, int pid);
+
+    /**
+     * Return the number of disks held by a given player ID.
+     *
+     * @param   pid     The given player ID.
+     * @return          The number of disks held by the player ID.
+     */
+    int getScore(int pid);
+
+    /**
+     * Check if a move is legal at a given square index by a
+     * given player ID.
+     *
+     * @param   index   The square index.
+     * @param   pid     The given player ID.
+     * @return          True if the move is legal, else false.
+     */
+    boolean isMoveLegal(int index, int pid);
+
+    /**
+     * Check if a given player ID currently has a legal move.
+     *
+     * @param   pid     The given player ID.
+     * @return          True if the player ID has a legal move,
+     *                  else false.
+     */
+    boolean hasLegalMove(int pid);
+
+    /**
+     * Write the square index of every legal move for a given
+     * player ID into a given buffer.
+     *
+     * @param   pid     The given player ID.
+     * @param   moves   The buffer, with room for every square.
+     * @return          The number of legal moves written.
+     */
+    int getLegalMoves(int pid, int[] moves);
+
+    /**
+     * Return the number of legal moves for a given player ID.
+     *
+     * @param   pid     The given player ID.
+     * @return          The number of legal moves.
+     */
+    int getLegalMoveCount(int pid);
+
+    /**
+     * Write the square index of every square flanked by a move at
+     * a given square index by a given player ID into a given buffer.
+     *
+     * @param   index   The square index.
+     * @param   pid     The given player ID.
+     * @param   flips   The buffer, with room for every square.
+     * @return          The number of flanked squares written, or 0
+     *                  if the move is not legal.
+     */
+    int getFlips(int index, int pid, int[] flips);
+
+    /**
+     * Make a move at a given square index by a given player ID, which is
+     * asserted to be legal, writing the flipped square indices & the
+     * player IDs they held into given buffers.
+     *
+     * @param   index           The square index.
+     * @param   pid             The player ID.
+     * @param   flips           The buffer, with room for every square.
+     * @param   flippedPIDs     The buffer, with room for every square.
+     * @return                  The number of flipped squares written.
+     */
+    int makeMove(int index, int pid, int[] flips, int[] flippedPIDs);
+
+    /**
+     * Take back a move at a given square index by a given player ID,
+     * which is asserted to be the most recent move made, restoring
+     * the given flipped squares to the player IDs they held.
+     *
+     * @param   index           The square index.
+     * @param   pid             The player ID that made the move.
+     * @param   flips           The square indices flipped by the move.
+     * @param   flippedPIDs     The player IDs held by the flipped squares.
+     * @param   flipCount       The number of flipped squares.
+     */
+    void unmakeMove(int index, int pid, int[] flips, int[] flippedPIDs, int flipCount);
+
+    /**
+     * Check if every square on the board is filled.
+     *
+     * @return      True if the board is full, else false.
+     */
+    boolean isFull();
+
+    /**
+     * Return an independent copy of the model, such that moves made
+     * on the copy do not affect the original.
+     *
+     * @return      The copy of the model.
+     */
+    BoardModel copy();
+}
@@ -1,8 +1,8 @@
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
 import javax.swing.*;
-import javax.swing.border.*;
-import java.util.HashSet;
 
 /**
  * Class:       BoardPanel
@@ -11,6 +11,20 @@ import java.util.HashSet;
  * Summary:     This class represents the board panel component, which displays & manages the
  *              graphical representation of the game board for a Reversi game.
  *
+ *              The whole grid is painted by the board panel itself, straight from the board's
+ *              state, & the square under the mouse is found arithmetically from its position. When
+ *              a square changes, only the squares it affects are repainted, so hovering & moving
+ *              cost the same however large the board is.
+ *
+ *              Each kind of square (a player's disk, a flanked disk, or the preview of a move) is
+ *              pre-rendered once as an image at the square's size in device pixels, such that
+ *              painting a square is a single image blit. The images are rendered again when the
+ *              squares change size or scale, or a game with other players is set up.
+ *
+ *              In analysis mode, the legal moves are previewed along with the score of each move from
+ *              an analysis of the position, which is handed over as it deepens & only painted over the
+ *              squares while it is of the board's current position.
+ *
  * @author  Gabriel Doyle-Finch
  * @version 2021.04.28
  */
@@ -30,6 +44,25 @@ public class BoardPanel extends JPanel
     private static final int SQUARE_PANEL_HOVER_OPACITY = 75;
     private static final int SQUARE_PANEL_PREVIEW_OPACITY = 50;
 
+    // The width of a square's border, in pixels.
+    private static final int SQUARE_BORDER_SIZE = 1;
+
+    // The ratio of a square's size (within its border) to the size of its disk.
+    private static final double DISK_SCALE = 1.5;
+
+    // The kinds of square sprite, for a given player: Their disk, their disk when flanked, & the previews of their next
+    // move & of their legal moves.
+    private static final int DISK_SPRITE = 0;
+    private static final int FLANKED_SPRITE = 1;
+    private static final int HOVER_SPRITE = 2;
+    private static final int PREVIEW_SPRITE = 3;
+    private static final int SPRITE_KIND_COUNT = 4;
+
+    // The colors of the analysis scores, & the ratio of their font size to a square's height.
+    private static final Color ANALYSIS_SCORE_COLOR = Color.WHITE;
+    private static final Color ANALYSIS_BEST_SCORE_COLOR = new Color(0xFF, 0xE0, 0x40);
+    private static final float ANALYSIS_FONT_SCALE = 0.28f;
+
     /* * * * * * * * * * * * Instance Variables * * * * * * * * * * * */
 
     // The maximum size of the board panel
@@ -42,20 +75,41 @@ public class BoardPanel extends JPanel
     private int lowerBound;
     private int upperBound;
 
-    // The board's square panel matrix.
-    private SquarePanel[][] squarePanels;
+    // The parent listener, which is told of clicks on squares.
+    private MouseListener parentListener;
 
-    // The board's square matrix.
-    private Square[][] squares;
+    // Flanked squares for move previews, as square indices, the number of them & whether each square is one.
+    private int[] flankedSquareBuffer;
+    private int flankedSquareCount;
+    private boolean[] flankedSquares;
 
-    // Flanked squares for move previews.
-    private HashSet<SquarePanel> flankedSquarePanels;
+    // Legal moves for move previews, as square indices, the number of them & whether each square is one.
+    private int[] currentLegalMoves;
+    private int currentLegalMoveCount;
+    private boolean[] legalMoveSquares;
 
-    // Legal moves for move previews.
-    private HashSet<Square> currentLegalMoves;
+    // Square index where the next move will occur, or -1 if there is no preview.
+    private int activeSquare;
 
-    // Square where the next move will occur.
-    private SquarePanel activeSquarePanel;
+    // Square index under the mouse, or -1.
+    private int hoveredSquare;
+
+    // The disk colors, by player ID.
+    private Color[] diskColors;
+
+    // The pre-rendered squares, by sprite kind & player ID, & the empty square: Each is null until it is first painted.
+    private BufferedImage[][] sprites;
+    private BufferedImage emptySprite;
+
+    // The size of a square the sprites were rendered for, in pixels, & the scale from pixels to device pixels.
+    private int spriteWidth;
+    private int spriteHeight;
+    private double spriteScaleX;
+    private double spriteScaleY;
+
+    // The bounds of the area being painted & the insets of the board panel, reused by each paint.
+    private final Rectangle clipBounds;
+    private final Insets insets;
 
     // The associated board object.
     private Board board;
@@ -72,19 +126,23 @@ public class BoardPanel extends JPanel
     // Whether or not the last attempted move was legal.
     private boolean moveLegal;
 
-    // Whether or not there is currently a preview visible.
-    private boolean isPreview;
-
     // Whether or not the legal moves preview is visible.
     private boolean showLegalMoves;
 
+    // Whether or not the analysis scores are visible, the latest analysis, or null, the label of each of its scores by
+    // square index, & the font of its scores.
+    private boolean showAnalysis;
+    private MoveAnalysis analysis;
+    private String[] analysisLabels;
+    private Font analysisFont;
+
     /**
      * (1) Constructor of BoardPanel objects
-     * 
+     *
      * @param   maxSize         The maximum size of the board panel
      * @param   displaySize     The initial displayed size of the board panel.
      * @param   parentListener  The parent listener for external updates.
-     * 
+     *
      * @throws                  IllegalArgumentException
      */
     public BoardPanel(int maxSize, int displaySize, MouseListener parentListener) throws IllegalArgumentException
@@ -99,21 +157,25 @@ public class BoardPanel extends JPanel
 
         // Set the maximum size of this board panel.
         this.maxSize = maxSize;
+        this.parentListener = parentListener;
+        clipBounds = new Rectangle();
+        insets = new Insets(0, 0, 0, 0);
+
+        // Initialize any preview data.
+        activeSquare = -1;
+        hoveredSquare = -1;
 
         // Create & size the board panel.
-        create(parentListener);
+        create();
         resize(displaySize);
 
-        // Initialize any preview data.
-        flankedSquarePanels = new HashSet<>();
-
         // Set the board to be inactive initially.
         setActive(false);
     }
 
     /**
      * Return the board panel's current display size.
-     * 
+     *
      * @return      The board panel's current display size.
      */
     public int getDisplaySize()
@@ -123,131 +185,99 @@ public class BoardPanel extends JPanel
 
     /**
      * Create the game board for the GUI:
-     * 
-     * The board is created with a maximum amount of squares.
-     * 
-     * @param   parentListener      The parent listener for external events.
-     */
-    private void create(MouseListener parentListener)
-    {
-        // Create the square panel matrix.
-        squarePanels = new SquarePanel[maxSize][maxSize];
-
-        // Create & format the layout for the board panel.
-        GridLayout boardLayout = new GridLayout(maxSize, maxSize);
-        boardLayout.setVgap(INNER_PADDING_SIZE);
-        boardLayout.setHgap(INNER_PADDING_SIZE);
-
-        // Set the layout for the board panel.
-        setLayout(boardLayout);
-
-        for (int i = 0; i < maxSize; ++i) {
-            for (int j = 0; j < maxSize; ++j) {
-                // Create a new square panel.
-                SquarePanel squarePanel = new SquarePanel(j, i);
-                squarePanel.setBorder(new LineBorder(SQUARE_PANEL_BORDER_COLOR));
-                squarePanel.setBackground(SQUARE_PANEL_BACKGROUND_COLOR);
-
-                // Add the mouse listener to the square panel.
-                squarePanel.addMouseListener(new MouseAdapter()
-                    {
-                        /**
-                         * Update the board panel when a square panel is clicked.
-                         * Check for legality & adjust board panel as needed.
-                         * 
-                         * @param   e       The mouse event.
-                         */
-                        @Override
-                        public void mouseClicked(MouseEvent e)
-                        {
-                            // Do nothing if the board panel is currently inactive.
-                            if (!active || board == null) {
-                                return;
-                            }
-
-                            // Store the square.
-                            Square curr = squares[squarePanel.getYPosition() - lowerBound][squarePanel.getXPosition() - lowerBound];
-
-                            // Do nothing if the move isn't legal.
-                            if (!board.isMoveLegal(curr, currentPlayerID)) {
-                                moveLegal = false;
-                                return;
-                            }
-
-                            // Remove the previous legal move preview, if it is active.
-                            if (showLegalMoves) {
-                                hideLegalMoves();
-                            }
+     *
+     * The board is laid out with a maximum amount of squares, of which
+     * the displayed squares are centred, & listens to the mouse itself.
+     */
+    private void create()
+    {
+        MouseAdapter mouseAdapter = new MouseAdapter()
+            {
+                /**
+                 * Update the board panel when a square is clicked.
+                 * Check for legality & adjust board panel as needed,
+                 * then tell the parent listener.
+                 *
+                 * @param   e       The mouse event.
+                 */
+                @Override
+                public void mouseClicked(MouseEvent e)
+                {
+                    // Do nothing if no square was clicked.
+                    int index = getSquareAt(e.getX(), e.getY());
+                    if (index == -1) {
+                        return;
+                    }
 
-                            // Place the disk.
-                            placeDisk(squarePanel, curr);
+                    if (active && board != null) {
+                        // Check the move is legal, then remove the previous legal move preview & place the disk.
+                        if (!board.isMoveLegal(index, currentPlayerID)) {
+                            moveLegal = false;
                         }
-
-                        /**
-                         * Update the board panel when a square panel is hovered over.
-                         * Create a preview of the possible move, if a legal move exists
-                         * for the square.
-                         * 
-                         * @param   e       The mouse event.
-                         */
-                        @Override
-                        public void mouseEntered(MouseEvent e)
-                        {
-                            // Do nothing if the board panel is currently inactive.
-                            if (!active || board == null) {
-                                return;
-                            }
-
-                            // Store the square.
-                            Square curr = squares[squarePanel.getYPosition() - lowerBound][squarePanel.getXPosition() - lowerBound];
-
-                            // Do nothing if the move isn't legal.
-                            if (!board.isMoveLegal(curr, currentPlayerID)) {
-                                return;
+                        else {
+                            hideLegalMoves();
+                            if (activeSquare != index) {
+                                removePreview();
+                                showPreview(index);
                             }
-
-                            // Show the preview.
-                            showPreview(squarePanel, board.getFlankedSquares(curr, currentPlayerID));
+                            placeDisk(index);
                         }
+                    }
 
-                        /**
-                         * Update the board panel when the mouse hovers out of a square
-                         * panel. Remove any active previews.
-                         * 
-                         * @param   e       The mouse event.
-                         */
-                        @Override
-                        public void mouseExited(MouseEvent e)
-                        {
-                            // Do nothing if the board is currently inactive.
-                            if (!active || board == null) {
-                                return;
-                            }
+                    parentListener.mouseClicked(e);
+                }
 
-                            // Remove the preview.
-                            removePreview(false);
-                        }
+                /**
+                 * Update the board panel when the mouse moves onto another square.
+                 * Create a preview of the possible move, if a legal move exists
+                 * for the square.
+                 *
+                 * @param   e       The mouse event.
+                 */
+                @Override
+                public void mouseMoved(MouseEvent e)
+                {
+                    // Do nothing if the board panel is currently inactive, or the mouse is still over the same square.
+                    int index = getSquareAt(e.getX(), e.getY());
+                    if (!active || board == null || index == hoveredSquare) {
+                        return;
+                    }
+                    hoveredSquare = index;
+
+                    // Remove the preview, & show the new one if the move is legal.
+                    removePreview();
+                    if (index != -1 && board.isMoveLegal(index, currentPlayerID)) {
+                        showPreview(index);
                     }
-                );
+                }
 
-                // Add the parent listener to the square panel.
-                squarePanel.addMouseListener(parentListener);
+                /**
+                 * Update the board panel when the mouse leaves it. Remove any
+                 * active previews.
+                 *
+                 * @param   e       The mouse event.
+                 */
+                @Override
+                public void mouseExited(MouseEvent e)
+                {
+                    hoveredSquare = -1;
+                    removePreview();
+                }
+            };
 
-                // Add the square panel to the panel matrix & board panel.
-                squarePanels[i][j] = squarePanel;
-                add(squarePanels[i][j]);
-            }
-        }
+        // Listen to the mouse.
+        addMouseListener(mouseAdapter);
+        addMouseMotionListener(mouseAdapter);
     }
 
     /**
      * Resize the board panel:
-     * 
+     *
      * Set a given dimension of the board to visible,
-     * setting all other squares to be invisible.
-     * 
+     * leaving all other squares blank.
+     *
      * @param   size        The new displayed size of the board.
-     * 
+     *
      * @throws              IllegalArgumentException
      */
     public void resize(int size) throws IllegalArgumentException
@@ -264,22 +294,13 @@ public class BoardPanel extends JPanel
         lowerBound = (int) ((maxSize - displaySize) / 2);
         upperBound = maxSize - lowerBound;
 
-        // Resize the board.
-        for (int i = 0; i < maxSize; ++i) {
-            for (int j = 0; j < maxSize; ++j) {
-                if (i >= lowerBound && i < upperBound && j >= lowerBound && j < upperBound) {
-                    squarePanels[i][j].setVisible(true);
-                }
-                else {
-                    squarePanels[i][j].setVisible(false);
-                }
-            }
-        }
+        // Repaint the whole board.
+        repaint();
     }
 
     /**
      * Check if a given size is valid for the board panel.
-     * 
+     *
      * @param   size        The size to check.
      * @return              True if the size is valid,
      *                      else false.
@@ -295,92 +316,369 @@ public class BoardPanel extends JPanel
 
     /**
      * Setup the board panel for a game:
-     * 
+     *
      * Set the associated game & board object for the board panel,
      * drawing the initial configuration.
-     * 
+     *
      * @param   game        The current game.
      */
     public void setup(Game game) throws IllegalArgumentException
-    {        
+    {
         // Set the associated game.
         currentGame = game;
 
         // Set the current player's ID.
         currentPlayerID = currentGame.getCurrentPlayer().getID();
 
-        // Set the associated board object.
+        // Set the associated board object, & size the preview data for it.
         board = game.getBoard();
+        int squareCount = board.getSize() * board.getSize();
+        flankedSquareBuffer = new int[squareCount];
+        flankedSquareCount = 0;
+        flankedSquares = new boolean[squareCount];
+        currentLegalMoves = new int[squareCount];
+        currentLegalMoveCount = 0;
+        legalMoveSquares = new boolean[squareCount];
+        activeSquare = -1;
+        hoveredSquare = -1;
+
+        // Store each player's disk color, & render their sprites again.
+        Player[] players = currentGame.getPlayers();
+        diskColors = new Color[players.length + 1];
+        for (int pid = 1; pid <= players.length; pid++) {
+            diskColors[pid] = players[pid - 1].getDiskColor();
+        }
+        sprites = new BufferedImage[SPRITE_KIND_COUNT][diskColors.length];
 
-        // Draw the board.
-        drawBoard(board.getSize());
+        // Resize the board panel if needed, & draw the board.
+        if (board.getSize() != displaySize) {
+            resize(board.getSize());
+        }
+        repaint();
 
         // Set the legal move preview, if it is active.
-        if (showLegalMoves) {
+        if (isPreviewingLegalMoves()) {
             showLegalMoves();
         }
     }
 
     /**
-     * Draw the board in its current state.
-     * 
-     * @param   size    The size of the board to draw.
-     * 
-     * @throws          IllegalArgumentException
+     * Reset the board panel to its pre-session state.
      */
-    private void drawBoard(int size) throws IllegalArgumentException
+    public void reset()
+    {
+        // Make every square blank.
+        board = null;
+        currentGame = null;
+        activeSquare = -1;
+        hoveredSquare = -1;
+        flankedSquareCount = 0;
+        currentLegalMoveCount = 0;
+        analysis = null;
+        analysisLabels = null;
+
+        repaint();
+    }
+
+    /**
+     * Paint the displayed squares which need repainting.
+     *
+     * @param   g       The Graphics component.
+     */
+    @Override
+    protected void paintComponent(Graphics g)
     {
-        // Resize the board panel if needed.
-        if (size != displaySize) {
-            resize(size);
+        // Paint the background.
+        super.paintComponent(g);
+
+        // Render the sprites again if the squares have changed size, or are painted at another scale.
+        int squareWidth = getSquareWidth();
+        int squareHeight = getSquareHeight();
+        AffineTransform transform = ((Graphics2D) g).getTransform();
+        if (squareWidth != spriteWidth || squareHeight != spriteHeight
+                || transform.getScaleX() != spriteScaleX || transform.getScaleY() != spriteScaleY) {
+            spriteWidth = squareWidth;
+            spriteHeight = squareHeight;
+            spriteScaleX = transform.getScaleX();
+            spriteScaleY = transform.getScaleY();
+            emptySprite = null;
+            analysisFont = null;
+            if (sprites != null) {
+                sprites = new BufferedImage[SPRITE_KIND_COUNT][diskColors.length];
+            }
         }
 
-        // Store the board's matrix.
-        squares = board.getSquares();
+        // Find the squares within the area being painted.
+        Rectangle clip = clipBounds;
+        if (g.getClipBounds(clip) == null) {
+            clip.setBounds(0, 0, getWidth(), getHeight());
+        }
+        int firstColumn = Math.max(lowerBound, (clip.x - getOriginX()) / (squareWidth + INNER_PADDING_SIZE));
+        int lastColumn = Math.min(upperBound - 1, (clip.x + clip.width - getOriginX()) / (squareWidth + INNER_PADDING_SIZE));
+        int firstRow = Math.max(lowerBound, (clip.y - getOriginY()) / (squareHeight + INNER_PADDING_SIZE));
+        int lastRow = Math.min(upperBound - 1, (clip.y + clip.height - getOriginY()) / (squareHeight + INNER_PADDING_SIZE));
+
+        // Paint each square.
+        boolean hasBoard = board != null && board.getSize() == displaySize;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                int index = hasBoard ? (row - lowerBound) * displaySize + (column - lowerBound) : -1;
+                paintSquare(g, index, getOriginX() + column * (squareWidth + INNER_PADDING_SIZE), getOriginY() + row * (squareHeight + INNER_PADDING_SIZE),
+                    squareWidth, squareHeight);
+            }
+        }
+    }
 
-        // Iterate over the matrix, drawing any non-blank squares as discs on the panel matrix.
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                if (squares[i][j].getPID() > 0) {
-                    squarePanels[i + lowerBound][j + lowerBound].setDiskPanel(currentGame.getPlayers()[squares[i][j].getPID() - 1].getDiskColor());
-                }
-                else {
-                    squarePanels[i + lowerBound][j + lowerBound].setDiskPanel(null);
-                }
+    /**
+     * Paint a square at a given position, as the sprite of its disk or
+     * of the preview of a move.
+     *
+     * @param   g       The Graphics component.
+     * @param   index   The square index, or -1 if there is no board.
+     * @param   x       The x-position of the square, in pixels.
+     * @param   y       The y-position of the square, in pixels.
+     * @param   width   The width of the square, in pixels.
+     * @param   height  The height of the square, in pixels.
+     */
+    private void paintSquare(Graphics g, int index, int x, int y, int width, int height)
+    {
+        // Choose the sprite: The player's disk, or else a preview of the next move or of a legal move.
+        BufferedImage sprite = null;
+        if (index != -1) {
+            int pid = board.getPID(index);
+            if (pid > 0) {
+                sprite = getSprite(flankedSquares[index] ? FLANKED_SPRITE : DISK_SPRITE, pid);
+            }
+            else if (index == activeSquare) {
+                sprite = getSprite(HOVER_SPRITE, currentPlayerID);
+            }
+            else if (isPreviewingLegalMoves() && legalMoveSquares[index]) {
+                sprite = getSprite(PREVIEW_SPRITE, currentPlayerID);
             }
         }
+
+        if (sprite == null) {
+            if (emptySprite == null) {
+                emptySprite = renderSprite(SQUARE_PANEL_BACKGROUND_COLOR, null);
+            }
+            sprite = emptySprite;
+        }
+
+        g.drawImage(sprite, x, y, width, height, null);
+
+        // Paint the score of a legal move over it, if the analysis is of the current position.
+        if (showAnalysis && analysis != null && index != -1 && legalMoveSquares[index] && analysis.hasScore(index) && analysis.isOf(board)) {
+            paintScore((Graphics2D) g, index, x, y, width, height);
+        }
     }
 
     /**
-     * Reset the board panel to its pre-session state.
+     * Paint the score of a legal move from the analysis, centred in its
+     * square, with the label made when the analysis was handed over. The
+     * best move's score is highlighted.
+     *
+     * @param   g       The Graphics component.
+     * @param   index   The square index of the move.
+     * @param   x       The x-position of the square, in pixels.
+     * @param   y       The y-position of the square, in pixels.
+     * @param   width   The width of the square, in pixels.
+     * @param   height  The height of the square, in pixels.
      */
-    public void reset()
+    private void paintScore(Graphics2D g, int index, int x, int y, int width, int height)
+    {
+        String text = analysisLabels[index];
+
+        // Size the font for the squares the first time it is needed.
+        if (analysisFont == null) {
+            analysisFont = getFont().deriveFont(Font.BOLD, Math.max(height * ANALYSIS_FONT_SCALE, 1f));
+        }
+
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setFont(analysisFont);
+        g.setColor((index == analysis.getBestMove()) ? ANALYSIS_BEST_SCORE_COLOR : ANALYSIS_SCORE_COLOR);
+        FontMetrics metrics = g.getFontMetrics();
+        g.drawString(text, x + (width - metrics.stringWidth(text)) / 2, y + (height - metrics.getHeight()) / 2 + metrics.getAscent());
+    }
+
+    /**
+     * Return the sprite of a given kind for a given player, rendering it
+     * if it has not been painted yet.
+     *
+     * @param   kind    The sprite kind.
+     * @param   pid     The player ID.
+     * @return          The sprite.
+     */
+    private BufferedImage getSprite(int kind, int pid)
     {
-        // Make every square panel blank.
-        for (SquarePanel[] row : squarePanels) {
-            for (SquarePanel squarePanel : row) {
-                squarePanel.setDiskPanel(null);
+        if (sprites[kind][pid] == null) {
+            Color color = diskColors[pid];
+            if (kind == DISK_SPRITE) {
+                sprites[kind][pid] = renderSprite(SQUARE_PANEL_BACKGROUND_COLOR, color);
+            }
+            else if (kind == FLANKED_SPRITE) {
+                sprites[kind][pid] = renderSprite(SQUARE_PANEL_PREVIEW_COLOR, color);
+            }
+            else {
+                int opacity = (kind == HOVER_SPRITE) ? SQUARE_PANEL_HOVER_OPACITY : SQUARE_PANEL_PREVIEW_OPACITY;
+                sprites[kind][pid] = renderSprite(SQUARE_PANEL_BACKGROUND_COLOR, new Color(color.getRed(), color.getGreen(), color.getBlue(), opacity));
             }
         }
+
+        return sprites[kind][pid];
+    }
+
+    /**
+     * Render a square as an image, at the size of a square in device
+     * pixels: Its background & border, & a disk.
+     *
+     * @param   background  The background color.
+     * @param   diskColor   The disk color, or null for an empty square.
+     * @return              The image.
+     */
+    private BufferedImage renderSprite(Color background, Color diskColor)
+    {
+        // Create an image in the screen's format, such that it can be copied straight to the screen.
+        int pixelWidth = Math.max((int) Math.ceil(spriteWidth * spriteScaleX), 1);
+        int pixelHeight = Math.max((int) Math.ceil(spriteHeight * spriteScaleY), 1);
+        GraphicsConfiguration configuration = getGraphicsConfiguration();
+        BufferedImage sprite = (configuration != null) ? configuration.createCompatibleImage(pixelWidth, pixelHeight)
+                                                       : new BufferedImage(pixelWidth, pixelHeight, BufferedImage.TYPE_INT_RGB);
+
+        Graphics2D g = sprite.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.scale((double) pixelWidth / spriteWidth, (double) pixelHeight / spriteHeight);
+
+        // Paint the background & the border.
+        g.setColor(background);
+        g.fillRect(0, 0, spriteWidth, spriteHeight);
+        g.setColor(SQUARE_PANEL_BORDER_COLOR);
+        g.drawRect(0, 0, spriteWidth - 1, spriteHeight - 1);
+
+        // Paint the disk, centred in the square.
+        if (diskColor != null) {
+            int diskWidth = (int) ((spriteWidth - SQUARE_BORDER_SIZE * 2) / DISK_SCALE);
+            int diskHeight = (int) ((spriteHeight - SQUARE_BORDER_SIZE * 2) / DISK_SCALE);
+            int diskX = (spriteWidth - diskWidth) / 2;
+            int diskY = (spriteHeight - diskHeight) / 2;
+            g.setColor(diskColor);
+            g.drawOval(diskX, diskY, diskWidth, diskHeight);
+            g.fillOval(diskX, diskY, diskWidth, diskHeight);
+        }
+
+        g.dispose();
+        return sprite;
+    }
+
+    /**
+     * Return the width of each square, with the squares & the padding
+     * between them spread across the board panel.
+     *
+     * @return      The width of a square, in pixels.
+     */
+    private int getSquareWidth()
+    {
+        getInsets(insets);
+        return Math.max((getWidth() - insets.left - insets.right - (maxSize - 1) * INNER_PADDING_SIZE) / maxSize, 1);
+    }
+
+    /**
+     * Return the height of each square, with the squares & the padding
+     * between them spread across the board panel.
+     *
+     * @return      The height of a square, in pixels.
+     */
+    private int getSquareHeight()
+    {
+        getInsets(insets);
+        return Math.max((getHeight() - insets.top - insets.bottom - (maxSize - 1) * INNER_PADDING_SIZE) / maxSize, 1);
+    }
+
+    /**
+     * Return the x-position of the first column, with any width left over
+     * from the squares split evenly either side.
+     *
+     * @return      The x-position, in pixels.
+     */
+    private int getOriginX()
+    {
+        getInsets(insets);
+        int gridWidth = getSquareWidth() * maxSize + (maxSize - 1) * INNER_PADDING_SIZE;
+        return insets.left + (getWidth() - insets.left - insets.right - gridWidth) / 2;
+    }
+
+    /**
+     * Return the y-position of the first row, with any height left over
+     * from the squares split evenly either side.
+     *
+     * @return      The y-position, in pixels.
+     */
+    private int getOriginY()
+    {
+        getInsets(insets);
+        int gridHeight = getSquareHeight() * maxSize + (maxSize - 1) * INNER_PADDING_SIZE;
+        return insets.top + (getHeight() - insets.top - insets.bottom - gridHeight) / 2;
+    }
+
+    /**
+     * Return the square of the board at a given point on the board panel.
+     *
+     * @param   x       The x-position, in pixels.
+     * @param   y       The y-position, in pixels.
+     * @return          The square index, or -1 if the point is not on a
+     *                  displayed square of the board.
+     */
+    private int getSquareAt(int x, int y)
+    {
+        // Find the column & row, rejecting the padding between squares.
+        int squareWidth = getSquareWidth();
+        int squareHeight = getSquareHeight();
+        int offsetX = x - getOriginX();
+        int offsetY = y - getOriginY();
+        if (board == null || offsetX < 0 || offsetY < 0
+                || offsetX % (squareWidth + INNER_PADDING_SIZE) >= squareWidth || offsetY % (squareHeight + INNER_PADDING_SIZE) >= squareHeight) {
+            return -1;
+        }
+
+        int column = offsetX / (squareWidth + INNER_PADDING_SIZE) - lowerBound;
+        int row = offsetY / (squareHeight + INNER_PADDING_SIZE) - lowerBound;
+        if (column < 0 || column >= displaySize || row < 0 || row >= displaySize || board.getSize() != displaySize) {
+            return -1;
+        }
+
+        return row * displaySize + column;
     }
 
     /**
-     * Place a disk at a given square panel, checking for
+     * Repaint the area of a given square, once it has changed.
+     *
+     * @param   index   The square index.
+     */
+    private void repaintSquare(int index)
+    {
+        int squareWidth = getSquareWidth();
+        int squareHeight = getSquareHeight();
+        int column = index % displaySize + lowerBound;
+        int row = index / displaySize + lowerBound;
+
+        repaint(getOriginX() + column * (squareWidth + INNER_PADDING_SIZE), getOriginY() + row * (squareHeight + INNER_PADDING_SIZE), squareWidth, squareHeight);
+    }
+
+    /**
+     * Place a disk at the square of the active preview, checking for
      * legality & updating the board.
-     * 
-     * @param   squarePanel     The square panel to place the disk (graphically).
-     * @param   square          The square to place to disk (logically).
+     *
+     * @param   index   The square index of the move.
      */
-    private void placeDisk(SquarePanel squarePanel, Square square)
+    private void placeDisk(int index)
     {
-        // Do nothing if a preview isn't active.
-        if (!isPreview || activeSquarePanel == null) {
+        // Do nothing if a preview isn't active at the square.
+        if (activeSquare != index) {
             return;
         }
 
-        // Place the player's disk (logically). Check for legality.
+        // Place the player's disk. Check for legality.
         try {
-            board.makeMove(square, currentPlayerID);
+            board.makeMove(index, currentPlayerID);
         }
         catch (IllegalMoveException ex) {
             moveLegal = false;
@@ -390,79 +688,95 @@ public class BoardPanel extends JPanel
         // Move must be legal.
         moveLegal = true;
 
-        // Place the player's disk (graphically).
-        Color color = currentGame.getPlayers()[currentPlayerID - 1].getDiskColor();
-        squarePanel.setDiskPanel(color);
-
-        // Flip the flanked squares (graphically).
-        for (SquarePanel flankedSquarePanel : flankedSquarePanels) {
-            flankedSquarePanel.setDiskPanel(color);
-        }
-
-        // Remove the preview.
-        removePreview(true);
+        // Remove the preview, repainting the placed disk & the flipped disks.
+        removePreview();
 
         // Update the player ID.
         nextTurn();
     }
 
     /**
-     * Show a preview of the current move.
-     * 
-     * @param   squarePanel     The square panel being highlighted.
-     * @param   flankedSquares  The flanked squares.
+     * Play a move for the current player at a given square, as if
+     * the square had been clicked, such as a move chosen by a
+     * computer player.
+     *
+     * @param   square      The square to place the disk.
+     */
+    public void playMove(Square square)
+    {
+        // Do nothing if the move isn't legal.
+        if (board == null || !board.isMoveLegal(square, currentPlayerID)) {
+            moveLegal = false;
+            return;
+        }
+
+        playMove(square.y * board.getSize() + square.x);
+    }
+
+    /**
+     * Play a move for the current player at a given square index, as
+     * if the square had been clicked.
+     *
+     * @param   index       The square index (y * size + x) to place
+     *                      the disk.
      */
-    private void showPreview(SquarePanel squarePanel, HashSet<Square> flankedSquares)
+    public void playMove(int index)
     {
-        // Signify that a preview is active.
-        isPreview = true;
+        // Do nothing if the move isn't legal.
+        if (board == null || !board.isMoveLegal(index, currentPlayerID)) {
+            moveLegal = false;
+            return;
+        }
 
-        // Store the next move panel.
-        activeSquarePanel = squarePanel;
+        // Remove any existing previews.
+        removePreview();
+        hideLegalMoves();
 
-        // Highlight the square.
-        Color color = currentGame.getPlayers()[currentPlayerID - 1].getDiskColor();
-        squarePanel.setDiskPanel(new Color(color.getRed(), color.getGreen(), color.getBlue(), SQUARE_PANEL_HOVER_OPACITY));
+        // Preview & place the disk.
+        showPreview(index);
+        placeDisk(index);
+    }
+
+    /**
+     * Show a preview of the current move.
+     *
+     * @param   index   The square index of the move, which is legal.
+     */
+    private void showPreview(int index)
+    {
+        // Store the next move square & highlight it.
+        activeSquare = index;
+        repaintSquare(index);
 
         // Highlight any flanked squares.
-        for (Square flankedSquare : flankedSquares) {
-            squarePanels[flankedSquare.y + lowerBound][flankedSquare.x + lowerBound].setBackground(SQUARE_PANEL_PREVIEW_COLOR);
-            flankedSquarePanels.add(squarePanels[flankedSquare.y + lowerBound][flankedSquare.x + lowerBound]);
+        flankedSquareCount = board.getFlankedSquares(index, currentPlayerID, flankedSquareBuffer);
+        for (int i = 0; i < flankedSquareCount; i++) {
+            flankedSquares[flankedSquareBuffer[i]] = true;
+            repaintSquare(flankedSquareBuffer[i]);
         }
     }
 
     /**
-     * Remove the active preview, if it exists.
-     * 
-     * @param   moveTaken       True if a move has just been taken,
-     *                          else false.
+     * Remove the active preview, if it exists, repainting its squares:
+     * Either back as they were, or with the disks of the move just taken.
      */
-    private void removePreview(boolean moveTaken)
+    private void removePreview()
     {
         // Do nothing if no preview is active.
-        if (!isPreview || activeSquarePanel == null) {
+        if (activeSquare == -1) {
             return;
         }
 
-        // Un-highlight the next move square, if no move was taken & the legal moves preview isn't active.
-        if (!moveTaken && showLegalMoves) {
-            Color color = currentGame.getPlayers()[currentPlayerID - 1].getDiskColor();
-            activeSquarePanel.setDiskPanel(new Color(color.getRed(), color.getGreen(), color.getBlue(), SQUARE_PANEL_PREVIEW_OPACITY));
-        }
-        else if (!moveTaken && !showLegalMoves) {
-            activeSquarePanel.setDiskPanel(null);
-        }
-
-        // Un-highlight flanked square panels upon exit.
-        for (SquarePanel flankedSquarePanel : flankedSquarePanels) {
-            flankedSquarePanel.setBackground(SQUARE_PANEL_BACKGROUND_COLOR);
+        // Un-highlight the next move square & the flanked squares.
+        repaintSquare(activeSquare);
+        for (int i = 0; i < flankedSquareCount; i++) {
+            flankedSquares[flankedSquareBuffer[i]] = false;
+            repaintSquare(flankedSquareBuffer[i]);
         }
 
         // Clear preview data.
-        flankedSquarePanels.clear();
-
-        // No preview active.
-        isPreview = false;
+        flankedSquareCount = 0;
+        activeSquare = -1;
     }
 
     /**
@@ -470,16 +784,19 @@ public class BoardPanel extends JPanel
      */
     private void showLegalMoves()
     {
-        // Receive all legal moves for the current player ID.
-        currentLegalMoves = board.getLegalMoves(currentPlayerID);
+        // Do nothing if there is no board.
+        if (board == null) {
+            return;
+        }
 
-        // Store the preview disk color.
-        Color diskColor = currentGame.getPlayers()[currentPlayerID - 1].getDiskColor();
-        Color previewColor = new Color(diskColor.getRed(), diskColor.getGreen(), diskColor.getBlue(), SQUARE_PANEL_PREVIEW_OPACITY);
+        // Remove the previous preview, then receive all legal moves for the current player ID.
+        hideLegalMoves();
+        currentLegalMoveCount = board.getLegalMoves(currentPlayerID, currentLegalMoves);
 
         // Set a preview for each legal move.
-        for (Square square : currentLegalMoves) {
-            squarePanels[square.y + lowerBound][square.x + lowerBound].setDiskPanel(previewColor);
+        for (int i = 0; i < currentLegalMoveCount; i++) {
+            legalMoveSquares[currentLegalMoves[i]] = true;
+            repaintSquare(currentLegalMoves[i]);
         }
     }
 
@@ -489,36 +806,117 @@ public class BoardPanel extends JPanel
     private void hideLegalMoves()
     {
         // Do nothing if no legal moves are stored.
-        if (currentLegalMoves == null || currentLegalMoves.isEmpty()) {
+        if (board == null || currentLegalMoveCount == 0) {
             return;
         }
 
         // Remove the preview for each legal move.
-        for (Square square : currentLegalMoves) {
-            if (square.getPID() == 0) {
-                squarePanels[square.y + lowerBound][square.x + lowerBound].setDiskPanel(null);
-            }
+        for (int i = 0; i < currentLegalMoveCount; i++) {
+            legalMoveSquares[currentLegalMoves[i]] = false;
+            repaintSquare(currentLegalMoves[i]);
         }
+        currentLegalMoveCount = 0;
     }
 
     /**
      * Set the legal moves preview for the current player to be visible or invisible.
-     * 
+     *
      * @param       visible     True if the the legal moves are to be previewed, else
      *                          false if they are to be invisible.
      */
     public void setLegalMovesVisible(boolean visible)
     {
-        if (visible) {
-            showLegalMoves = true;
+        showLegalMoves = visible;
+        updateLegalMoves();
+    }
+
+    /**
+     * Set the analysis scores to be visible or invisible. The legal moves
+     * are previewed while the scores are visible.
+     *
+     * @param       visible     True if the analysis scores are to be shown
+     *                          over the legal moves, else false.
+     */
+    public void setAnalysisVisible(boolean visible)
+    {
+        showAnalysis = visible;
+        updateLegalMoves();
+    }
+
+    /**
+     * Show the scores of a given analysis over the legal moves, as soon
+     * as it is of the current position, replacing any previous analysis.
+     *
+     * @param   analysis    The analysis, or null to remove the scores.
+     */
+    public void setAnalysis(MoveAnalysis analysis)
+    {
+        this.analysis = analysis;
+        analysisLabels = (analysis != null) ? createLabels(analysis) : null;
+
+        // Repaint the legal moves with their new scores.
+        if (showAnalysis) {
+            for (int i = 0; i < currentLegalMoveCount; i++) {
+                repaintSquare(currentLegalMoves[i]);
+            }
+        }
+    }
+
+    /**
+     * Make the label of each score of a given analysis, once as it is
+     * handed over rather than as it is painted: The final disk difference
+     * if the outcome is proven, or else the chance of winning.
+     *
+     * @param   analysis    The analysis.
+     * @return              The label of each square index, or null where
+     *                      the square has not been scored.
+     */
+    private static String[] createLabels(MoveAnalysis analysis)
+    {
+        String[] labels = new String[analysis.getSize() * analysis.getSize()];
+
+        for (int index = 0; index < labels.length; index++) {
+            if (!analysis.hasScore(index)) {
+                continue;
+            }
+
+            if (analysis.isProven(index)) {
+                int difference = analysis.getDiskDifference(index);
+                labels[index] = (difference == 0) ? "0" : String.format("%+d", difference);
+            }
+            else {
+                labels[index] = Math.round(analysis.getWinProbability(index) * 100) + "%";
+            }
+        }
+
+        return labels;
+    }
+
+    /**
+     * Show or hide the legal moves preview, & repaint it, once what is to be
+     * previewed has changed.
+     */
+    private void updateLegalMoves()
+    {
+        if (isPreviewingLegalMoves()) {
             showLegalMoves();
         }
         else {
-            showLegalMoves = false;
             hideLegalMoves();
         }
     }
 
+    /**
+     * Check if the legal moves are to be previewed: If they are to be
+     * shown, or the analysis scores are to be shown over them.
+     *
+     * @return      True if the legal moves are to be previewed, else false.
+     */
+    private boolean isPreviewingLegalMoves()
+    {
+        return showLegalMoves || showAnalysis;
+    }
+
     /**
      * Move to the next turn in the game, updating the
      * current player ID.
@@ -531,25 +929,32 @@ public class BoardPanel extends JPanel
         }
 
         // Set the legal move preview, if it is active.
-        if (showLegalMoves) {
+        if (isPreviewingLegalMoves()) {
             showLegalMoves();
         }
     }
 
     /**
-     * Set the board panel's interactive state.
-     * 
+     * Set the board panel's interactive state, removing any preview
+     * when it stops being interactive.
+     *
      * @param   state   True if the board will become interactive,
      *                  else false.
      */
     public void setActive(boolean state)
     {
         active = state;
+
+        // Forget the hovered square, such that a preview is shown again once the mouse moves.
+        if (!active) {
+            removePreview();
+            hoveredSquare = -1;
+        }
     }
 
     /**
      * Check if the board panel is currently interactive.
-     * 
+     *
      * @return      True if the board is currently interactive,
      *              else false.
      */
@@ -565,4 +970,4 @@ public class BoardPanel extends JPanel
     {
         return moveLegal;
     }
-}
\ No newline at end of file
+}
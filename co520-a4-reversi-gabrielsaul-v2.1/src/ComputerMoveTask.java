@@ -0,0 +1,105 @@
+import javax.swing.SwingWorker;
+
+/**
+ * Class:       ComputerMoveTask
+ * Category:    Game Logic
+ * Superclass:  SwingWorker
+ * Summary:     This class chooses the move of a computer player in the background, such that the frame keeps
+ *              painting while the player thinks. The task is handed a copy of the position of the game's current
+ *              turn, & the chosen move is handed back on the event dispatch thread through done, where get returns
+ *              its square index (or SearchResult.PASS).
+ *
+ *              Stopping the task cancels it & stops the player's search, which returns within moments. Tasks for
+ *              the same player must be run one at a time, such as by a single thread, as a player chooses one
+ *              move at a time.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class ComputerMoveTask extends SwingWorker<Integer, Void>
+{
+    /* * * * * * * * * * * * Instance Variables * * * * * * * * * * * */
+
+    // The game the move is chosen for.
+    private final Game game;
+
+    // The player choosing the move.
+    private final ComputerPlayer player;
+
+    // A copy of the position the move is chosen in.
+    private final Board board;
+
+    // Whether or not the task has been stopped: Guarded by the task.
+    private boolean stopped;
+
+    /**
+     * (1) Constructor of ComputerMoveTask objects: Choose the move of
+     * the current player of a given game, which must be a computer
+     * player, in the game's current position.
+     *
+     * @param   game    The game.
+     *
+     * @throws          IllegalArgumentException
+     */
+    public ComputerMoveTask(Game game) throws IllegalArgumentException
+    {
+        // Validate game argument.
+        if (!game.isComputerTurn()) {
+            throw new IllegalArgumentException("Game without a computer turn passed to ComputerMoveTask constructor");
+        }
+
+        this.game = game;
+        player = (ComputerPlayer) game.getCurrentPlayer();
+        board = new Board(game.getBoard());
+    }
+
+    /**
+     * Return the game the move is chosen for.
+     *
+     * @return      The game.
+     */
+    public Game getGame()
+    {
+        return game;
+    }
+
+    /**
+     * Return the player choosing the move.
+     *
+     * @return      The computer player.
+     */
+    public ComputerPlayer getPlayer()
+    {
+        return player;
+    }
+
+    /**
+     * Cancel the task & stop the player's search, if it has begun, such
+     * that the thread is freed for the next task.
+     */
+    public synchronized void stop()
+    {
+        stopped = true;
+        cancel(false);
+        player.stop();
+    }
+
+    /**
+     * Choose the move, unless the task was stopped before it began.
+     *
+     * @return      The square index of the move, or SearchResult.PASS.
+     */
+    @Override
+    protected Integer doInBackground()
+    {
+        // Let the player search again, unless the task has already been stopped.
+        synchronized (this) {
+            if (stopped) {
+                return SearchResult.PASS;
+            }
+            player.resume();
+        }
+
+        return player.chooseMove(board);
+    }
+}
@@ -0,0 +1,280 @@
+import java.awt.Color;
+
+/**
+ * Class:       ComputerPlayer
+ * Category:    Game Logic, Data
+ * Superclass:  Player
+ * Summary:     This class represents a player in the game of Reversi whose moves are chosen by a ParallelSearch,
+ *              given a time budget for each move & a number of threads to search with, and whose endgame is played
+ *              perfectly by an EndgameSolver once it can be solved in time. The search & solver are not serialized,
+ *              and are recreated when the first move of a loaded session is requested.
+ *
+ *              A move may be chosen on a background thread, one move at a time, while other threads follow its
+ *              progress & ask it to stop.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class ComputerPlayer extends Player
+{
+    // The default time budget for each move, in milliseconds.
+    public static final long DEFAULT_TIME_BUDGET = 1000;
+
+    // The default number of threads to search with: One for each processor.
+    public static final int DEFAULT_THREAD_COUNT = Runtime.getRuntime().availableProcessors();
+
+    // The number of empty squares at or below which the endgame is solved exactly, if there is time.
+    public static final int SOLVE_EMPTY_COUNT = 20;
+
+    // The stages of choosing a move.
+    private static final int IDLE = 0;
+    private static final int SOLVING = 1;
+    private static final int SEARCHING = 2;
+
+    // The time budget for each move, in milliseconds.
+    private long timeBudget;
+
+    // The number of threads to search with.
+    private int threadCount;
+
+    // The search used to choose moves, which another thread may stop.
+    private transient volatile ParallelSearch search;
+
+    // The solver used to play the endgame perfectly, which another thread may stop.
+    private transient volatile EndgameSolver solver;
+
+    // The result of the most recent search.
+    private transient SearchResult lastResult;
+
+    // The stage of the move being chosen, the number of empty squares being solved & the positions visited by a
+    // solve which ran out of time, for other threads to follow the move's progress.
+    private transient volatile int stage;
+    private transient volatile int solveDepth;
+    private transient volatile long solveNodes;
+
+    // Whether or not choosing moves has been stopped by another thread.
+    private transient volatile boolean stopped;
+
+    /**
+     * (1) Constructor for ComputerPlayer objects
+     *
+     * @param   name            The player's name upon creation.
+     * @param   diskColorName   The player's displayed disk color name upon creation.
+     * @param   diskColor       The player's actual disk color upon creation.
+     * @param   timeBudget      The time budget for each move, in milliseconds.
+     * @param   threadCount     The number of threads to search with.
+     *
+     * @throws                  IllegalArgumentException
+     */
+    public ComputerPlayer(String name, String diskColorName, Color diskColor, long timeBudget, int threadCount) throws IllegalArgumentException
+    {
+        super(name, diskColorName, diskColor);
+
+        // Validate time budget & thread count arguments.
+        if (timeBudget <= 0) {
+            throw new IllegalArgumentException("Invalid time budget passed to ComputerPlayer constructor");
+        }
+        else if (threadCount < 1) {
+            throw new IllegalArgumentException("Invalid thread count passed to ComputerPlayer constructor");
+        }
+
+        this.timeBudget = timeBudget;
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Return the time budget for each move.
+     *
+     * @return      The time budget, in milliseconds.
+     */
+    public long getTimeBudget()
+    {
+        return timeBudget;
+    }
+
+    /**
+     * Return the number of threads searched with.
+     *
+     * @return      The number of threads.
+     */
+    public int getThreadCount()
+    {
+        return threadCount;
+    }
+
+    /**
+     * Choose moves with a given search & solver, rather than creating
+     * them for the first move, such that a thread playing many games
+     * can keep one of each between games. Neither may be used by another
+     * player while this player is choosing a move.
+     *
+     * @param   search      The search, with this player's thread count.
+     * @param   solver      The endgame solver.
+     *
+     * @throws              IllegalArgumentException
+     */
+    public void setEngines(ParallelSearch search, EndgameSolver solver) throws IllegalArgumentException
+    {
+        // Validate search argument.
+        if (search.getThreadCount() != threadCount) {
+            throw new IllegalArgumentException("Search with the wrong thread count passed to setEngines");
+        }
+
+        this.search = search;
+        this.solver = solver;
+    }
+
+    /**
+     * Return the result of the most recent search, or null if
+     * no move has been chosen yet.
+     *
+     * @return      The result of the most recent search.
+     */
+    public SearchResult getLastResult()
+    {
+        return lastResult;
+    }
+
+    /**
+     * Return the deepest depth searched so far for the move being
+     * chosen, from any thread: The number of empty squares while the
+     * endgame is being solved.
+     *
+     * @return      The search depth, in moves, or 0 if no move is
+     *              being chosen.
+     */
+    public int getThinkingDepth()
+    {
+        if (stage == SOLVING) {
+            return solveDepth;
+        }
+        else if (stage == SEARCHING) {
+            return search.getDepth();
+        }
+
+        return 0;
+    }
+
+    /**
+     * Return the number of positions visited so far for the move being
+     * chosen, from any thread. The count is updated periodically.
+     *
+     * @return      The number of positions, or 0 if no move is being
+     *              chosen.
+     */
+    public long getThinkingNodes()
+    {
+        if (stage == SOLVING) {
+            return solver.getNodes();
+        }
+        else if (stage == SEARCHING) {
+            return solveNodes + search.getNodes();
+        }
+
+        return 0;
+    }
+
+    /**
+     * Ask the move being chosen to stop as soon as possible, from any
+     * thread, & stop any move chosen after it from searching until
+     * resume is called.
+     */
+    public void stop()
+    {
+        stopped = true;
+
+        if (solver != null) {
+            solver.stop();
+        }
+        if (search != null) {
+            search.stop();
+        }
+    }
+
+    /**
+     * Allow moves to be searched for again, after stop was called.
+     */
+    public void resume()
+    {
+        stopped = false;
+
+        if (solver != null) {
+            solver.resume();
+        }
+        if (search != null) {
+            search.resume();
+        }
+    }
+
+    /**
+     * Check if this player's moves are chosen by the computer.
+     *
+     * @return      True.
+     */
+    @Override
+    public boolean isComputer()
+    {
+        return true;
+    }
+
+    /**
+     * Choose a move for this player on a given board, where it is
+     * this player's turn. Near the end of the game, the position is
+     * solved exactly with half the time budget, and searched with the
+     * rest of the time if it could not be solved. Only one move may be
+     * chosen at a time.
+     *
+     * @param   board       The board, which is not changed.
+     * @return              The square index of the chosen move, or
+     *                      SearchResult.PASS if there is no legal move.
+     *                      If the player has been stopped, the move is
+     *                      chosen by the shallowest search.
+     */
+    public int chooseMove(Board board)
+    {
+        long startTime = System.nanoTime();
+        solveNodes = 0;
+
+        try {
+            // Try to solve the endgame, creating the solver if needed.
+            int emptyCount = EndgameSolver.getEmptyCount(board);
+            if (emptyCount <= SOLVE_EMPTY_COUNT && !stopped) {
+                if (solver == null) {
+                    solver = new EndgameSolver();
+
+                    // A stop which came before the solver existed must still stop it.
+                    if (stopped) {
+                        solver.stop();
+                    }
+                }
+
+                solveDepth = emptyCount;
+                stage = SOLVING;
+                lastResult = solver.solve(board, true, Math.max(timeBudget / 2, 1));
+                if (lastResult != null) {
+                    return lastResult.getMove();
+                }
+                solveNodes = solver.getNodes();
+            }
+
+            // Create the search if needed.
+            if (search == null) {
+                search = new ParallelSearch(threadCount, SearchEngine.DEFAULT_TABLE_SIZE);
+
+                // A stop which came before the search existed must still stop it.
+                if (stopped) {
+                    search.stop();
+                }
+            }
+
+            long remainingTime = stopped ? 1 : timeBudget - (System.nanoTime() - startTime) / 1_000_000;
+            stage = SEARCHING;
+            lastResult = search.search(board, Math.max(remainingTime, 1));
+
+            return lastResult.getMove();
+        }
+        finally {
+            stage = IDLE;
+        }
+    }
+}
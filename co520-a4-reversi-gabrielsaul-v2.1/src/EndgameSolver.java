@@ -0,0 +1,1018 @@
+/**
+ * Class:       EndgameSolver
+ * Category:    Game Logic
+ * Summary:     This class represents a solver for the end of a two-player game of Reversi, which searches every
+ *              line of play to the end of the game to find the outcome with perfect play. The solver can find the
+ *              exact final disk difference, or only whether the player to move wins, loses or draws, which is
+ *              quicker to prove as the search window is narrower.
+ *
+ *              Standard 8 × 8 boards are solved directly on the 64-bit disk masks of their BitBoard. Moves are
+ *              ordered fastest-first (by the number of replies left to the opponent) while many squares are empty,
+ *              and otherwise by parity, preferring the regions of the board with an odd number of empty squares.
+ *              The last four empty squares are solved by dedicated methods that play the empty squares directly,
+ *              without generating moves. Boards of other sizes are solved through the Board, making & taking back
+ *              moves on a copy.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class EndgameSolver
+{
+    /* * * * * * * * * * * * Class Variables * * * * * * * * * * * */
+
+    // The number of players the solver can solve for.
+    public static final int PLAYER_COUNT = 2;
+
+    // The default memory budget for the transposition table, in megabytes.
+    public static final int DEFAULT_TABLE_SIZE = 16;
+
+    // The number of positions visited between checks of the clock (as a mask).
+    private static final int NODE_CHECK_MASK = 4095;
+
+    // The number of empty squares at or below which moves are ordered by parity alone, without the table.
+    private static final int SHALLOW_EMPTIES = 6;
+
+    // The number of squares on the standard board.
+    private static final int SQUARE_COUNT = 64;
+
+    // A score beyond any disk difference on the standard board.
+    private static final int INFINITY = SQUARE_COUNT + 1;
+
+    // The mask of the corners, whose replies count double when ordering moves.
+    private static final long CORNERS = 0x8100000000000081L;
+
+    // The masks of the four quadrants of the standard board, used to find the parity of each region.
+    private static final long[] QUADRANTS = { 0x000000000F0F0F0FL, 0x00000000F0F0F0F0L, 0x0F0F0F0F00000000L, 0xF0F0F0F000000000L };
+
+    // The masks of the files, ranks & border of the standard board.
+    private static final long FILE_A = 0x0101010101010101L;
+    private static final long FILE_H = 0x8080808080808080L;
+    private static final long RANK_1 = 0x00000000000000FFL;
+    private static final long RANK_8 = 0xFF00000000000000L;
+    private static final long BORDER = FILE_A | FILE_H | RANK_1 | RANK_8;
+
+    // The masks of the diagonals (towards H8) & anti-diagonals (towards A8) of the standard board.
+    private static final long[] DIAGONALS = new long[15];
+    private static final long[] ANTI_DIAGONALS = new long[15];
+
+    // The lowest alpha at which the stable disks are counted, to try to prove the score can't be beaten.
+    private static final int STABILITY_THRESHOLD = 8;
+
+    static
+    {
+        // Collect the squares of each diagonal & anti-diagonal.
+        for (int square = 0; square < SQUARE_COUNT; square++) {
+            int x = square % 8, y = square / 8;
+            DIAGONALS[x - y + 7] |= 1L << square;
+            ANTI_DIAGONALS[x + y] |= 1L << square;
+        }
+    }
+
+    /* * * * * * * * * * * * Instance Variables * * * * * * * * * * * */
+
+    // The transposition table, which is kept between solves.
+    private final TranspositionTable table;
+
+    // The move, flip & ordering key buffers for the standard board, indexed by the number of empty squares.
+    private final int[][] moveBuffers;
+    private final long[][] flipBuffers;
+    private final int[][] keyBuffers;
+
+    // The copy of the board being solved, for boards of other sizes.
+    private Board board;
+
+    // The move & ordering key buffers for boards of other sizes, indexed by ply.
+    private int[][] boardMoveBuffers;
+    private int[][] boardKeyBuffers;
+
+    // The number of positions visited in the current solve.
+    private long nodes;
+
+    // The time at which the current solve must stop, in nanoseconds.
+    private long deadline;
+
+    // Whether or not the current solve has run out of time.
+    private boolean aborted;
+
+    // Whether or not the current solve has been asked to stop by another thread.
+    private volatile boolean stopped;
+
+    // The positions visited so far in the current solve, for other threads to read.
+    private volatile long reportedNodes;
+
+    /**
+     * (1) Constructor of EndgameSolver objects: With a transposition
+     *     table of the default size.
+     */
+    public EndgameSolver()
+    {
+        this(DEFAULT_TABLE_SIZE);
+    }
+
+    /**
+     * (2) Constructor of EndgameSolver objects
+     *
+     * @param   tableSize   The memory budget for the transposition table,
+     *                      in megabytes.
+     *
+     * @throws              IllegalArgumentException
+     */
+    public EndgameSolver(int tableSize) throws IllegalArgumentException
+    {
+        table = new TranspositionTable(tableSize);
+
+        moveBuffers = new int[SQUARE_COUNT + 1][SQUARE_COUNT];
+        flipBuffers = new long[SQUARE_COUNT + 1][SQUARE_COUNT];
+        keyBuffers = new int[SQUARE_COUNT + 1][SQUARE_COUNT];
+    }
+
+    /**
+     * Ask the current solve to stop as soon as possible, from any
+     * thread, & stop any solve after it until resume is called.
+     */
+    public void stop()
+    {
+        stopped = true;
+    }
+
+    /**
+     * Allow the next solve to run, after a previous solve was asked
+     * to stop.
+     */
+    void resume()
+    {
+        stopped = false;
+    }
+
+    /**
+     * Return the number of positions visited so far in the current
+     * solve, from any thread. The count is updated periodically.
+     *
+     * @return      The number of positions.
+     */
+    public long getNodes()
+    {
+        return reportedNodes;
+    }
+
+    /**
+     * Return the number of empty squares on a given board.
+     *
+     * @param   position    The given board.
+     * @return              The number of empty squares.
+     */
+    public static int getEmptyCount(Board position)
+    {
+        int emptyCount = position.getSize() * position.getSize();
+
+        for (int pid = 1; pid <= position.getPlayerCount(); pid++) {
+            emptyCount -= position.getScore(pid);
+        }
+
+        return emptyCount;
+    }
+
+    /**
+     * Solve the position on a given board for the player to move,
+     * within a given time budget. A solver which has been stopped stays
+     * stopped until resume is called, such that it can be stopped
+     * before it begins.
+     *
+     * @param   position        The board to solve, which is not changed.
+     * @param   exact           True to find the exact final disk difference,
+     *                          or false to only find a win, loss or draw.
+     * @param   timeBudget      The time budget, in milliseconds.
+     * @return                  The result of the solve, where the score is
+     *                          the final disk difference for the player to
+     *                          move (or its sign, if not exact) & the depth
+     *                          is the number of empty squares, or null if
+     *                          the position could not be solved in time.
+     *
+     * @throws                  IllegalArgumentException
+     */
+    public SearchResult solve(Board position, boolean exact, long timeBudget) throws IllegalArgumentException
+    {
+        // Validate arguments.
+        if (position == null || position.getPlayerCount() != PLAYER_COUNT) {
+            throw new IllegalArgumentException("Invalid board passed to solve");
+        }
+        else if (timeBudget <= 0) {
+            throw new IllegalArgumentException("Invalid time budget passed to solve");
+        }
+
+        // Start the clock.
+        long startTime = System.nanoTime();
+        deadline = startTime + timeBudget * 1_000_000L;
+        nodes = 0;
+        reportedNodes = 0;
+        aborted = false;
+        table.newSearch();
+
+        // Solve on the disk masks if the board has them, or else on a copy of the board.
+        int emptyCount = getEmptyCount(position);
+        long result = position.hasDiskMasks() ? solveRoot(position, emptyCount, exact) : solveBoardRoot(position, emptyCount, exact);
+        if (aborted) {
+            return null;
+        }
+
+        int move = (int) (result >> 32), score = (int) result;
+        return new SearchResult(move, exact ? score : Integer.signum(score), emptyCount, nodes, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Report the positions visited so far, & check whether the current
+     * solve must stop.
+     *
+     * @return      True if the solve has been stopped or has run out of
+     *              time, else false.
+     */
+    private boolean isOutOfTime()
+    {
+        reportedNodes = nodes;
+        return stopped || System.nanoTime() >= deadline;
+    }
+
+    /**
+     * Solve a position on the standard board from its root, trying every
+     * legal move for the player to move.
+     *
+     * @param   position    The board to solve.
+     * @param   emptyCount  The number of empty squares.
+     * @param   exact       True to find the exact disk difference, or false
+     *                      to only find a win, loss or draw.
+     * @return              The best move (high 32 bits) & its score (low
+     *                      32 bits).
+     */
+    private long solveRoot(Board position, int emptyCount, boolean exact)
+    {
+        int pid = position.getTurn();
+        long player = position.getDiskMask(pid), opponent = position.getDiskMask(PLAYER_COUNT + 1 - pid);
+        int alpha = exact ? -INFINITY : -1, beta = exact ? INFINITY : 1;
+
+        // The player to move must pass.
+        long moves = BitBoard.generateMoves(player, opponent);
+        if (moves == 0) {
+            int score = -solve(opponent, player, -beta, -alpha, emptyCount, true);
+            return pack(SearchResult.PASS, score);
+        }
+
+        // Search each move, stopping as soon as a win is proven when the exact score isn't needed.
+        int moveCount = orderMoves(player, opponent, moves, TranspositionTable.NO_MOVE, emptyCount);
+        int[] moveList = moveBuffers[emptyCount];
+        long[] flipList = flipBuffers[emptyCount];
+        int bestMove = moveList[0], bestScore = -INFINITY;
+        for (int i = 0; i < moveCount && alpha < beta; i++) {
+            long flips = flipList[i], nextPlayer = opponent & ~flips, nextOpponent = player | flips | (1L << moveList[i]);
+
+            // Search the first move with the full window, and prove the others no better with a null window.
+            int score;
+            if (i == 0) {
+                score = -solve(nextPlayer, nextOpponent, -beta, -alpha, emptyCount - 1, false);
+            }
+            else {
+                score = -solve(nextPlayer, nextOpponent, -alpha - 1, -alpha, emptyCount - 1, false);
+                if (score > alpha && score < beta) {
+                    score = -solve(nextPlayer, nextOpponent, -beta, -alpha, emptyCount - 1, false);
+                }
+            }
+            if (aborted) {
+                break;
+            }
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = moveList[i];
+                alpha = Math.max(alpha, score);
+            }
+        }
+
+        return pack(bestMove, bestScore);
+    }
+
+    /**
+     * Solve a position on the standard board, choosing the method
+     * by the number of empty squares.
+     *
+     * @param   player      The disk mask of the player to move.
+     * @param   opponent    The disk mask of the opponent.
+     * @param   alpha       The score the player is already assured of.
+     * @param   beta        The score the opponent is already assured of.
+     * @param   emptyCount  The number of empty squares.
+     * @param   passed      True if the opponent just passed, else false.
+     * @return              The final disk difference for the player, or
+     *                      a bound on it if outside the window.
+     */
+    private int solve(long player, long opponent, int alpha, int beta, int emptyCount, boolean passed)
+    {
+        if (emptyCount > SHALLOW_EMPTIES) {
+            return solveDeep(player, opponent, alpha, beta, emptyCount, passed);
+        }
+        else if (emptyCount > 4) {
+            return solveShallow(player, opponent, alpha, beta, emptyCount, passed);
+        }
+
+        // Collect the last empty squares, those in odd regions first, in this empty count's move buffer: They are passed on
+        // by value, so the buffer is free again before any deeper solve can use it.
+        long empty = ~(player | opponent), odd = getOddQuadrants(empty);
+        long first = empty & odd, second = empty & ~odd;
+        int[] squares = moveBuffers[emptyCount];
+        int count = 0;
+        for (; first != 0; first &= first - 1) {
+            squares[count++] = Long.numberOfTrailingZeros(first);
+        }
+        for (; second != 0; second &= second - 1) {
+            squares[count++] = Long.numberOfTrailingZeros(second);
+        }
+
+        switch (emptyCount) {
+            case 4:
+                return solve4(player, opponent, alpha, beta, squares[0], squares[1], squares[2], squares[3], passed);
+            case 3:
+                return solve3(player, opponent, alpha, beta, squares[0], squares[1], squares[2], passed);
+            case 2:
+                return solve2(player, opponent, alpha, beta, squares[0], squares[1], passed);
+            case 1:
+                return solve1(player, opponent, squares[0]);
+            default:
+                return getFinalScore(player, opponent);
+        }
+    }
+
+    /**
+     * Solve a position with many empty squares, ordering moves
+     * fastest-first & using the transposition table.
+     *
+     * @param   player      The disk mask of the player to move.
+     * @param   opponent    The disk mask of the opponent.
+     * @param   alpha       The score the player is already assured of.
+     * @param   beta        The score the opponent is already assured of.
+     * @param   emptyCount  The number of empty squares.
+     * @param   passed      True if the opponent just passed, else false.
+     * @return              The final disk difference for the player, or
+     *                      a bound on it if outside the window.
+     */
+    private int solveDeep(long player, long opponent, int alpha, int beta, int emptyCount, boolean passed)
+    {
+        // Check the clock & whether the solve has been stopped periodically.
+        if ((++nodes & NODE_CHECK_MASK) == 0 && isOutOfTime()) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+
+        // Pass if there is no legal move, or score the final position if the opponent also passed.
+        long moves = BitBoard.generateMoves(player, opponent);
+        if (moves == 0) {
+            return passed ? getFinalScore(player, opponent) : -solve(opponent, player, -beta, -alpha, emptyCount, true);
+        }
+
+        // Use the stored result for the position if it decides the score, or else its best move.
+        long hash = hash(player, opponent);
+        long entry = table.probe(hash);
+        int hashMove = TranspositionTable.NO_MOVE;
+        if (entry != TranspositionTable.NO_ENTRY) {
+            int score = TranspositionTable.getScore(entry), bound = TranspositionTable.getBound(entry);
+            if (bound == TranspositionTable.EXACT
+                || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+                || (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+                return score;
+            }
+
+            hashMove = TranspositionTable.getMove(entry);
+        }
+
+        // The player can't beat alpha if the opponent already has enough disks that can never be flipped.
+        if (alpha >= STABILITY_THRESHOLD) {
+            int maxScore = SQUARE_COUNT - 2 * Long.bitCount(getStableDisks(opponent, player));
+            if (maxScore <= alpha) {
+                return maxScore;
+            }
+        }
+
+        // Search the moves fastest-first, starting with the stored best move.
+        int moveCount = orderMoves(player, opponent, moves, hashMove, emptyCount);
+        int[] moveList = moveBuffers[emptyCount];
+        long[] flipList = flipBuffers[emptyCount];
+        int originalAlpha = alpha, bestScore = -INFINITY, bestMove = TranspositionTable.NO_MOVE;
+        for (int i = 0; i < moveCount; i++) {
+            long flips = flipList[i], nextPlayer = opponent & ~flips, nextOpponent = player | flips | (1L << moveList[i]);
+
+            // Search the first move with the full window, and prove the others no better with a null window.
+            int score;
+            if (i == 0) {
+                score = -solve(nextPlayer, nextOpponent, -beta, -alpha, emptyCount - 1, false);
+            }
+            else {
+                score = -solve(nextPlayer, nextOpponent, -alpha - 1, -alpha, emptyCount - 1, false);
+                if (score > alpha && score < beta) {
+                    score = -solve(nextPlayer, nextOpponent, -beta, -alpha, emptyCount - 1, false);
+                }
+            }
+            if (aborted) {
+                return 0;
+            }
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = moveList[i];
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        // Store the result, which only bounds the score if it fell outside the search window.
+        int bound = TranspositionTable.EXACT;
+        if (bestScore <= originalAlpha) {
+            bound = TranspositionTable.UPPER_BOUND;
+        }
+        else if (bestScore >= beta) {
+            bound = TranspositionTable.LOWER_BOUND;
+        }
+        table.store(hash, emptyCount, bound, bestScore, bestMove);
+
+        return bestScore;
+    }
+
+    /**
+     * Solve a position with few empty squares, playing the empty squares
+     * in odd regions first without generating moves.
+     *
+     * @param   player      The disk mask of the player to move.
+     * @param   opponent    The disk mask of the opponent.
+     * @param   alpha       The score the player is already assured of.
+     * @param   beta        The score the opponent is already assured of.
+     * @param   emptyCount  The number of empty squares.
+     * @param   passed      True if the opponent just passed, else false.
+     * @return              The final disk difference for the player, or
+     *                      a bound on it if outside the window.
+     */
+    private int solveShallow(long player, long opponent, int alpha, int beta, int emptyCount, boolean passed)
+    {
+        // Check the clock & whether the solve has been stopped periodically.
+        if ((++nodes & NODE_CHECK_MASK) == 0 && isOutOfTime()) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+
+        long empty = ~(player | opponent), odd = getOddQuadrants(empty);
+        int bestScore = -INFINITY;
+
+        // Try the empty squares in odd regions, then those in even regions.
+        for (int group = 0; group < 2; group++) {
+            for (long squares = empty & (group == 0 ? odd : ~odd); squares != 0; squares &= squares - 1) {
+                int square = Long.numberOfTrailingZeros(squares);
+                long flips = BitBoard.computeFlips(square, player, opponent);
+                if (flips == 0) {
+                    continue;
+                }
+
+                int score = -solve(opponent & ~flips, player | flips | (1L << square), -beta, -alpha, emptyCount - 1, false);
+                if (aborted) {
+                    return 0;
+                }
+
+                if (score > bestScore) {
+                    bestScore = score;
+                    if (score > alpha) {
+                        alpha = score;
+                        if (alpha >= beta) {
+                            return bestScore;
+                        }
+                    }
+                }
+            }
+        }
+
+        // Pass if there was no legal move, or score the final position if the opponent also passed.
+        if (bestScore == -INFINITY) {
+            return passed ? getFinalScore(player, opponent) : -solve(opponent, player, -beta, -alpha, emptyCount, true);
+        }
+
+        return bestScore;
+    }
+
+    /**
+     * Solve a position with four given empty squares, in the order given.
+     *
+     * @param   player      The disk mask of the player to move.
+     * @param   opponent    The disk mask of the opponent.
+     * @param   alpha       The score the player is already assured of.
+     * @param   beta        The score the opponent is already assured of.
+     * @param   a           The first empty square.
+     * @param   b           The second empty square.
+     * @param   c           The third empty square.
+     * @param   d           The fourth empty square.
+     * @param   passed      True if the opponent just passed, else false.
+     * @return              The final disk difference for the player, or
+     *                      a bound on it if outside the window.
+     */
+    private int solve4(long player, long opponent, int alpha, int beta, int a, int b, int c, int d, boolean passed)
+    {
+        nodes++;
+        int bestScore = -INFINITY;
+        long flips;
+
+        // Play each empty square, leaving the others in order.
+        if ((flips = BitBoard.computeFlips(a, player, opponent)) != 0) {
+            bestScore = -solve3(opponent & ~flips, player | flips | (1L << a), -beta, -alpha, b, c, d, false);
+            if (bestScore >= beta) {
+                return bestScore;
+            }
+            alpha = Math.max(alpha, bestScore);
+        }
+        if ((flips = BitBoard.computeFlips(b, player, opponent)) != 0) {
+            bestScore = Math.max(bestScore, -solve3(opponent & ~flips, player | flips | (1L << b), -beta, -alpha, a, c, d, false));
+            if (bestScore >= beta) {
+                return bestScore;
+            }
+            alpha = Math.max(alpha, bestScore);
+        }
+        if ((flips = BitBoard.computeFlips(c, player, opponent)) != 0) {
+            bestScore = Math.max(bestScore, -solve3(opponent & ~flips, player | flips | (1L << c), -beta, -alpha, a, b, d, false));
+            if (bestScore >= beta) {
+                return bestScore;
+            }
+            alpha = Math.max(alpha, bestScore);
+        }
+        if ((flips = BitBoard.computeFlips(d, player, opponent)) != 0) {
+            bestScore = Math.max(bestScore, -solve3(opponent & ~flips, player | flips | (1L << d), -beta, -alpha, a, b, c, false));
+        }
+
+        // Pass if there was no legal move, or score the final position if the opponent also passed.
+        if (bestScore == -INFINITY) {
+            return passed ? getFinalScore(player, opponent) : -solve4(opponent, player, -beta, -alpha, a, b, c, d, true);
+        }
+
+        return bestScore;
+    }
+
+    /**
+     * Solve a position with three given empty squares, in the order given.
+     *
+     * @param   player      The disk mask of the player to move.
+     * @param   opponent    The disk mask of the opponent.
+     * @param   alpha       The score the player is already assured of.
+     * @param   beta        The score the opponent is already assured of.
+     * @param   a           The first empty square.
+     * @param   b           The second empty square.
+     * @param   c           The third empty square.
+     * @param   passed      True if the opponent just passed, else false.
+     * @return              The final disk difference for the player, or
+     *                      a bound on it if outside the window.
+     */
+    private int solve3(long player, long opponent, int alpha, int beta, int a, int b, int c, boolean passed)
+    {
+        nodes++;
+        int bestScore = -INFINITY;
+        long flips;
+
+        // Play each empty square, leaving the others in order.
+        if ((flips = BitBoard.computeFlips(a, player, opponent)) != 0) {
+            bestScore = -solve2(opponent & ~flips, player | flips | (1L << a), -beta, -alpha, b, c, false);
+            if (bestScore >= beta) {
+                return bestScore;
+            }
+            alpha = Math.max(alpha, bestScore);
+        }
+        if ((flips = BitBoard.computeFlips(b, player, opponent)) != 0) {
+            bestScore = Math.max(bestScore, -solve2(opponent & ~flips, player | flips | (1L << b), -beta, -alpha, a, c, false));
+            if (bestScore >= beta) {
+                return bestScore;
+            }
+            alpha = Math.max(alpha, bestScore);
+        }
+        if ((flips = BitBoard.computeFlips(c, player, opponent)) != 0) {
+            bestScore = Math.max(bestScore, -solve2(opponent & ~flips, player | flips | (1L << c), -beta, -alpha, a, b, false));
+        }
+
+        // Pass if there was no legal move, or score the final position if the opponent also passed.
+        if (bestScore == -INFINITY) {
+            return passed ? getFinalScore(player, opponent) : -solve3(opponent, player, -beta, -alpha, a, b, c, true);
+        }
+
+        return bestScore;
+    }
+
+    /**
+     * Solve a position with two given empty squares, in the order given.
+     *
+     * @param   player      The disk mask of the player to move.
+     * @param   opponent    The disk mask of the opponent.
+     * @param   alpha       The score the player is already assured of.
+     * @param   beta        The score the opponent is already assured of.
+     * @param   a           The first empty square.
+     * @param   b           The second empty square.
+     * @param   passed      True if the opponent just passed, else false.
+     * @return              The final disk difference for the player, or
+     *                      a bound on it if outside the window.
+     */
+    private int solve2(long player, long opponent, int alpha, int beta, int a, int b, boolean passed)
+    {
+        nodes++;
+        int bestScore = -INFINITY;
+        long flips;
+
+        // Play each empty square, leaving the other.
+        if ((flips = BitBoard.computeFlips(a, player, opponent)) != 0) {
+            bestScore = -solve1(opponent & ~flips, player | flips | (1L << a), b);
+            if (bestScore >= beta) {
+                return bestScore;
+            }
+        }
+        if ((flips = BitBoard.computeFlips(b, player, opponent)) != 0) {
+            bestScore = Math.max(bestScore, -solve1(opponent & ~flips, player | flips | (1L << b), a));
+        }
+
+        // Pass if there was no legal move, or score the final position if the opponent also passed.
+        if (bestScore == -INFINITY) {
+            return passed ? getFinalScore(player, opponent) : -solve2(opponent, player, -beta, -alpha, a, b, true);
+        }
+
+        return bestScore;
+    }
+
+    /**
+     * Solve a position with one given empty square, by counting the
+     * disks flipped by whichever player can fill it.
+     *
+     * @param   player      The disk mask of the player to move.
+     * @param   opponent    The disk mask of the opponent.
+     * @param   a           The empty square.
+     * @return              The final disk difference for the player.
+     */
+    private int solve1(long player, long opponent, int a)
+    {
+        nodes++;
+        int score = getFinalScore(player, opponent);
+
+        // The player fills the square if they can, or else the opponent does if they can.
+        long flips = BitBoard.computeFlips(a, player, opponent);
+        if (flips != 0) {
+            return score + 2 * Long.bitCount(flips) + 1;
+        }
+
+        flips = BitBoard.computeFlips(a, opponent, player);
+        if (flips != 0) {
+            return score - 2 * Long.bitCount(flips) - 1;
+        }
+
+        return score;
+    }
+
+    /**
+     * Write the legal moves of a position into the buffers for its number
+     * of empty squares, sorted fastest-first: By the number of replies left
+     * to the opponent, then by parity, with a given stored move first.
+     *
+     * @param   player      The disk mask of the player to move.
+     * @param   opponent    The disk mask of the opponent.
+     * @param   moves       The legal move mask.
+     * @param   hashMove    The stored best move, or NO_MOVE.
+     * @param   emptyCount  The number of empty squares.
+     * @return              The number of moves written.
+     */
+    private int orderMoves(long player, long opponent, long moves, int hashMove, int emptyCount)
+    {
+        int[] moveList = moveBuffers[emptyCount], keys = keyBuffers[emptyCount];
+        long[] flipList = flipBuffers[emptyCount];
+        long odd = getOddQuadrants(~(player | opponent));
+        int moveCount = 0;
+
+        // Calculate the flips & ordering key of each move.
+        for (; moves != 0; moves &= moves - 1, moveCount++) {
+            int square = Long.numberOfTrailingZeros(moves);
+            long flips = BitBoard.computeFlips(square, player, opponent);
+            long replies = BitBoard.generateMoves(opponent & ~flips, player | flips | (1L << square));
+
+            moveList[moveCount] = square;
+            flipList[moveCount] = flips;
+            keys[moveCount] = (square == hashMove) ? -1 : 2 * (Long.bitCount(replies) + Long.bitCount(replies & CORNERS)) + (((odd >>> square) & 1) == 0 ? 1 : 0);
+        }
+
+        // Insertion sort by ascending key.
+        for (int i = 1; i < moveCount; i++) {
+            int move = moveList[i], key = keys[i], j = i - 1;
+            long flips = flipList[i];
+            for (; j >= 0 && keys[j] > key; j--) {
+                moveList[j + 1] = moveList[j];
+                flipList[j + 1] = flipList[j];
+                keys[j + 1] = keys[j];
+            }
+            moveList[j + 1] = move;
+            flipList[j + 1] = flips;
+            keys[j + 1] = key;
+        }
+
+        return moveCount;
+    }
+
+    /**
+     * Return the mask of every quadrant holding an odd number of
+     * empty squares.
+     *
+     * @param   empty   The mask of empty squares.
+     * @return          The mask of the odd quadrants.
+     */
+    private static long getOddQuadrants(long empty)
+    {
+        long odd = 0;
+
+        for (long quadrant : QUADRANTS) {
+            if ((Long.bitCount(empty & quadrant) & 1) != 0) {
+                odd |= quadrant;
+            }
+        }
+
+        return odd;
+    }
+
+    /**
+     * Return the disks of a player that can never be flipped: Those which,
+     * along each of the four lines through them, lie on a full line, on
+     * the border or next to another such disk of the player's.
+     *
+     * @param   player      The disk mask of the player.
+     * @param   opponent    The disk mask of the opponent.
+     * @return              The mask of the player's stable disks.
+     */
+    private static long getStableDisks(long player, long opponent)
+    {
+        long filled = player | opponent;
+        long fullRanks = 0, fullFiles = 0, fullDiagonals = 0, fullAntiDiagonals = 0;
+
+        // Find the squares on full ranks, files, diagonals & anti-diagonals.
+        for (int i = 0; i < 8; i++) {
+            long rank = RANK_1 << (8 * i), file = FILE_A << i;
+            if ((filled & rank) == rank) {
+                fullRanks |= rank;
+            }
+            if ((filled & file) == file) {
+                fullFiles |= file;
+            }
+        }
+        for (int i = 0; i < DIAGONALS.length; i++) {
+            if ((filled & DIAGONALS[i]) == DIAGONALS[i]) {
+                fullDiagonals |= DIAGONALS[i];
+            }
+            if ((filled & ANTI_DIAGONALS[i]) == ANTI_DIAGONALS[i]) {
+                fullAntiDiagonals |= ANTI_DIAGONALS[i];
+            }
+        }
+
+        // Grow the stable disks from the border until no more are found.
+        long stable = 0, previous;
+        do {
+            previous = stable;
+            long ranks = fullRanks | FILE_A | FILE_H | ((stable << 1) & ~FILE_A) | ((stable >>> 1) & ~FILE_H);
+            long files = fullFiles | RANK_1 | RANK_8 | (stable << 8) | (stable >>> 8);
+            long diagonals = fullDiagonals | BORDER | ((stable << 9) & ~FILE_A) | ((stable >>> 9) & ~FILE_H);
+            long antiDiagonals = fullAntiDiagonals | BORDER | ((stable << 7) & ~FILE_H) | ((stable >>> 7) & ~FILE_A);
+            stable = player & ranks & files & diagonals & antiDiagonals;
+        }
+        while (stable != previous);
+
+        return stable;
+    }
+
+    /**
+     * Return the final disk difference for a player.
+     *
+     * @param   player      The disk mask of the player.
+     * @param   opponent    The disk mask of the opponent.
+     * @return              The disk difference.
+     */
+    private static int getFinalScore(long player, long opponent)
+    {
+        return Long.bitCount(player) - Long.bitCount(opponent);
+    }
+
+    /**
+     * Return the hash of a position on the standard board, for the
+     * transposition table.
+     *
+     * @param   player      The disk mask of the player to move.
+     * @param   opponent    The disk mask of the opponent.
+     * @return              The hash of the position.
+     */
+    private static long hash(long player, long opponent)
+    {
+        long hash = player * 0x9E3779B97F4A7C15L ^ Long.rotateLeft(opponent, 32) * 0xC2B2AE3D27D4EB4FL;
+        hash = (hash ^ (hash >>> 31)) * 0xBF58476D1CE4E5B9L;
+
+        return hash ^ (hash >>> 29);
+    }
+
+    /**
+     * Pack a move & its score into a single long.
+     *
+     * @param   move    The square index of the move.
+     * @param   score   The score of the move.
+     * @return          The move (high 32 bits) & score (low 32 bits).
+     */
+    private static long pack(int move, int score)
+    {
+        return ((long) move << 32) | (score & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Solve a position on a board of another size from its root, on a
+     * copy of the board.
+     *
+     * @param   position    The board to solve.
+     * @param   emptyCount  The number of empty squares.
+     * @param   exact       True to find the exact disk difference, or false
+     *                      to only find a win, loss or draw.
+     * @return              The best move (high 32 bits) & its score (low
+     *                      32 bits).
+     */
+    private long solveBoardRoot(Board position, int emptyCount, boolean exact)
+    {
+        // Solve a copy of the board, such that the given board is left unchanged.
+        board = new Board(position);
+        int squareCount = board.getSize() * board.getSize();
+        if (boardMoveBuffers == null || boardMoveBuffers[0].length != squareCount) {
+            boardMoveBuffers = new int[2 * squareCount + 2][squareCount];
+            boardKeyBuffers = new int[2 * squareCount + 2][squareCount];
+        }
+
+        int pid = board.getTurn(), infinity = squareCount + 1;
+        int alpha = exact ? -infinity : -1, beta = exact ? infinity : 1;
+
+        // The player to move must pass.
+        int[] moves = boardMoveBuffers[0];
+        int moveCount = board.getLegalMoves(pid, moves);
+        if (moveCount == 0) {
+            board.setTurn(PLAYER_COUNT + 1 - pid);
+            return pack(SearchResult.PASS, -solveBoard(-beta, -alpha, emptyCount, 1, true));
+        }
+
+        // Search each move, stopping as soon as a win is proven when the exact score isn't needed.
+        orderBoardMoves(moves, boardKeyBuffers[0], moveCount, pid, TranspositionTable.NO_MOVE);
+        int bestMove = moves[0], bestScore = -infinity;
+        for (int i = 0; i < moveCount && alpha < beta; i++) {
+            UndoRecord record = makeMove(moves[i], pid);
+            int score = -solveBoard(-beta, -alpha, emptyCount - 1, 1, false);
+            board.unmakeMove(record);
+            if (aborted) {
+                break;
+            }
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = moves[i];
+                alpha = Math.max(alpha, score);
+            }
+        }
+
+        return pack(bestMove, bestScore);
+    }
+
+    /**
+     * Solve the position on the copy of a board of another size.
+     *
+     * @param   alpha       The score the player to move is already assured of.
+     * @param   beta        The score the opponent is already assured of.
+     * @param   emptyCount  The number of empty squares.
+     * @param   ply         The number of moves & passes from the root.
+     * @param   passed      True if the opponent just passed, else false.
+     * @return              The final disk difference for the player to move,
+     *                      or a bound on it if outside the window.
+     */
+    private int solveBoard(int alpha, int beta, int emptyCount, int ply, boolean passed)
+    {
+        // Check the clock & whether the solve has been stopped periodically.
+        if ((++nodes & NODE_CHECK_MASK) == 0 && isOutOfTime()) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+
+        int pid = board.getTurn();
+        int opponent = PLAYER_COUNT + 1 - pid;
+
+        // Pass if there is no legal move, or score the final position if the opponent also passed.
+        int[] moves = boardMoveBuffers[ply];
+        int moveCount = board.getLegalMoves(pid, moves);
+        if (moveCount == 0) {
+            if (passed) {
+                return board.getScore(pid) - board.getScore(opponent);
+            }
+
+            board.setTurn(opponent);
+            int score = -solveBoard(-beta, -alpha, emptyCount, ply + 1, true);
+            board.setTurn(pid);
+
+            return score;
+        }
+
+        // Use the stored result for the position if it decides the score, or else its best move.
+        long entry = table.probe(board.hash());
+        int hashMove = TranspositionTable.NO_MOVE;
+        if (entry != TranspositionTable.NO_ENTRY) {
+            int score = TranspositionTable.getScore(entry), bound = TranspositionTable.getBound(entry);
+            if (bound == TranspositionTable.EXACT
+                || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+                || (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+                return score;
+            }
+
+            hashMove = TranspositionTable.getMove(entry);
+        }
+
+        // Search the moves fastest-first while many squares are empty, starting with the stored best move.
+        if (emptyCount > SHALLOW_EMPTIES) {
+            orderBoardMoves(moves, boardKeyBuffers[ply], moveCount, pid, hashMove);
+        }
+
+        int originalAlpha = alpha, bestScore = Integer.MIN_VALUE, bestMove = TranspositionTable.NO_MOVE;
+        for (int i = 0; i < moveCount; i++) {
+            UndoRecord record = makeMove(moves[i], pid);
+            int score = -solveBoard(-beta, -alpha, emptyCount - 1, ply + 1, false);
+            board.unmakeMove(record);
+            if (aborted) {
+                return 0;
+            }
+
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = moves[i];
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        // Store the result, which only bounds the score if it fell outside the search window.
+        int bound = TranspositionTable.EXACT;
+        if (bestScore <= originalAlpha) {
+            bound = TranspositionTable.UPPER_BOUND;
+        }
+        else if (bestScore >= beta) {
+            bound = TranspositionTable.LOWER_BOUND;
+        }
+        table.store(board.hash(), emptyCount, bound, bestScore, bestMove);
+
+        return bestScore;
+    }
+
+    /**
+     * Sort a given list of moves on the copy of a board of another size
+     * fastest-first, with a given stored move first.
+     *
+     * @param   moves       The square indices of the moves.
+     * @param   keys        The buffer for the ordering keys.
+     * @param   moveCount   The number of moves.
+     * @param   pid         The player ID making the moves.
+     * @param   hashMove    The stored best move, or NO_MOVE.
+     */
+    private void orderBoardMoves(int[] moves, int[] keys, int moveCount, int pid, int hashMove)
+    {
+        // Calculate the number of replies left to the opponent by each move.
+        for (int i = 0; i < moveCount; i++) {
+            UndoRecord record = makeMove(moves[i], pid);
+            keys[i] = (moves[i] == hashMove) ? -1 : board.getLegalMoveCount(PLAYER_COUNT + 1 - pid);
+            board.unmakeMove(record);
+        }
+
+        // Insertion sort by ascending key.
+        for (int i = 1; i < moveCount; i++) {
+            int move = moves[i], key = keys[i], j = i - 1;
+            for (; j >= 0 && keys[j] > key; j--) {
+                moves[j + 1] = moves[j];
+                keys[j + 1] = keys[j];
+            }
+            moves[j + 1] = move;
+            keys[j + 1] = key;
+        }
+    }
+
+    /**
+     * Make a move generated by the solver on the copy of the board.
+     *
+     * @param   index   The square index of the move.
+     * @param   pid     The player ID making the move.
+     * @return          The undo record for the move.
+     *
+     * @throws          IllegalStateException
+     */
+    private UndoRecord makeMove(int index, int pid) throws IllegalStateException
+    {
+        try {
+            return board.makeMove(index, pid);
+        }
+        catch (IllegalMoveException ex) {
+            throw new IllegalStateException("Illegal move generated by solver", ex);
+        }
+    }
+}
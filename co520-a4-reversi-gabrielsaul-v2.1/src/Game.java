@@ -1,3 +1,6 @@
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.lang.StringBuilder;
 import java.time.format.DateTimeFormatter;
@@ -19,6 +22,9 @@ import java.util.Arrays;
 
 public class Game implements Serializable
 {
+    // Pinned to the serial version of the original class, such that games in old session files can be read.
+    private static final long serialVersionUID = -7556954281455514479L;
+
     // The players in the game.
     private Player[] players;
 
@@ -46,6 +52,19 @@ public class Game implements Serializable
     // The start date of this game.
     private LocalDateTime startDate;
 
+    // The end date of this game: Null until the game is finished.
+    private LocalDateTime endDate;
+
+    // Every turn of the game so far, passes included, packed by GameRecord: Null if the game was restored without them.
+    private byte[] turnRecord;
+    private int turnRecordLength;
+
+    // The number of moves on the board's undo stack when the last turn was recorded.
+    private int recordedMoveCount;
+
+    // The journal each turn is autosaved to, or null: Set by the session.
+    private transient SessionJournal journal;
+
     /**
      * (1) Constructors of Game objects
      * 
@@ -53,6 +72,19 @@ public class Game implements Serializable
      * @param       boardSize   The size of the game board.
      */
     public Game(Player[] players, int boardSize)
+    {
+        this(players, boardSize, LocalDateTime.now());
+    }
+
+    /**
+     * (2) Constructor of Game objects: A new game with a given start
+     *     date, such as a game replayed from a journal.
+     * 
+     * @param       players     The players in the game.
+     * @param       boardSize   The size of the game board.
+     * @param       startDate   The start date of the game.
+     */
+    public Game(Player[] players, int boardSize, LocalDateTime startDate)
     {
         // Set the players.
         this.players = players;
@@ -61,23 +93,103 @@ public class Game implements Serializable
         }
 
         // Set the start date of this game.
-        startDate = LocalDateTime.now();
+        this.startDate = startDate;
 
         // Create a new board, passing in the players' IDs.
         this.boardSize = boardSize;
         this.board = new Board(boardSize, Arrays.stream(players).mapToInt(Player::getID).toArray());
 
-        // Initalize turn, pass & move counters.
+        // Initalize turn, pass & move counters, & the turn record.
         turnCount = passCount = moveCount = 0;
-
-        // Set initial legal move mask.
-        board.updateLegalMoves(getCurrentPlayer().getID());
+        turnRecord = new byte[boardSize * boardSize * GameRecord.getTurnSize(boardSize)];
 
         // Activate the player & set scores.
         getCurrentPlayer().setActive(true);
         setPlayerScores();
     }
 
+    /**
+     * (3) Constructor of Game objects: A game restored in a given
+     *     state, such as when a session is loaded.
+     * 
+     * @param       players     The players in the game.
+     * @param       board       The game board, in its current position.
+     * @param       startDate   The start date of the game.
+     * @param       turnCount   The index of the current player.
+     * @param       passCount   The number of subsequent passes.
+     * @param       moveCount   The number of moves played.
+     * @param       finished    Whether or not the game is finished.
+     * @param       endDate     The end date of the game, or null if it is
+     *                          not finished.
+     * @param       turnRecord  Every turn of the game so far, packed by
+     *                          GameRecord & replayed onto the board, or null
+     *                          if the turns are not known.
+     * 
+     * @throws                  IllegalArgumentException
+     */
+    public Game(Player[] players, Board board, LocalDateTime startDate, int turnCount, int passCount, int moveCount, boolean finished, LocalDateTime endDate,
+                byte[] turnRecord) throws IllegalArgumentException
+    {
+        // Validate arguments.
+        if (players == null || board == null || board.getPlayerCount() != players.length) {
+            throw new IllegalArgumentException("Invalid players or board passed to Game constructor");
+        }
+        else if (turnCount < 0 || turnCount >= players.length || passCount < 0 || moveCount < 0) {
+            throw new IllegalArgumentException("Invalid counters passed to Game constructor");
+        }
+        else if (turnRecord != null && turnRecord.length % GameRecord.getTurnSize(board.getSize()) != 0) {
+            throw new IllegalArgumentException("Invalid turn record passed to Game constructor");
+        }
+
+        this.players = players;
+        this.board = board;
+        this.startDate = startDate;
+        this.turnCount = turnCount;
+        this.passCount = passCount;
+        this.moveCount = moveCount;
+        this.finished = finished;
+        this.endDate = finished ? endDate : null;
+        boardSize = board.getSize();
+
+        // Carry on recording turns from the board's current position.
+        if (turnRecord != null) {
+            this.turnRecord = turnRecord.clone();
+            turnRecordLength = turnRecord.length;
+            recordedMoveCount = board.getUndoCount();
+        }
+
+        // The current player is only active while the game continues.
+        for (Player player : players) {
+            player.setActive(false);
+        }
+        getCurrentPlayer().setActive(!finished);
+
+        // Pass the turn to the current player & set scores.
+        board.setTurn(getCurrentPlayer().getID());
+        setPlayerScores();
+    }
+
+    /**
+     * Restore a game read by Java serialization, passing the turn on
+     * its board to the current player, which boards saved before the
+     * turn was stored on the board do not record. Such games have no
+     * turn record either, so they can't be replayed.
+     * 
+     * @param   ois     The stream the game is read from.
+     * 
+     * @throws          IOException
+     * @throws          ClassNotFoundException
+     */
+    private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException
+    {
+        ois.defaultReadObject();
+        if (players == null || board == null || turnCount < 0 || turnCount >= players.length) {
+            throw new InvalidObjectException("Invalid game read by readObject");
+        }
+
+        board.setTurn(getCurrentPlayer().getID());
+    }
+
     /**
      * Return the players in the game.
      * 
@@ -108,6 +220,91 @@ public class Game implements Serializable
         return boardSize;
     }
 
+    /**
+     * Return the start date of the game.
+     * 
+     * @return      The start date.
+     */
+    public LocalDateTime getStartDate()
+    {
+        return startDate;
+    }
+
+    /**
+     * Return the end date of the game.
+     * 
+     * @return      The end date, or null if the game is not finished.
+     */
+    public LocalDateTime getEndDate()
+    {
+        return endDate;
+    }
+
+    /**
+     * Return every turn of the game so far, passes included, packed
+     * by GameRecord.
+     * 
+     * @return      A copy of the packed turns, or null if the game was
+     *              restored without them.
+     */
+    public byte[] getTurnRecord()
+    {
+        return (turnRecord != null) ? Arrays.copyOf(turnRecord, turnRecordLength) : null;
+    }
+
+    /**
+     * Create the record of the game for the game history, with the
+     * players' current scores.
+     * 
+     * @return      The game record, or null if the game was restored
+     *              without its turns, such that it can't be replayed.
+     */
+    public GameRecord createRecord()
+    {
+        if (turnRecord == null) {
+            return null;
+        }
+
+        int[] pids = new int[players.length], scores = new int[players.length];
+        for (int i = 0; i < players.length; i++) {
+            pids[i] = players[i].getID();
+            scores[i] = board.getScore(pids[i]);
+        }
+
+        return new GameRecord(boardSize, pids, scores, startDate, (endDate != null) ? endDate : LocalDateTime.now(), getTurnRecord());
+    }
+
+    /**
+     * Set the journal each turn is autosaved to.
+     * 
+     * @param   journal     The session's journal, or null.
+     */
+    public void setJournal(SessionJournal journal)
+    {
+        this.journal = journal;
+    }
+
+    /**
+     * Return the number of subsequent passes.
+     * 
+     * @return      The number of subsequent passes.
+     */
+    public int getPassCount()
+    {
+        return passCount;
+    }
+
+    /**
+     * Return the index of the currently active player in
+     * the players array.
+     * 
+     * @return      The index of the current player.
+     */
+    public int getTurnCount()
+    {
+        return turnCount;
+    }
+
     /**
      * Return the currently active player.
      * 
@@ -151,6 +348,18 @@ public class Game implements Serializable
         return board.hasLegalMove(getCurrentPlayer().getID());
     }
 
+    /**
+     * Check if the current player is a computer player with
+     * a legal move to make.
+     * 
+     * @return      True if it is a computer player's turn to
+     *              move, else false.
+     */
+    public boolean isComputerTurn()
+    {
+        return !finished && getCurrentPlayer().isComputer() && hasLegalMove();
+    }
+
     /**
      * Check if the game is finished.
      * 
@@ -178,17 +387,49 @@ public class Game implements Serializable
      */
     public void nextTurn()
     {         
+        nextTurn(LocalDateTime.now());
+    }
+
+    /**
+     * Move to the next turn at a given date, such as a turn replayed
+     * from a journal, which is the end date of the game if it finishes.
+     * 
+     * @param   date    The date of the turn.
+     */
+    public void nextTurn(LocalDateTime date)
+    {
+        // Record the move made on this turn, or the pass.
+        int pid = getCurrentPlayer().getID();
+        int move = recordTurn();
+
+        advanceTurn(date);
+
+        // Journal the turn once the game has moved on, such that the journal only sees the game between turns.
+        if (journal != null) {
+            journal.appendTurn(pid, move, date);
+        }
+    }
+
+    /**
+     * Pass the turn to the next player, finishing the game at a given
+     * date if every player has passed or the board is full.
+     * 
+     * @param   date    The date of the turn.
+     */
+    private void advanceTurn(LocalDateTime date)
+    {
         // Deactivate current player.
         getCurrentPlayer().setActive(false);
         
-        // Move to next turn & update legal moves & scores.
+        // Move to next turn & update scores. The board keeps its legal moves up to date.
         turnCount = (turnCount + 1) % players.length;
-        board.updateLegalMoves(getCurrentPlayer().getID());
+        board.setTurn(getCurrentPlayer().getID());
         setPlayerScores();
 
         // Check for win.
         if (passCount >= players.length || board.isFull()) {
             finished = true;
+            endDate = date;
 
             // Increment win count if there is a winning player.
             if (hasWinningPlayer()) {
@@ -216,6 +457,35 @@ public class Game implements Serializable
         moveCount++;
     }
 
+    /**
+     * Append the current turn to the turn record, if the game has one:
+     * The most recent move on the board if one has been made since the
+     * last turn, otherwise a pass.
+     * 
+     * @return      The square index of the move, or SearchResult.PASS.
+     */
+    private int recordTurn()
+    {
+        int undoCount = board.getUndoCount();
+        int move = (undoCount > recordedMoveCount) ? board.getUndoRecord(undoCount - 1).getIndex() : SearchResult.PASS;
+        recordedMoveCount = undoCount;
+
+        if (turnRecord == null) {
+            return move;
+        }
+
+        // Grow the record if a game with many passes fills it.
+        int turnSize = GameRecord.getTurnSize(boardSize);
+        if (turnRecordLength + turnSize > turnRecord.length) {
+            turnRecord = Arrays.copyOf(turnRecord, turnRecord.length * 2 + turnSize);
+        }
+
+        GameRecord.putTurn(turnRecord, turnRecordLength, turnSize, move);
+        turnRecordLength += turnSize;
+
+        return move;
+    }
+
     /**
      * Set the player scores & store a winning player, if it exists.
      */
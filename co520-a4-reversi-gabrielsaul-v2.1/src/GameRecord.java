@@ -0,0 +1,343 @@
+import java.io.Serializable;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Class:       GameRecord
+ * Category:    Data
+ * Implements:  Serializable
+ * Summary:     This class represents a finished game of Reversi as it is kept in a session's game history: The board
+ *              size, the player IDs in order of play, the final disk count of each player, the start & end dates and
+ *              every turn of the game, passes included. The player of each turn follows from the order of play, so
+ *              each turn is packed as the square index of its move alone, such that a whole game fits in tens of
+ *              bytes & can be replayed to any turn.
+ *
+ *              A turn is packed into one byte on boards of up to 15 × 15 squares, or else two bytes (big-endian),
+ *              holding the square index + 1, or 0 for a pass.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class GameRecord implements Serializable
+{
+    /* * * * * * * * * * * * Class Variables * * * * * * * * * * * */
+
+    private static final long serialVersionUID = 1L;
+
+    // The packed value of a pass.
+    private static final int PACKED_PASS = 0;
+
+    /* * * * * * * * * * * * Instance Variables * * * * * * * * * * * */
+
+    // The size of the board.
+    private final int boardSize;
+
+    // The player IDs, in order of play.
+    private final int[] pids;
+
+    // The final disk count of each player, in order of play.
+    private final int[] scores;
+
+    // The start & end dates of the game, to the second.
+    private final LocalDateTime startDate;
+    private final LocalDateTime endDate;
+
+    // The packed turns.
+    private final byte[] turns;
+
+    /**
+     * (1) Constructor of GameRecord objects
+     *
+     * @param   boardSize   The size of the board.
+     * @param   pids        The player IDs, in order of play.
+     * @param   scores      The final disk count of each player, in order of play.
+     * @param   startDate   The start date of the game, kept to the second.
+     * @param   endDate     The end date of the game, kept to the second.
+     * @param   turns       The packed turns, which are copied.
+     *
+     * @throws              IllegalArgumentException
+     */
+    public GameRecord(int boardSize, int[] pids, int[] scores, LocalDateTime startDate, LocalDateTime endDate, byte[] turns) throws IllegalArgumentException
+    {
+        // Validate arguments.
+        if (boardSize < 2 || pids == null || scores == null || pids.length != scores.length) {
+            throw new IllegalArgumentException("Invalid board size or players passed to GameRecord constructor");
+        }
+        else if (startDate == null || endDate == null || turns == null || turns.length % getTurnSize(boardSize) != 0) {
+            throw new IllegalArgumentException("Invalid dates or turns passed to GameRecord constructor");
+        }
+
+        // Each player ID must lie on the board.
+        for (int pid : pids) {
+            if (pid < 1 || pid > pids.length) {
+                throw new IllegalArgumentException("Invalid player ID passed to GameRecord constructor");
+            }
+        }
+
+        this.boardSize = boardSize;
+        this.pids = pids.clone();
+        this.scores = scores.clone();
+        this.startDate = startDate.truncatedTo(ChronoUnit.SECONDS);
+        this.endDate = endDate.truncatedTo(ChronoUnit.SECONDS);
+        this.turns = turns.clone();
+    }
+
+    /**
+     * Return the number of bytes a turn is packed into on a board of
+     * a given size.
+     *
+     * @param   boardSize   The size of the board.
+     * @return              The number of bytes, 1 or 2.
+     */
+    public static int getTurnSize(int boardSize)
+    {
+        return (boardSize * boardSize < 0xFF) ? 1 : 2;
+    }
+
+    /**
+     * Pack a turn into a given array at a given position.
+     *
+     * @param   turns       The packed turns.
+     * @param   position    The position of the turn, in bytes.
+     * @param   turnSize    The number of bytes per turn.
+     * @param   move        The square index of the move, or
+     *                      SearchResult.PASS.
+     */
+    static void putTurn(byte[] turns, int position, int turnSize, int move)
+    {
+        int packed = (move == SearchResult.PASS) ? PACKED_PASS : move + 1;
+
+        if (turnSize == 2) {
+            turns[position++] = (byte) (packed >>> Byte.SIZE);
+        }
+        turns[position] = (byte) packed;
+    }
+
+    /**
+     * Unpack the turn held in a given array at a given position.
+     *
+     * @param   turns       The packed turns.
+     * @param   position    The position of the turn, in bytes.
+     * @param   turnSize    The number of bytes per turn.
+     * @return              The square index of the move, or
+     *                      SearchResult.PASS.
+     */
+    static int getTurn(byte[] turns, int position, int turnSize)
+    {
+        int packed = turns[position] & 0xFF;
+
+        if (turnSize == 2) {
+            packed = (packed << Byte.SIZE) | (turns[position + 1] & 0xFF);
+        }
+
+        return (packed == PACKED_PASS) ? SearchResult.PASS : packed - 1;
+    }
+
+    /**
+     * Replay a given number of packed turns on a new board, from the
+     * initial position.
+     *
+     * @param   boardSize   The size of the board.
+     * @param   pids        The player IDs, in order of play.
+     * @param   turns       The packed turns.
+     * @param   turnCount   The number of turns to replay.
+     * @return              The board after the turns.
+     *
+     * @throws              IllegalMoveException
+     */
+    static Board replay(int boardSize, int[] pids, byte[] turns, int turnCount) throws IllegalMoveException
+    {
+        Board board = new Board(boardSize, pids);
+        int turnSize = getTurnSize(boardSize);
+
+        for (int turn = 0; turn < turnCount; turn++) {
+            int move = getTurn(turns, turn * turnSize, turnSize);
+            int pid = pids[turn % pids.length];
+
+            // A player only passes without a legal move. The board passes the turn on itself after a move.
+            if (move == SearchResult.PASS) {
+                if (board.hasLegalMove(pid)) {
+                    throw new IllegalMoveException("Pass with a legal move passed to replay");
+                }
+                board.setTurn(pids[(turn + 1) % pids.length]);
+            }
+            else if (move >= boardSize * boardSize) {
+                throw new IllegalMoveException("Invalid square index passed to replay");
+            }
+            else {
+                board.makeMove(move, pid);
+            }
+        }
+
+        return board;
+    }
+
+    /**
+     * Return the size of the board.
+     *
+     * @return      The size of the board.
+     */
+    public int getBoardSize()
+    {
+        return boardSize;
+    }
+
+    /**
+     * Return the number of players in the game.
+     *
+     * @return      The number of players.
+     */
+    public int getPlayerCount()
+    {
+        return pids.length;
+    }
+
+    /**
+     * Return the player ID of a given player.
+     *
+     * @param   seat    The position of the player in order of play.
+     * @return          The player ID.
+     */
+    public int getPID(int seat)
+    {
+        return pids[seat];
+    }
+
+    /**
+     * Return the final disk count of a given player.
+     *
+     * @param   seat    The position of the player in order of play.
+     * @return          The final disk count.
+     */
+    public int getScore(int seat)
+    {
+        return scores[seat];
+    }
+
+    /**
+     * Return the position in order of play of the outright winner.
+     *
+     * @return      The position of the winning player, or -1 if the
+     *              game was drawn.
+     */
+    public int getWinningSeat()
+    {
+        int winningSeat = 0;
+        boolean drawn = false;
+
+        for (int seat = 1; seat < scores.length; seat++) {
+            if (scores[seat] > scores[winningSeat]) {
+                winningSeat = seat;
+                drawn = false;
+            }
+            else if (scores[seat] == scores[winningSeat]) {
+                drawn = true;
+            }
+        }
+
+        return drawn ? -1 : winningSeat;
+    }
+
+    /**
+     * Return the start date of the game.
+     *
+     * @return      The start date.
+     */
+    public LocalDateTime getStartDate()
+    {
+        return startDate;
+    }
+
+    /**
+     * Return the end date of the game.
+     *
+     * @return      The end date.
+     */
+    public LocalDateTime getEndDate()
+    {
+        return endDate;
+    }
+
+    /**
+     * Return the number of turns in the game, passes included.
+     *
+     * @return      The number of turns.
+     */
+    public int getTurnCount()
+    {
+        return turns.length / getTurnSize(boardSize);
+    }
+
+    /**
+     * Return the move made on a given turn.
+     *
+     * @param   turn    The turn, from 0.
+     * @return          The square index of the move (y * size + x),
+     *                  or SearchResult.PASS if the player passed.
+     */
+    public int getMove(int turn)
+    {
+        int turnSize = getTurnSize(boardSize);
+        return getTurn(turns, turn * turnSize, turnSize);
+    }
+
+    /**
+     * Return the packed turns of the game.
+     *
+     * @return      A copy of the packed turns.
+     */
+    public byte[] getTurns()
+    {
+        return turns.clone();
+    }
+
+    /**
+     * Replay the game up to a given turn.
+     *
+     * @param   turnCount   The number of turns to replay.
+     * @return              The board after the turns.
+     *
+     * @throws              IllegalArgumentException
+     * @throws              IllegalMoveException
+     */
+    public Board replay(int turnCount) throws IllegalArgumentException, IllegalMoveException
+    {
+        // Validate turn count argument.
+        if (turnCount < 0 || turnCount > getTurnCount()) {
+            throw new IllegalArgumentException("Invalid turn count passed to replay");
+        }
+
+        return replay(boardSize, pids, turns, turnCount);
+    }
+
+    /**
+     * Return a description of the game for the game history, naming
+     * the given players.
+     *
+     * @param   players     The players, in order of play.
+     * @return              The description of the game.
+     */
+    public String getDescription(Player[] players)
+    {
+        StringBuilder str = new StringBuilder("");
+
+        // Append the start date & end date.
+        str.append("[ Start: " + DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM).format(startDate));
+        str.append(" | End: " + DateTimeFormatter.ofLocalizedDateTime(FormatStyle.MEDIUM).format(endDate) + " ] ");
+
+        // Append the scores.
+        for (int seat = 0; seat < scores.length; seat++) {
+            str.append(((seat < players.length) ? players[seat].toString() : "Player " + pids[seat]) + ": " + scores[seat]);
+            if (seat < scores.length - 1) {
+                str.append(", ");
+            }
+        }
+
+        // Append the board size & turn count.
+        str.append(String.format(" [ Board size: %d × %d | Turns: %d ]", boardSize, boardSize, getTurnCount()));
+
+        return str.toString();
+    }
+}
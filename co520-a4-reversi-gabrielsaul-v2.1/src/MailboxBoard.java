@@ -0,0 +1,511 @@
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.Arrays;
+
+/**
+ * Class:       MailboxBoard
+ * Category:    Game Logic, Data
+ * Implements:  BoardModel
+ * Summary:     This class represents the state of a board of any size for a game of Reversi with any number of
+ *              players as a single array holding the player ID at each square index (y * size + x), or 0 where the
+ *              square is empty. Legal moves & flanked squares are found by following the rays of the board's
+ *              BoardGeometry, which is shared by every board of the same size. The Board class uses a MailboxBoard
+ *              for any game that a bitboard cannot represent.
+ *
+ *              The legal moves of every player ID are kept up to date as squares change, rather than found by
+ *              scanning the board for each query: Only the empty squares at the ends of the filled lines through a
+ *              changed square can become or stop being legal moves, so only those are checked again after a move
+ *              is made or taken back. The legal moves are not serialized, & are rebuilt when a board is read.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class MailboxBoard implements BoardModel
+{
+    /* * * * * * * * * * * * Class Variables * * * * * * * * * * * */
+
+    // The maximum number of players represented, such that a player ID fits in a byte.
+    public static final int MAX_PLAYER_COUNT = Byte.MAX_VALUE;
+
+    /* * * * * * * * * * * * Instance Variables * * * * * * * * * * * */
+
+    // The size of the board.
+    private final int size;
+
+    // The rays of every square: Shared by every board of the same size.
+    private transient BoardGeometry geometry;
+
+    // The player ID held at each square index, or 0 if the square is empty.
+    private byte[] cells;
+
+    // The player scores, indexed by player ID - 1.
+    private int[] scores;
+
+    // The number of empty squares.
+    private int emptyCount;
+
+    // Whether or not each square index is a legal move for each player ID, indexed by ((player ID - 1) * square count +
+    // square index), & the number of legal moves of each player ID.
+    private transient boolean[] legalMoves;
+    private transient int[] legalMoveCounts;
+
+    // The stamp of the most recent update in which each square index was checked, so each is checked once per update,
+    // the current stamp, & whether or not each player ID flanks the square being checked: Created by the first update.
+    private transient int[] checkedStamps;
+    private transient int checkStamp;
+    private transient boolean[] flanking;
+
+    /**
+     * (1) Constructor of MailboxBoard objects: Initially empty.
+     *
+     * @param   size            The size of the board.
+     * @param   playerCount     The number of players.
+     *
+     * @throws                  IllegalArgumentException
+     */
+    public MailboxBoard(int size, int playerCount) throws IllegalArgumentException
+    {
+        // Validate arguments.
+        if (playerCount < 1 || playerCount > MAX_PLAYER_COUNT) {
+            throw new IllegalArgumentException("Invalid player count passed to MailboxBoard constructor");
+        }
+
+        this.size = size;
+        geometry = BoardGeometry.forSize(size);
+        cells = new byte[size * size];
+        scores = new int[playerCount];
+        emptyCount = size * size;
+        legalMoves = new boolean[playerCount * cells.length];
+        legalMoveCounts = new int[playerCount];
+    }
+
+    /**
+     * Restore the shared geometry after the board has been deserialized.
+     *
+     * @param   ois     The stream the board is read from.
+     *
+     * @throws          IOException
+     * @throws          ClassNotFoundException
+     */
+    private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException
+    {
+        ois.defaultReadObject();
+        geometry = BoardGeometry.forSize(size);
+
+        // Rebuild the legal moves of every player ID.
+        legalMoves = new boolean[scores.length * cells.length];
+        legalMoveCounts = new int[scores.length];
+        for (int pid = 1; pid <= scores.length; pid++) {
+            updateLegalMoves(pid);
+        }
+    }
+
+    /**
+     * Return the geometry of the board.
+     *
+     * @return      The geometry, shared by every board of the same size.
+     */
+    public BoardGeometry getGeometry()
+    {
+        return geometry;
+    }
+
+    /**
+     * Return the player ID held at a given square index,
+     * or 0 if the square is empty.
+     *
+     * @param   index   The square index (y * size + x).
+     * @return          The player ID held at the square.
+     */
+    @Override
+    public int getPID(int index)
+    {
+        return cells[index];
+    }
+
+    /**
+     * Place a given player ID at a given square index without
+     * flanking, for setting up the initial board.
+     *
+     * @param   index   The square index (y * size + x).
+     * @param   pid     The player ID to place.
+     */
+    @Override
+    public void setPID(int index, int pid)
+    {
+        // Clear the square, then fill it.
+        if (cells[index] != 0) {
+            scores[cells[index] - 1]--;
+        }
+        else {
+            emptyCount--;
+        }
+
+        cells[index] = (byte) pid;
+        scores[pid - 1]++;
+
+        updateAffectedMoves(index, null, 0);
+    }
+
+    /**
+     * Return the number of disks held by a given player ID.
+     *
+     * @param   pid     The given player ID.
+     * @return          The number of disks held by the player ID.
+     */
+    @Override
+    public int getScore(int pid)
+    {
+        return scores[pid - 1];
+    }
+
+    /**
+     * Check if a move is legal at a given square index by a
+     * given player ID.
+     *
+     * @param   index   The square index (y * size + x).
+     * @param   pid     The given player ID.
+     * @return          True if the move is legal, else false.
+     */
+    @Override
+    public boolean isMoveLegal(int index, int pid)
+    {
+        return legalMoves[(pid - 1) * cells.length + index];
+    }
+
+    /**
+     * Check if a given player ID currently has a legal move.
+     *
+     * @param   pid     The given player ID.
+     * @return          True if the player ID has a legal move,
+     *                  else false.
+     */
+    @Override
+    public boolean hasLegalMove(int pid)
+    {
+        return legalMoveCounts[pid - 1] > 0;
+    }
+
+    /**
+     * Write the square index of every legal move for a given
+     * player ID into a given buffer.
+     *
+     * @param   pid     The given player ID.
+     * @param   moves   The buffer, with room for every square.
+     * @return          The number of legal moves written.
+     */
+    @Override
+    public int getLegalMoves(int pid, int[] moves)
+    {
+        int count = 0;
+
+        for (int index = 0, i = (pid - 1) * cells.length; count < legalMoveCounts[pid - 1]; index++, i++) {
+            if (legalMoves[i]) {
+                moves[count++] = index;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Return the number of legal moves for a given player ID.
+     *
+     * @param   pid     The given player ID.
+     * @return          The number of legal moves.
+     */
+    @Override
+    public int getLegalMoveCount(int pid)
+    {
+        return legalMoveCounts[pid - 1];
+    }
+
+    /**
+     * Write the square index of every square flanked by a move at
+     * a given square index by a given player ID into a given buffer.
+     *
+     * @param   index   The square index (y * size + x).
+     * @param   pid     The given player ID.
+     * @param   flips   The buffer, with room for every square.
+     * @return          The number of flanked squares written, or 0
+     *                  if the move is not legal.
+     */
+    @Override
+    public int getFlips(int index, int pid, int[] flips)
+    {
+        if (cells[index] != 0) {
+            return 0;
+        }
+
+        int[] raySquares = geometry.raySquares;
+        int count = 0;
+
+        for (int dir = 0, ray = index * BoardGeometry.DIRECTION_COUNT; dir < BoardGeometry.DIRECTION_COUNT; dir++, ray++) {
+            int start = geometry.rayStarts[ray], end = start + geometry.rayLengths[ray];
+            int i = findFlank(raySquares, start, end, pid);
+
+            // Keep the run of other players' disks if it ends at one of the player's disks.
+            for (int j = start; j < i; j++) {
+                flips[count++] = raySquares[j];
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Make a move at a given square index by a given player ID, which is
+     * asserted to be legal, writing the flipped square indices & the
+     * player IDs they held into given buffers.
+     *
+     * @param   index           The square index (y * size + x).
+     * @param   pid             The player ID.
+     * @param   flips           The buffer, with room for every square.
+     * @param   flippedPIDs     The buffer, with room for every square.
+     * @return                  The number of flipped squares written.
+     */
+    @Override
+    public int makeMove(int index, int pid, int[] flips, int[] flippedPIDs)
+    {
+        int[] raySquares = geometry.raySquares;
+        int count = 0;
+
+        for (int dir = 0, ray = index * BoardGeometry.DIRECTION_COUNT; dir < BoardGeometry.DIRECTION_COUNT; dir++, ray++) {
+            int start = geometry.rayStarts[ray], end = start + geometry.rayLengths[ray];
+            int i = findFlank(raySquares, start, end, pid);
+
+            // Flip the run of other players' disks if it ends at one of the player's disks.
+            for (int j = start; j < i; j++) {
+                int square = raySquares[j];
+                flips[count] = square;
+                flippedPIDs[count++] = cells[square];
+                scores[cells[square] - 1]--;
+                cells[square] = (byte) pid;
+            }
+        }
+
+        // Place the disk.
+        cells[index] = (byte) pid;
+        scores[pid - 1] += count + 1;
+        emptyCount--;
+
+        updateAffectedMoves(index, flips, count);
+
+        return count;
+    }
+
+    /**
+     * Take back a move at a given square index by a given player ID,
+     * which is asserted to be the most recent move made, restoring
+     * the given flipped squares to the player IDs they held.
+     *
+     * @param   index           The square index (y * size + x).
+     * @param   pid             The player ID that made the move.
+     * @param   flips           The square indices flipped by the move.
+     * @param   flippedPIDs     The player IDs held by the flipped squares.
+     * @param   flipCount       The number of flipped squares.
+     */
+    @Override
+    public void unmakeMove(int index, int pid, int[] flips, int[] flippedPIDs, int flipCount)
+    {
+        // Empty the square.
+        cells[index] = 0;
+        scores[pid - 1] -= flipCount + 1;
+        emptyCount++;
+
+        // Return the flipped disks.
+        for (int i = 0; i < flipCount; i++) {
+            cells[flips[i]] = (byte) flippedPIDs[i];
+            scores[flippedPIDs[i] - 1]++;
+        }
+
+        updateAffectedMoves(index, flips, flipCount);
+    }
+
+    /**
+     * Check if every square on the board is filled.
+     *
+     * @return      True if the board is full, else false.
+     */
+    @Override
+    public boolean isFull()
+    {
+        return emptyCount == 0;
+    }
+
+    /**
+     * Return an independent copy of the board.
+     *
+     * @return      The copy of the board.
+     */
+    @Override
+    public MailboxBoard copy()
+    {
+        MailboxBoard copy = new MailboxBoard(size, scores.length);
+        System.arraycopy(cells, 0, copy.cells, 0, cells.length);
+        System.arraycopy(scores, 0, copy.scores, 0, scores.length);
+        copy.emptyCount = emptyCount;
+        System.arraycopy(legalMoves, 0, copy.legalMoves, 0, legalMoves.length);
+        System.arraycopy(legalMoveCounts, 0, copy.legalMoveCounts, 0, legalMoveCounts.length);
+
+        return copy;
+    }
+
+    /**
+     * Rebuild the legal moves of a given player ID from scratch, by
+     * checking every empty square. Legal moves are otherwise kept up to
+     * date as squares change, so this is only needed to verify them.
+     *
+     * @param   pid     The given player ID.
+     */
+    public void updateLegalMoves(int pid)
+    {
+        int offset = (pid - 1) * cells.length, count = 0;
+
+        for (int index = 0; index < cells.length; index++) {
+            legalMoves[offset + index] = cells[index] == 0 && isFlanking(index, pid);
+            count += legalMoves[offset + index] ? 1 : 0;
+        }
+
+        legalMoveCounts[pid - 1] = count;
+    }
+
+    /**
+     * Check again the legal moves of every player ID at the squares
+     * which a change to given squares can affect: The changed squares
+     * themselves, & the empty square at the end of the filled line
+     * leading from each in each direction.
+     *
+     * @param   index       The square index placed, emptied or set.
+     * @param   flips       The square indices flipped, or null.
+     * @param   flipCount   The number of flipped squares.
+     */
+    private void updateAffectedMoves(int index, int[] flips, int flipCount)
+    {
+        // Start a new stamp, clearing the stamps when it wraps around.
+        if (checkedStamps == null) {
+            checkedStamps = new int[cells.length];
+            flanking = new boolean[scores.length];
+        }
+        if (++checkStamp == 0) {
+            Arrays.fill(checkedStamps, 0);
+            checkStamp = 1;
+        }
+
+        updateLineEnds(index);
+        for (int i = 0; i < flipCount; i++) {
+            updateLineEnds(flips[i]);
+        }
+    }
+
+    /**
+     * Check again the legal moves at a given changed square index & at
+     * the empty square ending the filled line from it in each direction.
+     *
+     * @param   index   The square index (y * size + x).
+     */
+    private void updateLineEnds(int index)
+    {
+        int[] raySquares = geometry.raySquares;
+
+        updateLegalMove(index);
+        for (int dir = 0, ray = index * BoardGeometry.DIRECTION_COUNT; dir < BoardGeometry.DIRECTION_COUNT; dir++, ray++) {
+            int i = geometry.rayStarts[ray], end = i + geometry.rayLengths[ray];
+            while (i < end && cells[raySquares[i]] != 0) {
+                i++;
+            }
+
+            if (i < end) {
+                updateLegalMove(raySquares[i]);
+            }
+        }
+    }
+
+    /**
+     * Check again whether a given square index is a legal move for each
+     * player ID, unless it has already been checked in this update.
+     * Every player ID is checked by one walk along each ray: A player
+     * flanks a run of disks if it holds any disk in the run other than
+     * the first.
+     *
+     * @param   index   The square index (y * size + x).
+     */
+    private void updateLegalMove(int index)
+    {
+        if (checkedStamps[index] == checkStamp) {
+            return;
+        }
+        checkedStamps[index] = checkStamp;
+
+        // Find the player IDs flanking a run from an empty square.
+        Arrays.fill(flanking, false);
+        if (cells[index] == 0) {
+            int[] raySquares = geometry.raySquares;
+            for (int dir = 0, ray = index * BoardGeometry.DIRECTION_COUNT; dir < BoardGeometry.DIRECTION_COUNT; dir++, ray++) {
+                int start = geometry.rayStarts[ray], end = start + geometry.rayLengths[ray];
+                if (start == end || cells[raySquares[start]] == 0) {
+                    continue;
+                }
+
+                int first = cells[raySquares[start]];
+                for (int i = start + 1; i < end && cells[raySquares[i]] != 0; i++) {
+                    if (cells[raySquares[i]] != first) {
+                        flanking[cells[raySquares[i]] - 1] = true;
+                    }
+                }
+            }
+        }
+
+        // Update the legal moves which have changed.
+        for (int pid = 1, i = index; pid <= scores.length; pid++, i += cells.length) {
+            boolean legal = flanking[pid - 1];
+            if (legal != legalMoves[i]) {
+                legalMoves[i] = legal;
+                legalMoveCounts[pid - 1] += legal ? 1 : -1;
+            }
+        }
+    }
+
+    /**
+     * Check if a move at a given empty square index by a given player
+     * ID flanks any squares.
+     *
+     * @param   index   The square index (y * size + x).
+     * @param   pid     The player ID.
+     * @return          True if any squares are flanked, else false.
+     */
+    private boolean isFlanking(int index, int pid)
+    {
+        int[] raySquares = geometry.raySquares;
+
+        for (int dir = 0, ray = index * BoardGeometry.DIRECTION_COUNT; dir < BoardGeometry.DIRECTION_COUNT; dir++, ray++) {
+            int start = geometry.rayStarts[ray];
+            if (findFlank(raySquares, start, start + geometry.rayLengths[ray], pid) > start) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Follow a ray over other players' disks & return the position in
+     * the ray of the player's disk which ends the run, if there is one.
+     *
+     * @param   raySquares  The squares of every ray.
+     * @param   start       The position of the first square of the ray.
+     * @param   end         The position after the last square of the ray.
+     * @param   pid         The player ID.
+     * @return              The position of the flanking disk, or the start
+     *                      of the ray if the run is not flanked.
+     */
+    private int findFlank(int[] raySquares, int start, int end, int pid)
+    {
+        int i = start;
+        while (i < end && cells[raySquares[i]] != 0 && cells[raySquares[i]] != pid) {
+            i++;
+        }
+
+        return (i > start && i < end && cells[raySquares[i]] == pid) ? i : start;
+    }
+}
@@ -0,0 +1,142 @@
+import java.nio.ByteBuffer;
+
+/**
+ * Class:       MatchResult
+ * Category:    Data
+ * Summary:     This class represents the outcome of one game played by a Tournament: The index of the game, which
+ *              entrant moved first, the final disk count of each entrant, the number of moves played and the time
+ *              each entrant took to choose each of its moves. Entrants are numbered by their position on the
+ *              tournament's command line, not by the order in which they moved.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class MatchResult
+{
+    // The size of a result in the tournament's result stream, in bytes.
+    public static final int RECORD_SIZE = 12;
+
+    // The most squares on a board whose disk & move counts fit a record.
+    public static final int MAX_SQUARE_COUNT = Short.MAX_VALUE;
+
+    // The index of the game in the tournament.
+    private final int gameIndex;
+
+    // The entrant that moved first.
+    private final int firstEntrant;
+
+    // The final disk count of each entrant.
+    private final int[] scores;
+
+    // The number of moves played, not counting passes.
+    private final int moveCount;
+
+    // The time each entrant took to choose each move, in nanoseconds, & the number of moves each entrant chose.
+    private final long[][] latencies;
+    private final int[] latencyCounts;
+
+    /**
+     * (1) Constructor of MatchResult objects
+     *
+     * @param   gameIndex       The index of the game in the tournament.
+     * @param   firstEntrant    The entrant that moved first.
+     * @param   scores          The final disk count of each entrant.
+     * @param   moveCount       The number of moves played.
+     * @param   latencies       The time each entrant took to choose each move,
+     *                          in nanoseconds.
+     * @param   latencyCounts   The number of moves each entrant chose.
+     */
+    public MatchResult(int gameIndex, int firstEntrant, int[] scores, int moveCount, long[][] latencies, int[] latencyCounts)
+    {
+        this.gameIndex = gameIndex;
+        this.firstEntrant = firstEntrant;
+        this.scores = scores;
+        this.moveCount = moveCount;
+        this.latencies = latencies;
+        this.latencyCounts = latencyCounts;
+    }
+
+    /**
+     * Return the index of the game in the tournament.
+     *
+     * @return      The game index.
+     */
+    public int getGameIndex()
+    {
+        return gameIndex;
+    }
+
+    /**
+     * Return the entrant that moved first.
+     *
+     * @return      The entrant number.
+     */
+    public int getFirstEntrant()
+    {
+        return firstEntrant;
+    }
+
+    /**
+     * Return the final disk count of a given entrant.
+     *
+     * @param   entrant     The entrant number.
+     * @return              The final disk count.
+     */
+    public int getScore(int entrant)
+    {
+        return scores[entrant];
+    }
+
+    /**
+     * Return the number of moves played, not counting passes.
+     *
+     * @return      The move count.
+     */
+    public int getMoveCount()
+    {
+        return moveCount;
+    }
+
+    /**
+     * Return the time a given entrant took to choose each move.
+     *
+     * @param   entrant     The entrant number.
+     * @return              The latencies, in nanoseconds, of which only the
+     *                      first getLatencyCount(entrant) are used.
+     */
+    public long[] getLatencies(int entrant)
+    {
+        return latencies[entrant];
+    }
+
+    /**
+     * Return the number of moves a given entrant chose.
+     *
+     * @param   entrant     The entrant number.
+     * @return              The number of moves.
+     */
+    public int getLatencyCount(int entrant)
+    {
+        return latencyCounts[entrant];
+    }
+
+    /**
+     * Return the compact form of this result for the result stream:
+     * The game index (4 bytes), the first entrant & a reserved 0 (1 byte
+     * each), then each entrant's disk count & the move count (2 bytes
+     * each), big-endian.
+     *
+     * @return      The compact result, of RECORD_SIZE bytes.
+     */
+    public byte[] toRecord()
+    {
+        return ByteBuffer.allocate(RECORD_SIZE)
+            .putInt(gameIndex)
+            .put((byte) firstEntrant)
+            .put((byte) 0)
+            .putShort((short) scores[0])
+            .putShort((short) scores[1])
+            .putShort((short) moveCount)
+            .array();
+    }
+}
@@ -0,0 +1,216 @@
+/**
+ * Class:       MoveAnalysis
+ * Category:    Game Logic, Data
+ * Summary:     This class represents the analysis of a position by a SearchEngine: The score of every legal move for
+ *              the player to move, from their point of view, as searched to the same depth. Each score is either the
+ *              proven outcome of the move as a final disk difference, where the search reached the end of the game,
+ *              or an evaluation, which can be read as an estimated chance of winning.
+ *
+ *              An analysis is identified by the hash of its position, such that it can be kept & reused whenever the
+ *              position is reached again.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class MoveAnalysis
+{
+    // The score of a square which is not a legal move.
+    public static final int NO_SCORE = Integer.MIN_VALUE;
+
+    // The evaluation at which a move is taken to win roughly three games in four (e / (1 + e)).
+    private static final double WIN_PROBABILITY_SCALE = 100.0;
+
+    // The hash of the position analysed.
+    private final long hash;
+
+    // The size of the board analysed.
+    private final int size;
+
+    // The search depth of every score, in moves.
+    private final int depth;
+
+    // Whether or not the search reached the end of the game along every line, such that every score is proven.
+    private final boolean exact;
+
+    // Whether or not the search ran until it could go no deeper or ran out of time, rather than being stopped.
+    private final boolean complete;
+
+    // The score of each square index, or NO_SCORE.
+    private final int[] scores;
+
+    // The square index of the best move, or SearchResult.PASS.
+    private final int bestMove;
+
+    /**
+     * (1) Constructor of MoveAnalysis objects
+     *
+     * @param   hash        The hash of the position analysed.
+     * @param   size        The size of the board analysed.
+     * @param   depth       The search depth of every score, in moves.
+     * @param   exact       True if every score is proven, else false.
+     * @param   complete    True if the search was not stopped early,
+     *                      else false.
+     * @param   scores      The score of each square index, or NO_SCORE,
+     *                      which is kept by the analysis & must not be
+     *                      changed.
+     */
+    public MoveAnalysis(long hash, int size, int depth, boolean exact, boolean complete, int[] scores)
+    {
+        this.hash = hash;
+        this.size = size;
+        this.depth = depth;
+        this.exact = exact;
+        this.complete = complete;
+        this.scores = scores;
+
+        // Find the best move.
+        int bestMove = SearchResult.PASS;
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] != NO_SCORE && (bestMove == SearchResult.PASS || scores[i] > scores[bestMove])) {
+                bestMove = i;
+            }
+        }
+        this.bestMove = bestMove;
+    }
+
+    /**
+     * Check if this is the analysis of a given board's current position.
+     *
+     * @param   board   The board.
+     * @return          True if the analysis is of the board's position,
+     *                  else false.
+     */
+    public boolean isOf(Board board)
+    {
+        return board != null && board.hash() == hash && board.getSize() == size;
+    }
+
+    /**
+     * Return the hash of the position analysed.
+     *
+     * @return      The hash of the position.
+     */
+    public long getHash()
+    {
+        return hash;
+    }
+
+    /**
+     * Return the size of the board analysed.
+     *
+     * @return      The size of the board.
+     */
+    public int getSize()
+    {
+        return size;
+    }
+
+    /**
+     * Return the search depth of every score.
+     *
+     * @return      The search depth, in moves.
+     */
+    public int getDepth()
+    {
+        return depth;
+    }
+
+    /**
+     * Check if the search could not have told more about the position:
+     * It ran until it reached the end of the game or ran out of time,
+     * rather than being stopped.
+     *
+     * @return      True if the analysis is complete, else false.
+     */
+    public boolean isComplete()
+    {
+        return complete;
+    }
+
+    /**
+     * Return the square index of the best move.
+     *
+     * @return      The square index, or SearchResult.PASS if the player
+     *              to move has no legal move or none has been scored.
+     */
+    public int getBestMove()
+    {
+        return bestMove;
+    }
+
+    /**
+     * Check if a given square has been scored.
+     *
+     * @param   index   The square index.
+     * @return          True if the square is a legal move with a score,
+     *                  else false.
+     */
+    public boolean hasScore(int index)
+    {
+        return index >= 0 && index < scores.length && scores[index] != NO_SCORE;
+    }
+
+    /**
+     * Return the score of the move at a given square, as scored by the
+     * search engine.
+     *
+     * @param   index   The square index.
+     * @return          The score, or NO_SCORE if the square has not
+     *                  been scored.
+     */
+    public int getScore(int index)
+    {
+        return hasScore(index) ? scores[index] : NO_SCORE;
+    }
+
+    /**
+     * Check if the outcome of the move at a given square is proven, i.e.
+     * its score is a final disk difference.
+     *
+     * @param   index   The square index, which has been scored.
+     * @return          True if the outcome is proven, else false.
+     */
+    public boolean isProven(int index)
+    {
+        return exact || Math.abs(scores[index]) > SearchEngine.WIN_SCORE / 2;
+    }
+
+    /**
+     * Return the final disk difference after the move at a given square,
+     * with perfect play.
+     *
+     * @param   index   The square index, whose outcome is proven.
+     * @return          The disk difference for the player to move.
+     */
+    public int getDiskDifference(int index)
+    {
+        int score = scores[index];
+
+        // Remove the offset by which a win or loss is scored.
+        if (score > SearchEngine.WIN_SCORE / 2) {
+            return score - SearchEngine.WIN_SCORE;
+        }
+        else if (score < -SearchEngine.WIN_SCORE / 2) {
+            return score + SearchEngine.WIN_SCORE;
+        }
+
+        return score;
+    }
+
+    /**
+     * Return the estimated chance that the player to move wins after the
+     * move at a given square. A proven outcome is certain, while an
+     * evaluation is mapped onto a logistic curve.
+     *
+     * @param   index   The square index, which has been scored.
+     * @return          The chance of winning, from 0 to 1.
+     */
+    public double getWinProbability(int index)
+    {
+        if (isProven(index)) {
+            return Math.signum(getDiskDifference(index)) / 2 + 0.5;
+        }
+
+        return 1 / (1 + Math.exp(-scores[index] / WIN_PROBABILITY_SCALE));
+    }
+}
@@ -0,0 +1,246 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class:       ParallelSearch
+ * Category:    Game Logic
+ * Summary:     This class represents a multi-threaded search for the best move in a two-player game of Reversi,
+ *              in which several SearchEngine workers search the same position at once & share one transposition
+ *              table (Lazy SMP). The main worker searches on the calling thread, while the helper workers search
+ *              on a pool of background threads until the main worker finishes. The deepest result found by any
+ *              worker is returned, along with the result of each worker, such that the nodes searched per second
+ *              by each thread can be reported.
+ *
+ *              Idle pool threads are let go after a short time, so a ParallelSearch that is no longer used does
+ *              not keep any threads alive.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class ParallelSearch
+{
+    /* * * * * * * * * * * * Class Variables * * * * * * * * * * * */
+
+    // The time an idle pool thread is kept alive, in seconds.
+    private static final long THREAD_KEEP_ALIVE_TIME = 30;
+
+    /* * * * * * * * * * * * Instance Variables * * * * * * * * * * * */
+
+    // The workers, where worker 0 is the main worker.
+    private final SearchEngine[] workers;
+
+    // The transposition table shared by the workers.
+    private final TranspositionTable table;
+
+    // The thread pool for the helper workers: Null if there is only one worker.
+    private final ThreadPoolExecutor executor;
+
+    // The result of each worker in the most recent search.
+    private SearchResult[] workerResults;
+
+    /**
+     * (1) Constructor of ParallelSearch objects
+     *
+     * @param   threadCount     The number of threads to search with.
+     * @param   tableSize       The memory budget for the shared transposition
+     *                          table, in megabytes.
+     *
+     * @throws                  IllegalArgumentException
+     */
+    public ParallelSearch(int threadCount, int tableSize) throws IllegalArgumentException
+    {
+        // Validate thread count argument.
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("Invalid thread count passed to ParallelSearch constructor");
+        }
+
+        // Create the shared table & the workers.
+        table = new TranspositionTable(tableSize);
+        workers = new SearchEngine[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            workers[i] = new SearchEngine(table, i);
+        }
+
+        // Create the thread pool for the helper workers, if there are any.
+        if (threadCount > 1) {
+            executor = new ThreadPoolExecutor(threadCount - 1, threadCount - 1, THREAD_KEEP_ALIVE_TIME, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), runnable -> {
+                    Thread thread = new Thread(runnable, "search-worker");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            executor.allowCoreThreadTimeOut(true);
+        }
+        else {
+            executor = null;
+        }
+
+        workerResults = new SearchResult[0];
+    }
+
+    /**
+     * Return the number of threads searched with.
+     *
+     * @return      The number of threads.
+     */
+    public int getThreadCount()
+    {
+        return workers.length;
+    }
+
+    /**
+     * Return the result of each worker in the most recent search, where
+     * the result at index 0 is the main worker's.
+     *
+     * @return      The result of each worker.
+     */
+    public SearchResult[] getWorkerResults()
+    {
+        return workerResults.clone();
+    }
+
+    /**
+     * Return the number of positions visited so far by every worker in
+     * the current search, from any thread. The count is updated
+     * periodically.
+     *
+     * @return      The number of positions.
+     */
+    public long getNodes()
+    {
+        long nodes = 0;
+        for (SearchEngine worker : workers) {
+            nodes += worker.getNodes();
+        }
+
+        return nodes;
+    }
+
+    /**
+     * Return the deepest search depth completed so far by any worker
+     * in the current search, from any thread.
+     *
+     * @return      The search depth, in moves.
+     */
+    public int getDepth()
+    {
+        int depth = 0;
+        for (SearchEngine worker : workers) {
+            depth = Math.max(depth, worker.getDepth());
+        }
+
+        return depth;
+    }
+
+    /**
+     * Ask the current search to stop as soon as possible, from any
+     * thread. The search returns the deepest result found so far.
+     */
+    public void stop()
+    {
+        for (SearchEngine worker : workers) {
+            worker.stop();
+        }
+    }
+
+    /**
+     * Allow the next search to run, after a previous search was asked
+     * to stop.
+     */
+    void resume()
+    {
+        for (SearchEngine worker : workers) {
+            worker.resume();
+        }
+    }
+
+    /**
+     * Search for the best move for the player to move on a given
+     * board within a given time budget.
+     *
+     * @param   position        The board to search, which is not changed.
+     * @param   timeBudget      The time budget, in milliseconds.
+     * @return                  The result of the search.
+     *
+     * @throws                  IllegalArgumentException
+     */
+    public SearchResult search(Board position, long timeBudget) throws IllegalArgumentException
+    {
+        return search(position, Integer.MAX_VALUE, timeBudget);
+    }
+
+    /**
+     * Search for the best move for the player to move on a given board,
+     * up to a given depth & within a given time budget. The board must
+     * not be changed by another thread until the search returns. A
+     * search which has been stopped stays stopped until resume is
+     * called, such that it can be stopped before it begins: Its main
+     * worker returns the shallowest result, & the helpers stop with it.
+     *
+     * @param   position        The board to search, which is not changed.
+     * @param   maxDepth        The maximum search depth, in moves.
+     * @param   timeBudget      The time budget, in milliseconds.
+     * @return                  The deepest result found by any worker, with
+     *                          the total nodes searched by every worker.
+     *
+     * @throws                  IllegalArgumentException
+     */
+    public SearchResult search(Board position, int maxDepth, long timeBudget) throws IllegalArgumentException
+    {
+        long startTime = System.nanoTime();
+
+        // Start a new search in the shared table, before any worker begins. The helper workers were stopped by the
+        // previous search.
+        table.newSearch();
+        for (int i = 1; i < workers.length; i++) {
+            workers[i].resume();
+        }
+
+        // Start the helper workers, each of which searches its own copy of the board.
+        List<Future<SearchResult>> futures = new ArrayList<Future<SearchResult>>(workers.length);
+        for (int i = 1; i < workers.length; i++) {
+            SearchEngine worker = workers[i];
+            futures.add(executor.submit(() -> worker.search(position, maxDepth, timeBudget)));
+        }
+
+        // Search with the main worker, then stop the helper workers.
+        SearchResult[] results = new SearchResult[workers.length];
+        try {
+            results[0] = workers[0].search(position, maxDepth, timeBudget);
+        }
+        finally {
+            for (int i = 1; i < workers.length; i++) {
+                workers[i].stop();
+            }
+        }
+
+        // Collect the helper results, keeping the deepest result found.
+        SearchResult bestResult = results[0];
+        long nodes = results[0].getNodes();
+        for (int i = 1; i < workers.length; i++) {
+            try {
+                results[i] = futures.get(i - 1).get();
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                results[i] = new SearchResult(SearchResult.PASS, 0, 0, 0, 0);
+            }
+            catch (ExecutionException ex) {
+                throw new IllegalStateException("Search worker failed", ex.getCause());
+            }
+
+            nodes += results[i].getNodes();
+            if (results[i].getDepth() > bestResult.getDepth()) {
+                bestResult = results[i];
+            }
+        }
+        workerResults = results;
+
+        return new SearchResult(bestResult.getMove(), bestResult.getScore(), bestResult.getDepth(), nodes, System.nanoTime() - startTime);
+    }
+}
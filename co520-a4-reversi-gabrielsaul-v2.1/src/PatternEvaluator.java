@@ -0,0 +1,490 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Class:       PatternEvaluator
+ * Category:    Game Logic
+ * Summary:     This class evaluates positions on the standard 8 × 8 board for two players, as the final disk
+ *              difference expected for the player to move, in units of 1 / DISK_SCALE of a disk. The evaluation is
+ *              the sum of weights looked up for the position's features, from a table for each stage of the game:
+ *
+ *                  Edge patterns       The 8 squares of each edge.
+ *                  Corner patterns     The 3 × 3 squares in each corner.
+ *                  Diagonal patterns   The 8 squares of each main diagonal.
+ *                  Mobility            The difference in the number of legal moves.
+ *                  Potential mobility  The difference in the number of empty squares next to the opponent's disks,
+ *                                      i.e. the opponent's frontier.
+ *                  Bias                A constant for the stage, such as the worth of having the move.
+ *
+ *              Each pattern is read as a base-3 index (0 for empty, 1 for the player to move's disk, 2 for the
+ *              opponent's) from the disk masks, & every instance of a pattern shares its table: Each instance is
+ *              the image of the first under a reflection or rotation of the board, so a square of a pattern is
+ *              always the same square relative to the corner it is read from. The squares of an instance are
+ *              gathered into the low bits of a mask by shifts & multiplication, then converted to base 3 by a
+ *              lookup, such that an evaluation costs a few dozen bitwise operations & twenty small lookups, without
+ *              creating any objects, once the legal moves are known.
+ *
+ *              Weights are stored as shorts in a .rvsw weights file: A header (the magic number, format version,
+ *              stage count & feature count) followed by the weights of each stage, big-endian. The file is memory-
+ *              mapped when it is loaded. Weights are fitted to self-play games offline, & the default evaluator,
+ *              if loaded, is used by every SearchEngine on a standard board.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class PatternEvaluator
+{
+    /* * * * * * * * * * * * Class Variables * * * * * * * * * * * */
+
+    // The magic number & format version at the start of a weights file.
+    public static final int MAGIC = 0x52565357;
+    public static final int VERSION = 1;
+
+    // The weights file extension.
+    public static final String EXTENSION = ".rvsw";
+
+    // The number of evaluation units in one disk.
+    public static final int DISK_SCALE = 16;
+
+    // The number of stages of the game, each with its own weights, & the number of empty squares in each stage.
+    public static final int STAGE_COUNT = 6;
+    private static final int STAGE_EMPTY_COUNT = 10;
+
+    // The number of squares in each pattern.
+    private static final int EDGE_SQUARES = 8;
+    private static final int CORNER_SQUARES = 9;
+    private static final int DIAGONAL_SQUARES = 8;
+
+    // The offset of each feature's weights within a stage.
+    public static final int EDGE_OFFSET = 0;
+    public static final int CORNER_OFFSET = EDGE_OFFSET + pow3(EDGE_SQUARES);
+    public static final int DIAGONAL_OFFSET = CORNER_OFFSET + pow3(CORNER_SQUARES);
+    public static final int MOBILITY = DIAGONAL_OFFSET + pow3(DIAGONAL_SQUARES);
+    public static final int POTENTIAL_MOBILITY = MOBILITY + 1;
+    public static final int BIAS = POTENTIAL_MOBILITY + 1;
+
+    // The number of weights in each stage.
+    public static final int FEATURE_COUNT = BIAS + 1;
+
+    // The number of pattern instances read from each position.
+    public static final int PATTERN_COUNT = 10;
+
+    // The size of a weights file's header, in bytes.
+    private static final int HEADER_SIZE = 12;
+
+    // The masks of the squares which can be moved onto to the east & to the west without wrapping onto another row.
+    private static final long NOT_WEST_EDGE = 0xFEFEFEFEFEFEFEFEL;
+    private static final long NOT_EAST_EDGE = 0x7F7F7F7F7F7F7F7FL;
+
+    // The squares of the a-file & of the main diagonals (a1 to h8 & h1 to a8).
+    private static final long FILE = 0x0101010101010101L;
+    private static final long DIAGONAL = 0x8040201008040201L;
+    private static final long ANTI_DIAGONAL = 0x0102040810204080L;
+
+    // The multipliers which gather the squares of the a-file & of a diagonal into the top byte, in order of row.
+    private static final long FILE_GATHER = 0x0102040810204080L;
+    private static final long DIAGONAL_GATHER = 0x0101010101010101L;
+
+    // The base-3 value of each binary pattern, with a 1 digit for each set bit: As read, & with the three bits of each
+    // row of a corner reversed, for the corners read from the east edge.
+    private static final int[] TERNARY = new int[1 << CORNER_SQUARES];
+    private static final int[] MIRRORED_TERNARY = new int[1 << CORNER_SQUARES];
+
+    // The default evaluator, or null if no weights have been loaded.
+    private static volatile PatternEvaluator defaultEvaluator;
+
+    /* * * * * * * * * * * * Instance Variables * * * * * * * * * * * */
+
+    // The weights, by stage & feature.
+    private final short[][] weights;
+
+    static {
+        for (int mask = 0; mask < TERNARY.length; mask++) {
+            for (int bit = CORNER_SQUARES - 1; bit >= 0; bit--) {
+                TERNARY[mask] = TERNARY[mask] * 3 + ((mask >>> bit) & 1);
+            }
+        }
+
+        for (int mask = 0; mask < MIRRORED_TERNARY.length; mask++) {
+            int mirrored = 0;
+            for (int bit = 0; bit < CORNER_SQUARES; bit++) {
+                mirrored |= ((mask >>> bit) & 1) << (bit - bit % 3 + 2 - bit % 3);
+            }
+            MIRRORED_TERNARY[mask] = TERNARY[mirrored];
+        }
+    }
+
+    /**
+     * (1) Constructor of PatternEvaluator objects: With every weight
+     *     zero, to be fitted.
+     */
+    public PatternEvaluator()
+    {
+        weights = new short[STAGE_COUNT][FEATURE_COUNT];
+    }
+
+    /**
+     * (2) Constructor of PatternEvaluator objects: With given weights,
+     *     which are kept by the evaluator.
+     *
+     * @param   weights     The weights, by stage & feature.
+     *
+     * @throws              IllegalArgumentException
+     */
+    public PatternEvaluator(short[][] weights) throws IllegalArgumentException
+    {
+        // Validate weights argument.
+        if (weights.length != STAGE_COUNT) {
+            throw new IllegalArgumentException("Invalid weights passed to PatternEvaluator constructor");
+        }
+        for (short[] stageWeights : weights) {
+            if (stageWeights.length != FEATURE_COUNT) {
+                throw new IllegalArgumentException("Invalid weights passed to PatternEvaluator constructor");
+            }
+        }
+
+        this.weights = weights;
+    }
+
+    /**
+     * Return the default evaluator, used by search engines on a standard
+     * board.
+     *
+     * @return      The default evaluator, or null if none has been set.
+     */
+    public static PatternEvaluator getDefault()
+    {
+        return defaultEvaluator;
+    }
+
+    /**
+     * Set the default evaluator, used by search engines on a standard
+     * board from their next search.
+     *
+     * @param   evaluator   The evaluator, or null to evaluate by mobility
+     *                      & corners alone.
+     */
+    public static void setDefault(PatternEvaluator evaluator)
+    {
+        defaultEvaluator = evaluator;
+    }
+
+    /**
+     * Load an evaluator from a given weights file, by mapping the file
+     * into memory.
+     *
+     * @param   file    The weights file.
+     * @return          The evaluator.
+     *
+     * @throws          IOException
+     */
+    public static PatternEvaluator load(File file) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // Check the size before mapping, such that a file of any other format is never mapped whole.
+            long expectedSize = HEADER_SIZE + 2L * STAGE_COUNT * FEATURE_COUNT;
+            if (channel.size() != expectedSize) {
+                throw new IOException("Weights file has the wrong size: " + file);
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, expectedSize);
+            if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION || buffer.getShort() != STAGE_COUNT || buffer.getInt() != FEATURE_COUNT) {
+                throw new IOException("Weights file has an unknown format: " + file);
+            }
+
+            // Copy each stage's weights out of the mapping.
+            short[][] weights = new short[STAGE_COUNT][FEATURE_COUNT];
+            ShortBuffer shorts = buffer.asShortBuffer();
+            for (short[] stageWeights : weights) {
+                shorts.get(stageWeights);
+            }
+
+            return new PatternEvaluator(weights);
+        }
+    }
+
+    /**
+     * Write the weights to a given weights file, replacing it only once
+     * it has been written in full.
+     *
+     * @param   file    The weights file.
+     *
+     * @throws          IOException
+     */
+    public void write(File file) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + 2 * STAGE_COUNT * FEATURE_COUNT);
+        buffer.putInt(MAGIC);
+        buffer.putShort((short) VERSION);
+        buffer.putShort((short) STAGE_COUNT);
+        buffer.putInt(FEATURE_COUNT);
+        for (short[] stageWeights : weights) {
+            buffer.asShortBuffer().put(stageWeights);
+            buffer.position(buffer.position() + 2 * stageWeights.length);
+        }
+        buffer.flip();
+
+        // Write a temporary file, then move it over the weights file.
+        File tempFile = new File(file.getPath() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally {
+            tempFile.delete();
+        }
+    }
+
+    /**
+     * Return the weights of a given stage, which are kept by the evaluator
+     * & must not be changed while it is in use.
+     *
+     * @param   stage   The stage.
+     * @return          The weights of the stage, by feature.
+     */
+    public short[] getWeights(int stage)
+    {
+        return weights[stage];
+    }
+
+    /**
+     * Evaluate a position for the player to move.
+     *
+     * @param   player      The disk mask of the player to move.
+     * @param   opponent    The disk mask of the opponent.
+     * @return              The expected final disk difference for the
+     *                      player to move, in units of 1 / DISK_SCALE of
+     *                      a disk.
+     */
+    public int evaluate(long player, long opponent)
+    {
+        return evaluate(player, opponent, getMobility(player, opponent));
+    }
+
+    /**
+     * Evaluate a position for the player to move, given its mobility,
+     * such as from the legal moves a board has already found.
+     *
+     * @param   player      The disk mask of the player to move.
+     * @param   opponent    The disk mask of the opponent.
+     * @param   mobility    The mobility of the player to move (see
+     *                      getMobility).
+     * @return              The expected final disk difference for the
+     *                      player to move, in units of 1 / DISK_SCALE of
+     *                      a disk.
+     */
+    public int evaluate(long player, long opponent, int mobility)
+    {
+        short[] stageWeights = weights[getStage(player, opponent)];
+
+        // Read the corners on the north edge from the board flipped north to south, such that each is read as a1 or h1.
+        long playerFlipped = Long.reverseBytes(player), opponentFlipped = Long.reverseBytes(opponent);
+
+        int score = stageWeights[EDGE_OFFSET + getRowIndex(player, opponent, 0)]
+            + stageWeights[EDGE_OFFSET + getRowIndex(player, opponent, 56)]
+            + stageWeights[EDGE_OFFSET + getFileIndex(player, opponent, 0)]
+            + stageWeights[EDGE_OFFSET + getFileIndex(player, opponent, 7)]
+            + stageWeights[CORNER_OFFSET + getCornerIndex(player, opponent)]
+            + stageWeights[CORNER_OFFSET + getCornerIndex(playerFlipped, opponentFlipped)]
+            + stageWeights[CORNER_OFFSET + getMirroredCornerIndex(player, opponent)]
+            + stageWeights[CORNER_OFFSET + getMirroredCornerIndex(playerFlipped, opponentFlipped)]
+            + stageWeights[DIAGONAL_OFFSET + getDiagonalIndex(player, opponent, DIAGONAL)]
+            + stageWeights[DIAGONAL_OFFSET + getDiagonalIndex(player, opponent, ANTI_DIAGONAL)];
+
+        return score
+            + stageWeights[MOBILITY] * mobility
+            + stageWeights[POTENTIAL_MOBILITY] * getPotentialMobility(player, opponent)
+            + stageWeights[BIAS];
+    }
+
+    /**
+     * Write the index of each pattern instance in a position into a
+     * given buffer, as the offset of its weight within a stage, in the
+     * order in which evaluate adds them.
+     *
+     * @param   player      The disk mask of the player to move.
+     * @param   opponent    The disk mask of the opponent.
+     * @param   features    The buffer, of at least PATTERN_COUNT indices.
+     */
+    public static void getPatternIndices(long player, long opponent, int[] features)
+    {
+        long playerFlipped = Long.reverseBytes(player), opponentFlipped = Long.reverseBytes(opponent);
+
+        features[0] = EDGE_OFFSET + getRowIndex(player, opponent, 0);
+        features[1] = EDGE_OFFSET + getRowIndex(player, opponent, 56);
+        features[2] = EDGE_OFFSET + getFileIndex(player, opponent, 0);
+        features[3] = EDGE_OFFSET + getFileIndex(player, opponent, 7);
+        features[4] = CORNER_OFFSET + getCornerIndex(player, opponent);
+        features[5] = CORNER_OFFSET + getCornerIndex(playerFlipped, opponentFlipped);
+        features[6] = CORNER_OFFSET + getMirroredCornerIndex(player, opponent);
+        features[7] = CORNER_OFFSET + getMirroredCornerIndex(playerFlipped, opponentFlipped);
+        features[8] = DIAGONAL_OFFSET + getDiagonalIndex(player, opponent, DIAGONAL);
+        features[9] = DIAGONAL_OFFSET + getDiagonalIndex(player, opponent, ANTI_DIAGONAL);
+    }
+
+    /**
+     * Return the stage of the game of a position, by its number of empty
+     * squares.
+     *
+     * @param   player      The disk mask of the player to move.
+     * @param   opponent    The disk mask of the opponent.
+     * @return              The stage, from 0 (the end of the game) to
+     *                      STAGE_COUNT - 1 (the start).
+     */
+    public static int getStage(long player, long opponent)
+    {
+        int emptyCount = 64 - Long.bitCount(player | opponent);
+        return Math.min(Math.max(emptyCount - 1, 0) / STAGE_EMPTY_COUNT, STAGE_COUNT - 1);
+    }
+
+    /**
+     * Return the difference in the number of legal moves of the player to
+     * move & the opponent.
+     *
+     * @param   player      The disk mask of the player to move.
+     * @param   opponent    The disk mask of the opponent.
+     * @return              The mobility of the player to move.
+     */
+    public static int getMobility(long player, long opponent)
+    {
+        return Long.bitCount(BitBoard.generateMoves(player, opponent)) - Long.bitCount(BitBoard.generateMoves(opponent, player));
+    }
+
+    /**
+     * Return the difference in the number of empty squares next to the
+     * opponent's disks & next to the player to move's disks: The squares
+     * which may become legal moves for each player.
+     *
+     * @param   player      The disk mask of the player to move.
+     * @param   opponent    The disk mask of the opponent.
+     * @return              The potential mobility of the player to move.
+     */
+    public static int getPotentialMobility(long player, long opponent)
+    {
+        long empty = ~(player | opponent);
+        return Long.bitCount(getNeighbours(opponent) & empty) - Long.bitCount(getNeighbours(player) & empty);
+    }
+
+    /**
+     * Return the base-3 index of the edge along a given row, read from
+     * west to east.
+     *
+     * @param   player      The disk mask of the player to move.
+     * @param   opponent    The disk mask of the opponent.
+     * @param   shift       The index of the row's first square (0 or 56).
+     * @return              The index of the edge pattern.
+     */
+    private static int getRowIndex(long player, long opponent, int shift)
+    {
+        return TERNARY[(int) (player >>> shift) & 0xFF] + 2 * TERNARY[(int) (opponent >>> shift) & 0xFF];
+    }
+
+    /**
+     * Return the base-3 index of the edge along a given file, read from
+     * south to north.
+     *
+     * @param   player      The disk mask of the player to move.
+     * @param   opponent    The disk mask of the opponent.
+     * @param   shift       The column of the file (0 or 7).
+     * @return              The index of the edge pattern.
+     */
+    private static int getFileIndex(long player, long opponent, int shift)
+    {
+        return TERNARY[(int) ((((player >>> shift) & FILE) * FILE_GATHER) >>> 56)]
+            + 2 * TERNARY[(int) ((((opponent >>> shift) & FILE) * FILE_GATHER) >>> 56)];
+    }
+
+    /**
+     * Return the base-3 index of the 3 × 3 squares in corner a1.
+     *
+     * @param   player      The disk mask of the player to move.
+     * @param   opponent    The disk mask of the opponent.
+     * @return              The index of the corner pattern.
+     */
+    private static int getCornerIndex(long player, long opponent)
+    {
+        return TERNARY[getCornerBits(player)] + 2 * TERNARY[getCornerBits(opponent)];
+    }
+
+    /**
+     * Return the base-3 index of the 3 × 3 squares in corner h1, read
+     * from east to west as if the board were mirrored.
+     *
+     * @param   player      The disk mask of the player to move.
+     * @param   opponent    The disk mask of the opponent.
+     * @return              The index of the corner pattern.
+     */
+    private static int getMirroredCornerIndex(long player, long opponent)
+    {
+        return MIRRORED_TERNARY[getCornerBits(player >>> 5)] + 2 * MIRRORED_TERNARY[getCornerBits(opponent >>> 5)];
+    }
+
+    /**
+     * Return the base-3 index of a main diagonal, read from south to
+     * north.
+     *
+     * @param   player      The disk mask of the player to move.
+     * @param   opponent    The disk mask of the opponent.
+     * @param   diagonal    The squares of the diagonal, DIAGONAL or
+     *                      ANTI_DIAGONAL.
+     * @return              The index of the diagonal pattern.
+     */
+    private static int getDiagonalIndex(long player, long opponent, long diagonal)
+    {
+        return TERNARY[(int) (((player & diagonal) * DIAGONAL_GATHER) >>> 56)]
+            + 2 * TERNARY[(int) (((opponent & diagonal) * DIAGONAL_GATHER) >>> 56)];
+    }
+
+    /**
+     * Gather the 3 × 3 squares in corner a1 of a mask into 9 bits, row by
+     * row.
+     *
+     * @param   mask    The mask.
+     * @return          The corner's bits.
+     */
+    private static int getCornerBits(long mask)
+    {
+        return (int) ((mask & 0x7) | ((mask >>> 5) & 0x38) | ((mask >>> 10) & 0x1C0));
+    }
+
+    /**
+     * Return the squares next to a mask's squares, in any of the eight
+     * directions, which are not in the mask.
+     *
+     * @param   mask    The mask.
+     * @return          The neighbouring squares.
+     */
+    private static long getNeighbours(long mask)
+    {
+        long row = mask | ((mask << 1) & NOT_WEST_EDGE) | ((mask >>> 1) & NOT_EAST_EDGE);
+        return (row | (row << 8) | (row >>> 8)) & ~mask;
+    }
+
+    /**
+     * Return a given power of 3.
+     *
+     * @param   exponent    The exponent.
+     * @return              3 to the power of the exponent.
+     */
+    private static int pow3(int exponent)
+    {
+        int power = 1;
+        for (int i = 0; i < exponent; i++) {
+            power *= 3;
+        }
+
+        return power;
+    }
+}
@@ -0,0 +1,223 @@
+/**
+ * Class:       Perft
+ * Category:    Game Logic
+ * Summary:     This class counts the positions reached after every sequence of a given number of moves from the
+ *              initial position of a Board (perft), to check the legal move generation & the making and taking back
+ *              of moves at scale, and to measure their speed. Passes are handled as Game.nextTurn handles them: A
+ *              player with no legal move passes to the next player, which counts as a move, and the game ends once
+ *              every player has passed in a row. A finished game counts as one position, however many moves are
+ *              left.
+ *
+ *              The counts for two-player 6 × 6, 8 × 8 & 10 × 10 boards are checked against reference counts, and
+ *              the command fails if any count is wrong. Other layouts are reported without a check.
+ *
+ *              Usage: java Perft                                   (the 6 × 6, 8 × 8 & 10 × 10 layouts)
+ *                     java Perft <max depth> [board size] [player count]
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class Perft
+{
+    /* * * * * * * * * * * * Class Variables * * * * * * * * * * * */
+
+    // The standard board size & player count.
+    private static final int STANDARD_BOARD_SIZE = 8;
+    private static final int STANDARD_PLAYER_COUNT = 2;
+
+    // The reference counts for two-player boards, by board size & then by depth from 1. The 8 × 8 counts are
+    // the published counts, while the 6 × 6 & 10 × 10 counts were checked against a plain array-based move
+    // generator.
+    private static final long[][] REFERENCE_COUNTS = new long[12][];
+
+    static
+    {
+        REFERENCE_COUNTS[6] = new long[] {
+            4L, 12L, 56L, 244L, 1364L, 7604L, 47740L, 308716L, 2114912L, 14976792L
+        };
+        REFERENCE_COUNTS[8] = new long[] {
+            4L, 12L, 56L, 244L, 1396L, 8200L, 55092L, 390216L, 3005288L, 24571284L, 212258800L, 1939886636L, 18429641748L
+        };
+        REFERENCE_COUNTS[10] = new long[] {
+            4L, 12L, 56L, 244L, 1396L, 8200L, 55180L, 392268L, 3045812L
+        };
+    }
+
+    // The layouts (board size & maximum depth) run when no arguments are given.
+    private static final int[][] DEFAULT_LAYOUTS = { { 6, 10 }, { 8, 10 }, { 10, 9 } };
+
+    /* * * * * * * * * * * * Instance Variables * * * * * * * * * * * */
+
+    // The board being counted.
+    private final Board board;
+
+    // The number of players.
+    private final int playerCount;
+
+    // The legal move buffers, indexed by ply.
+    private final int[][] moveBuffers;
+
+    /**
+     * (1) Constructor of Perft objects
+     *
+     * @param   boardSize       The board size.
+     * @param   playerCount     The number of players.
+     * @param   maxDepth        The maximum depth to be counted.
+     *
+     * @throws                  IllegalArgumentException
+     */
+    public Perft(int boardSize, int playerCount, int maxDepth) throws IllegalArgumentException
+    {
+        // Validate arguments.
+        if (playerCount < 2 || maxDepth < 1) {
+            throw new IllegalArgumentException("Invalid player count or depth passed to Perft constructor");
+        }
+
+        // Create the board, with player IDs in order of play.
+        int[] pids = new int[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            pids[i] = i + 1;
+        }
+
+        board = new Board(boardSize, pids);
+        this.playerCount = playerCount;
+        moveBuffers = new int[maxDepth + 1][boardSize * boardSize];
+    }
+
+    /**
+     * Run perft for the default layouts, or for a given layout.
+     *
+     * @param   args    The maximum depth, the board size & the player
+     *                  count, each of which is optional.
+     */
+    public static void main(String[] args)
+    {
+        boolean passed = true;
+
+        if (args.length == 0) {
+            for (int[] layout : DEFAULT_LAYOUTS) {
+                passed &= run(layout[0], STANDARD_PLAYER_COUNT, layout[1]);
+            }
+        }
+        else {
+            int maxDepth = Integer.parseInt(args[0]);
+            int boardSize = (args.length > 1) ? Integer.parseInt(args[1]) : STANDARD_BOARD_SIZE;
+            int playerCount = (args.length > 2) ? Integer.parseInt(args[2]) : STANDARD_PLAYER_COUNT;
+            passed = run(boardSize, playerCount, maxDepth);
+        }
+
+        // Fail the command if any count was wrong.
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Count & report the positions at each depth up to a given depth for
+     * a given layout, checking the counts against the reference counts
+     * if there are any.
+     *
+     * @param   boardSize       The board size.
+     * @param   playerCount     The number of players.
+     * @param   maxDepth        The maximum depth.
+     * @return                  True if every checked count was correct,
+     *                          else false.
+     */
+    private static boolean run(int boardSize, int playerCount, int maxDepth)
+    {
+        long[] referenceCounts = (playerCount == STANDARD_PLAYER_COUNT && boardSize < REFERENCE_COUNTS.length) ? REFERENCE_COUNTS[boardSize] : null;
+        boolean passed = true;
+
+        System.out.printf("Perft on a %d x %d board with %d players%n", boardSize, boardSize, playerCount);
+
+        Perft perft = new Perft(boardSize, playerCount, maxDepth);
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            long startTime = System.nanoTime();
+            long count = perft.count(depth);
+            long elapsedTime = Math.max(System.nanoTime() - startTime, 1);
+
+            // Check the count if there is a reference count for it.
+            String check = "";
+            if (referenceCounts != null && depth <= referenceCounts.length) {
+                boolean correct = (count == referenceCounts[depth - 1]);
+                check = correct ? "  ok" : "  FAILED (expected " + referenceCounts[depth - 1] + ")";
+                passed &= correct;
+            }
+
+            System.out.printf("  depth %2d: %,16d positions in %,9d ms (%,13d positions/s)%s%n",
+                depth, count, elapsedTime / 1_000_000, count * 1_000_000_000L / elapsedTime, check);
+        }
+
+        return passed;
+    }
+
+    /**
+     * Count the positions reached after every sequence of a given number
+     * of moves from the initial position.
+     *
+     * @param   depth   The number of moves.
+     * @return          The number of positions.
+     *
+     * @throws          IllegalArgumentException
+     */
+    public long count(int depth) throws IllegalArgumentException
+    {
+        // Validate depth argument.
+        if (depth < 1 || depth >= moveBuffers.length) {
+            throw new IllegalArgumentException("Invalid depth passed to count");
+        }
+
+        return count(depth, 0, 0);
+    }
+
+    /**
+     * Count the positions reached after every sequence of a given number
+     * of moves from the current position of the board.
+     *
+     * @param   depth       The number of moves left.
+     * @param   ply         The number of moves from the initial position.
+     * @param   passCount   The number of players who have passed in a row.
+     * @return              The number of positions.
+     */
+    private long count(int depth, int ply, int passCount)
+    {
+        int pid = board.getTurn();
+        int[] moves = moveBuffers[ply];
+        int moveCount = board.getLegalMoves(pid, moves);
+
+        // Pass to the next player, unless every other player has passed in a row & the game is over.
+        if (moveCount == 0) {
+            if (passCount + 1 >= playerCount || depth == 1) {
+                return 1;
+            }
+
+            board.setTurn(pid % playerCount + 1);
+            long count = count(depth - 1, ply + 1, passCount + 1);
+            board.setTurn(pid);
+
+            return count;
+        }
+
+        // Each legal move leads to one position at the last move.
+        if (depth == 1) {
+            return moveCount;
+        }
+
+        long count = 0;
+        for (int i = 0; i < moveCount; i++) {
+            UndoRecord record;
+            try {
+                record = board.makeMove(moves[i], pid);
+            }
+            catch (IllegalMoveException ex) {
+                throw new IllegalStateException("Illegal move generated by board", ex);
+            }
+
+            board.setTurn(pid % playerCount + 1);
+            count += count(depth - 1, ply + 1, 0);
+            board.unmakeMove(record);
+        }
+
+        return count;
+    }
+}
@@ -16,6 +16,9 @@ import java.awt.Color;
  */
 public class Player implements Comparable, Serializable
 {
+    // The original serial version, which old session files refer to.
+    private static final long serialVersionUID = -8551281653367991094L;
+
     // The player's name.
     private String name;
        
@@ -129,6 +132,17 @@ public class Player implements Comparable, Serializable
         return active;
     }
     
+    /**
+     * Check if this player's moves are chosen by the computer.
+     * 
+     * @return      True if this is a computer player, else
+     *              false.
+     */
+    public boolean isComputer()
+    {
+        return false;
+    }
+    
     /**
      * Set the player's current game total.
      * 
@@ -147,6 +161,17 @@ public class Player implements Comparable, Serializable
         winCount += 1;
     }
     
+    /**
+     * Set the player's win count in the session, such as when
+     * a saved session is loaded.
+     * 
+     * @param   winCount    The player's win count.
+     */
+    public void setWinCount(int winCount)
+    {
+        this.winCount = winCount;
+    }
+    
     /**
      * Set the player's numerical ID. The ID signifies the
      * player's place in the turn ordering, and is used for
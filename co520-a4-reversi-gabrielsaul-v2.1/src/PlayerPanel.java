@@ -26,6 +26,9 @@ public class PlayerPanel extends JPanel
     // Background color constants.
     private static final Color ACTIVE_BACKGROUND_COLOR = new Color(0x77, 0xDD, 0x77);
 
+    // The name given to a computer player when no name is entered.
+    private static final String DEFAULT_COMPUTER_NAME = "Computer";
+
     /* * * * * * * * * * * * Instance Variables * * * * * * * * * * * */
     
     // The default background color.
@@ -46,6 +49,9 @@ public class PlayerPanel extends JPanel
     // The name input field.
     private JTextField nameField;
 
+    // The computer player input check box.
+    private JCheckBox computerBox;
+
     // The current game total label.
     private JLabel currentGameTotalLabel;
 
@@ -113,7 +119,8 @@ public class PlayerPanel extends JPanel
      * 
      * The name panel is initially created with a text input field, which
      * receives textual input that then becomes the player's displayed
-     * name during a session.
+     * name during a session, and a check box to make the player a
+     * computer player.
      */
     private void createNamePanel()
     {
@@ -121,7 +128,7 @@ public class PlayerPanel extends JPanel
         namePanel = new JPanel();
 
         // Create the name panel's layout.
-        GridLayout namePanelLayout = new GridLayout(2, 1);
+        GridLayout namePanelLayout = new GridLayout(3, 1);
 
         // Set the name panel's layout & padding.
         namePanelLayout.setVgap(INNER_PADDING_SIZE);
@@ -136,6 +143,10 @@ public class PlayerPanel extends JPanel
         // Add the name panel's input field.
         namePanel.add(nameField);
 
+        // Create & add the computer player check box.
+        computerBox = new JCheckBox("Computer player");
+        namePanel.add(computerBox);
+
         // Create the padding panel.
         JPanel paddingPanel = new JPanel();
         paddingPanel.setLayout(new GridLayout(1, 1));
@@ -227,18 +238,37 @@ public class PlayerPanel extends JPanel
     {
         return (nameField == null || nameField.getText().isEmpty());
     }
+
+    /**
+     * Check if the computer player check box is selected.
+     * 
+     * @return      True if the player is to be a computer player, else false.
+     */
+    public boolean isComputerSelected()
+    {
+        return (computerBox != null && computerBox.isSelected());
+    }
     
     /**
      * Create a new player based on the inputted name in the player panel,
      * assigning to the player the inputted name and the disk color
-     * associated with the player panel.
+     * associated with the player panel. A computer player is created if
+     * the computer player check box is selected, named by default if no
+     * name was entered.
      * 
      * @return      The created Player object.
      */
     public Player createPlayer()
     {
         // Create the new player.
-        Player newPlayer = new Player(nameField.getText(), diskColorName, diskColor);
+        Player newPlayer;
+        if (isComputerSelected()) {
+            String name = isNameFieldEmpty() ? DEFAULT_COMPUTER_NAME : nameField.getText();
+            newPlayer = new ComputerPlayer(name, diskColorName, diskColor, ComputerPlayer.DEFAULT_TIME_BUDGET, ComputerPlayer.DEFAULT_THREAD_COUNT);
+        }
+        else {
+            newPlayer = new Player(nameField.getText(), diskColorName, diskColor);
+        }
         
         // Set the associated player to the newly created player.
         setPlayer(newPlayer);
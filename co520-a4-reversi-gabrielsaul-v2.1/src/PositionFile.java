@@ -0,0 +1,450 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.zip.CRC32;
+
+/**
+ * Class:       PositionFile
+ * Category:    Data
+ * Summary:     This class describes a .rvsp position file written by SelfPlay: The settings the games were played
+ *              with, & the chunks of positions written so far. Each chunk holds every position of a block of
+ *              consecutive games, labelled with the final disk difference of its game, such that a chunk is the
+ *              unit in which positions are written, checked & read back. Chunks are appended in the order their
+ *              blocks finish, not in block order.
+ *
+ *              Reading a file checks each chunk against its checksum & stops at the first chunk which is torn or
+ *              corrupt, such as one being written when a run was interrupted: The file is good up to getLength,
+ *              & a run can be resumed by cutting it there & playing the missing blocks.
+ *
+ *              The format (big-endian) is:
+ *
+ *                  int     Magic number ("RVSP")
+ *                  short   Format version
+ *                  short   Record size
+ *                  long    Seed of the random openings
+ *                  int     Game count
+ *                  int     Games in each block
+ *                  short   Random opening moves in each game
+ *                  byte    Engine type (see SelfPlay)
+ *                  byte    Reserved (0)
+ *                  int     Engine limit: The search depth, or time budget in milliseconds
+ *                  Chunks, each of:
+ *                      int     Block index
+ *                      int     Record count
+ *                      int     CRC-32 of the records
+ *                      Records, of 18 bytes each:
+ *                          long    Disk mask of player ID 1 (bit y * 8 + x)
+ *                          long    Disk mask of player ID 2
+ *                          byte    Player ID to move
+ *                          byte    Final disk difference of player ID 1 over player ID 2
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class PositionFile
+{
+    /* * * * * * * * * * * * Class Variables * * * * * * * * * * * */
+
+    // The position file extension.
+    public static final String EXTENSION = ".rvsp";
+
+    // The magic number ("RVSP") & the version of the format.
+    public static final int MAGIC = 0x52565350;
+    public static final int VERSION = 1;
+
+    // The size of the header, of the header of each chunk & of each record, in bytes.
+    public static final int HEADER_SIZE = 32;
+    public static final int CHUNK_HEADER_SIZE = 12;
+    public static final int RECORD_SIZE = 18;
+
+    // The most positions recorded in one game: One for each square but the four at the start.
+    public static final int MAX_GAME_RECORDS = 60;
+
+    /* * * * * * * * * * * * Instance Variables * * * * * * * * * * * */
+
+    // The settings the games are played with.
+    private final long seed;
+    private final int gameCount;
+    private final int blockGameCount;
+    private final int openingMoveCount;
+    private final int engineType;
+    private final int engineLimit;
+
+    // The offset, block index & record count of each chunk, in file order.
+    private long[] chunkOffsets;
+    private int[] chunkBlocks;
+    private int[] chunkRecordCounts;
+    private int chunkCount;
+
+    // The blocks with a chunk in the file.
+    private final BitSet writtenBlocks;
+
+    // The number of positions in the chunks, & the length of the file up to the end of the last good chunk.
+    private long positionCount;
+    private long length;
+
+    /**
+     * (1) Constructor of PositionFile objects: Describing a file with a
+     *     given set of settings & no chunks yet.
+     *
+     * @param   seed                The seed of the random openings.
+     * @param   gameCount           The number of games.
+     * @param   blockGameCount      The number of games in each block.
+     * @param   openingMoveCount    The number of random opening moves.
+     * @param   engineType          The engine type.
+     * @param   engineLimit         The engine's search depth or time
+     *                              budget.
+     *
+     * @throws                      IllegalArgumentException
+     */
+    public PositionFile(long seed, int gameCount, int blockGameCount, int openingMoveCount, int engineType, int engineLimit) throws IllegalArgumentException
+    {
+        // Validate arguments.
+        if (gameCount < 1 || blockGameCount < 1 || openingMoveCount < 0 || openingMoveCount > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid game settings passed to PositionFile constructor");
+        }
+        else if (engineType < 0 || engineType > Byte.MAX_VALUE || engineLimit < 1) {
+            throw new IllegalArgumentException("Invalid engine passed to PositionFile constructor");
+        }
+
+        this.seed = seed;
+        this.gameCount = gameCount;
+        this.blockGameCount = blockGameCount;
+        this.openingMoveCount = openingMoveCount;
+        this.engineType = engineType;
+        this.engineLimit = engineLimit;
+
+        chunkOffsets = new long[16];
+        chunkBlocks = new int[16];
+        chunkRecordCounts = new int[16];
+        writtenBlocks = new BitSet(getBlockCount());
+        length = HEADER_SIZE;
+    }
+
+    /**
+     * Read the header of a position file & check its chunks, up to the
+     * first chunk which is torn or corrupt.
+     *
+     * @param   file    The position file.
+     * @return          The description of the file.
+     *
+     * @throws          IOException
+     */
+    public static PositionFile read(File file) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // Read & check the header.
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            readFully(channel, header, 0);
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+                throw new IOException(file + " is not a position file");
+            }
+            else if (header.getShort() != VERSION || header.getShort() != RECORD_SIZE) {
+                throw new IOException(file + " has an unsupported format version");
+            }
+
+            PositionFile positionFile;
+            try {
+                long seed = header.getLong();
+                int gameCount = header.getInt();
+                int blockGameCount = header.getInt();
+                int openingMoveCount = header.getShort();
+                int engineType = header.get();
+                header.get();
+                positionFile = new PositionFile(seed, gameCount, blockGameCount, openingMoveCount, engineType, header.getInt());
+            }
+            catch (IllegalArgumentException ex) {
+                throw new IOException(file + " has invalid settings", ex);
+            }
+
+            // Check each chunk in turn, stopping at the end of the file or the first bad chunk.
+            int maxRecordCount = positionFile.blockGameCount * MAX_GAME_RECORDS;
+            ByteBuffer chunkHeader = ByteBuffer.allocate(CHUNK_HEADER_SIZE);
+            ByteBuffer records = ByteBuffer.allocate(Math.min(maxRecordCount, 1 << 16) * RECORD_SIZE);
+            CRC32 crc = new CRC32();
+            long offset = HEADER_SIZE;
+            while (true) {
+                chunkHeader.clear();
+                readFully(channel, chunkHeader, offset);
+                if (chunkHeader.position() < CHUNK_HEADER_SIZE) {
+                    break;
+                }
+                chunkHeader.flip();
+
+                int block = chunkHeader.getInt();
+                int recordCount = chunkHeader.getInt();
+                int checksum = chunkHeader.getInt();
+                if (block < 0 || block >= positionFile.getBlockCount() || positionFile.writtenBlocks.get(block)
+                        || recordCount < 0 || recordCount > maxRecordCount) {
+                    break;
+                }
+
+                // Checksum the records, reading as much at a time as the buffer holds.
+                crc.reset();
+                long recordOffset = offset + CHUNK_HEADER_SIZE, recordEnd = recordOffset + (long) recordCount * RECORD_SIZE;
+                while (recordOffset < recordEnd) {
+                    records.clear();
+                    records.limit((int) Math.min(records.capacity(), recordEnd - recordOffset));
+                    readFully(channel, records, recordOffset);
+                    if (records.hasRemaining()) {
+                        break;
+                    }
+
+                    crc.update(records.array(), 0, records.limit());
+                    recordOffset += records.limit();
+                }
+                if (recordOffset < recordEnd || (int) crc.getValue() != checksum) {
+                    break;
+                }
+
+                positionFile.addChunk(block, recordCount);
+                offset = recordEnd;
+            }
+
+            return positionFile;
+        }
+    }
+
+    /**
+     * Read bytes from a channel at a given position until a buffer is
+     * full or the end of the channel is reached.
+     *
+     * @param   channel     The channel.
+     * @param   buffer      The buffer.
+     * @param   position    The position in the channel.
+     *
+     * @throws              IOException
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException
+    {
+        while (buffer.hasRemaining()) {
+            int count = channel.read(buffer, position);
+            if (count < 0) {
+                return;
+            }
+            position += count;
+        }
+    }
+
+    /**
+     * Return the header of a file with this file's settings.
+     *
+     * @return      The header, ready to be written.
+     */
+    public ByteBuffer createHeader()
+    {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putShort((short) VERSION);
+        header.putShort((short) RECORD_SIZE);
+        header.putLong(seed);
+        header.putInt(gameCount);
+        header.putInt(blockGameCount);
+        header.putShort((short) openingMoveCount);
+        header.put((byte) engineType);
+        header.put((byte) 0);
+        header.putInt(engineLimit);
+        header.flip();
+
+        return header;
+    }
+
+    /**
+     * Record a chunk appended to the end of the file.
+     *
+     * @param   block           The block index of the chunk.
+     * @param   recordCount     The number of records in the chunk.
+     *
+     * @throws                  IllegalArgumentException
+     */
+    public void addChunk(int block, int recordCount) throws IllegalArgumentException
+    {
+        // Validate arguments.
+        if (block < 0 || block >= getBlockCount() || writtenBlocks.get(block)) {
+            throw new IllegalArgumentException("Invalid block passed to addChunk");
+        }
+        else if (recordCount < 0 || recordCount > blockGameCount * MAX_GAME_RECORDS) {
+            throw new IllegalArgumentException("Invalid record count passed to addChunk");
+        }
+
+        // Grow the chunk arrays if they are full.
+        if (chunkCount == chunkOffsets.length) {
+            chunkOffsets = Arrays.copyOf(chunkOffsets, chunkCount * 2);
+            chunkBlocks = Arrays.copyOf(chunkBlocks, chunkCount * 2);
+            chunkRecordCounts = Arrays.copyOf(chunkRecordCounts, chunkCount * 2);
+        }
+
+        chunkOffsets[chunkCount] = length;
+        chunkBlocks[chunkCount] = block;
+        chunkRecordCounts[chunkCount] = recordCount;
+        chunkCount++;
+
+        writtenBlocks.set(block);
+        positionCount += recordCount;
+        length += CHUNK_HEADER_SIZE + (long) recordCount * RECORD_SIZE;
+    }
+
+    /**
+     * Check if another file was written with the same settings as this
+     * file, such that one run can be resumed by the other.
+     *
+     * @param   other   The other file.
+     * @return          True if the settings are the same, else false.
+     */
+    public boolean hasSettingsOf(PositionFile other)
+    {
+        return seed == other.seed && gameCount == other.gameCount && blockGameCount == other.blockGameCount
+            && openingMoveCount == other.openingMoveCount && engineType == other.engineType && engineLimit == other.engineLimit;
+    }
+
+    /**
+     * Return the seed of the random openings.
+     *
+     * @return      The seed.
+     */
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    /**
+     * Return the number of games.
+     *
+     * @return      The game count.
+     */
+    public int getGameCount()
+    {
+        return gameCount;
+    }
+
+    /**
+     * Return the number of games in each block, except perhaps the last.
+     *
+     * @return      The game count of a block.
+     */
+    public int getBlockGameCount()
+    {
+        return blockGameCount;
+    }
+
+    /**
+     * Return the number of blocks the games are divided into.
+     *
+     * @return      The block count.
+     */
+    public int getBlockCount()
+    {
+        return (gameCount + blockGameCount - 1) / blockGameCount;
+    }
+
+    /**
+     * Return the number of random moves played at the start of each
+     * game.
+     *
+     * @return      The number of opening moves.
+     */
+    public int getOpeningMoveCount()
+    {
+        return openingMoveCount;
+    }
+
+    /**
+     * Return the type of engine the games are played with.
+     *
+     * @return      The engine type.
+     */
+    public int getEngineType()
+    {
+        return engineType;
+    }
+
+    /**
+     * Return the search depth or time budget of the engine.
+     *
+     * @return      The engine limit.
+     */
+    public int getEngineLimit()
+    {
+        return engineLimit;
+    }
+
+    /**
+     * Check if a given block has a chunk in the file.
+     *
+     * @param   block   The block index.
+     * @return          True if the block's positions have been written,
+     *                  else false.
+     */
+    public boolean isBlockWritten(int block)
+    {
+        return writtenBlocks.get(block);
+    }
+
+    /**
+     * Return the number of blocks with a chunk in the file.
+     *
+     * @return      The number of chunks.
+     */
+    public int getChunkCount()
+    {
+        return chunkCount;
+    }
+
+    /**
+     * Return the offset of the records of a given chunk in the file.
+     *
+     * @param   i   The index of the chunk, in file order.
+     * @return      The offset of the first record, in bytes.
+     */
+    public long getRecordOffset(int i)
+    {
+        return chunkOffsets[i] + CHUNK_HEADER_SIZE;
+    }
+
+    /**
+     * Return the number of records in a given chunk.
+     *
+     * @param   i   The index of the chunk, in file order.
+     * @return      The record count.
+     */
+    public int getRecordCount(int i)
+    {
+        return chunkRecordCounts[i];
+    }
+
+    /**
+     * Return the block index of a given chunk.
+     *
+     * @param   i   The index of the chunk, in file order.
+     * @return      The block index.
+     */
+    public int getChunkBlock(int i)
+    {
+        return chunkBlocks[i];
+    }
+
+    /**
+     * Return the number of positions in the file.
+     *
+     * @return      The position count.
+     */
+    public long getPositionCount()
+    {
+        return positionCount;
+    }
+
+    /**
+     * Return the length of the file up to the end of its last good chunk.
+     *
+     * @return      The length, in bytes.
+     */
+    public long getLength()
+    {
+        return length;
+    }
+}
@@ -1,17 +1,20 @@
 import java.awt.*;
 import java.awt.event.*;
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import javax.swing.*;
 import javax.swing.border.*;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Class:       Reversi
@@ -59,9 +62,28 @@ public class Reversi
     // Saved data constants.
     private static final String[] SAVED_DATA_FILENAME_EXTENSIONS = { ".rvsi", ".serialized", ".ser" };
 
+    // The evaluation weights file, in the data directory.
+    private static final String WEIGHTS_FILENAME = "weights" + PatternEvaluator.EXTENSION;
+
     // Version info constants.
     private static final String REVERSI_VERSION_INFO = "Reversi v2.1 (2021)";
 
+    // The time budget for the "Solve Position" command, in milliseconds.
+    private static final long SOLVE_TIME_BUDGET = 5000;
+
+    // How often the progress of a session being saved or loaded is shown, in milliseconds.
+    private static final int FILE_TASK_POLL_INTERVAL = 100;
+
+    // The longest the journal is waited on when quitting, in seconds.
+    private static final long EXIT_TIMEOUT = 5;
+
+    // How often the progress of a thinking computer player is shown, in milliseconds.
+    private static final int THINKING_POLL_INTERVAL = 100;
+
+    // The time budget for analysing a position, in milliseconds, & the number of positions whose analysis is kept.
+    private static final long ANALYSIS_TIME_BUDGET = 30000;
+    private static final int ANALYSIS_CACHE_SIZE = 1024;
+
     /* * * * * * * * * * * * Instance Variables * * * * * * * * * * * */
 
     // The Reversi JFrame component.
@@ -97,7 +119,41 @@ public class Reversi
     // The file chooser.
     private JFileChooser fileChooser;
 
-    // The "File" menu items.
+    // The thread which saves & loads sessions & writes their journals, one task at a time.
+    private final ExecutorService ioExecutor;
+
+    // The session file being saved or loaded, or null.
+    private SessionFileTask fileTask;
+
+    // The thread which chooses the moves of computer players & analyses positions, one task at a time.
+    private final ExecutorService engineExecutor;
+
+    // The move being chosen by a computer player, or null.
+    private ComputerMoveTask computerMoveTask;
+
+    // The timer which shows the progress of the thinking computer player.
+    private Timer thinkingTimer;
+
+    // Whether or not the analysis of each position is shown.
+    private boolean analysisVisible;
+
+    // The engine which analyses positions, or null until the first analysis.
+    private SearchEngine analysisEngine;
+
+    // The position being analysed, or null.
+    private AnalysisTask analysisTask;
+
+    // The solver for the "Solve Position" command, or null until the first solve.
+    private EndgameSolver positionSolver;
+
+    // The position being solved, or null.
+    private SolveTask solveTask;
+
+    // The deepest analysis of recent positions, by hash, least recently shown first.
+    private final LinkedHashMap<Long, MoveAnalysis> analysisCache;
+
+    // The "File" menu & its items.
+    private JMenu fileMenu;
     private JMenuItem newSessionItem;
     private JMenuItem saveSessionItem;
     private JMenuItem quicksaveItem;
@@ -145,16 +201,68 @@ public class Reversi
         fileChooser = new JFileChooser(SAVED_DATA_DIRECTORY);
         fileChooser.setFileFilter(new FileNameExtensionFilter("Sessions", "rvsi", "serialized", "ser"));
 
+        // Create the thread for saving & loading sessions, such that the frame stays responsive.
+        ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "session-io");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+        // Keep the analysis of recent positions, such that returning to a position shows its scores straight away.
+        analysisCache = new LinkedHashMap<Long, MoveAnalysis>(16, 0.75f, true)
+            {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, MoveAnalysis> eldest)
+                {
+                    return size() > ANALYSIS_CACHE_SIZE;
+                }
+            };
+
+        // Create the thread for choosing computer moves, such that the frame keeps painting while they think.
+        engineExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "computer-player");
+                thread.setDaemon(true);
+                return thread;
+            });
+
         // Set the disk colors.
         setDiskColors();
 
         // Create the frame.
         createFrame();
 
+        // Load the evaluation weights for computer players.
+        loadWeights();
+
         // Pre-session state.
         session = null;
+
+        // Offer to recover a session which was never saved, if it was left behind by a crash.
+        recoverUntitledSession();
     }
     
+    /**
+     * Load the evaluation weights for computer players on the standard
+     * board, if they have been fitted, warning the user if they can't be
+     * read. Computer players otherwise evaluate by mobility & corners.
+     */
+    private void loadWeights()
+    {
+        // Do nothing if no weights have been fitted.
+        File weightsFile = new File(SAVED_DATA_DIRECTORY.getParentFile(), WEIGHTS_FILENAME);
+        if (!weightsFile.exists()) {
+            return;
+        }
+
+        try {
+            PatternEvaluator.setDefault(PatternEvaluator.load(weightsFile));
+        }
+        catch (IOException ex) {
+            JOptionPane.showMessageDialog(frame, "The evaluation weights could not be loaded.\nComputer players will evaluate by mobility & corners.",
+                "Evaluation Weights", JOptionPane.WARNING_MESSAGE);
+        }
+    }
+
     /**
      * Main method.
      * Create a Reversi object.
@@ -240,7 +348,7 @@ public class Reversi
     private void createFileMenu(JMenuBar menuBar)
     {
         // Create the "File" menu.
-        JMenu fileMenu = new JMenu("File");
+        fileMenu = new JMenu("File");
 
         // Create the "New Session" menu item.
         newSessionItem = new JMenuItem("New Session");
@@ -249,12 +357,12 @@ public class Reversi
 
         // Create the "Save Session" menu item.
         saveSessionItem = new JMenuItem("Save Session");
-        saveSessionItem.addActionListener(e -> saveSession(false));
+        saveSessionItem.addActionListener(e -> saveSession(false, null));
         saveSessionItem.setEnabled(false);
 
         // Create the "Quicksave" menu item.
         quicksaveItem = new JMenuItem("Quicksave");
-        quicksaveItem.addActionListener(e -> saveSession(true));
+        quicksaveItem.addActionListener(e -> saveSession(true, null));
         quicksaveItem.setEnabled(false);
 
         // Create the "Load Session" menu item.
@@ -317,6 +425,16 @@ public class Reversi
         showLegalMovesItem.addActionListener(e -> showLegalMoves(showLegalMovesItem.getState()));
         gameMenu.add(showLegalMovesItem);
 
+        // Create the "Solve Position" item.
+        JMenuItem solvePositionItem = new JMenuItem("Solve Position");
+        solvePositionItem.addActionListener(e -> solvePosition());
+        gameMenu.add(solvePositionItem);
+
+        // Create the "Show Analysis" item.
+        JCheckBoxMenuItem showAnalysisItem = new JCheckBoxMenuItem("Show Analysis");
+        showAnalysisItem.addActionListener(e -> showAnalysis(showAnalysisItem.getState()));
+        gameMenu.add(showAnalysisItem);
+
         // Add the "Game " menu to the menu bar.
         menuBar.add(gameMenu);
     }
@@ -501,38 +619,6 @@ public class Reversi
                         updateNextTurn();
                     }
                 }
-
-                /**
-                 * Update when the mouse hovers over the board panel.
-                 * 
-                 * @param   e       The mouse event.
-                 */
-                @Override
-                public void mouseEntered(MouseEvent e)
-                {
-                    // Do nothing if the board panel is currently inactive.
-                    if (!boardPanel.isActive()) {
-                        return;
-                    }
-
-                    // Repaint the frame.
-                    repaintFrame();
-                }
-
-                /**
-                 * Update when the mouse hovers out of the board panel.
-                 */
-                @Override
-                public void mouseExited(MouseEvent e)
-                {
-                    // Do nothing if the board panel is inactive.
-                    if (!boardPanel.isActive()) {
-                        return;
-                    }
-
-                    // Repaint the frame.
-                    repaintFrame();
-                }
             }
         );
         boardPanel.setPreferredSize(new Dimension(BOARD_PANEL_PREF_WIDTH, BOARD_PANEL_PREF_HEIGHT));
@@ -755,9 +841,9 @@ public class Reversi
         // Initialise the players array.
         players = new Player[playerCount];
 
-        // Check for empty inputs.
+        // Check for empty inputs. Computer players are named by default.
         for (PlayerPanel playerPanel : playerPanels) {
-            if (playerPanel.isNameFieldEmpty()) {
+            if (playerPanel.isNameFieldEmpty() && !playerPanel.isComputerSelected()) {
                 return false;
             }
         }
@@ -865,7 +951,11 @@ public class Reversi
             }
         }
 
-        // Nullify the session.
+        // Give up the session's progress & nullify the session.
+        cancelComputerMove();
+        cancelAnalysis();
+        cancelSolve();
+        deleteJournal();
         session = null;
 
         // Reset the board panel.
@@ -898,17 +988,19 @@ public class Reversi
      * notify the user of this via a message dialog. If the session
      * has not yet been saved, let the user save the session under
      * a chosen filename. Otherwise, save the session as its assigned
-     * filename.
+     * filename. The session file is written in the background.
      * 
      * @param   quicksave       True if "Quicksave" has been selected,
      *                          else false.
+     * @param   onSaved         Run once the session has been saved, or
+     *                          null.
      */
-    private boolean saveSession(boolean quicksave)
+    private void saveSession(boolean quicksave, Runnable onSaved)
     {
         // Notify user if there is not an active session.
         if (session == null) {
             JOptionPane.showMessageDialog(frame, "No active session to save.");
-            return false;
+            return;
         }
 
         // Check if a save file already exists.
@@ -925,7 +1017,7 @@ public class Reversi
             // Do nothing if user does not opt to save.
             saveFile = fileChooser.getSelectedFile();
             if (saveFile == null) {
-                return false;
+                return;
             }
 
             // Store the created filename & previous filename.
@@ -957,41 +1049,145 @@ public class Reversi
             // Exit if user opts not to overwrite.
             if (response != 0) {
                 JOptionPane.showMessageDialog(frame, "Session was not saved.");
-                return false;
+                return;
             }
         }
 
-        // Serialize & write session.
+        // Mark the session as saved, then take the session to be written.
+        Session savedSession = session;
+        boolean isFilenameChanged = isNewFilename;
+        String restoredFilename = prevFilename;
+        SessionFileTask task;
         try {
-            ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(filepath));
             session.setSaved(true);
             if (isNewFilename) {
                 session.setFilename(filename);
             }
-            oos.writeObject(session);
+            task = new SessionFileTask(session, new File(filepath))
+                {
+                    @Override
+                    protected void done()
+                    {
+                        finishSaveSession(this, savedSession, isFilenameChanged, restoredFilename, onSaved);
+                    }
+                };
         }
         catch (IOException ex) {
             JOptionPane.showMessageDialog(frame, "Could not save session.", "Save Session", JOptionPane.WARNING_MESSAGE);
             session.setSaved(false);
-            if (isNewFilename && prevFilename == null) {
-                session.setFilename(null);
+            if (isNewFilename) {
+                session.setFilename(prevFilename);
+            }
+            return;
+        }
+
+        // Write the session file.
+        runFileTask(task, "Saving " + session.getFilename() + "...");
+    }
+
+    /**
+     * Finish saving a given session once its file has been written or
+     * the save has failed or been cancelled, which marks the session as
+     * not saved again.
+     * 
+     * @param   task            The finished task.
+     * @param   savedSession    The session which was saved.
+     * @param   isNewFilename   True if the session was saved under a new
+     *                          filename, else false.
+     * @param   prevFilename    The session's filename before the save.
+     * @param   onSaved         Run if the session was saved, or null.
+     */
+    private void finishSaveSession(SessionFileTask task, Session savedSession, boolean isNewFilename, String prevFilename, Runnable onSaved)
+    {
+        // Check whether the session file was written.
+        try {
+            task.get();
+        }
+        catch (CancellationException | InterruptedException | ExecutionException ex) {
+            if (task.isCancelled()) {
+                JOptionPane.showMessageDialog(frame, "Session was not saved.");
             }
-            return false;
+            else {
+                JOptionPane.showMessageDialog(frame, "Could not save session.", "Save Session", JOptionPane.WARNING_MESSAGE);
+            }
+            savedSession.setSaved(false);
+            if (isNewFilename) {
+                savedSession.setFilename(prevFilename);
+            }
+            return;
         }
 
-        // Signify that the session has been saved.
+        // Restart the journal from the saved session: In place if it is still working under the session's filename, or
+        // else as a new journal under it.
+        SessionJournal journal = session.getJournal();
+        if (journal != null && journal.getFailure() == null && journal.getFile().equals(SessionJournal.getFile(SAVED_DATA_DIRECTORY, session.getFilename()))) {
+            journal.markSaved();
+        }
+        else {
+            deleteJournal();
+            startJournal();
+        }
+
+        // Signify that the session has been saved. It may have been played on while it was written.
         frame.setTitle("Reversi - " + session.getFilename());
         JOptionPane.showMessageDialog(frame, "Session saved successfully.");
-        quicksaveItem.setEnabled(false);
+        quicksaveItem.setEnabled(!session.isSaved());
 
-        return true;
+        if (onSaved != null) {
+            onSaved.run();
+        }
+    }
+
+    /**
+     * Save or load a session file in the background, showing its progress
+     * in a dialog which lets the user cancel it. The "File" menu is
+     * disabled until the task is done.
+     * 
+     * @param   task        The task, which finishes on the event dispatch
+     *                      thread.
+     * @param   message     The message to show while the task runs.
+     */
+    private void runFileTask(SessionFileTask task, String message)
+    {
+        // Stop the session being saved, loaded or replaced until the task is done.
+        fileTask = task;
+        fileMenu.setEnabled(false);
+
+        // Show the progress, which is only shown if the task is slow, & cancel the task if the user asks.
+        ProgressMonitor monitor = new ProgressMonitor(frame, message, null, 0, 100);
+        Timer timer = new Timer(FILE_TASK_POLL_INTERVAL, null);
+        timer.addActionListener(e -> {
+                if (task.isDone()) {
+                    timer.stop();
+                    monitor.close();
+                }
+                else if (monitor.isCanceled()) {
+                    task.cancel(true);
+                }
+                else {
+                    monitor.setProgress(task.getProgress());
+                }
+            });
+        task.addPropertyChangeListener(e -> {
+                if (e.getNewValue() == SwingWorker.StateValue.DONE) {
+                    timer.stop();
+                    monitor.close();
+                    fileTask = null;
+                    fileMenu.setEnabled(true);
+                    resumeComputerMove();
+                }
+            });
+
+        timer.start();
+        ioExecutor.execute(task);
     }
 
     /**
      * Load a session via the file chooser, notifying the user that unsaved
      * progress will be lost. Invalid or corrupt files will be handled, first
      * by checking for a valid extension and secondly by testing if the file
-     * can be successfully deserialized and stored as a Session object.
+     * can be successfully read (or migrated) as a Session object. The file
+     * is read in the background.
      */
     private void loadSession()
     {
@@ -1031,22 +1227,78 @@ public class Reversi
             }
         }
 
-        // Attempt to deserialize.
-        Session prevSession = session;
+        // Read the session file & its journal. The journal of the active session holds the progress being given up.
+        File journalFile = SessionJournal.getFile(SAVED_DATA_DIRECTORY, filename);
+        boolean isActiveFile = session != null && filename.equals(session.getFilename());
+        SessionFileTask task = new SessionFileTask(openFile, isActiveFile ? null : journalFile)
+            {
+                @Override
+                protected void done()
+                {
+                    finishLoadSession(this, filename, journalFile);
+                }
+            };
+        cancelComputerMove();
+        cancelSolve();
+        runFileTask(task, "Loading " + filename + "...");
+    }
+
+    /**
+     * Finish loading a session once its file has been read, replacing the
+     * active session with it, or notify the user if it could not be loaded.
+     * 
+     * @param   task            The finished task.
+     * @param   filename        The filename of the session.
+     * @param   journalFile     The journal file of the session.
+     */
+    private void finishLoadSession(SessionFileTask task, String filename, File journalFile)
+    {
+        // Nothing changes if the user cancelled the load.
+        if (task.isCancelled()) {
+            return;
+        }
+
+        // Check the session file was read, which migrates sessions saved by Java serialization.
+        Session loadedSession;
         try {
-            ObjectInputStream ois = new ObjectInputStream(new FileInputStream(openFile));
-            session = (Session) ois.readObject();
-            validateSession(session);
+            loadedSession = task.get();
+            validateSession(loadedSession);
         }
-        catch (IOException ex) {
-            JOptionPane.showMessageDialog(frame, "Could not load session.", "Load Session", JOptionPane.WARNING_MESSAGE);
+        catch (InterruptedException ex) {
             return;
         }
-        catch (ClassNotFoundException | CorruptedSessionException ex) {
+        catch (ExecutionException ex) {
+            if (ex.getCause() instanceof CorruptedSessionException) {
+                JOptionPane.showMessageDialog(frame, "Corrupted session file.", "Load Session", JOptionPane.WARNING_MESSAGE);
+            }
+            else {
+                JOptionPane.showMessageDialog(frame, "Could not load session.", "Load Session", JOptionPane.WARNING_MESSAGE);
+            }
+            return;
+        }
+        catch (CorruptedSessionException ex) {
             JOptionPane.showMessageDialog(frame, "Corrupted session file.", "Load Session", JOptionPane.WARNING_MESSAGE);
             return;
         }
 
+        // Give up the previous session's progress, then offer to recover any progress on the loaded session left by a crash.
+        deleteJournal();
+        session = recoverSession(task.getRecoveredSession(), journalFile, loadedSession);
+        session.setFilename(filename);
+
+        // Set up the display for the loaded session.
+        showLoadedSession();
+    }
+
+    /**
+     * Set up the display for the session which has just been loaded or
+     * recovered, & start journaling it.
+     */
+    private void showLoadedSession()
+    {
+        // Start journaling the session.
+        startJournal();
+
         // Set the players & player panels.
         int i = 0;
         players = session.getPlayers();
@@ -1073,7 +1325,7 @@ public class Reversi
         }
 
         // Update the frame's title.
-        frame.setTitle("Reversi - " + session.getFilename());
+        frame.setTitle(session.hasFilename() ? "Reversi - " + session.getFilename() : "Reversi");
 
         // Update the turn.
         updateNextTurn();
@@ -1082,6 +1334,110 @@ public class Reversi
         repaintFrame();
     }
 
+    /**
+     * Offer to recover the session which has never been saved from its
+     * journal, if a crash left the journal behind.
+     */
+    private void recoverUntitledSession()
+    {
+        // Replay the journal in the background.
+        File journalFile = SessionJournal.getFile(SAVED_DATA_DIRECTORY, null);
+        SessionFileTask task = new SessionFileTask((File) null, journalFile)
+            {
+                @Override
+                protected void done()
+                {
+                    // Nothing is recovered if the user cancelled, or a session was started meanwhile.
+                    if (isCancelled() || session != null) {
+                        return;
+                    }
+
+                    Session recoveredSession = recoverSession(getRecoveredSession(), journalFile, null);
+                    if (recoveredSession != null) {
+                        session = recoveredSession;
+                        showLoadedSession();
+                    }
+                }
+            };
+        runFileTask(task, "Checking for autosaved progress...");
+    }
+
+    /**
+     * Check a session replayed from a given journal file for progress
+     * left behind by a crash, letting the user choose whether to recover
+     * it or throw the journal away.
+     * 
+     * @param   recoveredSession    The session replayed from the journal,
+     *                              or null if there was nothing to replay.
+     * @param   journalFile         The journal file.
+     * @param   session             The session as it was saved, or null if
+     *                              it was never saved.
+     * @return                      The recovered session if the user
+     *                              chooses to recover it, else the given
+     *                              session.
+     */
+    private Session recoverSession(Session recoveredSession, File journalFile, Session session)
+    {
+        // Ignore a journal that does not hold a session which can be displayed.
+        if (recoveredSession == null) {
+            return session;
+        }
+
+        try {
+            validateSession(recoveredSession);
+        }
+        catch (CorruptedSessionException ex) {
+            return session;
+        }
+
+        // Check if the user wants to recover the progress.
+        String[] options = { "Recover", "Discard" };
+        int response = JOptionPane.showOptionDialog(frame,
+                ((session != null) ? "This session has" : "An unsaved session has") + " autosaved progress that was not saved.\nDo you want to recover it?",
+                "Recover Session",
+                JOptionPane.YES_NO_OPTION,
+                JOptionPane.WARNING_MESSAGE,
+                null,
+                options,
+                options[0]);
+
+        if (response == 0) {
+            return recoveredSession;
+        }
+
+        // Throw the journal away if the user discards the progress.
+        ioExecutor.execute(() -> journalFile.delete());
+        return session;
+    }
+
+    /**
+     * Start journaling the current session, such that its progress can
+     * be recovered after a crash. The session is only kept in its saved
+     * session file, with a warning, if the journal can't be written.
+     */
+    private void startJournal()
+    {
+        try {
+            session.setJournal(SessionJournal.create(SessionJournal.getFile(SAVED_DATA_DIRECTORY, session.getFilename()), session, ioExecutor));
+        }
+        catch (IOException ex) {
+            session.setJournal(null);
+            JOptionPane.showMessageDialog(frame, "Autosave is unavailable.\nSave the session to keep its progress.", "Autosave", JOptionPane.WARNING_MESSAGE);
+        }
+    }
+
+    /**
+     * Stop journaling the current session & delete its journal, once its
+     * progress has been saved or given up.
+     */
+    private void deleteJournal()
+    {
+        if (session != null && session.getJournal() != null) {
+            session.getJournal().delete();
+            session.setJournal(null);
+        }
+    }
+
     /**
      * Validate a given Session object to check that it conforms to
      * necessary parameters such that it can be functionally loaded
@@ -1159,21 +1515,127 @@ public class Reversi
             return;
         }
 
-        // Store the game history list.
+        // Store the game history list & the game record list.
         ArrayList<String> gameHistory = session.getGameHistory();
+        ArrayList<GameRecord> gameRecords = session.getGameRecords();
 
         // If there is no game history present.
-        if (gameHistory == null || gameHistory.isEmpty()) {
+        if (gameHistory.isEmpty() && gameRecords.isEmpty()) {
             JOptionPane.showMessageDialog(frame, "No game history to show.");
             return;
         }
 
-        // Otherwise, show game history in dialog.
-        String gameHistoryString = "";
+        // Otherwise, show game history in dialog: Games without a record were finished before any with a record.
+        StringBuilder gameHistoryString = new StringBuilder();
         for (String gameData : gameHistory) {
-            gameHistoryString += gameData + "\n\n";
+            gameHistoryString.append(gameData + "\n\n");
         }
-        JOptionPane.showMessageDialog(frame, gameHistoryString, "Game History", JOptionPane.INFORMATION_MESSAGE, null);
+        for (GameRecord gameRecord : gameRecords) {
+            gameHistoryString.append(gameRecord.getDescription(session.getPlayers()) + "\n\n");
+        }
+        JOptionPane.showMessageDialog(frame, gameHistoryString.toString(), "Game History", JOptionPane.INFORMATION_MESSAGE, null);
+    }
+
+    /**
+     * Solve the current position for the current player in the
+     * background, showing the outcome once it has been solved.
+     */
+    private void solvePosition()
+    {
+        // Do nothing if there is no game active.
+        if (session == null || session.getCurrentGame() == null) {
+            return;
+        }
+
+        Game game = session.getCurrentGame();
+        if (game.isFinished()) {
+            JOptionPane.showMessageDialog(frame, "The game is over.");
+            return;
+        }
+
+        // Only two-player games can be solved.
+        if (game.getPlayers().length != EndgameSolver.PLAYER_COUNT) {
+            JOptionPane.showMessageDialog(frame, "Only two-player games can be solved.");
+            return;
+        }
+
+        // Solve a copy of the position, which may take up to the time budget, showing the outcome once it is done.
+        cancelSolve();
+        if (positionSolver == null) {
+            positionSolver = new EndgameSolver();
+        }
+        solveTask = new SolveTask(positionSolver, game, SOLVE_TIME_BUDGET)
+            {
+                @Override
+                protected void done()
+                {
+                    finishSolve(this);
+                }
+            };
+        setStatus("Solving the position...");
+        engineExecutor.execute(solveTask);
+    }
+
+    /**
+     * Show the outcome of the current position with perfect play, along
+     * with the best move, once a solve task is done, otherwise notify
+     * the user that the position could not be solved. Nothing is shown
+     * if the task has since been cancelled or replaced.
+     *
+     * @param   task    The task, which is done.
+     */
+    private void finishSolve(SolveTask task)
+    {
+        // Do nothing if the outcome is no longer wanted.
+        if (task != solveTask || task.isCancelled()) {
+            return;
+        }
+        solveTask = null;
+
+        // Fetch the result, which only fails if the solve itself fails.
+        SearchResult result;
+        try {
+            result = task.get();
+        }
+        catch (InterruptedException | ExecutionException ex) {
+            throw new IllegalStateException("Endgame solver failed to solve the position", ex);
+        }
+
+        // Do nothing if the position has since changed.
+        Game game = task.getGame();
+        if (session == null || session.getCurrentGame() != game || game.getBoard().hash() != task.getHash()) {
+            return;
+        }
+
+        setStatus(game.getCurrentPlayer() + "'s turn.");
+        if (result == null) {
+            JOptionPane.showMessageDialog(frame, "The position could not be solved in time.");
+            return;
+        }
+
+        // Describe the outcome for the current player.
+        String outcome = game.getCurrentPlayer().toString();
+        if (result.getScore() > 0) {
+            outcome += " wins by " + result.getScore() + " disks";
+        }
+        else if (result.getScore() < 0) {
+            outcome += " loses by " + -result.getScore() + " disks";
+        }
+        else {
+            outcome += " draws";
+        }
+
+        // Describe the best move as a column letter & row number.
+        String bestMove = "Pass";
+        if (result.getMove() != SearchResult.PASS) {
+            int size = game.getBoardSize();
+            bestMove = (char) ('A' + result.getMove() % size) + Integer.toString(result.getMove() / size + 1);
+        }
+
+        JOptionPane.showMessageDialog(frame,
+            outcome + " with perfect play.\nBest move: " + bestMove + "\n(" + result.getDepth() + " empty squares, "
+                + result.getNodes() + " positions, " + result.getElapsedTime() / 1_000_000 + " ms)",
+            "Solve Position", JOptionPane.INFORMATION_MESSAGE, null);
     }
 
     /**
@@ -1190,6 +1652,125 @@ public class Reversi
         repaintFrame();
     }
 
+    /**
+     * Set whether or not the board panel shows the score of each legal
+     * move on a human player's turn, from an analysis of the position
+     * which deepens in the background.
+     *
+     * @param       enabled     True if the scores are to be displayed,
+     *                          else false.
+     */
+    private void showAnalysis(boolean enabled)
+    {
+        analysisVisible = enabled;
+        boardPanel.setAnalysisVisible(enabled);
+
+        if (enabled) {
+            analysePosition();
+        }
+        else {
+            cancelAnalysis();
+        }
+    }
+
+    /**
+     * Analyse the current position in the background if a human player is
+     * to move, showing the scores kept for it in the meantime. A position
+     * whose analysis is complete is not searched again.
+     */
+    private void analysePosition()
+    {
+        // Do nothing unless the scores are shown & a human player is to move.
+        if (!analysisVisible || session == null || !session.isGameActive() || !boardPanel.isActive()
+                || session.getCurrentGame().isComputerTurn()) {
+            return;
+        }
+
+        // Show the analysis kept for the position.
+        Board board = session.getCurrentGame().getBoard();
+        MoveAnalysis analysis = analysisCache.get(board.hash());
+        if (analysis != null && analysis.isOf(board)) {
+            boardPanel.setAnalysis(analysis);
+            if (analysis.isComplete()) {
+                return;
+            }
+        }
+
+        // Do nothing if the position is already being analysed.
+        if (analysisTask != null && analysisTask.getHash() == board.hash()) {
+            return;
+        }
+        cancelAnalysis();
+
+        // Analyse a copy of the position, showing each deeper analysis as it is found.
+        if (analysisEngine == null) {
+            analysisEngine = new SearchEngine();
+        }
+        analysisTask = new AnalysisTask(analysisEngine, board, ANALYSIS_TIME_BUDGET)
+            {
+                @Override
+                protected void process(List<MoveAnalysis> analyses)
+                {
+                    updateAnalysis(this, analyses.get(analyses.size() - 1));
+                }
+
+                @Override
+                protected void done()
+                {
+                    // Keep the final analysis, which may mark the last depth as complete.
+                    if (!isCancelled()) {
+                        try {
+                            updateAnalysis(this, get());
+                        }
+                        catch (InterruptedException | ExecutionException ex) {
+                            throw new IllegalStateException("Analysis of the position failed", ex);
+                        }
+                    }
+
+                    if (analysisTask == this) {
+                        analysisTask = null;
+                    }
+                }
+            };
+        engineExecutor.execute(analysisTask);
+    }
+
+    /**
+     * Keep & show an analysis found by the task analysing the current
+     * position, if it is deeper than the analysis kept for the position.
+     *
+     * @param   task        The task which found the analysis.
+     * @param   analysis    The analysis.
+     */
+    private void updateAnalysis(AnalysisTask task, MoveAnalysis analysis)
+    {
+        // Do nothing if the position is no longer being analysed, or nothing has been scored.
+        if (task != analysisTask || analysis.getDepth() == 0) {
+            return;
+        }
+
+        MoveAnalysis kept = analysisCache.get(analysis.getHash());
+        if (kept == null || analysis.getDepth() > kept.getDepth() || (analysis.getDepth() == kept.getDepth() && analysis.isComplete())) {
+            analysisCache.put(analysis.getHash(), analysis);
+            boardPanel.setAnalysis(analysis);
+        }
+    }
+
+    /**
+     * Stop analysing the current position, if it is being analysed, such
+     * that the engine is free for the next task.
+     */
+    private void cancelAnalysis()
+    {
+        // Do nothing if no position is being analysed.
+        if (analysisTask == null) {
+            return;
+        }
+
+        analysisTask.stop();
+        analysisTask = null;
+    }
+
     /**
      * Start a new game. The "Play" button has been pressed, either during
      * a session to initiate a new game or before a session has been started.
@@ -1204,14 +1785,20 @@ public class Reversi
     {
         // If there is no session active, create the players & the session.
         if (session == null) {
+            // Wait for a session being loaded or recovered.
+            if (fileTask != null) {
+                return;
+            }
+
             // Create the players.
             if (!createPlayers()) {
                 setWarning("Please enter a name for each player on the right panel");
                 return;
             }
 
-            // Create the session.
+            // Create the session & start journaling it.
             session = new Session(players);
+            startJournal();
 
             // Enable the "File", "Session" and "Game" menus.
             enableFileMenu(true);
@@ -1236,6 +1823,10 @@ public class Reversi
             }
         }
 
+        // Stop the computer player thinking about the replaced game, & any solve of its position.
+        cancelComputerMove();
+        cancelSolve();
+
         // Create a new game to fit the size of the board panel.
         session.createGame(boardPanel.getDisplaySize());
 
@@ -1302,10 +1893,19 @@ public class Reversi
      */
     private void updateNextTurn()
     {
-        // Update the player panels.
+        // Warn the user once if the journal has stopped, leaving its file to be recovered.
+        if (session.getJournal() != null && session.getJournal().getFailure() != null) {
+            session.setJournal(null);
+            JOptionPane.showMessageDialog(frame, "Autosave has failed.\nSave the session to keep its progress.", "Autosave", JOptionPane.WARNING_MESSAGE);
+        }
+
+        // Update the player panels, which repaint themselves as the board panel does.
         updatePlayerPanels();
-        repaintFrame();
-        
+
+        // Stop analysing or solving the previous position.
+        cancelAnalysis();
+        cancelSolve();
+
         // Check if the current game is finished.
         if (!session.isGameActive()) {
             setWarning("Game over: Please click Play to start a new game");
@@ -1343,13 +1943,130 @@ public class Reversi
                 boardPanel.setActive(true);
                 updateNextTurn();
             }
+            else if (session.getCurrentGame().isComputerTurn()) {
+                boardPanel.setActive(false);
+                playButton.setEnabled(false);
+                playComputerMove();
+            }
             else {
                 boardPanel.setActive(true);
                 playButton.setEnabled(false);
+                analysePosition();
             }
         }
     }
 
+    /**
+     * Play the move chosen by the current computer player, which thinks
+     * in the background while its progress is shown in the status.
+     */
+    private void playComputerMove()
+    {
+        // Stop any move still being chosen for a replaced turn.
+        cancelComputerMove();
+
+        // Choose the move in a copy of the position, playing it once the task is done.
+        ComputerMoveTask task = new ComputerMoveTask(session.getCurrentGame())
+            {
+                @Override
+                protected void done()
+                {
+                    finishComputerMove(this);
+                }
+            };
+        computerMoveTask = task;
+
+        // Show how deep the player has searched & how many positions it has visited.
+        ComputerPlayer player = task.getPlayer();
+        thinkingTimer = new Timer(THINKING_POLL_INTERVAL, e -> {
+                int depth = player.getThinkingDepth();
+                setStatus(player + " is thinking..." + ((depth > 0) ? String.format(" (depth %d, %,d positions)", depth, player.getThinkingNodes()) : ""));
+            });
+        thinkingTimer.setInitialDelay(0);
+        thinkingTimer.start();
+
+        engineExecutor.execute(task);
+    }
+
+    /**
+     * Play the move chosen by a computer move task & move on to the next
+     * turn, unless the task has since been cancelled or replaced.
+     *
+     * @param   task    The task, which is done.
+     */
+    private void finishComputerMove(ComputerMoveTask task)
+    {
+        // Do nothing if the move is no longer wanted.
+        if (task != computerMoveTask || task.isCancelled()) {
+            return;
+        }
+        computerMoveTask = null;
+        thinkingTimer.stop();
+
+        // Fetch the chosen move, which only fails if the search itself fails.
+        int move;
+        try {
+            move = task.get();
+        }
+        catch (InterruptedException | ExecutionException ex) {
+            throw new IllegalStateException("Computer player failed to choose a move", ex);
+        }
+
+        // Do nothing if the game has since been replaced.
+        if (session == null || session.getCurrentGame() != task.getGame()) {
+            return;
+        }
+
+        // Play the chosen move & move on to the next turn.
+        boardPanel.playMove(move);
+        session.setSaved(false);
+        quicksaveItem.setEnabled(true);
+        updateNextTurn();
+    }
+
+    /**
+     * Stop solving the current position, if it is being solved, such that
+     * the solver is free for the next task.
+     */
+    private void cancelSolve()
+    {
+        // Do nothing if no position is being solved.
+        if (solveTask == null) {
+            return;
+        }
+
+        solveTask.stop();
+        solveTask = null;
+    }
+
+    /**
+     * Stop the computer player choosing its move, if one is thinking, such
+     * that its game can be replaced.
+     */
+    private void cancelComputerMove()
+    {
+        // Do nothing if no computer player is thinking.
+        if (computerMoveTask == null) {
+            return;
+        }
+
+        computerMoveTask.stop();
+        computerMoveTask = null;
+        thinkingTimer.stop();
+    }
+
+    /**
+     * Let the current computer player choose its move again, if its turn
+     * is waiting on a move that was cancelled, such as by a load that
+     * failed.
+     */
+    private void resumeComputerMove()
+    {
+        if (session != null && computerMoveTask == null && session.isGameActive() && session.getCurrentGame().isComputerTurn()) {
+            playComputerMove();
+        }
+    }
+
     /**
      * Revalidate & repaint the frame.
      */
@@ -1369,6 +2086,12 @@ public class Reversi
      */
     private void quit()
     {
+        // Wait for a session being saved or loaded, which can be cancelled from its progress dialog.
+        if (fileTask != null) {
+            JOptionPane.showMessageDialog(frame, "Please wait for the session to finish saving or loading.", "Quit", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
         // Check for unsaved progress.
         if (session != null && !session.isSaved()) {
             String[] options = { "Save & Quit", "Quit Without Saving", "Cancel" };
@@ -1381,13 +2104,37 @@ public class Reversi
                     options,
                     options[0]);
 
-            // Check if the user wants to save. Do not quit if the user does not save or opts out of quitting.
-            boolean saved = false;
-            if ((response == 0 && !saveSession(true)) || response == -1 || response == 2) {
+            // Check if the user wants to save, quitting once the session is saved. Do not quit if the user opts out.
+            if (response == 0) {
+                saveSession(true, () -> exit());
+                return;
+            }
+            else if (response == -1 || response == 2) {
                 return;
             }
         }
 
+        exit();
+    }
+
+    /**
+     * Terminate the application once the session's progress has been
+     * saved or given up, letting the journal finish being deleted.
+     */
+    private void exit()
+    {
+        // The session's progress has been saved or given up, so its journal is no longer needed.
+        deleteJournal();
+
+        // Wait for the journal.
+        ioExecutor.shutdown();
+        try {
+            ioExecutor.awaitTermination(EXIT_TIMEOUT, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
         // Terminate application.
         System.exit(0);
     }
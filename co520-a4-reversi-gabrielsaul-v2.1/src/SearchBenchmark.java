@@ -0,0 +1,146 @@
+import java.util.Random;
+
+/**
+ * Class:       SearchBenchmark
+ * Category:    Game Logic
+ * Summary:     This class measures the speedup of a ParallelSearch over a single-threaded search. A fixed set of
+ *              positions, reached by seeded random play on the standard 8 × 8 board, is searched to a fixed depth
+ *              with one thread & then with each requested number of threads. The time to reach the depth is
+ *              compared with the single-threaded time, and the nodes searched per second by each thread are
+ *              reported.
+ *
+ *              Usage: java SearchBenchmark [max threads] [depth] [positions] [table size (MB)]
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class SearchBenchmark
+{
+    /* * * * * * * * * * * * Class Variables * * * * * * * * * * * */
+
+    // The default benchmark settings.
+    private static final int DEFAULT_DEPTH = 11;
+    private static final int DEFAULT_POSITION_COUNT = 8;
+    private static final int DEFAULT_TABLE_SIZE = 64;
+
+    // The board size & player IDs searched.
+    private static final int BOARD_SIZE = 8;
+    private static final int[] PIDS = { 1, 2 };
+
+    // The number of random moves played to reach each position.
+    private static final int OPENING_MOVE_COUNT = 16;
+
+    // The seed for the random play.
+    private static final long SEED = 2021;
+
+    // The time budget for each search, long enough that the depth is always reached, in milliseconds.
+    private static final long TIME_BUDGET = 3_600_000;
+
+    /**
+     * (1) Constructor of SearchBenchmark objects: Not used, as the
+     *     class only provides the main method.
+     */
+    private SearchBenchmark()
+    {
+    }
+
+    /**
+     * Run the benchmark.
+     *
+     * @param   args    The maximum thread count, the search depth, the
+     *                  number of positions & the table size in megabytes,
+     *                  each of which is optional.
+     *
+     * @throws          IllegalMoveException
+     */
+    public static void main(String[] args) throws IllegalMoveException
+    {
+        // Read the settings.
+        int maxThreadCount = (args.length > 0) ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int depth = (args.length > 1) ? Integer.parseInt(args[1]) : DEFAULT_DEPTH;
+        int positionCount = (args.length > 2) ? Integer.parseInt(args[2]) : DEFAULT_POSITION_COUNT;
+        int tableSize = (args.length > 3) ? Integer.parseInt(args[3]) : DEFAULT_TABLE_SIZE;
+
+        Board[] positions = createPositions(positionCount);
+        System.out.printf("Searching %d positions to depth %d%n", positionCount, depth);
+
+        // Warm up the JIT compiler, such that the single-threaded time is not inflated.
+        new ParallelSearch(1, tableSize).search(positions[0], depth, TIME_BUDGET);
+
+        // Search with one thread, then double the threads up to the maximum.
+        long baseTime = 0;
+        for (int threadCount = 1; ; threadCount = Math.min(threadCount * 2, maxThreadCount)) {
+            long time = 0, nodes = 0;
+            long[] workerNodes = new long[threadCount], workerTimes = new long[threadCount];
+
+            for (Board position : positions) {
+                // Use a new search for each position, such that no results carry over.
+                ParallelSearch search = new ParallelSearch(threadCount, tableSize);
+                SearchResult result = search.search(position, depth, TIME_BUDGET);
+                time += result.getElapsedTime();
+                nodes += result.getNodes();
+
+                SearchResult[] workerResults = search.getWorkerResults();
+                for (int i = 0; i < threadCount; i++) {
+                    workerNodes[i] += workerResults[i].getNodes();
+                    workerTimes[i] += workerResults[i].getElapsedTime();
+                }
+            }
+
+            if (threadCount == 1) {
+                baseTime = time;
+            }
+
+            // Report the time, speedup & nodes per second.
+            System.out.printf("%2d threads: %8d ms, speedup %5.2f, %,12d nodes/s%n",
+                threadCount, time / 1_000_000, (double) baseTime / time, nodes * 1_000_000_000L / Math.max(time, 1));
+            for (int i = 0; i < threadCount; i++) {
+                System.out.printf("    thread %2d: %,12d nodes/s%n", i, workerNodes[i] * 1_000_000_000L / Math.max(workerTimes[i], 1));
+            }
+
+            if (threadCount >= maxThreadCount) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Create a given number of positions by seeded random play.
+     *
+     * @param   positionCount   The number of positions.
+     * @return                  The positions.
+     *
+     * @throws                  IllegalMoveException
+     */
+    private static Board[] createPositions(int positionCount) throws IllegalMoveException
+    {
+        Random random = new Random(SEED);
+        Board[] positions = new Board[positionCount];
+        int[] moves = new int[BOARD_SIZE * BOARD_SIZE];
+
+        for (int i = 0; i < positionCount; i++) {
+            Board board = new Board(BOARD_SIZE, PIDS);
+
+            // Play random moves, passing where needed, until the position is reached.
+            for (int moveCount = 0; moveCount < OPENING_MOVE_COUNT; ) {
+                int pid = board.getTurn();
+                int legalMoveCount = board.getLegalMoves(pid, moves);
+
+                if (legalMoveCount > 0) {
+                    board.makeMove(moves[random.nextInt(legalMoveCount)], pid);
+                    moveCount++;
+                }
+                else if (board.hasLegalMove(PIDS.length + 1 - pid)) {
+                    board.setTurn(PIDS.length + 1 - pid);
+                }
+                else {
+                    break;
+                }
+            }
+
+            positions[i] = board;
+        }
+
+        return positions;
+    }
+}
@@ -0,0 +1,703 @@
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Class:       SearchEngine
+ * Category:    Game Logic
+ * Summary:     This class represents the search engine used by computer players to choose a move in a two-player
+ *              game of Reversi. The engine searches a copy of the board with negamax & alpha-beta pruning, making
+ *              & taking back moves on the copy as it goes. The search is deepened one move at a time (iterative
+ *              deepening) until the time budget runs out, and the best move of the deepest completed search is
+ *              returned, so that a move is always available when time is up.
+ *
+ *              Positions at the search horizon are evaluated by the default PatternEvaluator on a standard board
+ *              once its weights have been loaded, & otherwise by mobility & corner ownership, while positions where
+ *              neither player can move are scored by the final disk difference, offset such that any win scores
+ *              above any evaluation. The result of each position searched is kept in a transposition table, which
+ *              lets a position reached again through a different move order reuse its score, and otherwise lets
+ *              its best move be searched first.
+ *
+ *              Several engines may search the same position at once as the workers of a ParallelSearch, sharing a
+ *              single transposition table. Each worker searches its own copy of the board, and the helper workers
+ *              start at staggered depths & root move orders, such that they fill the table with results the main
+ *              worker (worker 0) can reuse.
+ *
+ *              An engine can also analyse a position, scoring every legal move with a full search window rather
+ *              than only proving the best move, & reporting the scores after each completed depth.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class SearchEngine
+{
+    /* * * * * * * * * * * * Class Variables * * * * * * * * * * * */
+
+    // The number of players the engine can search for.
+    public static final int PLAYER_COUNT = 2;
+
+    // The default memory budget for the transposition table, in megabytes.
+    public static final int DEFAULT_TABLE_SIZE = 16;
+
+    // The score of a won game, before the final disk difference is added.
+    public static final int WIN_SCORE = 1_000_000;
+
+    // A score beyond any reachable score.
+    private static final int INFINITY = Integer.MAX_VALUE;
+
+    // The number of positions visited between checks of the clock (as a mask).
+    private static final int NODE_CHECK_MASK = 1023;
+
+    // The minimum remaining depth at which moves are ordered by the opponent's reply count.
+    private static final int MOBILITY_ORDER_DEPTH = 3;
+
+    // Evaluation weights.
+    private static final int MOBILITY_WEIGHT = 8;
+    private static final int CORNER_WEIGHT = 60;
+    private static final int X_SQUARE_WEIGHT = 25;
+
+    // Static move ordering priorities.
+    private static final int CORNER_PRIORITY = 8;
+    private static final int EDGE_PRIORITY = 2;
+    private static final int C_SQUARE_PRIORITY = -4;
+    private static final int X_SQUARE_PRIORITY = -8;
+
+    /* * * * * * * * * * * * Instance Variables * * * * * * * * * * * */
+
+    // The transposition table, which is kept between searches.
+    private final TranspositionTable table;
+
+    // Whether or not the transposition table is shared with other engines.
+    private final boolean tableShared;
+
+    // The index of this engine among the workers of a parallel search, or 0 if it searches alone.
+    private final int workerIndex;
+
+    // The copy of the board being searched.
+    private Board board;
+
+    // The evaluator of the positions at the search horizon, or null to evaluate by mobility & corners.
+    private PatternEvaluator evaluator;
+
+    // The size of the board being searched.
+    private int size;
+
+    // The move & ordering key buffers, indexed by ply.
+    private int[][] moveBuffers;
+    private int[][] keyBuffers;
+
+    // The static ordering priority of each square index.
+    private int[] squarePriorities;
+
+    // The corner square indices & the diagonally adjacent (X-square) indices.
+    private int[] corners;
+    private int[] xSquares;
+
+    // The number of positions visited in the current search.
+    private long nodes;
+
+    // The time at which the current search must stop, in nanoseconds.
+    private long deadline;
+
+    // Whether or not the current search has run out of time.
+    private boolean aborted;
+
+    // Whether or not the current search has been asked to stop by another thread.
+    private volatile boolean stopped;
+
+    // The positions visited & the deepest depth completed so far in the current search, for other threads to read.
+    private volatile long reportedNodes;
+    private volatile int reportedDepth;
+
+    /**
+     * (1) Constructor of SearchEngine objects: With a transposition
+     *     table of the default size.
+     */
+    public SearchEngine()
+    {
+        this(DEFAULT_TABLE_SIZE);
+    }
+
+    /**
+     * (2) Constructor of SearchEngine objects
+     *
+     * @param   tableSize   The memory budget for the transposition table,
+     *                      in megabytes.
+     *
+     * @throws              IllegalArgumentException
+     */
+    public SearchEngine(int tableSize) throws IllegalArgumentException
+    {
+        table = new TranspositionTable(tableSize);
+        tableShared = false;
+        workerIndex = 0;
+        size = 0;
+    }
+
+    /**
+     * (3) Constructor of SearchEngine objects: As a worker of a parallel
+     *     search, sharing a given transposition table. The table's new
+     *     searches are then started by the parallel search.
+     *
+     * @param   table           The shared transposition table.
+     * @param   workerIndex     The index of the worker, where worker 0 is
+     *                          the main worker.
+     */
+    SearchEngine(TranspositionTable table, int workerIndex)
+    {
+        this.table = table;
+        this.workerIndex = workerIndex;
+        tableShared = true;
+        size = 0;
+    }
+
+    /**
+     * Ask the current search to stop as soon as possible, from any
+     * thread. The search returns the best move found so far.
+     */
+    public void stop()
+    {
+        stopped = true;
+    }
+
+    /**
+     * Return the number of positions visited so far in the current
+     * search, from any thread. The count is updated periodically.
+     *
+     * @return      The number of positions.
+     */
+    public long getNodes()
+    {
+        return reportedNodes;
+    }
+
+    /**
+     * Return the deepest search depth completed so far in the current
+     * search, from any thread.
+     *
+     * @return      The search depth, in moves.
+     */
+    public int getDepth()
+    {
+        return reportedDepth;
+    }
+
+    /**
+     * Allow the next search to run, after a previous search was
+     * asked to stop.
+     */
+    void resume()
+    {
+        stopped = false;
+    }
+
+    /**
+     * Search for the best move for the player to move on a given
+     * board within a given time budget.
+     *
+     * @param   position        The board to search, which is not changed.
+     * @param   timeBudget      The time budget, in milliseconds.
+     * @return                  The result of the search.
+     *
+     * @throws                  IllegalArgumentException
+     */
+    public SearchResult search(Board position, long timeBudget) throws IllegalArgumentException
+    {
+        return search(position, Integer.MAX_VALUE, timeBudget);
+    }
+
+    /**
+     * Search for the best move for the player to move on a given board,
+     * up to a given depth & within a given time budget. A search which
+     * has been stopped stays stopped until resume is called, such that
+     * it can be stopped before it begins: It then returns at once with
+     * the best move found so far.
+     *
+     * @param   position        The board to search, which is not changed.
+     * @param   maxDepth        The maximum search depth, in moves.
+     * @param   timeBudget      The time budget, in milliseconds.
+     * @return                  The result of the search.
+     *
+     * @throws                  IllegalArgumentException
+     */
+    public SearchResult search(Board position, int maxDepth, long timeBudget) throws IllegalArgumentException
+    {
+        // Validate arguments.
+        if (position == null || position.getPlayerCount() != PLAYER_COUNT) {
+            throw new IllegalArgumentException("Invalid board passed to search");
+        }
+        else if (maxDepth < 1 || timeBudget <= 0) {
+            throw new IllegalArgumentException("Invalid search limit passed to search");
+        }
+
+        // Start the clock.
+        long startTime = System.nanoTime();
+        deadline = startTime + timeBudget * 1_000_000L;
+        nodes = 0;
+        reportedNodes = 0;
+        reportedDepth = 0;
+        aborted = false;
+        if (!tableShared) {
+            table.newSearch();
+        }
+
+        // Search a copy of the board, such that the given board is left unchanged.
+        board = new Board(position);
+        if (board.getSize() != size) {
+            setSize(board.getSize());
+        }
+        evaluator = board.hasDiskMasks() ? PatternEvaluator.getDefault() : null;
+
+        // Pass if there is no legal move, or play the only legal move.
+        int pid = board.getTurn();
+        int[] rootMoves = moveBuffers[0];
+        int moveCount = board.getLegalMoves(pid, rootMoves);
+        if (moveCount == 0) {
+            return new SearchResult(SearchResult.PASS, 0, 0, 0, System.nanoTime() - startTime);
+        }
+        else if (moveCount == 1) {
+            return new SearchResult(rootMoves[0], 0, 0, 0, System.nanoTime() - startTime);
+        }
+
+        // The search cannot go deeper than the number of empty squares.
+        int emptyCount = size * size - board.getScore(1) - board.getScore(2);
+        maxDepth = Math.min(maxDepth, emptyCount);
+
+        // Order the root moves statically to begin with, rotating the order for each helper worker.
+        orderMoves(rootMoves, keyBuffers[0], moveCount, pid, 0);
+        rotate(rootMoves, moveCount, workerIndex % moveCount);
+        int bestMove = rootMoves[0], bestScore = 0, completedDepth = 0;
+
+        // Deepen the search one move at a time, starting odd-numbered helper workers one move deeper.
+        for (int depth = 1 + workerIndex % 2; depth <= maxDepth; depth++) {
+            int alpha = -INFINITY, depthBestMove = -1;
+
+            for (int i = 0; i < moveCount; i++) {
+                UndoRecord record = makeMove(rootMoves[i], pid);
+                int score = -search(depth - 1, -INFINITY, -alpha, 1, false);
+                board.unmakeMove(record);
+
+                // Stop if time has run out, keeping the best move of the moves searched.
+                if (aborted) {
+                    break;
+                }
+
+                if (score > alpha) {
+                    alpha = score;
+                    depthBestMove = i;
+                }
+            }
+
+            // Any move completed at this depth that beat the previous best move is an improvement.
+            if (depthBestMove >= 0) {
+                bestMove = rootMoves[depthBestMove];
+                bestScore = alpha;
+
+                // Search the best move first at the next depth.
+                System.arraycopy(rootMoves, 0, rootMoves, 1, depthBestMove);
+                rootMoves[0] = bestMove;
+            }
+
+            if (aborted) {
+                break;
+            }
+            completedDepth = depth;
+            reportedDepth = depth;
+
+            // Stop if the next depth is unlikely to be completed in time. Helper workers search until stopped.
+            long elapsedTime = System.nanoTime() - startTime;
+            if (workerIndex == 0 && elapsedTime > (deadline - startTime) / 2) {
+                break;
+            }
+        }
+
+        return new SearchResult(bestMove, bestScore, completedDepth, nodes, System.nanoTime() - startTime);
+    }
+
+    /**
+     * Score every legal move for the player to move on a given board,
+     * deepening the search until it reaches the end of the game or the
+     * time budget runs out. An analysis which has been stopped stays
+     * stopped until resume is called, such that it can be stopped
+     * before it begins.
+     *
+     * @param   position        The board to analyse, which is not changed.
+     * @param   timeBudget      The time budget, in milliseconds.
+     * @param   progress        The consumer of the analysis of each
+     *                          completed depth, called by the searching
+     *                          thread.
+     * @return                  The analysis of the deepest completed depth.
+     *
+     * @throws                  IllegalArgumentException
+     */
+    public MoveAnalysis analyse(Board position, long timeBudget, Consumer<MoveAnalysis> progress) throws IllegalArgumentException
+    {
+        // Validate arguments.
+        if (position == null || position.getPlayerCount() != PLAYER_COUNT) {
+            throw new IllegalArgumentException("Invalid board passed to analyse");
+        }
+        else if (timeBudget <= 0) {
+            throw new IllegalArgumentException("Invalid time budget passed to analyse");
+        }
+
+        // Start the clock.
+        deadline = System.nanoTime() + timeBudget * 1_000_000L;
+        nodes = 0;
+        reportedNodes = 0;
+        reportedDepth = 0;
+        aborted = stopped;
+        if (!tableShared) {
+            table.newSearch();
+        }
+
+        // Analyse a copy of the board, such that the given board is left unchanged.
+        board = new Board(position);
+        if (board.getSize() != size) {
+            setSize(board.getSize());
+        }
+        evaluator = board.hasDiskMasks() ? PatternEvaluator.getDefault() : null;
+
+        int pid = board.getTurn();
+        int[] rootMoves = moveBuffers[0];
+        int moveCount = board.getLegalMoves(pid, rootMoves);
+        int emptyCount = size * size - board.getScore(1) - board.getScore(2);
+        orderMoves(rootMoves, keyBuffers[0], moveCount, pid, 0);
+
+        // Score every move at each depth, with a full window such that each score is exact for the depth.
+        int[] scores = new int[size * size];
+        Arrays.fill(scores, MoveAnalysis.NO_SCORE);
+        int completedDepth = 0;
+        for (int depth = 1; depth <= emptyCount && moveCount > 0 && !aborted; depth++) {
+            int[] depthScores = new int[size * size];
+            Arrays.fill(depthScores, MoveAnalysis.NO_SCORE);
+
+            for (int i = 0; i < moveCount && !aborted; i++) {
+                UndoRecord record = makeMove(rootMoves[i], pid);
+                depthScores[rootMoves[i]] = -search(depth - 1, -INFINITY, INFINITY, 1, false);
+                board.unmakeMove(record);
+            }
+
+            // Keep the scores of the deepest completed depth only.
+            if (aborted) {
+                break;
+            }
+            scores = depthScores;
+            completedDepth = depth;
+            reportedDepth = depth;
+            progress.accept(new MoveAnalysis(position.hash(), size, depth, depth == emptyCount, depth == emptyCount, scores));
+
+            // Search the best moves first at the next depth.
+            for (int i = 1; i < moveCount; i++) {
+                int move = rootMoves[i], j = i;
+                for (; j > 0 && scores[rootMoves[j - 1]] < scores[move]; j--) {
+                    rootMoves[j] = rootMoves[j - 1];
+                }
+                rootMoves[j] = move;
+            }
+        }
+
+        return new MoveAnalysis(position.hash(), size, completedDepth, completedDepth == emptyCount, !stopped, scores);
+    }
+
+    /**
+     * Report the positions visited so far, & check whether the current
+     * search must stop.
+     *
+     * @return      True if the search has been stopped or has run out
+     *              of time, else false.
+     */
+    private boolean isOutOfTime()
+    {
+        reportedNodes = nodes;
+        return stopped || System.nanoTime() >= deadline;
+    }
+
+    /**
+     * Search the current position to a given depth with negamax &
+     * alpha-beta pruning.
+     *
+     * @param   depth       The remaining search depth, in moves.
+     * @param   alpha       The score the player to move is already assured of.
+     * @param   beta        The score the opponent is already assured of.
+     * @param   ply         The number of moves & passes from the root.
+     * @param   passed      True if the previous player passed, else false.
+     * @return              The score of the position for the player to move.
+     */
+    private int search(int depth, int alpha, int beta, int ply, boolean passed)
+    {
+        // Check the clock & whether the search has been stopped periodically.
+        if ((++nodes & NODE_CHECK_MASK) == 0 && isOutOfTime()) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+
+        int pid = board.getTurn();
+        int opponent = PLAYER_COUNT + 1 - pid;
+
+        // Evaluate the position at the search horizon.
+        if (depth == 0) {
+            return evaluate(pid, opponent);
+        }
+
+        // Use the stored result for the position if it was searched deeply enough, or else its best move.
+        long entry = table.probe(board.hash());
+        int hashMove = TranspositionTable.NO_MOVE;
+        if (entry != TranspositionTable.NO_ENTRY) {
+            hashMove = TranspositionTable.getMove(entry);
+
+            if (TranspositionTable.getDepth(entry) >= depth) {
+                int score = TranspositionTable.getScore(entry), bound = TranspositionTable.getBound(entry);
+                if (bound == TranspositionTable.EXACT
+                    || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+                    || (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        // Pass if there is no legal move, or score the final position if the opponent also passed.
+        int[] moves = moveBuffers[ply];
+        int moveCount = board.getLegalMoves(pid, moves);
+        if (moveCount == 0) {
+            if (passed) {
+                return getFinalScore(pid, opponent);
+            }
+
+            board.setTurn(opponent);
+            int score = -search(depth, -beta, -alpha, ply + 1, true);
+            board.setTurn(pid);
+
+            return score;
+        }
+
+        // Search the most promising moves first, starting with the stored best move.
+        orderMoves(moves, keyBuffers[ply], moveCount, pid, depth);
+        for (int i = 1; i < moveCount; i++) {
+            if (moves[i] == hashMove) {
+                System.arraycopy(moves, 0, moves, 1, i);
+                moves[0] = hashMove;
+                break;
+            }
+        }
+
+        int originalAlpha = alpha, bestScore = -INFINITY, bestMove = TranspositionTable.NO_MOVE;
+        for (int i = 0; i < moveCount; i++) {
+            UndoRecord record = makeMove(moves[i], pid);
+            int score = -search(depth - 1, -beta, -alpha, ply + 1, false);
+            board.unmakeMove(record);
+
+            if (aborted) {
+                return 0;
+            }
+
+            // Cut off the search once the opponent would avoid this position.
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = moves[i];
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        // Store the result, which only bounds the score if it fell outside the search window.
+        int bound = TranspositionTable.EXACT;
+        if (bestScore <= originalAlpha) {
+            bound = TranspositionTable.UPPER_BOUND;
+        }
+        else if (bestScore >= beta) {
+            bound = TranspositionTable.LOWER_BOUND;
+        }
+        table.store(board.hash(), depth, bound, bestScore, bestMove);
+
+        return bestScore;
+    }
+
+    /**
+     * Evaluate the current position for a given player ID by its patterns,
+     * or else by mobility, corner ownership & occupied X-squares next to
+     * empty corners.
+     *
+     * @param   pid         The player ID to move.
+     * @param   opponent    The opponent's player ID.
+     * @return              The evaluation of the position for the player ID.
+     */
+    private int evaluate(int pid, int opponent)
+    {
+        int mobility = board.getLegalMoveCount(pid), opponentMobility = board.getLegalMoveCount(opponent);
+
+        // Neither player can move, so the game is over.
+        if (mobility == 0 && opponentMobility == 0) {
+            return getFinalScore(pid, opponent);
+        }
+
+        // Look the position's patterns up, if the evaluator has weights for the board.
+        if (evaluator != null) {
+            return evaluator.evaluate(board.getDiskMask(pid), board.getDiskMask(opponent), mobility - opponentMobility);
+        }
+
+        int score = MOBILITY_WEIGHT * (mobility - opponentMobility);
+
+        for (int i = 0; i < corners.length; i++) {
+            int cornerPID = board.getPID(corners[i]);
+
+            // Owning a corner is good, while owning the X-square next to an empty corner gives it away.
+            if (cornerPID == pid) {
+                score += CORNER_WEIGHT;
+            }
+            else if (cornerPID == opponent) {
+                score -= CORNER_WEIGHT;
+            }
+            else if (board.getPID(xSquares[i]) == pid) {
+                score -= X_SQUARE_WEIGHT;
+            }
+            else if (board.getPID(xSquares[i]) == opponent) {
+                score += X_SQUARE_WEIGHT;
+            }
+        }
+
+        return score;
+    }
+
+    /**
+     * Return the score of a finished game for a given player ID: The
+     * disk difference, offset by WIN_SCORE for a win or a loss.
+     *
+     * @param   pid         The player ID.
+     * @param   opponent    The opponent's player ID.
+     * @return              The final score for the player ID.
+     */
+    private int getFinalScore(int pid, int opponent)
+    {
+        int difference = board.getScore(pid) - board.getScore(opponent);
+
+        if (difference > 0) {
+            return WIN_SCORE + difference;
+        }
+        else if (difference < 0) {
+            return -WIN_SCORE + difference;
+        }
+
+        return 0;
+    }
+
+    /**
+     * Sort a given list of moves such that the most promising moves are
+     * searched first: By the number of replies left to the opponent when
+     * enough depth remains for this to pay off, and otherwise by the
+     * static priority of each square.
+     *
+     * @param   moves       The square indices of the moves.
+     * @param   keys        The buffer for the ordering keys.
+     * @param   moveCount   The number of moves.
+     * @param   pid         The player ID making the moves.
+     * @param   depth       The remaining search depth.
+     */
+    private void orderMoves(int[] moves, int[] keys, int moveCount, int pid, int depth)
+    {
+        int opponent = PLAYER_COUNT + 1 - pid;
+
+        // Calculate the ordering key of each move.
+        for (int i = 0; i < moveCount; i++) {
+            keys[i] = squarePriorities[moves[i]];
+
+            if (depth >= MOBILITY_ORDER_DEPTH) {
+                UndoRecord record = makeMove(moves[i], pid);
+                keys[i] -= MOBILITY_WEIGHT * board.getLegalMoveCount(opponent);
+                board.unmakeMove(record);
+            }
+        }
+
+        // Insertion sort by descending key.
+        for (int i = 1; i < moveCount; i++) {
+            int move = moves[i], key = keys[i], j = i - 1;
+            for (; j >= 0 && keys[j] < key; j--) {
+                moves[j + 1] = moves[j];
+                keys[j + 1] = keys[j];
+            }
+            moves[j + 1] = move;
+            keys[j + 1] = key;
+        }
+    }
+
+    /**
+     * Rotate the first moves of a given list of moves to the left by
+     * a given distance.
+     *
+     * @param   moves       The square indices of the moves.
+     * @param   moveCount   The number of moves.
+     * @param   distance    The distance to rotate by.
+     */
+    private static void rotate(int[] moves, int moveCount, int distance)
+    {
+        for (int i = 0; i < distance; i++) {
+            int first = moves[0];
+            System.arraycopy(moves, 1, moves, 0, moveCount - 1);
+            moves[moveCount - 1] = first;
+        }
+    }
+
+    /**
+     * Make a move generated by the search on the board.
+     *
+     * @param   index   The square index of the move.
+     * @param   pid     The player ID making the move.
+     * @return          The undo record for the move.
+     *
+     * @throws          IllegalStateException
+     */
+    private UndoRecord makeMove(int index, int pid) throws IllegalStateException
+    {
+        try {
+            return board.makeMove(index, pid);
+        }
+        catch (IllegalMoveException ex) {
+            throw new IllegalStateException("Illegal move generated by search", ex);
+        }
+    }
+
+    /**
+     * Set the size of board being searched, creating the buffers &
+     * square tables for the size.
+     *
+     * @param   size    The size of the board.
+     */
+    private void setSize(int size)
+    {
+        this.size = size;
+        int squareCount = size * size, last = size - 1;
+
+        // A line of play has at most one pass before each move, plus the final passes.
+        moveBuffers = new int[2 * squareCount + 2][squareCount];
+        keyBuffers = new int[2 * squareCount + 2][squareCount];
+
+        // Store the corners & their X-squares.
+        corners = new int[] { 0, last, last * size, last * size + last };
+        xSquares = new int[] { size + 1, size + last - 1, (last - 1) * size + 1, (last - 1) * size + last - 1 };
+
+        // Rank the squares: Corners first, then edges, then the interior, then the squares next to corners.
+        squarePriorities = new int[squareCount];
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int edgeX = Math.min(x, last - x), edgeY = Math.min(y, last - y);
+
+                if (edgeX == 0 && edgeY == 0) {
+                    squarePriorities[y * size + x] = CORNER_PRIORITY;
+                }
+                else if (edgeX == 1 && edgeY == 1) {
+                    squarePriorities[y * size + x] = X_SQUARE_PRIORITY;
+                }
+                else if (Math.min(edgeX, edgeY) == 0 && Math.max(edgeX, edgeY) == 1) {
+                    squarePriorities[y * size + x] = C_SQUARE_PRIORITY;
+                }
+                else if (edgeX == 0 || edgeY == 0) {
+                    squarePriorities[y * size + x] = EDGE_PRIORITY;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * Class:       SearchResult
+ * Category:    Game Logic, Data
+ * Summary:     This class represents the outcome of a search by a SearchEngine: The square index of the best move
+ *              found, its score from the point of view of the player to move, the deepest search depth completed
+ *              and the number of positions visited in the time taken.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class SearchResult
+{
+    // The square index signifying that the player to move must pass.
+    public static final int PASS = -1;
+
+    // The square index of the best move, or PASS.
+    private final int move;
+
+    // The score of the best move.
+    private final int score;
+
+    // The deepest search depth completed.
+    private final int depth;
+
+    // The number of positions visited.
+    private final long nodes;
+
+    // The time taken, in nanoseconds.
+    private final long elapsedTime;
+
+    /**
+     * (1) Constructor of SearchResult objects
+     *
+     * @param   move            The square index of the best move, or PASS.
+     * @param   score           The score of the best move.
+     * @param   depth           The deepest search depth completed.
+     * @param   nodes           The number of positions visited.
+     * @param   elapsedTime     The time taken, in nanoseconds.
+     */
+    public SearchResult(int move, int score, int depth, long nodes, long elapsedTime)
+    {
+        this.move = move;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedTime = elapsedTime;
+    }
+
+    /**
+     * Return the square index of the best move.
+     *
+     * @return      The square index (y * size + x), or PASS if
+     *              the player to move has no legal move.
+     */
+    public int getMove()
+    {
+        return move;
+    }
+
+    /**
+     * Return the score of the best move, from the point of view of
+     * the player to move.
+     *
+     * @return      The score of the best move.
+     */
+    public int getScore()
+    {
+        return score;
+    }
+
+    /**
+     * Return the deepest search depth completed.
+     *
+     * @return      The search depth, in moves.
+     */
+    public int getDepth()
+    {
+        return depth;
+    }
+
+    /**
+     * Return the number of positions visited.
+     *
+     * @return      The number of positions visited.
+     */
+    public long getNodes()
+    {
+        return nodes;
+    }
+
+    /**
+     * Return the time taken by the search.
+     *
+     * @return      The time taken, in nanoseconds.
+     */
+    public long getElapsedTime()
+    {
+        return elapsedTime;
+    }
+
+    /**
+     * Return the number of positions visited per second.
+     *
+     * @return      The number of positions visited per second.
+     */
+    public long getNodesPerSecond()
+    {
+        return (elapsedTime > 0) ? nodes * 1_000_000_000L / elapsedTime : 0;
+    }
+
+    /**
+     * Return a string representation of the search result.
+     *
+     * @return      A string representation of the search result.
+     */
+    @Override
+    public String toString()
+    {
+        return String.format("move %d, score %d, depth %d, %d nodes in %d ms (%d nodes/s)",
+            move, score, depth, nodes, elapsedTime / 1_000_000, getNodesPerSecond());
+    }
+}
@@ -0,0 +1,400 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+/**
+ * Class:       SelfPlay
+ * Category:    Game Logic
+ * Summary:     This class plays games of Reversi between two copies of an engine without the Swing frame, & records
+ *              every position played after a random opening, labelled with the final disk difference of its game,
+ *              for fitting the weights of a PatternEvaluator. The engines are:
+ *
+ *                  depth[:n]       A SearchEngine searching to a fixed depth, in moves.
+ *                  search[:ms]     A SearchEngine searching for a time budget in milliseconds.
+ *
+ *              Both engines play the last SOLVE_EMPTY_COUNT moves perfectly with an EndgameSolver. Each game is
+ *              seeded by its index, so a fixed-depth run plays the same games every time.
+ *
+ *              The games are divided into blocks, which are played on a pool of producer threads (one for each
+ *              processor by default), each block by one thread with its own engine. The thread which runs the
+ *              generator is the only writer: It appends the positions of each block to a .rvsp position file (see
+ *              PositionFile) as one chunk, as the blocks finish, & forces it to the disk. Only a few blocks are
+ *              handed to the pool at a time, so memory is bounded by the thread count rather than the game count.
+ *
+ *              A run writing to an existing file with the same settings resumes it: The file is cut after its
+ *              last good chunk, & only the blocks missing from it are played.
+ *
+ *              Usage: java SelfPlay <position file> [games] [engine] [opening moves] [threads] [weights file]
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class SelfPlay
+{
+    /* * * * * * * * * * * * Class Variables * * * * * * * * * * * */
+
+    // The engine types.
+    public static final int DEPTH = 0;
+    public static final int SEARCH = 1;
+
+    // The default generator settings.
+    private static final int DEFAULT_GAME_COUNT = 10000;
+    private static final int DEFAULT_SEARCH_DEPTH = 4;
+    private static final int DEFAULT_SEARCH_TIME_BUDGET = 10;
+    private static final int DEFAULT_OPENING_MOVE_COUNT = 8;
+
+    // The number of games in each block.
+    private static final int BLOCK_GAME_COUNT = 128;
+
+    // The number of blocks handed to the pool for each thread, beyond the one it is playing.
+    private static final int QUEUED_BLOCKS_PER_THREAD = 1;
+
+    // The seed of the random openings, offset by the game index.
+    private static final long SEED = 2021;
+
+    // The memory budget for each engine's transposition table & endgame solver's table, in megabytes.
+    private static final int TABLE_SIZE = 4;
+
+    // The number of empty squares at which the endgame is solved, & the time budget to solve it in, in milliseconds.
+    private static final int SOLVE_EMPTY_COUNT = 12;
+    private static final long SOLVE_TIME_BUDGET = 1000;
+
+    // The time budget of a fixed-depth search, which should never run out, in milliseconds.
+    private static final long DEPTH_TIME_BUDGET = 60000;
+
+    // The shortest interval between progress reports, in milliseconds.
+    private static final long PROGRESS_INTERVAL = 5000;
+
+    // The size & player IDs of the board.
+    private static final int BOARD_SIZE = 8;
+    private static final int[] PIDS = { 1, 2 };
+
+    /* * * * * * * * * * * * Instance Variables * * * * * * * * * * * */
+
+    // The specification, type & search depth or time budget of the engine.
+    private final String engine;
+    private final int engineType;
+    private final int engineLimit;
+
+    // The number of random moves at the start of each game.
+    private final int openingMoveCount;
+
+    /**
+     * (1) Constructor of SelfPlay objects
+     *
+     * @param   engine              The specification of the engine.
+     * @param   openingMoveCount    The number of random opening moves.
+     *
+     * @throws                      IllegalArgumentException
+     */
+    public SelfPlay(String engine, int openingMoveCount) throws IllegalArgumentException
+    {
+        // Validate opening move count argument.
+        if (openingMoveCount < 0 || openingMoveCount > PositionFile.MAX_GAME_RECORDS) {
+            throw new IllegalArgumentException("Invalid opening move count passed to SelfPlay constructor");
+        }
+
+        this.engine = engine;
+        this.openingMoveCount = openingMoveCount;
+
+        // Parse the engine specification.
+        String[] parts = engine.split(":");
+        switch (parts[0]) {
+            case "depth":
+                engineType = DEPTH;
+                engineLimit = (parts.length > 1) ? Integer.parseInt(parts[1]) : DEFAULT_SEARCH_DEPTH;
+                break;
+            case "search":
+                engineType = SEARCH;
+                engineLimit = (parts.length > 1) ? Integer.parseInt(parts[1]) : DEFAULT_SEARCH_TIME_BUDGET;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown engine passed to SelfPlay constructor: " + engine);
+        }
+
+        if (engineLimit < 1) {
+            throw new IllegalArgumentException("Invalid engine limit passed to SelfPlay constructor: " + engine);
+        }
+    }
+
+    /**
+     * Generate self-play positions.
+     *
+     * @param   args    The position file, then the number of games, the
+     *                  engine, the number of random opening moves, the
+     *                  thread count & a weights file for the engine, each
+     *                  of which is optional.
+     *
+     * @throws          IOException
+     * @throws          InterruptedException
+     */
+    public static void main(String[] args) throws IOException, InterruptedException
+    {
+        // Keep AWT from ever opening a display.
+        System.setProperty("java.awt.headless", "true");
+
+        if (args.length < 1) {
+            System.err.println("Usage: java SelfPlay <position file> [games] [engine] [opening moves] [threads] [weights file]");
+            System.err.println("Engines: depth[:n], search[:ms]");
+            System.exit(1);
+        }
+
+        // Read the settings.
+        int gameCount = (args.length > 1) ? Integer.parseInt(args[1]) : DEFAULT_GAME_COUNT;
+        String engine = (args.length > 2) ? args[2] : "depth";
+        int openingMoveCount = (args.length > 3) ? Integer.parseInt(args[3]) : DEFAULT_OPENING_MOVE_COUNT;
+        int threadCount = (args.length > 4) ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+
+        // Evaluate with the given weights, rather than mobility & corners.
+        if (args.length > 5) {
+            PatternEvaluator.setDefault(PatternEvaluator.load(new File(args[5])));
+        }
+
+        new SelfPlay(engine, openingMoveCount).generate(new File(args[0]), gameCount, threadCount);
+    }
+
+    /**
+     * Play a given number of games on a given number of threads,
+     * appending their positions to a given position file, or resuming
+     * the run which wrote it.
+     *
+     * @param   file            The position file.
+     * @param   gameCount       The number of games.
+     * @param   threadCount     The number of threads to play on.
+     *
+     * @throws                  IllegalArgumentException
+     * @throws                  IOException
+     * @throws                  InterruptedException
+     */
+    public void generate(File file, int gameCount, int threadCount) throws IllegalArgumentException, IOException, InterruptedException
+    {
+        // Validate arguments.
+        if (gameCount < 1 || threadCount < 1) {
+            throw new IllegalArgumentException("Invalid game or thread count passed to generate");
+        }
+
+        // Resume the run which wrote the file, if it has the same settings, else start a new one.
+        PositionFile positionFile = new PositionFile(SEED, gameCount, BLOCK_GAME_COUNT, openingMoveCount, engineType, engineLimit);
+        boolean resumed = file.length() > 0;
+        if (resumed) {
+            PositionFile existing = PositionFile.read(file);
+            if (!existing.hasSettingsOf(positionFile)) {
+                throw new IOException(file + " was generated with different settings");
+            }
+            positionFile = existing;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // Cut off a torn chunk, or write the header of a new file.
+            if (resumed) {
+                channel.truncate(positionFile.getLength());
+                System.out.printf("Resuming %s: %d of %d blocks, %d positions written%n",
+                    file, positionFile.getChunkCount(), positionFile.getBlockCount(), positionFile.getPositionCount());
+            }
+            else {
+                ByteBuffer header = positionFile.createHeader();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+                channel.force(true);
+            }
+            channel.position(positionFile.getLength());
+
+            System.out.printf("Playing %d games of %s after %d random moves with %d threads%n",
+                gameCount, engine, openingMoveCount, threadCount);
+
+            writeBlocks(positionFile, channel, threadCount);
+        }
+    }
+
+    /**
+     * Play every block missing from a position file on a pool of
+     * threads, appending the chunk of each to the file as it finishes &
+     * reporting the progress.
+     *
+     * @param   positionFile    The description of the file.
+     * @param   channel         The file channel, positioned at the end of
+     *                          the last good chunk.
+     * @param   threadCount     The number of threads to play on.
+     *
+     * @throws                  IOException
+     * @throws                  InterruptedException
+     */
+    private void writeBlocks(PositionFile positionFile, FileChannel channel, int threadCount) throws IOException, InterruptedException
+    {
+        int blockCount = positionFile.getBlockCount(), maxPendingCount = threadCount * (1 + QUEUED_BLOCKS_PER_THREAD);
+        int nextBlock = 0, pendingCount = 0;
+        long positionCount = 0, startTime = System.nanoTime(), reportTime = startTime;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        ExecutorCompletionService<ByteBuffer> completion = new ExecutorCompletionService<ByteBuffer>(executor);
+        try {
+            while (true) {
+                // Keep the pool busy with the blocks which have not been written, a few at a time.
+                while (pendingCount < maxPendingCount && nextBlock < blockCount) {
+                    int block = nextBlock++;
+                    if (!positionFile.isBlockWritten(block)) {
+                        completion.submit(() -> playBlock(positionFile, block));
+                        pendingCount++;
+                    }
+                }
+                if (pendingCount == 0) {
+                    break;
+                }
+
+                // Append the next chunk to finish & force it to the disk, such that it is whole if the run stops.
+                ByteBuffer chunk;
+                try {
+                    chunk = completion.take().get();
+                }
+                catch (ExecutionException ex) {
+                    throw new IllegalStateException("Self-play block failed", ex.getCause());
+                }
+                pendingCount--;
+
+                int block = chunk.getInt(0), recordCount = chunk.getInt(4);
+                while (chunk.hasRemaining()) {
+                    channel.write(chunk);
+                }
+                channel.force(false);
+                positionFile.addChunk(block, recordCount);
+                positionCount += recordCount;
+
+                // Report the progress now & then.
+                long time = System.nanoTime();
+                if (time - reportTime >= PROGRESS_INTERVAL * 1_000_000L) {
+                    reportTime = time;
+                    System.out.printf("%d of %d blocks, %d positions (%.0f positions/s)%n",
+                        positionFile.getChunkCount(), blockCount, positionFile.getPositionCount(), positionCount * 1e9 / (time - startTime));
+                }
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        long elapsedTime = System.nanoTime() - startTime;
+
+        System.out.printf("%d positions in %.2f s (%.0f positions/s), %d positions in the file%n",
+            positionCount, elapsedTime / 1e9, positionCount * 1e9 / Math.max(elapsedTime, 1), positionFile.getPositionCount());
+    }
+
+    /**
+     * Play the games of a given block with a new engine, & encode their
+     * positions as a chunk.
+     *
+     * @param   positionFile    The description of the file.
+     * @param   block           The block index.
+     * @return                  The chunk, ready to be written.
+     */
+    private ByteBuffer playBlock(PositionFile positionFile, int block)
+    {
+        SearchEngine searchEngine = new SearchEngine(TABLE_SIZE);
+        EndgameSolver solver = new EndgameSolver(TABLE_SIZE);
+        long[] positions = new long[PositionFile.MAX_GAME_RECORDS * PIDS.length];
+        int[] turns = new int[PositionFile.MAX_GAME_RECORDS], moves = new int[BOARD_SIZE * BOARD_SIZE];
+
+        int firstGame = block * BLOCK_GAME_COUNT;
+        int lastGame = Math.min(firstGame + BLOCK_GAME_COUNT, positionFile.getGameCount());
+        ByteBuffer chunk = ByteBuffer.allocate(PositionFile.CHUNK_HEADER_SIZE + (lastGame - firstGame) * PositionFile.MAX_GAME_RECORDS * PositionFile.RECORD_SIZE);
+        chunk.position(PositionFile.CHUNK_HEADER_SIZE);
+
+        for (int gameIndex = firstGame; gameIndex < lastGame; gameIndex++) {
+            Board board = new Board(BOARD_SIZE, PIDS);
+            int recordCount = playGame(board, gameIndex, searchEngine, solver, positions, turns, moves);
+
+            // Label every position with the final disk difference.
+            int difference = board.getScore(PIDS[0]) - board.getScore(PIDS[1]);
+            for (int i = 0; i < recordCount; i++) {
+                chunk.putLong(positions[2 * i]);
+                chunk.putLong(positions[2 * i + 1]);
+                chunk.put((byte) turns[i]);
+                chunk.put((byte) difference);
+            }
+        }
+
+        // Fill in the chunk header.
+        int recordCount = (chunk.position() - PositionFile.CHUNK_HEADER_SIZE) / PositionFile.RECORD_SIZE;
+        CRC32 crc = new CRC32();
+        crc.update(chunk.array(), PositionFile.CHUNK_HEADER_SIZE, chunk.position() - PositionFile.CHUNK_HEADER_SIZE);
+        chunk.putInt(0, block);
+        chunk.putInt(4, recordCount);
+        chunk.putInt(8, (int) crc.getValue());
+        chunk.flip();
+
+        return chunk;
+    }
+
+    /**
+     * Play a single game to the end on a given board from the start,
+     * recording every position after the random opening in which the
+     * player to move has a legal move.
+     *
+     * @param   board           The board, in its initial position.
+     * @param   gameIndex       The index of the game.
+     * @param   searchEngine    The search engine.
+     * @param   solver          The endgame solver.
+     * @param   positions       The buffer for the disk masks of both
+     *                          player IDs in each position.
+     * @param   turns           The buffer for the player ID to move in
+     *                          each position.
+     * @param   moves           The buffer for the legal moves.
+     * @return                  The number of positions recorded.
+     */
+    private int playGame(Board board, int gameIndex, SearchEngine searchEngine, EndgameSolver solver, long[] positions, int[] turns, int[] moves)
+    {
+        Random random = new Random(SEED + gameIndex);
+        int moveCount = 0, recordCount = 0;
+
+        // Play until neither player has a legal move, passing whenever the player to move has none.
+        while (true) {
+            int pid = board.getTurn();
+            if (!board.hasLegalMove(pid)) {
+                int opponent = pid % PIDS.length + 1;
+                if (!board.hasLegalMove(opponent)) {
+                    return recordCount;
+                }
+                board.setTurn(opponent);
+                continue;
+            }
+
+            int move;
+            if (moveCount < openingMoveCount) {
+                // Play a random legal move in the opening.
+                move = moves[random.nextInt(board.getLegalMoves(pid, moves))];
+            }
+            else {
+                // Record the position, then choose the engine's move, solving the endgame if it can.
+                positions[2 * recordCount] = board.getDiskMask(PIDS[0]);
+                positions[2 * recordCount + 1] = board.getDiskMask(PIDS[1]);
+                turns[recordCount++] = pid;
+
+                SearchResult result = null;
+                if (EndgameSolver.getEmptyCount(board) <= SOLVE_EMPTY_COUNT) {
+                    result = solver.solve(board, true, SOLVE_TIME_BUDGET);
+                }
+                if (result == null) {
+                    result = (engineType == DEPTH)
+                        ? searchEngine.search(board, engineLimit, DEPTH_TIME_BUDGET)
+                        : searchEngine.search(board, engineLimit);
+                }
+                move = result.getMove();
+            }
+
+            try {
+                board.makeMove(move, pid);
+            }
+            catch (IllegalMoveException ex) {
+                throw new IllegalStateException("Illegal move chosen by " + engine, ex);
+            }
+            moveCount++;
+        }
+    }
+}
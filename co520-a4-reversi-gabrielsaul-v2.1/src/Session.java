@@ -1,4 +1,7 @@
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 
 /**
@@ -15,21 +18,30 @@ import java.util.ArrayList;
 
 public class Session implements Serializable
 {   
+    // The serial version of the original class, which SessionFile relies on to migrate old session files.
+    private static final long serialVersionUID = -2718830181639074131L;
+
     // The players in the session.
     private Player[] players;
 
     // The current game in the session.
     private Game currentGame;
     
-    // Game history data.
+    // Descriptions of finished games that have no game record, such as games from old session files.
     private ArrayList<String> gameHistory;
 
+    // The records of finished games, which can be replayed.
+    private ArrayList<GameRecord> gameRecords;
+
     // The filename of this session.
     private String filename;
 
     // Whether or not the session has been saved since the last change.
     private boolean saved;
 
+    // The journal the session is autosaved to, or null.
+    private transient SessionJournal journal;
+
     /**
      * (1) Constructor of Session objects
      * 
@@ -40,9 +52,46 @@ public class Session implements Serializable
         this.players = players;
         currentGame = null;
         gameHistory = new ArrayList<>();
+        gameRecords = new ArrayList<>();
+        filename = null;
+    }
+
+    /**
+     * (2) Constructor of Session objects: A session restored with a
+     *     given current game & game history, such as when a session is
+     *     loaded.
+     * 
+     * @param   players         The players for this session.
+     * @param   currentGame     The current game, or null if there is none.
+     * @param   gameHistory     The game history list.
+     * @param   gameRecords     The game record list.
+     */
+    public Session(Player[] players, Game currentGame, ArrayList<String> gameHistory, ArrayList<GameRecord> gameRecords)
+    {
+        this.players = players;
+        this.currentGame = currentGame;
+        this.gameHistory = gameHistory;
+        this.gameRecords = gameRecords;
         filename = null;
     }
 
+    /**
+     * Restore a session read by Java serialization. Sessions saved before
+     * game records were kept only have the game history list.
+     * 
+     * @param   ois     The stream the session is read from.
+     * 
+     * @throws          IOException
+     * @throws          ClassNotFoundException
+     */
+    private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException
+    {
+        ois.defaultReadObject();
+        if (gameRecords == null) {
+            gameRecords = new ArrayList<>();
+        }
+    }
+
     /**
      * Return the players for this session.
      * 
@@ -74,7 +123,8 @@ public class Session implements Serializable
     }
     
     /**
-     * Return the game history list.
+     * Return the game history list: The descriptions of
+     * finished games that have no game record.
      * 
      * @return      The game history list.
      */
@@ -83,6 +133,42 @@ public class Session implements Serializable
         return gameHistory;
     }
 
+    /**
+     * Return the game record list, in the order the games
+     * were finished.
+     * 
+     * @return      The game record list.
+     */
+    public ArrayList<GameRecord> getGameRecords()
+    {
+        return gameRecords;
+    }
+
+    /**
+     * Return the journal the session is autosaved to.
+     * 
+     * @return      The journal, or null if the session is not
+     *              journaled.
+     */
+    public SessionJournal getJournal()
+    {
+        return journal;
+    }
+
+    /**
+     * Set the journal the session is autosaved to, which records
+     * every game created & every turn played from now on.
+     * 
+     * @param   journal     The journal, or null.
+     */
+    public void setJournal(SessionJournal journal)
+    {
+        this.journal = journal;
+        if (currentGame != null) {
+            currentGame.setJournal(journal);
+        }
+    }
+
     /**
      * Assign a filename to this session.
      * 
@@ -114,13 +200,35 @@ public class Session implements Serializable
      */
     public void createGame(int boardSize)
     {
-        // Save the recent game's data, if it exists.
+        createGame(boardSize, LocalDateTime.now());
+    }
+
+    /**
+     * Create a new game of a given board size, starting at a given
+     * date, such as a game replayed from a journal.
+     * 
+     * @param       boardSize       The given board size for the game to create.
+     * @param       startDate       The start date of the game.
+     */
+    public void createGame(int boardSize, LocalDateTime startDate)
+    {
+        // Save the recent game's record, if it exists, or else its description.
         if (currentGame != null && currentGame.isFinished()) {
-            gameHistory.add(currentGame.toString());
+            GameRecord record = currentGame.createRecord();
+            if (record != null) {
+                gameRecords.add(record);
+            }
+            else {
+                gameHistory.add(currentGame.toString());
+            }
         }
         
-        // Create the new game.
-        currentGame = new Game(players, boardSize);
+        // Create the new game & journal it.
+        currentGame = new Game(players, boardSize, startDate);
+        if (journal != null) {
+            currentGame.setJournal(journal);
+            journal.appendNewGame(boardSize, startDate);
+        }
     }
 
     /**
@@ -0,0 +1,1058 @@
+import java.awt.Color;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Class:       SessionFile
+ * Category:    Data
+ * Summary:     This class saves & loads sessions in the compact binary .rvsi format, through a buffered channel.
+ *              Only the state that can't be recalculated is stored: The players, the game history and the current
+ *              game's counters & board. A board is stored as the game's turn record, or as its list of moves when
+ *              the game has none, as long as they lead from the initial position to the current position, or else
+ *              as its packed squares, and its legal moves, scores & hash are recalculated when it is loaded.
+ *              Sessions saved by Java serialization, before this format existed, are recognised by their stream
+ *              header and migrated as they are loaded, as are files in the first version of the format, which has
+ *              no game records or end date.
+ *
+ *              The format (big-endian) is:
+ *
+ *                  int     Magic number ("RVSI")
+ *                  short   Format version
+ *                  byte    Player count, followed by each player:
+ *                              byte    Player type (0: human, 1: computer)
+ *                              string  Name
+ *                              string  Disk color name
+ *                              int     Disk color (ARGB)
+ *                              byte    Player ID
+ *                              int     Win count
+ *                              long    Time budget in milliseconds      (computer players only)
+ *                              int     Thread count                     (computer players only)
+ *                  int     Game history count, followed by each entry as a string
+ *                  int     Game record count, followed by each record:
+ *                              byte    Board size
+ *                              byte    Player count, followed by each player ID as a byte
+ *                              short   Final disk count of each player
+ *                              long    Start & end dates, in seconds since the epoch (UTC)
+ *                              int     Turn record length, followed by the turns packed by GameRecord
+ *                  byte    1 if there is a current game, else 0, followed by the game:
+ *                              byte    Board size
+ *                              long    Start date, in seconds since the epoch (UTC)
+ *                              int     Start date, nanoseconds
+ *                              byte    Turn count, pass count & finished flag
+ *                              int     Move count
+ *                              long    End date, in seconds since the epoch (UTC)  (finished games only)
+ *                              int     End date, nanoseconds                       (finished games only)
+ *                              byte    Board encoding (0: move list, 1: packed squares, 2: turn record)
+ *                              Move list:      int move count, followed by each move as a short square index
+ *                                              & a byte player ID
+ *                              Packed squares: The player ID (or 0) of each square index, in the fewest bits
+ *                                              that hold the player count, packed into bytes from the top bit
+ *                              Turn record:    int turn record length, followed by the turns packed by
+ *                                              GameRecord
+ *
+ *              A string is stored as its UTF-8 byte count (unsigned short) followed by the bytes.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class SessionFile
+{
+    /* * * * * * * * * * * * Class Variables * * * * * * * * * * * */
+
+    // The magic number ("RVSI") & the version of the format.
+    public static final int MAGIC = 0x52565349;
+    public static final int VERSION = 2;
+
+    // The first version of the format, which has no game records or end date.
+    private static final int FIRST_VERSION = 1;
+
+    // The first two bytes of a Java serialization stream, which mark a session saved before this format.
+    private static final int SERIALIZATION_MAGIC = 0xACED;
+
+    // The size of the channel buffer, which holds the longest string.
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // The longest string stored, in bytes.
+    private static final int MAX_STRING_LENGTH = 0xFFFF;
+
+    // The player types.
+    private static final int HUMAN = 0;
+    private static final int COMPUTER = 1;
+
+    // The board encodings.
+    private static final int MOVE_LIST = 0;
+    private static final int PACKED_SQUARES = 1;
+    private static final int TURN_RECORD = 2;
+
+    /* * * * * * * * * * * * Instance Variables * * * * * * * * * * * */
+
+    // The channel written to, or null if the file is being read.
+    private final WritableByteChannel out;
+
+    // The channel read from, or null if the file is being written.
+    private final ReadableByteChannel in;
+
+    // The channel buffer.
+    private final ByteBuffer buffer;
+
+    /**
+     * (1) Constructor of SessionFile objects
+     *
+     * @param   out     The channel written to, or null.
+     * @param   in      The channel read from, or null.
+     */
+    private SessionFile(WritableByteChannel out, ReadableByteChannel in)
+    {
+        this.out = out;
+        this.in = in;
+        buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        // A read buffer starts empty.
+        if (in != null) {
+            buffer.limit(0);
+        }
+    }
+
+    /**
+     * Save a given session to a given file, replacing its contents.
+     *
+     * @param   session     The session to be saved.
+     * @param   file        The file.
+     *
+     * @throws              IOException
+     */
+    public static void write(Session session, File file) throws IOException
+    {
+        write(toBytes(session), file, null);
+    }
+
+    /**
+     * Write a given saved session to a given file, replacing its contents
+     * only once the whole session has reached the disk: The session is
+     * written to a temporary file beside the file, which is then moved
+     * over it, so an error, a crash or the thread being interrupted
+     * leaves the file as it was.
+     *
+     * @param   bytes       The session in the .rvsi format.
+     * @param   file        The file.
+     * @param   progress    Told the percentage of the session written
+     *                      after each piece, or null.
+     *
+     * @throws              IOException
+     */
+    public static void write(byte[] bytes, File file, IntConsumer progress) throws IOException
+    {
+        File tempFile = new File(file.getPath() + ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(tempFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer data = ByteBuffer.wrap(bytes);
+                while (data.hasRemaining()) {
+                    data.limit(Math.min(data.position() + BUFFER_SIZE, bytes.length));
+                    while (data.hasRemaining()) {
+                        channel.write(data);
+                    }
+                    data.limit(bytes.length);
+
+                    if (progress != null) {
+                        progress.accept((int) (100L * data.position() / bytes.length));
+                    }
+                }
+                channel.force(false);
+            }
+
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally {
+            tempFile.delete();
+        }
+    }
+
+    /**
+     * Save a given session in memory, such as before it is written
+     * to a file by another thread.
+     *
+     * @param   session     The session to be saved.
+     * @return              The session in the .rvsi format.
+     *
+     * @throws              IOException
+     */
+    public static byte[] toBytes(Session session) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        write(session, Channels.newChannel(bytes));
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Save a given session to a given channel.
+     *
+     * @param   session     The session to be saved.
+     * @param   channel     The channel, which is left open.
+     *
+     * @throws              IOException
+     */
+    public static void write(Session session, WritableByteChannel channel) throws IOException
+    {
+        SessionFile sessionFile = new SessionFile(channel, null);
+        sessionFile.writeSession(session);
+        sessionFile.flush();
+    }
+
+    /**
+     * Load a session from a given file, migrating it if it was saved by
+     * Java serialization. The session is named after the file if it does
+     * not store a filename.
+     *
+     * @param   file    The file.
+     * @return          The loaded session.
+     *
+     * @throws          IOException
+     * @throws          CorruptedSessionException
+     */
+    public static Session read(File file) throws IOException, CorruptedSessionException
+    {
+        return read(file, null);
+    }
+
+    /**
+     * Load a session from a given file, migrating it if it was saved by
+     * Java serialization, & report the progress of reading the file.
+     * The session is named after the file if it does not store a
+     * filename.
+     *
+     * @param   file        The file.
+     * @param   progress    Told the percentage of the file read after each
+     *                      piece, or null.
+     * @return              The loaded session.
+     *
+     * @throws              IOException
+     * @throws              CorruptedSessionException
+     */
+    public static Session read(File file, IntConsumer progress) throws IOException, CorruptedSessionException
+    {
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            ReadableByteChannel channel = (progress != null) ? getProgressChannel(fileChannel, progress) : fileChannel;
+
+            // Check for a Java serialization stream header.
+            ByteBuffer header = ByteBuffer.allocate(2);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+            }
+            fileChannel.position(0);
+
+            Session session = (header.position() == 2 && (header.getShort(0) & 0xFFFF) == SERIALIZATION_MAGIC)
+                ? migrate(channel) : read(channel);
+            if (progress != null) {
+                progress.accept(100);
+            }
+            if (!session.hasFilename()) {
+                session.setFilename(file.getName());
+            }
+
+            return session;
+        }
+    }
+
+    /**
+     * Return a channel which reads from a given file channel & reports
+     * how far through the file it has read.
+     *
+     * @param   fileChannel     The file channel.
+     * @param   progress        Told the percentage of the file read.
+     * @return                  The channel.
+     *
+     * @throws                  IOException
+     */
+    private static ReadableByteChannel getProgressChannel(FileChannel fileChannel, IntConsumer progress) throws IOException
+    {
+        long size = Math.max(fileChannel.size(), 1);
+
+        return new ReadableByteChannel()
+            {
+                @Override
+                public int read(ByteBuffer dst) throws IOException
+                {
+                    int count = fileChannel.read(dst);
+                    progress.accept((int) Math.min(100L * fileChannel.position() / size, 100));
+
+                    return count;
+                }
+
+                @Override
+                public boolean isOpen()
+                {
+                    return fileChannel.isOpen();
+                }
+
+                @Override
+                public void close() throws IOException
+                {
+                    fileChannel.close();
+                }
+            };
+    }
+
+    /**
+     * Load a session in the .rvsi format from a given channel.
+     *
+     * @param   channel     The channel, which is left open.
+     * @return              The loaded session, which is marked as saved.
+     *
+     * @throws              IOException
+     * @throws              CorruptedSessionException
+     */
+    public static Session read(ReadableByteChannel channel) throws IOException, CorruptedSessionException
+    {
+        Session session = new SessionFile(null, channel).readSession();
+        session.setSaved(true);
+
+        return session;
+    }
+
+    /**
+     * Load a session saved by Java serialization from a given channel.
+     * The classes it refers to keep their original serial versions,
+     * and read their original fields into their current form.
+     *
+     * @param   channel     The channel.
+     * @return              The migrated session.
+     *
+     * @throws              IOException
+     * @throws              CorruptedSessionException
+     */
+    private static Session migrate(ReadableByteChannel channel) throws IOException, CorruptedSessionException
+    {
+        try {
+            ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            return (Session) ois.readObject();
+        }
+        catch (ClassNotFoundException | ClassCastException | ObjectStreamException ex) {
+            throw new CorruptedSessionException("Serialized session could not be migrated: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Write a given session.
+     *
+     * @param   session     The session.
+     *
+     * @throws              IOException
+     */
+    private void writeSession(Session session) throws IOException
+    {
+        require(6);
+        buffer.putInt(MAGIC);
+        buffer.putShort((short) VERSION);
+
+        // Write the players.
+        Player[] players = session.getPlayers();
+        require(1);
+        buffer.put((byte) players.length);
+        for (Player player : players) {
+            writePlayer(player);
+        }
+
+        // Write the game history.
+        ArrayList<String> gameHistory = session.getGameHistory();
+        require(4);
+        buffer.putInt(gameHistory.size());
+        for (String entry : gameHistory) {
+            writeString(entry);
+        }
+
+        // Write the game records.
+        ArrayList<GameRecord> gameRecords = session.getGameRecords();
+        require(4);
+        buffer.putInt(gameRecords.size());
+        for (GameRecord record : gameRecords) {
+            writeGameRecord(record);
+        }
+
+        // Write the current game, if it exists.
+        Game game = session.getCurrentGame();
+        require(1);
+        buffer.put((byte) ((game != null) ? 1 : 0));
+        if (game != null) {
+            writeGame(game);
+        }
+    }
+
+    /**
+     * Write a given player.
+     *
+     * @param   player  The player.
+     *
+     * @throws          IOException
+     */
+    private void writePlayer(Player player) throws IOException
+    {
+        require(1);
+        buffer.put((byte) (player.isComputer() ? COMPUTER : HUMAN));
+        writeString(player.getName());
+        writeString(player.getDiskColorName());
+
+        require(9);
+        buffer.putInt(player.getDiskColor().getRGB());
+        buffer.put((byte) player.getID());
+        buffer.putInt(player.getWinCount());
+
+        if (player.isComputer()) {
+            require(12);
+            buffer.putLong(((ComputerPlayer) player).getTimeBudget());
+            buffer.putInt(((ComputerPlayer) player).getThreadCount());
+        }
+    }
+
+    /**
+     * Write a given game record.
+     *
+     * @param   record  The game record.
+     *
+     * @throws          IOException
+     */
+    private void writeGameRecord(GameRecord record) throws IOException
+    {
+        require(2 + 3 * record.getPlayerCount() + 20);
+        buffer.put((byte) record.getBoardSize());
+        buffer.put((byte) record.getPlayerCount());
+        for (int seat = 0; seat < record.getPlayerCount(); seat++) {
+            buffer.put((byte) record.getPID(seat));
+        }
+        for (int seat = 0; seat < record.getPlayerCount(); seat++) {
+            buffer.putShort((short) record.getScore(seat));
+        }
+        buffer.putLong(record.getStartDate().toEpochSecond(ZoneOffset.UTC));
+        buffer.putLong(record.getEndDate().toEpochSecond(ZoneOffset.UTC));
+
+        writeBytes(record.getTurns());
+    }
+
+    /**
+     * Write a given game.
+     *
+     * @param   game    The game.
+     *
+     * @throws          IOException
+     */
+    private void writeGame(Game game) throws IOException
+    {
+        LocalDateTime startDate = game.getStartDate();
+
+        require(20);
+        buffer.put((byte) game.getBoardSize());
+        buffer.putLong(startDate.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(startDate.getNano());
+        buffer.put((byte) game.getTurnCount());
+        buffer.put((byte) game.getPassCount());
+        buffer.put((byte) (game.isFinished() ? 1 : 0));
+        buffer.putInt(game.getMoveCount());
+        if (game.isFinished()) {
+            require(12);
+            buffer.putLong(game.getEndDate().toEpochSecond(ZoneOffset.UTC));
+            buffer.putInt(game.getEndDate().getNano());
+        }
+
+        writeBoard(game.getBoard(), getPIDs(game.getPlayers()), game.getTurnRecord());
+    }
+
+    /**
+     * Write a given board as a given turn record, or else its move list,
+     * if they lead from the initial position to its current position, or
+     * else as its packed squares.
+     *
+     * @param   board       The board.
+     * @param   pids        The player IDs of the board.
+     * @param   turnRecord  The turn record of the board's game, or null.
+     *
+     * @throws              IOException
+     */
+    private void writeBoard(Board board, int[] pids, byte[] turnRecord) throws IOException
+    {
+        int squareCount = board.getSize() * board.getSize();
+
+        if (turnRecord != null && isReplayable(board, pids, turnRecord)) {
+            require(1);
+            buffer.put((byte) TURN_RECORD);
+            writeBytes(turnRecord);
+
+            return;
+        }
+        else if (isReplayable(board, pids)) {
+            require(5);
+            buffer.put((byte) MOVE_LIST);
+            buffer.putInt(board.getUndoCount());
+            for (int i = 0; i < board.getUndoCount(); i++) {
+                UndoRecord record = board.getUndoRecord(i);
+                require(3);
+                buffer.putShort((short) record.getIndex());
+                buffer.put((byte) record.getPID());
+            }
+
+            return;
+        }
+
+        // Pack each player ID into the fewest bits that hold the player count, from the top bit of each byte.
+        int bitCount = getBitCount(pids.length);
+        require(1);
+        buffer.put((byte) PACKED_SQUARES);
+
+        int packed = 0, packedBitCount = 0;
+        for (int index = 0; index < squareCount; index++) {
+            packed = (packed << bitCount) | board.getPID(index);
+            packedBitCount += bitCount;
+
+            while (packedBitCount >= Byte.SIZE) {
+                packedBitCount -= Byte.SIZE;
+                require(1);
+                buffer.put((byte) (packed >>> packedBitCount));
+            }
+        }
+        if (packedBitCount > 0) {
+            require(1);
+            buffer.put((byte) (packed << (Byte.SIZE - packedBitCount)));
+        }
+    }
+
+    /**
+     * Write a given string as its UTF-8 byte count & bytes.
+     *
+     * @param   string  The string.
+     *
+     * @throws          IOException
+     */
+    private void writeString(String string) throws IOException
+    {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_LENGTH) {
+            throw new IOException("String too long to be saved");
+        }
+
+        require(2 + bytes.length);
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    /**
+     * Write a given byte array as its length & bytes.
+     *
+     * @param   bytes   The byte array.
+     *
+     * @throws          IOException
+     */
+    private void writeBytes(byte[] bytes) throws IOException
+    {
+        require(4);
+        buffer.putInt(bytes.length);
+
+        // Write the bytes in buffer-sized pieces.
+        for (int offset = 0; offset < bytes.length; ) {
+            require(1);
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    /**
+     * Make room in the buffer for a given number of bytes, writing
+     * the buffer to the channel if needed.
+     *
+     * @param   byteCount   The number of bytes.
+     *
+     * @throws              IOException
+     */
+    private void require(int byteCount) throws IOException
+    {
+        if (buffer.remaining() < byteCount) {
+            flush();
+        }
+    }
+
+    /**
+     * Write the buffer to the channel.
+     *
+     * @throws      IOException
+     */
+    private void flush() throws IOException
+    {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Read a session.
+     *
+     * @return      The session.
+     *
+     * @throws      IOException
+     * @throws      CorruptedSessionException
+     */
+    private Session readSession() throws IOException, CorruptedSessionException
+    {
+        fill(6);
+        if (buffer.getInt() != MAGIC) {
+            throw new CorruptedSessionException("Session file has an invalid header");
+        }
+
+        int version = buffer.getShort();
+        if (version < FIRST_VERSION || version > VERSION) {
+            throw new CorruptedSessionException("Session file has an unsupported version");
+        }
+
+        // Read the players.
+        fill(1);
+        int playerCount = buffer.get();
+        if (playerCount < 1) {
+            throw new CorruptedSessionException("Session file has an invalid number of players");
+        }
+
+        Player[] players = new Player[playerCount];
+        for (int i = 0; i < players.length; i++) {
+            players[i] = readPlayer();
+        }
+
+        // Read the game history.
+        fill(4);
+        int historyCount = buffer.getInt();
+        if (historyCount < 0) {
+            throw new CorruptedSessionException("Session file has an invalid game history");
+        }
+
+        ArrayList<String> gameHistory = new ArrayList<>();
+        for (int i = 0; i < historyCount; i++) {
+            gameHistory.add(readString());
+        }
+
+        // Read the game records.
+        ArrayList<GameRecord> gameRecords = new ArrayList<>();
+        if (version > FIRST_VERSION) {
+            fill(4);
+            int recordCount = buffer.getInt();
+            if (recordCount < 0) {
+                throw new CorruptedSessionException("Session file has an invalid game record count");
+            }
+
+            for (int i = 0; i < recordCount; i++) {
+                gameRecords.add(readGameRecord());
+            }
+        }
+
+        // Read the current game, if it exists.
+        fill(1);
+        Game game = (buffer.get() != 0) ? readGame(players, version) : null;
+
+        return new Session(players, game, gameHistory, gameRecords);
+    }
+
+    /**
+     * Read a player.
+     *
+     * @return      The player.
+     *
+     * @throws      IOException
+     * @throws      CorruptedSessionException
+     */
+    private Player readPlayer() throws IOException, CorruptedSessionException
+    {
+        fill(1);
+        int type = buffer.get();
+        String name = readString();
+        String diskColorName = readString();
+
+        fill(9);
+        Color diskColor = new Color(buffer.getInt(), true);
+        int pid = buffer.get();
+        int winCount = buffer.getInt();
+
+        // Create the player.
+        Player player;
+        if (type == COMPUTER) {
+            fill(12);
+            long timeBudget = buffer.getLong();
+            int threadCount = buffer.getInt();
+            try {
+                player = new ComputerPlayer(name, diskColorName, diskColor, timeBudget, threadCount);
+            }
+            catch (IllegalArgumentException ex) {
+                throw new CorruptedSessionException("Session file has an invalid computer player");
+            }
+        }
+        else if (type == HUMAN) {
+            player = new Player(name, diskColorName, diskColor);
+        }
+        else {
+            throw new CorruptedSessionException("Session file has an invalid player type");
+        }
+
+        player.setID(pid);
+        player.setWinCount(winCount);
+
+        return player;
+    }
+
+    /**
+     * Read a game record.
+     *
+     * @return      The game record.
+     *
+     * @throws      IOException
+     * @throws      CorruptedSessionException
+     */
+    private GameRecord readGameRecord() throws IOException, CorruptedSessionException
+    {
+        fill(2);
+        int boardSize = buffer.get() & 0xFF;
+        int playerCount = buffer.get();
+        if (playerCount < 1) {
+            throw new CorruptedSessionException("Session file has an invalid game record");
+        }
+
+        fill(3 * playerCount + 16);
+        int[] pids = new int[playerCount], scores = new int[playerCount];
+        for (int seat = 0; seat < playerCount; seat++) {
+            pids[seat] = buffer.get();
+        }
+        for (int seat = 0; seat < playerCount; seat++) {
+            scores[seat] = buffer.getShort() & 0xFFFF;
+        }
+        long startSecond = buffer.getLong();
+        long endSecond = buffer.getLong();
+        byte[] turns = readBytes();
+
+        // Replay the record, such that it is known to be valid.
+        try {
+            GameRecord record = new GameRecord(boardSize, pids, scores, LocalDateTime.ofEpochSecond(startSecond, 0, ZoneOffset.UTC),
+                LocalDateTime.ofEpochSecond(endSecond, 0, ZoneOffset.UTC), turns);
+            record.replay(record.getTurnCount());
+
+            return record;
+        }
+        catch (IllegalArgumentException | DateTimeException | IllegalMoveException ex) {
+            throw new CorruptedSessionException("Session file has an invalid game record");
+        }
+    }
+
+    /**
+     * Read a game between given players.
+     *
+     * @param   players     The players.
+     * @param   version     The version of the format.
+     * @return              The game.
+     *
+     * @throws              IOException
+     * @throws              CorruptedSessionException
+     */
+    private Game readGame(Player[] players, int version) throws IOException, CorruptedSessionException
+    {
+        fill(20);
+        int boardSize = buffer.get() & 0xFF;
+        long startSecond = buffer.getLong();
+        int startNano = buffer.getInt();
+        int turnCount = buffer.get();
+        int passCount = buffer.get();
+        boolean finished = buffer.get() != 0;
+        int moveCount = buffer.getInt();
+
+        long endSecond = 0;
+        int endNano = 0;
+        if (finished && version > FIRST_VERSION) {
+            fill(12);
+            endSecond = buffer.getLong();
+            endNano = buffer.getInt();
+        }
+
+        // Each player ID must lie on the board.
+        int[] pids = getPIDs(players);
+        for (int pid : pids) {
+            if (pid < 1 || pid > pids.length) {
+                throw new CorruptedSessionException("Session file has an invalid player ID");
+            }
+        }
+
+        try {
+            LocalDateTime startDate = LocalDateTime.ofEpochSecond(startSecond, startNano, ZoneOffset.UTC);
+            LocalDateTime endDate = (finished && version > FIRST_VERSION) ? LocalDateTime.ofEpochSecond(endSecond, endNano, ZoneOffset.UTC) : null;
+
+            // Only a board stored as a turn record keeps recording turns.
+            fill(1);
+            int encoding = buffer.get();
+            byte[] turnRecord = (encoding == TURN_RECORD) ? readBytes() : null;
+            Board board = (turnRecord != null) ? replay(boardSize, pids, turnRecord) : readBoard(boardSize, pids, encoding);
+
+            return new Game(players, board, startDate, turnCount, passCount, moveCount, finished, endDate, turnRecord);
+        }
+        catch (IllegalArgumentException | DateTimeException ex) {
+            throw new CorruptedSessionException("Session file has an invalid game");
+        }
+    }
+
+    /**
+     * Replay a given turn record on a new board of a given size with
+     * given player IDs.
+     *
+     * @param   size        The size of the board.
+     * @param   pids        The player IDs.
+     * @param   turnRecord  The turn record.
+     * @return              The board.
+     *
+     * @throws              CorruptedSessionException
+     */
+    private static Board replay(int size, int[] pids, byte[] turnRecord) throws CorruptedSessionException
+    {
+        if (turnRecord.length % GameRecord.getTurnSize(size) != 0) {
+            throw new CorruptedSessionException("Session file has an invalid turn record");
+        }
+
+        try {
+            return GameRecord.replay(size, pids, turnRecord, turnRecord.length / GameRecord.getTurnSize(size));
+        }
+        catch (IllegalMoveException ex) {
+            throw new CorruptedSessionException("Session file has an illegal move");
+        }
+    }
+
+    /**
+     * Read a board of a given size with given player IDs in a given
+     * encoding, replaying its move list or unpacking its squares.
+     *
+     * @param   size        The size of the board.
+     * @param   pids        The player IDs.
+     * @param   encoding    The board encoding.
+     * @return              The board.
+     *
+     * @throws              IOException
+     * @throws              CorruptedSessionException
+     */
+    private Board readBoard(int size, int[] pids, int encoding) throws IOException, CorruptedSessionException
+    {
+        // Replay the move list from the initial position.
+        if (encoding == MOVE_LIST) {
+            Board board = new Board(size, pids);
+
+            fill(4);
+            int moveCount = buffer.getInt();
+            for (int i = 0; i < moveCount; i++) {
+                fill(3);
+                int index = buffer.getShort() & 0xFFFF;
+                int pid = buffer.get();
+                try {
+                    board.makeMove(index, pid);
+                }
+                catch (IllegalMoveException ex) {
+                    throw new CorruptedSessionException("Session file has an illegal move");
+                }
+            }
+
+            return board;
+        }
+        else if (encoding != PACKED_SQUARES) {
+            throw new CorruptedSessionException("Session file has an invalid board encoding");
+        }
+
+        // Unpack the player ID held at each square.
+        int bitCount = getBitCount(pids.length);
+        int[] cells = new int[size * size];
+        int packed = 0, packedBitCount = 0;
+        for (int index = 0; index < cells.length; index++) {
+            if (packedBitCount < bitCount) {
+                fill(1);
+                packed = (packed << Byte.SIZE) | (buffer.get() & 0xFF);
+                packedBitCount += Byte.SIZE;
+            }
+
+            packedBitCount -= bitCount;
+            cells[index] = (packed >>> packedBitCount) & ((1 << bitCount) - 1);
+        }
+
+        return new Board(size, pids, cells);
+    }
+
+    /**
+     * Read a string stored as its UTF-8 byte count & bytes.
+     *
+     * @return      The string.
+     *
+     * @throws      IOException
+     * @throws      CorruptedSessionException
+     */
+    private String readString() throws IOException, CorruptedSessionException
+    {
+        fill(2);
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+
+        fill(bytes.length);
+        buffer.get(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Read a byte array stored as its length & bytes.
+     *
+     * @return      The byte array.
+     *
+     * @throws      IOException
+     * @throws      CorruptedSessionException
+     */
+    private byte[] readBytes() throws IOException, CorruptedSessionException
+    {
+        fill(4);
+        int length = buffer.getInt();
+        if (length < 0) {
+            throw new CorruptedSessionException("Session file has an invalid length");
+        }
+
+        // Read the bytes in buffer-sized pieces, such that a corrupt length runs out of file before memory.
+        byte[] bytes = new byte[Math.min(length, BUFFER_SIZE)];
+        for (int offset = 0; offset < length; ) {
+            fill(1);
+            int count = Math.min(buffer.remaining(), length - offset);
+            if (offset + count > bytes.length) {
+                bytes = Arrays.copyOf(bytes, (int) Math.min((long) bytes.length * 2 + count, length));
+            }
+            buffer.get(bytes, offset, count);
+            offset += count;
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Read from the channel until the buffer holds a given number of
+     * bytes.
+     *
+     * @param   byteCount   The number of bytes.
+     *
+     * @throws              IOException
+     * @throws              CorruptedSessionException
+     */
+    private void fill(int byteCount) throws IOException, CorruptedSessionException
+    {
+        if (buffer.remaining() >= byteCount) {
+            return;
+        }
+
+        buffer.compact();
+        while (buffer.position() < byteCount) {
+            if (in.read(buffer) < 0) {
+                throw new CorruptedSessionException("Session file ends unexpectedly");
+            }
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Check if a given turn record leads from the initial position to
+     * the current position of a given board.
+     *
+     * @param   board       The board.
+     * @param   pids        The player IDs of the board.
+     * @param   turnRecord  The turn record.
+     * @return              True if the board can be replayed from the
+     *                      turn record, else false.
+     */
+    private static boolean isReplayable(Board board, int[] pids, byte[] turnRecord)
+    {
+        try {
+            return isSamePosition(board, replay(board.getSize(), pids, turnRecord));
+        }
+        catch (CorruptedSessionException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Check if the moves on the undo stack of a given board lead from
+     * the initial position to its current position.
+     *
+     * @param   board   The board.
+     * @param   pids    The player IDs of the board.
+     * @return          True if the board can be replayed from its moves,
+     *                  else false.
+     */
+    private static boolean isReplayable(Board board, int[] pids)
+    {
+        Board replay = new Board(board.getSize(), pids);
+
+        try {
+            for (int i = 0; i < board.getUndoCount(); i++) {
+                replay.makeMove(board.getUndoRecord(i).getIndex(), board.getUndoRecord(i).getPID());
+            }
+        }
+        catch (IllegalMoveException ex) {
+            return false;
+        }
+
+        return isSamePosition(board, replay);
+    }
+
+    /**
+     * Check if two given boards of the same size hold the same disks.
+     *
+     * @param   board   The board.
+     * @param   other   The other board.
+     * @return          True if every square holds the same player ID,
+     *                  else false.
+     */
+    private static boolean isSamePosition(Board board, Board other)
+    {
+        for (int index = 0; index < board.getSize() * board.getSize(); index++) {
+            if (other.getPID(index) != board.getPID(index)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Return the player IDs of given players, in order of play.
+     *
+     * @param   players     The players.
+     * @return              The player IDs.
+     */
+    private static int[] getPIDs(Player[] players)
+    {
+        int[] pids = new int[players.length];
+        for (int i = 0; i < players.length; i++) {
+            pids[i] = players[i].getID();
+        }
+
+        return pids;
+    }
+
+    /**
+     * Return the fewest bits that hold every player ID up to a given
+     * player count.
+     *
+     * @param   playerCount     The player count.
+     * @return                  The number of bits.
+     */
+    private static int getBitCount(int playerCount)
+    {
+        return Integer.SIZE - Integer.numberOfLeadingZeros(playerCount);
+    }
+}
@@ -0,0 +1,125 @@
+import java.io.File;
+import java.io.IOException;
+import javax.swing.SwingWorker;
+
+/**
+ * Class:       SessionFileTask
+ * Category:    Data
+ * Superclass:  SwingWorker
+ * Summary:     This class saves or loads a session file in the background, such that the frame stays responsive
+ *              while the disk is busy. A save is given the session already encoded in the .rvsi format, as the
+ *              session must not be read while it is being played, & only writes it. A load reads the session file
+ *              & replays any journal left behind for it by a crash.
+ *
+ *              The progress of the file is reported as a percentage through the "progress" property, & cancelling
+ *              the task interrupts it, leaving a saved file as it was. The result is handed back on the event
+ *              dispatch thread through done, where get returns the loaded session (or null for a save).
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class SessionFileTask extends SwingWorker<Session, Void>
+{
+    /* * * * * * * * * * * * Instance Variables * * * * * * * * * * * */
+
+    // The session file, or null if only a journal is to be read.
+    private final File file;
+
+    // The session to be saved in the .rvsi format, or null for a load.
+    private final byte[] bytes;
+
+    // The journal file to be recovered on a load, or null.
+    private final File journalFile;
+
+    // The session recovered from the journal file, or null: Read once the task is done.
+    private Session recoveredSession;
+
+    /**
+     * (1) Constructor of SessionFileTask objects: Save a given session
+     * to a given file, encoding it now.
+     *
+     * @param   session     The session.
+     * @param   file        The session file.
+     *
+     * @throws              IOException
+     */
+    public SessionFileTask(Session session, File file) throws IOException
+    {
+        this.file = file;
+        this.bytes = SessionFile.toBytes(session);
+        this.journalFile = null;
+    }
+
+    /**
+     * (2) Constructor of SessionFileTask objects: Load a session from a
+     * given file & recover its journal.
+     *
+     * @param   file            The session file, or null if only the
+     *                          journal is to be recovered.
+     * @param   journalFile     The journal file, or null if no journal
+     *                          is to be recovered.
+     */
+    public SessionFileTask(File file, File journalFile)
+    {
+        this.file = file;
+        this.bytes = null;
+        this.journalFile = journalFile;
+    }
+
+    /**
+     * Return whether the task saves a session.
+     *
+     * @return      True if the task saves a session, or false if it
+     *              loads one.
+     */
+    public boolean isSave()
+    {
+        return bytes != null;
+    }
+
+    /**
+     * Return the session recovered from the journal file, once the task
+     * is done.
+     *
+     * @return      The recovered session, or null if there is no journal,
+     *              it holds no unsaved progress or it can't be read.
+     */
+    public Session getRecoveredSession()
+    {
+        return recoveredSession;
+    }
+
+    /**
+     * Save or load the session file.
+     *
+     * @return      The loaded session, or null for a save or if only
+     *              the journal was recovered.
+     *
+     * @throws      IOException
+     * @throws      CorruptedSessionException
+     */
+    @Override
+    protected Session doInBackground() throws IOException, CorruptedSessionException
+    {
+        // Save the session.
+        if (isSave()) {
+            SessionFile.write(bytes, file, this::setProgress);
+            return null;
+        }
+
+        // Load the session, which migrates sessions saved by Java serialization.
+        Session session = (file != null) ? SessionFile.read(file, this::setProgress) : null;
+
+        // Replay the journal, ignoring a journal that can't be read.
+        if (journalFile != null) {
+            try {
+                recoveredSession = SessionJournal.recover(journalFile);
+            }
+            catch (IOException | CorruptedSessionException ex) {
+                recoveredSession = null;
+            }
+        }
+
+        return session;
+    }
+}
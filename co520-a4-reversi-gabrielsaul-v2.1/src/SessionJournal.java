@@ -0,0 +1,605 @@
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.Executor;
+import java.util.zip.CRC32;
+import javax.swing.Timer;
+
+/**
+ * Class:       SessionJournal
+ * Category:    Data
+ * Summary:     This class autosaves a session as an append-only journal: A snapshot of the session in the .rvsi
+ *              format, followed by a small fixed-size record for each game created & each turn played since. The
+ *              records are written to the file as they happen & forced to the disk in batches, or by a timer once
+ *              the oldest record has waited long enough, so autosaving costs a few bytes per turn rather than a
+ *              rewrite of the session. Once enough records have built up, the journal is compacted into a new
+ *              snapshot, which is written to a temporary file & moved over the journal, such that a crash leaves
+ *              either the old journal or the new one.
+ *
+ *              Records & snapshots are encoded on the event dispatch thread, which plays the session & runs the
+ *              timer, so each is consistent, but they are written to the disk by an executor, such that autosaving
+ *              never waits on the disk. An error writing the journal stops it, & is reported by getFailure.
+ *
+ *              The journal is kept beside the session files until the session is closed, so a journal which is
+ *              still there when a session is loaded was left by a crash, & the session is recovered by replaying
+ *              its records onto its snapshot. A record which is torn or does not fit the game ends the replay.
+ *
+ *              The format (big-endian) is:
+ *
+ *                  int     Magic number ("RVSJ")
+ *                  short   Format version
+ *                  byte    1 if the snapshot is the session as it was last saved, else 0
+ *                  byte    Reserved (0)
+ *                  int     Snapshot length, followed by the snapshot in the .rvsi format
+ *                  Records, of 16 bytes each:
+ *                      byte    Record type (0: new game, 1: move, 2: pass)
+ *                      byte    Player ID of the turn, or 0 for a new game
+ *                      short   Square index of the move, or the board size of a new game
+ *                      long    Date of the turn or new game, in nanoseconds since the epoch (UTC)
+ *                      int     CRC-32 of the first twelve bytes of the record
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class SessionJournal
+{
+    /* * * * * * * * * * * * Class Variables * * * * * * * * * * * */
+
+    // The extension of a journal file, after the session's filename.
+    public static final String EXTENSION = ".journal";
+
+    // The name of the journal of a session which has not been saved yet.
+    public static final String UNTITLED_NAME = "untitled";
+
+    // The magic number ("RVSJ") & the version of the format.
+    private static final int MAGIC = 0x5256534A;
+    private static final int VERSION = 1;
+
+    // The size of the header before the snapshot, & of each record, in bytes.
+    private static final int HEADER_SIZE = 12;
+    private static final int RECORD_SIZE = 16;
+
+    // The record types.
+    private static final int NEW_GAME = 0;
+    private static final int MOVE = 1;
+    private static final int PASS = 2;
+
+    // The number of nanoseconds in a second.
+    private static final long NANOS_PER_SECOND = 1000000000L;
+
+    // The number of records written before they are forced to the disk, & the longest they wait, in milliseconds.
+    private static final int SYNC_RECORD_COUNT = 16;
+    private static final int SYNC_INTERVAL = 2000;
+
+    // The number of records after which the journal is compacted into a new snapshot.
+    private static final int COMPACTION_RECORD_COUNT = 512;
+
+    /* * * * * * * * * * * * Instance Variables * * * * * * * * * * * */
+
+    // The journal file.
+    private final File file;
+
+    // The session being journaled.
+    private final Session session;
+
+    // The executor which writes the journal: Tasks must run one at a time, in order.
+    private final Executor executor;
+
+    // The journal channel, positioned at the end of the journal: Only used by the executor.
+    private FileChannel channel;
+
+    // True once the journal has been closed.
+    private boolean closed;
+
+    // The checksum of each record.
+    private final CRC32 crc;
+
+    // The number of records since the snapshot, & the number not yet forced to the disk.
+    private int recordCount;
+    private int unsyncedCount;
+
+    // The timer which forces the records to the disk once the oldest has waited the longest, started by the first
+    // record not yet forced.
+    private final Timer syncTimer;
+
+    // The error which stopped the journal, or null if it is working: Set by the executor.
+    private volatile IOException failure;
+
+    /**
+     * (1) Constructor of SessionJournal objects
+     *
+     * @param   file        The journal file.
+     * @param   session     The session being journaled.
+     * @param   executor    The executor which writes the journal.
+     */
+    private SessionJournal(File file, Session session, Executor executor)
+    {
+        this.file = file;
+        this.session = session;
+        this.executor = executor;
+        crc = new CRC32();
+        syncTimer = new Timer(SYNC_INTERVAL, e -> sync());
+        syncTimer.setRepeats(false);
+    }
+
+    /**
+     * Return the journal file of a session with a given filename.
+     *
+     * @param   directory   The directory the journal is kept in.
+     * @param   filename    The filename of the session, or null if it
+     *                      has not been saved yet.
+     * @return              The journal file.
+     */
+    public static File getFile(File directory, String filename)
+    {
+        return new File(directory, ((filename != null) ? filename : UNTITLED_NAME) + EXTENSION);
+    }
+
+    /**
+     * Start a journal for a given session in a given file, replacing any
+     * journal already there with a snapshot of the session. The journal
+     * is written by a given executor, which must run its tasks one at a
+     * time & in order, such as a single thread.
+     *
+     * @param   file        The journal file.
+     * @param   session     The session.
+     * @param   executor    The executor which writes the journal.
+     * @return              The journal, open for appending.
+     *
+     * @throws              IOException
+     */
+    public static SessionJournal create(File file, Session session, Executor executor) throws IOException
+    {
+        SessionJournal journal = new SessionJournal(file, session, executor);
+        journal.writeSnapshot(session.isSaved());
+
+        return journal;
+    }
+
+    /**
+     * Recover a session from the journal in a given file, if it holds any
+     * progress since the session was last saved, by replaying its records
+     * onto its snapshot.
+     *
+     * @param   file    The journal file.
+     * @return          The recovered session, which is marked as not
+     *                  saved, or null if there is no journal or it holds
+     *                  no unsaved progress.
+     *
+     * @throws          IOException
+     * @throws          CorruptedSessionException
+     */
+    public static Session recover(File file) throws IOException, CorruptedSessionException
+    {
+        if (!file.exists()) {
+            return null;
+        }
+
+        // Read the header & snapshot.
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new CorruptedSessionException("Journal file has an invalid header");
+        }
+        else if (buffer.getShort() != VERSION) {
+            throw new CorruptedSessionException("Journal file has an unsupported version");
+        }
+
+        boolean saved = buffer.get() != 0;
+        buffer.get();
+        int snapshotLength = buffer.getInt();
+        if (snapshotLength < 0 || snapshotLength > buffer.remaining()) {
+            throw new CorruptedSessionException("Journal file has an invalid snapshot");
+        }
+
+        Session session = SessionFile.read(Channels.newChannel(new ByteArrayInputStream(buffer.array(), buffer.position(), snapshotLength)));
+        buffer.position(buffer.position() + snapshotLength);
+
+        // Replay each whole record that is intact & fits the game, stopping at the first that does not.
+        int replayedCount = 0;
+        CRC32 crc = new CRC32();
+        while (buffer.remaining() >= RECORD_SIZE) {
+            crc.reset();
+            crc.update(buffer.array(), buffer.position(), RECORD_SIZE - 4);
+
+            int type = buffer.get();
+            int pid = buffer.get();
+            int value = buffer.getShort() & 0xFFFF;
+            LocalDateTime date = toDate(buffer.getLong());
+            if (buffer.getInt() != (int) crc.getValue() || !replay(session, type, pid, value, date)) {
+                break;
+            }
+
+            replayedCount++;
+        }
+
+        if (saved && replayedCount == 0) {
+            return null;
+        }
+
+        session.setSaved(false);
+        return session;
+    }
+
+    /**
+     * Apply a given record to a given session.
+     *
+     * @param   session     The session.
+     * @param   type        The record type.
+     * @param   pid         The player ID of the turn.
+     * @param   value       The square index of the move, or the board size
+     *                      of a new game.
+     * @param   date        The date of the turn or new game.
+     * @return              True if the record was applied, or false if it
+     *                      does not fit the session.
+     */
+    private static boolean replay(Session session, int type, int pid, int value, LocalDateTime date)
+    {
+        if (type == NEW_GAME) {
+            try {
+                session.createGame(value, date);
+                return true;
+            }
+            catch (IllegalArgumentException ex) {
+                return false;
+            }
+        }
+
+        // A turn must be played by the current player of an active game.
+        Game game = session.getCurrentGame();
+        if (!session.isGameActive() || game.getCurrentPlayer().getID() != pid) {
+            return false;
+        }
+
+        if (type == MOVE) {
+            try {
+                game.getBoard().makeMove(value, pid);
+            }
+            catch (IllegalMoveException ex) {
+                return false;
+            }
+        }
+        else if (type != PASS || game.hasLegalMove()) {
+            return false;
+        }
+
+        game.nextTurn(date);
+        return true;
+    }
+
+    /**
+     * Return a given date in nanoseconds since the epoch, taking the
+     * date to be in UTC, as the session file does.
+     *
+     * @param   date    The date.
+     * @return          The nanoseconds since the epoch.
+     */
+    private static long toNanos(LocalDateTime date)
+    {
+        return date.toEpochSecond(ZoneOffset.UTC) * NANOS_PER_SECOND + date.getNano();
+    }
+
+    /**
+     * Return the date a given number of nanoseconds after the epoch,
+     * in UTC.
+     *
+     * @param   nanos   The nanoseconds since the epoch.
+     * @return          The date.
+     */
+    private static LocalDateTime toDate(long nanos)
+    {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND), (int) Math.floorMod(nanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    /**
+     * Return the journal file.
+     *
+     * @return      The journal file.
+     */
+    public File getFile()
+    {
+        return file;
+    }
+
+    /**
+     * Return the error which stopped the journal.
+     *
+     * @return      The error, or null if the journal is working.
+     */
+    public IOException getFailure()
+    {
+        return failure;
+    }
+
+    /**
+     * Record that a game of a given board size has been created.
+     *
+     * @param   boardSize   The board size.
+     * @param   startDate   The start date of the game.
+     */
+    public void appendNewGame(int boardSize, LocalDateTime startDate)
+    {
+        append(NEW_GAME, 0, boardSize, startDate);
+
+        // A new game is a natural point to make sure the journal has reached the disk.
+        sync();
+    }
+
+    /**
+     * Record a turn played by a given player ID.
+     *
+     * @param   pid     The player ID.
+     * @param   move    The square index of the move, or SearchResult.PASS.
+     * @param   date    The date of the turn.
+     */
+    public void appendTurn(int pid, int move, LocalDateTime date)
+    {
+        if (move == SearchResult.PASS) {
+            append(PASS, pid, 0, date);
+        }
+        else {
+            append(MOVE, pid, move, date);
+        }
+    }
+
+    /**
+     * Replace the journal with a snapshot of the session once it has
+     * been saved, such that there is nothing left to recover. The
+     * snapshot is marked as saved unless the session has been played on
+     * since the save began.
+     */
+    public void markSaved()
+    {
+        if (isStopped()) {
+            return;
+        }
+
+        try {
+            writeSnapshot(session.isSaved());
+        }
+        catch (IOException ex) {
+            failure = ex;
+            close();
+        }
+    }
+
+    /**
+     * Force every record written so far to the disk.
+     */
+    public void sync()
+    {
+        syncTimer.stop();
+        if (isStopped() || unsyncedCount == 0) {
+            return;
+        }
+
+        unsyncedCount = 0;
+        executor.execute(() -> force());
+    }
+
+    /**
+     * Close the journal & delete its file, once the session no longer
+     * needs recovering: When it has been saved, or its progress has
+     * been given up.
+     */
+    public void delete()
+    {
+        close();
+        executor.execute(() -> file.delete());
+    }
+
+    /**
+     * Close the journal, leaving its file in place.
+     */
+    public void close()
+    {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        syncTimer.stop();
+        executor.execute(() -> closeChannel());
+    }
+
+    /**
+     * Return whether the journal has been closed or stopped by an error.
+     *
+     * @return      True if nothing more is written to the journal,
+     *              else false.
+     */
+    private boolean isStopped()
+    {
+        return closed || failure != null;
+    }
+
+    /**
+     * Write a record, forcing the journal to the disk when enough
+     * records are waiting or starting the timer which forces it, &
+     * compacting it when enough have built up.
+     * Records are only written at points where the session is
+     * consistent, such that it can be snapshotted.
+     *
+     * @param   type    The record type.
+     * @param   pid     The player ID, or 0.
+     * @param   value   The square index or board size.
+     * @param   date    The date of the turn or new game.
+     */
+    private void append(int type, int pid, int value, LocalDateTime date)
+    {
+        if (isStopped()) {
+            return;
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        record.put((byte) type);
+        record.put((byte) pid);
+        record.putShort((short) value);
+        record.putLong(toNanos(date));
+        crc.reset();
+        crc.update(record.array(), 0, RECORD_SIZE - 4);
+        record.putInt((int) crc.getValue());
+        record.flip();
+
+        executor.execute(() -> write(record));
+        recordCount++;
+        unsyncedCount++;
+
+        // The records being compacted are progress since the session was saved.
+        if (recordCount >= COMPACTION_RECORD_COUNT) {
+            try {
+                writeSnapshot(false);
+            }
+            catch (IOException ex) {
+                failure = ex;
+                close();
+            }
+            return;
+        }
+
+        if (unsyncedCount >= SYNC_RECORD_COUNT) {
+            sync();
+        }
+        else if (!syncTimer.isRunning()) {
+            syncTimer.start();
+        }
+    }
+
+    /**
+     * Replace the journal with a snapshot of the session & no records.
+     * The snapshot is taken now, & then written to a temporary file
+     * which is forced to the disk & moved over the journal.
+     *
+     * @param   saved   True if the snapshot is the session as it was last
+     *                  saved, else false.
+     *
+     * @throws          IOException
+     */
+    private void writeSnapshot(boolean saved) throws IOException
+    {
+        byte[] snapshot = SessionFile.toBytes(session);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.putShort((short) VERSION);
+        header.put((byte) (saved ? 1 : 0));
+        header.put((byte) 0);
+        header.putInt(snapshot.length);
+        header.flip();
+
+        executor.execute(() -> replace(header, ByteBuffer.wrap(snapshot)));
+        recordCount = unsyncedCount = 0;
+        syncTimer.stop();
+    }
+
+    /* * * * * * * * * * * * Executor Tasks * * * * * * * * * * * */
+
+    /**
+     * Write a given record to the end of the journal.
+     *
+     * @param   record  The record.
+     */
+    private void write(ByteBuffer record)
+    {
+        if (channel == null) {
+            return;
+        }
+
+        try {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+        }
+        catch (IOException ex) {
+            fail(ex);
+        }
+    }
+
+    /**
+     * Force the journal to the disk.
+     */
+    private void force()
+    {
+        if (channel == null) {
+            return;
+        }
+
+        try {
+            channel.force(false);
+        }
+        catch (IOException ex) {
+            fail(ex);
+        }
+    }
+
+    /**
+     * Replace the journal with a given header & snapshot, through a
+     * temporary file, reopening the journal for appending.
+     *
+     * @param   header      The header.
+     * @param   snapshot    The snapshot.
+     */
+    private void replace(ByteBuffer header, ByteBuffer snapshot)
+    {
+        if (failure != null) {
+            return;
+        }
+
+        // Write the new journal beside the old one.
+        File tempFile = new File(file.getPath() + ".tmp");
+        try {
+            try (FileChannel tempChannel = FileChannel.open(tempFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                while (header.hasRemaining() || snapshot.hasRemaining()) {
+                    tempChannel.write(new ByteBuffer[] { header, snapshot });
+                }
+                tempChannel.force(false);
+            }
+
+            // Replace the old journal.
+            closeChannel();
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        catch (IOException ex) {
+            tempFile.delete();
+            fail(ex);
+        }
+    }
+
+    /**
+     * Close the journal channel, if it is open.
+     */
+    private void closeChannel()
+    {
+        if (channel == null) {
+            return;
+        }
+
+        try {
+            channel.close();
+        }
+        catch (IOException ex) {
+            failure = ex;
+        }
+        channel = null;
+    }
+
+    /**
+     * Stop the journal after a given error, leaving its file in place
+     * for whatever it holds to be recovered.
+     *
+     * @param   ex      The error.
+     */
+    private void fail(IOException ex)
+    {
+        failure = ex;
+        closeChannel();
+    }
+}
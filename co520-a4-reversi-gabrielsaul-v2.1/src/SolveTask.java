@@ -0,0 +1,113 @@
+import javax.swing.SwingWorker;
+
+/**
+ * Class:       SolveTask
+ * Category:    Game Logic
+ * Superclass:  SwingWorker
+ * Summary:     This class solves the current position of a two-player game in the background, such that the frame
+ *              keeps painting while the endgame solver works. The task is handed a copy of the game's position, &
+ *              the outcome is handed back on the event dispatch thread through done, where get returns the result
+ *              of the solve (or null if it could not be solved in time).
+ *
+ *              Stopping the task cancels it & stops the solver, which returns within moments. A solver solves one
+ *              position at a time, so tasks sharing a solver must be run one at a time, such as by a single thread.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class SolveTask extends SwingWorker<SearchResult, Void>
+{
+    /* * * * * * * * * * * * Instance Variables * * * * * * * * * * * */
+
+    // The solver which solves the position.
+    private final EndgameSolver solver;
+
+    // The game the position is solved for.
+    private final Game game;
+
+    // A copy of the position solved.
+    private final Board board;
+
+    // The time budget, in milliseconds.
+    private final long timeBudget;
+
+    // Whether or not the task has been stopped: Guarded by the task.
+    private boolean stopped;
+
+    /**
+     * (1) Constructor of SolveTask objects: Solve the current position of
+     * a given game, which must have two players, for the player to move.
+     *
+     * @param   solver          The endgame solver.
+     * @param   game            The game.
+     * @param   timeBudget      The time budget, in milliseconds.
+     *
+     * @throws                  IllegalArgumentException
+     */
+    public SolveTask(EndgameSolver solver, Game game, long timeBudget) throws IllegalArgumentException
+    {
+        // Validate arguments.
+        if (game.getPlayers().length != EndgameSolver.PLAYER_COUNT) {
+            throw new IllegalArgumentException("Game without two players passed to SolveTask constructor");
+        }
+        else if (timeBudget <= 0) {
+            throw new IllegalArgumentException("Invalid time budget passed to SolveTask constructor");
+        }
+
+        this.solver = solver;
+        this.game = game;
+        board = new Board(game.getBoard());
+        this.timeBudget = timeBudget;
+    }
+
+    /**
+     * Return the game the position is solved for.
+     *
+     * @return      The game.
+     */
+    public Game getGame()
+    {
+        return game;
+    }
+
+    /**
+     * Return the hash of the position solved.
+     *
+     * @return      The hash of the position.
+     */
+    public long getHash()
+    {
+        return board.hash();
+    }
+
+    /**
+     * Cancel the task & stop the solver, if it has begun.
+     */
+    public synchronized void stop()
+    {
+        stopped = true;
+        cancel(false);
+        solver.stop();
+    }
+
+    /**
+     * Solve the position exactly, unless the task was stopped before it
+     * began.
+     *
+     * @return      The result of the solve, or null if the position could
+     *              not be solved in time.
+     */
+    @Override
+    protected SearchResult doInBackground()
+    {
+        // Let the solver run again, unless the task has already been stopped.
+        synchronized (this) {
+            if (stopped) {
+                return null;
+            }
+            solver.resume();
+        }
+
+        return solver.solve(board, true, timeBudget);
+    }
+}
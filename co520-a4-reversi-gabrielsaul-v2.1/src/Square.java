@@ -1,5 +1,4 @@
 import java.io.Serializable;
-import java.util.HashSet;
 
 /**
  * Class:       Square
@@ -8,8 +7,8 @@ import java.util.HashSet;
  * Summary:     This class represents a square on the board: A 2-tuple, containing 
  *              an x-coordinate and a y-coordinate. It also contains numerical data 
  *              about which player currently occupies the position in the form of
- *              a stored player ID. Additionally, it contains a set of filled
- *              adjacent squares.
+ *              a stored player ID. The Board holds its state by square index,
+ *              so squares are only created for display.
  *              
  *              NOTE: Squares are initialized to store 0 as the default pid. This will be
  *                    used to represent an "empty" square. Any other positive value is
@@ -20,6 +19,9 @@ import java.util.HashSet;
  */
 public class Square implements Serializable
 {   
+    // The original serial version, such that square matrices in old session files can be read.
+    private static final long serialVersionUID = 4129094434515805293L;
+
     // The x-coordinate: Publicly accessible.
     public final int x;
     
@@ -28,9 +30,6 @@ public class Square implements Serializable
     
     // The player ID held at this position.
     private int pid;
-    
-    // All filled adjacent squares.
-    HashSet<Square> filledAdjacents;
 
     /**
      * (1) Constructor of Square objects
@@ -45,8 +44,6 @@ public class Square implements Serializable
         
         // Initially empty.
         pid = 0;
-        
-        filledAdjacents = new HashSet<>();
     }
     
     /**
@@ -59,16 +56,6 @@ public class Square implements Serializable
         return pid;
     }
     
-    /**
-     * Return the filled adjacent squares from this square.
-     * 
-     * @return      The filled adjacent squares.
-     */
-    public HashSet<Square> getFilledAdjacents()
-    {
-        return filledAdjacents;
-    }
-    
     /**
      * Set the player ID held at this position.
      * 
@@ -78,17 +65,4 @@ public class Square implements Serializable
     {
         this.pid = pid;
     }
-    
-    /**
-     * Add a filled adjacent square, or do nothing if the given
-     * square is null.
-     * 
-     * @param   square      The filled adjacent square to add.
-     */
-    public void addFilledAdjacent(Square square)
-    {
-        if (square != null) {
-            filledAdjacents.add(square);
-        }
-    }
 }
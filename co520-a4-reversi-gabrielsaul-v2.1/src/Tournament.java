@@ -0,0 +1,419 @@
+import java.awt.Color;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Class:       Tournament
+ * Category:    Game Logic
+ * Summary:     This class plays a number of games of Reversi between two entrants without the Swing frame, using
+ *              Game & Board directly, on a pool of threads (one for each processor by default). Each game is
+ *              played with its own players, and each pool thread keeps the search & endgame solver of each search
+ *              entrant between its games, so no state is shared between threads, and the entrants take turns to
+ *              move first. The entrants are:
+ *
+ *                  random          Plays a random legal move.
+ *                  greedy          Plays the legal move which flanks the most squares, breaking ties randomly.
+ *                  search[:ms]     A ComputerPlayer searching with one thread, for a time budget in milliseconds.
+ *
+ *              Each result is written to an optional result stream as it arrives: A header (the magic number,
+ *              format version, board size, game count & both entrants) followed by a fixed-size record for each
+ *              game (see MatchResult). The wins of each entrant, the games played per second and the percentiles
+ *              of each entrant's time to move are reported at the end.
+ *
+ *              Usage: java Tournament <entrant> <entrant> [games] [board size] [threads] [result file]
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class Tournament
+{
+    /* * * * * * * * * * * * Class Variables * * * * * * * * * * * */
+
+    // The magic number & format version at the start of the result stream.
+    public static final int RESULT_MAGIC = 0x52565452;
+    public static final int RESULT_VERSION = 2;
+
+    // The entrant types.
+    private static final int RANDOM = 0;
+    private static final int GREEDY = 1;
+    private static final int SEARCH = 2;
+
+    // The default tournament settings.
+    private static final int DEFAULT_GAME_COUNT = 100;
+    private static final int DEFAULT_BOARD_SIZE = 8;
+    private static final long DEFAULT_SEARCH_TIME_BUDGET = 100;
+
+    // The seed for the random & greedy entrants, offset by the game index.
+    private static final long SEED = 2021;
+
+    // The percentiles of the time to move reported.
+    private static final double[] PERCENTILES = { 50, 90, 99, 100 };
+
+    // The disk color names & colors of the first & second player.
+    private static final String[] DISK_COLOR_NAMES = { "Black", "White" };
+    private static final Color[] DISK_COLORS = { Color.BLACK, Color.WHITE };
+
+    /* * * * * * * * * * * * Instance Variables * * * * * * * * * * * */
+
+    // The specification, type & search time budget of each entrant.
+    private final String[] entrants;
+    private final int[] types;
+    private final long[] timeBudgets;
+
+    // The board size.
+    private final int boardSize;
+
+    // The search & endgame solver of each search entrant on each pool thread, kept between the thread's games.
+    private final ThreadLocal<ParallelSearch[]> searches;
+    private final ThreadLocal<EndgameSolver[]> solvers;
+
+    /**
+     * (1) Constructor of Tournament objects
+     *
+     * @param   entrants    The specifications of the two entrants.
+     * @param   boardSize   The board size.
+     *
+     * @throws              IllegalArgumentException
+     */
+    public Tournament(String[] entrants, int boardSize) throws IllegalArgumentException
+    {
+        // Validate arguments.
+        if (entrants.length != 2) {
+            throw new IllegalArgumentException("Invalid number of entrants passed to Tournament constructor");
+        }
+        else if (boardSize < entrants.length || boardSize % entrants.length != 0 || (long) boardSize * boardSize > MatchResult.MAX_SQUARE_COUNT) {
+            throw new IllegalArgumentException("Invalid board size passed to Tournament constructor");
+        }
+
+        this.entrants = entrants.clone();
+        this.boardSize = boardSize;
+        types = new int[entrants.length];
+        timeBudgets = new long[entrants.length];
+        searches = ThreadLocal.withInitial(() -> new ParallelSearch[entrants.length]);
+        solvers = ThreadLocal.withInitial(() -> new EndgameSolver[entrants.length]);
+
+        // Parse each entrant specification.
+        for (int i = 0; i < entrants.length; i++) {
+            String[] parts = entrants[i].split(":");
+            switch (parts[0]) {
+                case "random":
+                    types[i] = RANDOM;
+                    break;
+                case "greedy":
+                    types[i] = GREEDY;
+                    break;
+                case "search":
+                    types[i] = SEARCH;
+                    timeBudgets[i] = (parts.length > 1) ? Long.parseLong(parts[1]) : DEFAULT_SEARCH_TIME_BUDGET;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown entrant passed to Tournament constructor: " + entrants[i]);
+            }
+        }
+    }
+
+    /**
+     * Run a tournament.
+     *
+     * @param   args    The two entrants, then the number of games, the
+     *                  board size, the thread count & the result file,
+     *                  each of which is optional.
+     *
+     * @throws          IOException
+     * @throws          InterruptedException
+     */
+    public static void main(String[] args) throws IOException, InterruptedException
+    {
+        // Keep AWT from ever opening a display.
+        System.setProperty("java.awt.headless", "true");
+
+        if (args.length < 2) {
+            System.err.println("Usage: java Tournament <entrant> <entrant> [games] [board size] [threads] [result file]");
+            System.err.println("Entrants: random, greedy, search[:ms]");
+            System.exit(1);
+        }
+
+        // Read the settings.
+        int gameCount = (args.length > 2) ? Integer.parseInt(args[2]) : DEFAULT_GAME_COUNT;
+        int boardSize = (args.length > 3) ? Integer.parseInt(args[3]) : DEFAULT_BOARD_SIZE;
+        int threadCount = (args.length > 4) ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        String resultFile = (args.length > 5) ? args[5] : null;
+
+        Tournament tournament = new Tournament(new String[] { args[0], args[1] }, boardSize);
+        if (resultFile == null) {
+            tournament.play(gameCount, threadCount, null);
+        }
+        else {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(resultFile)))) {
+                tournament.play(gameCount, threadCount, output);
+            }
+        }
+    }
+
+    /**
+     * Play a given number of games on a given number of threads, writing
+     * each result to a given stream as it arrives & reporting the totals.
+     *
+     * @param   gameCount       The number of games.
+     * @param   threadCount     The number of threads to play on.
+     * @param   output          The result stream, or null for none.
+     *
+     * @throws                  IllegalArgumentException
+     * @throws                  IOException
+     * @throws                  InterruptedException
+     */
+    public void play(int gameCount, int threadCount, DataOutputStream output) throws IllegalArgumentException, IOException, InterruptedException
+    {
+        // Validate arguments.
+        if (gameCount < 1 || threadCount < 1) {
+            throw new IllegalArgumentException("Invalid game or thread count passed to play");
+        }
+
+        // Write the header of the result stream.
+        if (output != null) {
+            output.writeInt(RESULT_MAGIC);
+            output.writeInt(RESULT_VERSION);
+            output.writeInt(boardSize);
+            output.writeInt(gameCount);
+            for (String entrant : entrants) {
+                output.writeUTF(entrant);
+            }
+        }
+
+        System.out.printf("Playing %d games of %s vs %s on a %d x %d board with %d threads%n",
+            gameCount, entrants[0], entrants[1], boardSize, boardSize, threadCount);
+
+        // Submit every game to the pool.
+        long startTime = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        ExecutorCompletionService<MatchResult> completion = new ExecutorCompletionService<MatchResult>(executor);
+        for (int i = 0; i < gameCount; i++) {
+            int gameIndex = i;
+            completion.submit(() -> playGame(gameIndex));
+        }
+
+        // Collect the results as they arrive.
+        int[] wins = new int[entrants.length];
+        long[] totalScores = new long[entrants.length];
+        long[][] latencies = new long[entrants.length][0];
+        int[] latencyCounts = new int[entrants.length];
+        int draws = 0;
+        try {
+            for (int i = 0; i < gameCount; i++) {
+                MatchResult result;
+                try {
+                    result = completion.take().get();
+                }
+                catch (ExecutionException ex) {
+                    throw new IllegalStateException("Tournament game failed", ex.getCause());
+                }
+
+                if (output != null) {
+                    output.write(result.toRecord());
+                }
+
+                // Count the win or draw & merge the times to move.
+                int difference = result.getScore(0) - result.getScore(1);
+                if (difference == 0) {
+                    draws++;
+                }
+                else {
+                    wins[difference > 0 ? 0 : 1]++;
+                }
+
+                for (int entrant = 0; entrant < entrants.length; entrant++) {
+                    totalScores[entrant] += result.getScore(entrant);
+
+                    int count = result.getLatencyCount(entrant);
+                    if (latencyCounts[entrant] + count > latencies[entrant].length) {
+                        latencies[entrant] = Arrays.copyOf(latencies[entrant], Math.max(2 * latencies[entrant].length, latencyCounts[entrant] + count));
+                    }
+                    System.arraycopy(result.getLatencies(entrant), 0, latencies[entrant], latencyCounts[entrant], count);
+                    latencyCounts[entrant] += count;
+                }
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        long elapsedTime = System.nanoTime() - startTime;
+
+        // Report the results, the games per second & the percentiles of the time to move.
+        System.out.printf("%d games in %.2f s (%.2f games/s), %d draws%n",
+            gameCount, elapsedTime / 1e9, gameCount * 1e9 / elapsedTime, draws);
+        for (int entrant = 0; entrant < entrants.length; entrant++) {
+            long[] sorted = Arrays.copyOf(latencies[entrant], latencyCounts[entrant]);
+            Arrays.sort(sorted);
+
+            StringBuilder percentiles = new StringBuilder();
+            for (double percentile : PERCENTILES) {
+                percentiles.append(String.format(" p%.0f %.3f ms", percentile, getPercentile(sorted, percentile) / 1e6));
+            }
+
+            System.out.printf("%-12s %5d wins, %.1f disks/game, time to move:%s%n",
+                entrants[entrant], wins[entrant], (double) totalScores[entrant] / gameCount, percentiles);
+        }
+    }
+
+    /**
+     * Play a single game of the tournament, in which the entrants take
+     * turns to move first by game index.
+     *
+     * @param   gameIndex   The index of the game.
+     * @return              The result of the game.
+     */
+    private MatchResult playGame(int gameIndex)
+    {
+        int firstEntrant = gameIndex % 2;
+        Random random = new Random(SEED + gameIndex);
+
+        // Create the players, seated in the order they move, giving each search entrant this thread's engines for it.
+        int[] seatEntrants = { firstEntrant, 1 - firstEntrant };
+        Player[] players = new Player[seatEntrants.length];
+        for (int seat = 0; seat < players.length; seat++) {
+            int entrant = seatEntrants[seat];
+            String name = entrants[entrant];
+            if (types[entrant] == SEARCH) {
+                ComputerPlayer player = new ComputerPlayer(name, DISK_COLOR_NAMES[seat], DISK_COLORS[seat], timeBudgets[entrant], 1);
+                player.setEngines(getSearch(entrant), getSolver(entrant));
+                players[seat] = player;
+            }
+            else {
+                players[seat] = new Player(name, DISK_COLOR_NAMES[seat], DISK_COLORS[seat]);
+            }
+            players[seat].setID(seat + 1);
+        }
+
+        Game game = new Game(players, boardSize);
+        Board board = game.getBoard();
+        int[] moves = new int[boardSize * boardSize], flankedSquares = new int[boardSize * boardSize];
+        long[][] latencies = new long[entrants.length][boardSize * boardSize];
+        int[] latencyCounts = new int[entrants.length];
+        int moveCount = 0;
+
+        // Play until the game is finished, passing whenever the current player has no legal move.
+        while (!game.isFinished()) {
+            if (game.hasLegalMove()) {
+                int seat = game.getCurrentPlayer().getID() - 1;
+                int entrant = seatEntrants[seat];
+
+                long moveStartTime = System.nanoTime();
+                int move = game.isComputerTurn() ? ((ComputerPlayer) game.getCurrentPlayer()).chooseMove(board) : chooseMove(types[entrant], board, seat + 1, moves, flankedSquares, random);
+                latencies[entrant][latencyCounts[entrant]++] = System.nanoTime() - moveStartTime;
+
+                try {
+                    board.makeMove(move, seat + 1);
+                }
+                catch (IllegalMoveException ex) {
+                    throw new IllegalStateException("Illegal move chosen by " + entrants[entrant], ex);
+                }
+                moveCount++;
+            }
+
+            game.nextTurn();
+        }
+
+        int[] scores = new int[entrants.length];
+        for (int seat = 0; seat < players.length; seat++) {
+            scores[seatEntrants[seat]] = board.getScore(seat + 1);
+        }
+
+        return new MatchResult(gameIndex, firstEntrant, scores, moveCount, latencies, latencyCounts);
+    }
+
+    /**
+     * Return the current thread's search for a given search entrant,
+     * creating it for the thread's first game, such that its table is
+     * neither reallocated for each game nor allocated while a move is
+     * being timed.
+     *
+     * @param   entrant     The entrant number.
+     * @return              The search.
+     */
+    private ParallelSearch getSearch(int entrant)
+    {
+        ParallelSearch[] threadSearches = searches.get();
+        if (threadSearches[entrant] == null) {
+            threadSearches[entrant] = new ParallelSearch(1, SearchEngine.DEFAULT_TABLE_SIZE);
+        }
+
+        return threadSearches[entrant];
+    }
+
+    /**
+     * Return the current thread's endgame solver for a given search
+     * entrant, creating it for the thread's first game.
+     *
+     * @param   entrant     The entrant number.
+     * @return              The endgame solver.
+     */
+    private EndgameSolver getSolver(int entrant)
+    {
+        EndgameSolver[] threadSolvers = solvers.get();
+        if (threadSolvers[entrant] == null) {
+            threadSolvers[entrant] = new EndgameSolver();
+        }
+
+        return threadSolvers[entrant];
+    }
+
+    /**
+     * Choose a move for a random or greedy entrant, which has a legal move.
+     *
+     * @param   type            The entrant type.
+     * @param   board           The board.
+     * @param   pid             The player ID to move.
+     * @param   moves           The buffer for the legal moves.
+     * @param   flankedSquares  The buffer for the flanked squares.
+     * @param   random          The random number generator.
+     * @return                  The square index of the chosen move.
+     */
+    private static int chooseMove(int type, Board board, int pid, int[] moves, int[] flankedSquares, Random random)
+    {
+        int moveCount = board.getLegalMoves(pid, moves);
+
+        // Keep only the moves flanking the most squares, if greedy.
+        if (type == GREEDY) {
+            int bestCount = 0, bestFlankedCount = 0;
+            for (int i = 0; i < moveCount; i++) {
+                int flankedCount = board.getFlankedSquares(moves[i], pid, flankedSquares);
+                if (flankedCount > bestFlankedCount) {
+                    bestFlankedCount = flankedCount;
+                    bestCount = 0;
+                }
+                if (flankedCount == bestFlankedCount) {
+                    moves[bestCount++] = moves[i];
+                }
+            }
+            moveCount = bestCount;
+        }
+
+        return moves[random.nextInt(moveCount)];
+    }
+
+    /**
+     * Return a given percentile of a sorted array of times.
+     *
+     * @param   sorted      The sorted times.
+     * @param   percentile  The percentile, from 0 to 100.
+     * @return              The time at the percentile, or 0 if there are
+     *                      no times.
+     */
+    private static long getPercentile(long[] sorted, double percentile)
+    {
+        if (sorted.length == 0) {
+            return 0;
+        }
+
+        int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
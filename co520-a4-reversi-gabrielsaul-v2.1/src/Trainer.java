@@ -0,0 +1,305 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Class:       Trainer
+ * Category:    Game Logic
+ * Summary:     This class fits the weights of a PatternEvaluator to the positions of a .rvsp position file written
+ *              by SelfPlay, by least squares: Each position's evaluation for the player to move is fitted to the
+ *              final disk difference of its game, from that player's point of view.
+ *
+ *              The file is memory-mapped in shards of consecutive chunks, so it is read by the operating system's
+ *              cache rather than copied onto the heap, & every position is mapped to its pattern indices afresh on
+ *              each pass. A pass sums the error of every position over the shards on a fork-join pool (see
+ *              TrainingTask), then steps each weight by its sum of errors over the positions using it, such that a
+ *              pattern seen rarely is stepped as far as one seen often. Every HELD_OUT_INTERVAL-th block of games
+ *              is held out of the fitting, to show how well the weights fit games they have not seen.
+ *
+ *              The error & the positions read per second are reported after each pass, & the weights are written
+ *              as a .rvsw weights file once every pass is done.
+ *
+ *              Usage: java Trainer <position file> <weights file> [passes] [threads] [learning rate]
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class Trainer
+{
+    /* * * * * * * * * * * * Class Variables * * * * * * * * * * * */
+
+    // The default training settings.
+    private static final int DEFAULT_PASS_COUNT = 30;
+    private static final double DEFAULT_LEARNING_RATE = 0.1;
+
+    // The number of positions a weight is assumed to have been seen in at its current value, damping the steps of
+    // weights which are seen rarely.
+    private static final double PRIOR_COUNT = 8;
+
+    // The interval between blocks of games held out of the fitting.
+    private static final int HELD_OUT_INTERVAL = 16;
+
+    // The largest shard mapped, in bytes, & the number of leaf tasks for each thread of the pool.
+    private static final long SHARD_SIZE = 16L << 20;
+    private static final int TASKS_PER_THREAD = 4;
+
+    /* * * * * * * * * * * * Instance Variables * * * * * * * * * * * */
+
+    // The description of the position file.
+    private final PositionFile positionFile;
+
+    // The mapping of each shard, & its offset in the file.
+    private final MappedByteBuffer[] shards;
+    private final long[] shardOffsets;
+
+    // The first chunk of each shard, followed by the chunk count.
+    private final int[] shardChunks;
+
+    // The weights being fitted, by stage & feature, in units of 1 / DISK_SCALE of a disk.
+    private final float[][] weights;
+
+    /**
+     * (1) Constructor of Trainer objects: Map the good chunks of a given
+     *     position file in shards, with every weight zero.
+     *
+     * @param   file    The position file.
+     *
+     * @throws          IOException
+     */
+    public Trainer(File file) throws IOException
+    {
+        positionFile = PositionFile.read(file);
+        weights = new float[PatternEvaluator.STAGE_COUNT][PatternEvaluator.FEATURE_COUNT];
+
+        // Divide the chunks into shards of consecutive chunks, each no larger than the shard size unless it is one chunk.
+        int chunkCount = positionFile.getChunkCount(), shardCount = 0;
+        int[] firstChunks = new int[chunkCount + 1];
+        long shardStart = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            long chunkEnd = getChunkEnd(i);
+            if (i == 0 || chunkEnd - shardStart > SHARD_SIZE) {
+                firstChunks[shardCount++] = i;
+                shardStart = positionFile.getRecordOffset(i);
+            }
+        }
+        firstChunks[shardCount] = chunkCount;
+        shardChunks = Arrays.copyOf(firstChunks, shardCount + 1);
+
+        // Map each shard, from the records of its first chunk to the end of its last.
+        shards = new MappedByteBuffer[shardCount];
+        shardOffsets = new long[shardCount];
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            for (int shard = 0; shard < shardCount; shard++) {
+                shardOffsets[shard] = positionFile.getRecordOffset(shardChunks[shard]);
+                long shardEnd = getChunkEnd(shardChunks[shard + 1] - 1);
+                shards[shard] = channel.map(FileChannel.MapMode.READ_ONLY, shardOffsets[shard], shardEnd - shardOffsets[shard]);
+            }
+        }
+    }
+
+    /**
+     * Fit pattern weights to a position file.
+     *
+     * @param   args    The position file & the weights file, then the
+     *                  number of passes, the thread count & the learning
+     *                  rate, each of which is optional.
+     *
+     * @throws          IOException
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length < 2) {
+            System.err.println("Usage: java Trainer <position file> <weights file> [passes] [threads] [learning rate]");
+            System.exit(1);
+        }
+
+        // Read the settings.
+        int passCount = (args.length > 2) ? Integer.parseInt(args[2]) : DEFAULT_PASS_COUNT;
+        int threadCount = (args.length > 3) ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        double learningRate = (args.length > 4) ? Double.parseDouble(args[4]) : DEFAULT_LEARNING_RATE;
+
+        Trainer trainer = new Trainer(new File(args[0]));
+        trainer.train(passCount, threadCount, learningRate);
+        trainer.createEvaluator().write(new File(args[1]));
+    }
+
+    /**
+     * Fit the weights over a given number of passes on a given number of
+     * threads, reporting the error & throughput of each pass.
+     *
+     * @param   passCount       The number of passes over the positions.
+     * @param   threadCount     The number of threads to read positions on.
+     * @param   learningRate    The fraction of each weight's step taken,
+     *                          from 0 to 1.
+     *
+     * @throws                  IllegalArgumentException
+     */
+    public void train(int passCount, int threadCount, double learningRate) throws IllegalArgumentException
+    {
+        // Validate arguments.
+        if (passCount < 1 || threadCount < 1) {
+            throw new IllegalArgumentException("Invalid pass or thread count passed to train");
+        }
+        else if (!(learningRate > 0 && learningRate <= 1)) {
+            throw new IllegalArgumentException("Invalid learning rate passed to train");
+        }
+
+        System.out.printf("Fitting %d positions in %d shards over %d passes with %d threads%n",
+            positionFile.getPositionCount(), shards.length, passCount, threadCount);
+
+        int leafShardCount = (shards.length + threadCount * TASKS_PER_THREAD - 1) / (threadCount * TASKS_PER_THREAD);
+        ForkJoinPool pool = new ForkJoinPool(threadCount);
+        try {
+            long startTime = System.nanoTime();
+            for (int pass = 1; pass <= passCount; pass++) {
+                // Sum the error of the current weights over every shard.
+                long passStartTime = System.nanoTime();
+                TrainingTask task = new TrainingTask(this, 0, shards.length, leafShardCount);
+                pool.invoke(task);
+                long passTime = System.nanoTime() - passStartTime;
+
+                // Step each weight which has been seen by its share of the error.
+                if (task.getErrorSums() != null) {
+                    for (int stage = 0; stage < weights.length; stage++) {
+                        double[] errorSums = task.getErrorSums()[stage], squareSums = task.getSquareSums()[stage];
+                        for (int feature = 0; feature < weights[stage].length; feature++) {
+                            if (squareSums[feature] > 0) {
+                                weights[stage][feature] += (float) (learningRate * errorSums[feature] / (squareSums[feature] + PRIOR_COUNT));
+                            }
+                        }
+                    }
+                }
+
+                // Report the root mean square errors, in disks, & the positions read per second.
+                double positionCount = task.getLoss(TrainingTask.TRAINING_COUNT) + task.getLoss(TrainingTask.HELD_OUT_COUNT);
+                System.out.printf("Pass %d of %d: error %.3f disks, held out %.3f disks, %.0f positions in %.2f s (%.0f positions/s)%n",
+                    pass, passCount,
+                    getRootMeanSquare(task.getLoss(TrainingTask.TRAINING_ERROR), task.getLoss(TrainingTask.TRAINING_COUNT)),
+                    getRootMeanSquare(task.getLoss(TrainingTask.HELD_OUT_ERROR), task.getLoss(TrainingTask.HELD_OUT_COUNT)),
+                    positionCount, passTime / 1e9, positionCount * 1e9 / Math.max(passTime, 1));
+            }
+
+            System.out.printf("%d passes in %.2f s%n", passCount, (System.nanoTime() - startTime) / 1e9);
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Return an evaluator with the fitted weights, rounded & clamped to
+     * the range of a weight.
+     *
+     * @return      The evaluator.
+     */
+    public PatternEvaluator createEvaluator()
+    {
+        short[][] rounded = new short[weights.length][];
+        for (int stage = 0; stage < weights.length; stage++) {
+            rounded[stage] = new short[weights[stage].length];
+            for (int feature = 0; feature < weights[stage].length; feature++) {
+                rounded[stage][feature] = (short) Math.max(Short.MIN_VALUE, Math.min(Math.round(weights[stage][feature]), Short.MAX_VALUE));
+            }
+        }
+
+        return new PatternEvaluator(rounded);
+    }
+
+    /**
+     * Sum the error of the current weights over every position of a given
+     * shard, as a TrainingTask does.
+     *
+     * @param   shard       The shard index.
+     * @param   errorSums   The sums of the error of the training positions
+     *                      using each weight, scaled by the feature's value,
+     *                      by stage & feature.
+     * @param   squareSums  The sums of the square of the feature's value
+     *                      over the same positions, by stage & feature.
+     * @param   losses      The sums of squared errors & position counts
+     *                      (see TrainingTask).
+     */
+    void accumulate(int shard, double[][] errorSums, double[][] squareSums, double[] losses)
+    {
+        MappedByteBuffer buffer = shards[shard];
+        int[] features = new int[PatternEvaluator.PATTERN_COUNT];
+
+        for (int chunk = shardChunks[shard]; chunk < shardChunks[shard + 1]; chunk++) {
+            boolean heldOut = positionFile.getChunkBlock(chunk) % HELD_OUT_INTERVAL == HELD_OUT_INTERVAL - 1;
+            int offset = (int) (positionFile.getRecordOffset(chunk) - shardOffsets[shard]);
+            int end = offset + positionFile.getRecordCount(chunk) * PositionFile.RECORD_SIZE;
+
+            for (; offset < end; offset += PositionFile.RECORD_SIZE) {
+                // Read the position from the point of view of the player to move.
+                long disks1 = buffer.getLong(offset), disks2 = buffer.getLong(offset + 8);
+                boolean firstToMove = buffer.get(offset + 16) == 1;
+                long player = firstToMove ? disks1 : disks2, opponent = firstToMove ? disks2 : disks1;
+                int difference = firstToMove ? buffer.get(offset + 17) : -buffer.get(offset + 17);
+
+                // Evaluate it as PatternEvaluator does.
+                int stage = PatternEvaluator.getStage(player, opponent);
+                int mobility = PatternEvaluator.getMobility(player, opponent);
+                int potentialMobility = PatternEvaluator.getPotentialMobility(player, opponent);
+                PatternEvaluator.getPatternIndices(player, opponent, features);
+
+                float[] stageWeights = weights[stage];
+                double evaluation = stageWeights[PatternEvaluator.MOBILITY] * mobility
+                    + stageWeights[PatternEvaluator.POTENTIAL_MOBILITY] * potentialMobility
+                    + stageWeights[PatternEvaluator.BIAS];
+                for (int feature : features) {
+                    evaluation += stageWeights[feature];
+                }
+
+                double error = difference * PatternEvaluator.DISK_SCALE - evaluation;
+                if (heldOut) {
+                    losses[TrainingTask.HELD_OUT_ERROR] += error * error;
+                    losses[TrainingTask.HELD_OUT_COUNT]++;
+                    continue;
+                }
+                losses[TrainingTask.TRAINING_ERROR] += error * error;
+                losses[TrainingTask.TRAINING_COUNT]++;
+
+                // Add the error to every weight used, scaled by its feature's value.
+                double[] stageErrorSums = errorSums[stage], stageSquareSums = squareSums[stage];
+                for (int feature : features) {
+                    stageErrorSums[feature] += error;
+                    stageSquareSums[feature]++;
+                }
+                stageErrorSums[PatternEvaluator.MOBILITY] += error * mobility;
+                stageSquareSums[PatternEvaluator.MOBILITY] += mobility * mobility;
+                stageErrorSums[PatternEvaluator.POTENTIAL_MOBILITY] += error * potentialMobility;
+                stageSquareSums[PatternEvaluator.POTENTIAL_MOBILITY] += potentialMobility * potentialMobility;
+                stageErrorSums[PatternEvaluator.BIAS] += error;
+                stageSquareSums[PatternEvaluator.BIAS]++;
+            }
+        }
+    }
+
+    /**
+     * Return the offset of the end of a given chunk in the file.
+     *
+     * @param   i   The index of the chunk, in file order.
+     * @return      The offset just after its last record, in bytes.
+     */
+    private long getChunkEnd(int i)
+    {
+        return positionFile.getRecordOffset(i) + (long) positionFile.getRecordCount(i) * PositionFile.RECORD_SIZE;
+    }
+
+    /**
+     * Return the root mean square of a sum of squared errors, in disks.
+     *
+     * @param   squaredError    The sum of squared errors, in evaluation
+     *                          units.
+     * @param   count           The number of errors summed.
+     * @return                  The root mean square error, or 0 if there
+     *                          are no errors.
+     */
+    private static double getRootMeanSquare(double squaredError, double count)
+    {
+        return (count > 0) ? Math.sqrt(squaredError / count) / PatternEvaluator.DISK_SCALE : 0;
+    }
+}
@@ -0,0 +1,133 @@
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Class:       TrainingTask
+ * Category:    Game Logic
+ * Superclass:  RecursiveAction
+ * Summary:     This class sums the error of a Trainer's weights over a range of its shards, on a fork-join pool. A
+ *              range of more than a few shards is split in two, & the halves are summed by separate tasks & merged,
+ *              such that each leaf task sums its shards into arrays of its own without sharing any state with the
+ *              other threads.
+ *
+ *              For each weight, a task sums the error of every training position using it, scaled by the feature's
+ *              value, & the square of that value: The step which fits the weight alone by least squares.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class TrainingTask extends RecursiveAction
+{
+    /* * * * * * * * * * * * Class Variables * * * * * * * * * * * */
+
+    // The indices of the sums of squared errors & position counts, for training & held-out positions.
+    public static final int TRAINING_ERROR = 0;
+    public static final int TRAINING_COUNT = 1;
+    public static final int HELD_OUT_ERROR = 2;
+    public static final int HELD_OUT_COUNT = 3;
+
+    /* * * * * * * * * * * * Instance Variables * * * * * * * * * * * */
+
+    // The trainer whose shards are summed.
+    private final Trainer trainer;
+
+    // The range of shards, from first inclusive to last exclusive.
+    private final int firstShard;
+    private final int lastShard;
+
+    // The most shards summed by one task without splitting.
+    private final int leafShardCount;
+
+    // The sums of the error & of the square of the feature's value for each weight, by stage & feature.
+    private double[][] errorSums;
+    private double[][] squareSums;
+
+    // The sums of squared errors & position counts.
+    private final double[] losses;
+
+    /**
+     * (1) Constructor of TrainingTask objects
+     *
+     * @param   trainer         The trainer.
+     * @param   firstShard      The first shard, inclusive.
+     * @param   lastShard       The last shard, exclusive.
+     * @param   leafShardCount  The most shards summed without splitting.
+     */
+    public TrainingTask(Trainer trainer, int firstShard, int lastShard, int leafShardCount)
+    {
+        this.trainer = trainer;
+        this.firstShard = firstShard;
+        this.lastShard = lastShard;
+        this.leafShardCount = Math.max(leafShardCount, 1);
+        losses = new double[HELD_OUT_COUNT + 1];
+    }
+
+    /**
+     * Return the sums of the error for each weight, once the task is done.
+     *
+     * @return      The sums, by stage & feature.
+     */
+    public double[][] getErrorSums()
+    {
+        return errorSums;
+    }
+
+    /**
+     * Return the sums of the square of the feature's value for each
+     * weight, once the task is done.
+     *
+     * @return      The sums, by stage & feature.
+     */
+    public double[][] getSquareSums()
+    {
+        return squareSums;
+    }
+
+    /**
+     * Return a sum of squared errors or a position count, once the task
+     * is done.
+     *
+     * @param   index   TRAINING_ERROR, TRAINING_COUNT, HELD_OUT_ERROR or
+     *                  HELD_OUT_COUNT.
+     * @return          The sum.
+     */
+    public double getLoss(int index)
+    {
+        return losses[index];
+    }
+
+    /**
+     * Sum the shards, splitting the range between two tasks if it is too
+     * large for one.
+     */
+    @Override
+    protected void compute()
+    {
+        // Sum a small range here.
+        if (lastShard - firstShard <= leafShardCount) {
+            errorSums = new double[PatternEvaluator.STAGE_COUNT][PatternEvaluator.FEATURE_COUNT];
+            squareSums = new double[PatternEvaluator.STAGE_COUNT][PatternEvaluator.FEATURE_COUNT];
+            for (int shard = firstShard; shard < lastShard; shard++) {
+                trainer.accumulate(shard, errorSums, squareSums, losses);
+            }
+            return;
+        }
+
+        // Sum each half of a large range in its own task, then merge the second half into the first.
+        int middleShard = (firstShard + lastShard) >>> 1;
+        TrainingTask first = new TrainingTask(trainer, firstShard, middleShard, leafShardCount);
+        TrainingTask second = new TrainingTask(trainer, middleShard, lastShard, leafShardCount);
+        invokeAll(first, second);
+
+        errorSums = first.errorSums;
+        squareSums = first.squareSums;
+        for (int stage = 0; stage < errorSums.length; stage++) {
+            for (int feature = 0; feature < errorSums[stage].length; feature++) {
+                errorSums[stage][feature] += second.errorSums[stage][feature];
+                squareSums[stage][feature] += second.squareSums[stage][feature];
+            }
+        }
+        for (int i = 0; i < losses.length; i++) {
+            losses[i] = first.losses[i] + second.losses[i];
+        }
+    }
+}
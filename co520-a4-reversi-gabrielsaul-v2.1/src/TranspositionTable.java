@@ -0,0 +1,234 @@
+import java.util.Arrays;
+
+/**
+ * Class:       TranspositionTable
+ * Category:    Game Logic, Data
+ * Summary:     This class represents a fixed-size table of search results, keyed by the Zobrist hash of a board
+ *              position, such that a position reached through different move orders is only searched once. Each
+ *              entry records the depth searched, the type of bound found, the score & the best move, packed into
+ *              a single long alongside the full hash in a second long. The table is allocated once, within a given
+ *              memory budget, so that no objects are created as it is used.
+ *
+ *              Entries are grouped into buckets of two: The first entry of a bucket keeps the deepest result for
+ *              the current search (depth-preferred), while the second is always replaced by results that would
+ *              not displace the first. Results left over from previous searches may always be replaced.
+ *
+ *              The table may be shared by several search threads without locking: Each hash is stored XOR'd with
+ *              its packed entry, so that an entry half-written by one thread while read by another fails to match
+ *              its hash and is treated as missing. At worst, a result is lost to another thread's write.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class TranspositionTable
+{
+    /* * * * * * * * * * * * Class Variables * * * * * * * * * * * */
+
+    // Bound types: The score is at most, at least or exactly the stored score.
+    public static final int UPPER_BOUND = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int EXACT = 3;
+
+    // The value returned by probe when there is no entry for a position.
+    public static final long NO_ENTRY = 0L;
+
+    // The move stored when there is no best move.
+    public static final int NO_MOVE = -1;
+
+    // The number of bytes used by each entry.
+    public static final int ENTRY_SIZE = 2 * Long.BYTES;
+
+    // The number of entries in each bucket.
+    private static final int BUCKET_SIZE = 2;
+
+    // The number of bytes in a megabyte.
+    private static final long MEGABYTE = 1L << 20;
+
+    // The bit positions & masks of each field in a packed entry.
+    private static final int MOVE_SHIFT = 32;
+    private static final int DEPTH_SHIFT = 48;
+    private static final int BOUND_SHIFT = 56;
+    private static final int GENERATION_SHIFT = 58;
+    private static final long MOVE_MASK = 0xFFFFL;
+    private static final long DEPTH_MASK = 0xFFL;
+    private static final long BOUND_MASK = 0x3L;
+    private static final long GENERATION_MASK = 0x3FL;
+
+    /* * * * * * * * * * * * Instance Variables * * * * * * * * * * * */
+
+    // The hash of the position stored in each entry, XOR'd with the packed entry.
+    private final long[] keys;
+
+    // The packed search result stored in each entry.
+    private final long[] entries;
+
+    // The mask selecting a bucket from a hash.
+    private final long bucketMask;
+
+    // The generation of the current search, which ages out earlier results.
+    private long generation;
+
+    /**
+     * (1) Constructor of TranspositionTable objects
+     *
+     * @param   megabytes   The memory budget for the table, in megabytes.
+     *
+     * @throws              IllegalArgumentException
+     */
+    public TranspositionTable(int megabytes) throws IllegalArgumentException
+    {
+        // Validate the memory budget.
+        long bucketCount = megabytes * MEGABYTE / (ENTRY_SIZE * BUCKET_SIZE);
+        if (megabytes <= 0 || bucketCount * BUCKET_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid memory budget passed to TranspositionTable constructor");
+        }
+
+        // Use the largest power of two number of buckets within the budget.
+        bucketCount = Long.highestOneBit(bucketCount);
+        bucketMask = bucketCount - 1;
+
+        keys = new long[(int) bucketCount * BUCKET_SIZE];
+        entries = new long[(int) bucketCount * BUCKET_SIZE];
+    }
+
+    /**
+     * Return the number of entries the table can hold.
+     *
+     * @return      The number of entries.
+     */
+    public int getCapacity()
+    {
+        return entries.length;
+    }
+
+    /**
+     * Start a new search, such that the results of earlier
+     * searches may be replaced. This is called before any
+     * thread sharing the table begins searching.
+     */
+    public void newSearch()
+    {
+        generation = (generation + 1) & GENERATION_MASK;
+    }
+
+    /**
+     * Remove every entry from the table.
+     */
+    public void clear()
+    {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(entries, NO_ENTRY);
+        generation = 0;
+    }
+
+    /**
+     * Return the packed entry stored for a given position hash.
+     *
+     * @param   hash    The position hash.
+     * @return          The packed entry, or NO_ENTRY if there is no
+     *                  entry for the position.
+     */
+    public long probe(long hash)
+    {
+        int i = (int) (hash & bucketMask) * BUCKET_SIZE;
+
+        // Read each entry once, as another thread may be writing to it.
+        for (int j = i; j < i + BUCKET_SIZE; j++) {
+            long entry = entries[j];
+            if ((keys[j] ^ entry) == hash && entry != NO_ENTRY) {
+                return entry;
+            }
+        }
+
+        return NO_ENTRY;
+    }
+
+    /**
+     * Store a search result for a given position hash.
+     *
+     * @param   hash    The position hash.
+     * @param   depth   The depth searched, from 0 to 255.
+     * @param   bound   The type of bound: UPPER_BOUND, LOWER_BOUND or EXACT.
+     * @param   score   The score found.
+     * @param   move    The square index of the best move, or NO_MOVE.
+     */
+    public void store(long hash, int depth, int bound, int score, int move)
+    {
+        int i = (int) (hash & bucketMask) * BUCKET_SIZE;
+
+        // Keep the first entry unless the result is for the same position, is as deep, or replaces an old search.
+        long first = entries[i];
+        if ((keys[i] ^ first) != hash && getDepth(first) > depth && getGeneration(first) == generation) {
+            i++;
+        }
+
+        // Keep the previous best move if the position has no best move this time.
+        long previous = entries[i];
+        if (move == NO_MOVE && (keys[i] ^ previous) == hash) {
+            move = getMove(previous);
+        }
+
+        long entry = (score & 0xFFFFFFFFL)
+            | (((long) move + 1) & MOVE_MASK) << MOVE_SHIFT
+            | (Math.min(depth, (int) DEPTH_MASK) & DEPTH_MASK) << DEPTH_SHIFT
+            | (bound & BOUND_MASK) << BOUND_SHIFT
+            | generation << GENERATION_SHIFT;
+        keys[i] = hash ^ entry;
+        entries[i] = entry;
+    }
+
+    /**
+     * Return the score of a packed entry.
+     *
+     * @param   entry   The packed entry.
+     * @return          The score.
+     */
+    public static int getScore(long entry)
+    {
+        return (int) entry;
+    }
+
+    /**
+     * Return the best move of a packed entry.
+     *
+     * @param   entry   The packed entry.
+     * @return          The square index of the best move, or NO_MOVE.
+     */
+    public static int getMove(long entry)
+    {
+        return (int) ((entry >>> MOVE_SHIFT) & MOVE_MASK) - 1;
+    }
+
+    /**
+     * Return the depth searched of a packed entry.
+     *
+     * @param   entry   The packed entry.
+     * @return          The depth searched.
+     */
+    public static int getDepth(long entry)
+    {
+        return (int) ((entry >>> DEPTH_SHIFT) & DEPTH_MASK);
+    }
+
+    /**
+     * Return the type of bound of a packed entry.
+     *
+     * @param   entry   The packed entry.
+     * @return          UPPER_BOUND, LOWER_BOUND or EXACT.
+     */
+    public static int getBound(long entry)
+    {
+        return (int) ((entry >>> BOUND_SHIFT) & BOUND_MASK);
+    }
+
+    /**
+     * Return the search generation of a packed entry.
+     *
+     * @param   entry   The packed entry.
+     * @return          The search generation.
+     */
+    private static long getGeneration(long entry)
+    {
+        return (entry >>> GENERATION_SHIFT) & GENERATION_MASK;
+    }
+}
@@ -0,0 +1,100 @@
+import java.io.Serializable;
+
+/**
+ * Class:       UndoRecord
+ * Category:    Game Logic, Data
+ * Implements:  Serializable
+ * Summary:     This class represents the information needed to take back a move made on a Board: The square index
+ *              & player ID of the move, the square indices flipped by the move along with the player IDs they held
+ *              beforehand, and the scores, hash & player to move before the move. UndoRecord objects are owned by
+ *              the undo stack of the Board that made the move, and are reused once that move has been taken back.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class UndoRecord implements Serializable
+{
+    // The square index of the move.
+    int index;
+
+    // The player ID that made the move.
+    int pid;
+
+    // The flipped square indices & the player IDs they held before the move.
+    int[] flips;
+    int[] flippedPIDs;
+    int flipCount;
+
+    // The player scores before the move, indexed by player ID - 1.
+    int[] scores;
+
+    // The position hash & the player ID to move before the move.
+    long hash;
+    int turn;
+
+    /**
+     * (1) Constructor of UndoRecord objects
+     *
+     * @param   squareCount     The number of squares on the board.
+     * @param   playerCount     The number of players on the board.
+     */
+    public UndoRecord(int squareCount, int playerCount)
+    {
+        flips = new int[squareCount];
+        flippedPIDs = new int[squareCount];
+        scores = new int[playerCount];
+    }
+
+    /**
+     * Return the square index of the move.
+     *
+     * @return      The square index (y * size + x).
+     */
+    public int getIndex()
+    {
+        return index;
+    }
+
+    /**
+     * Return the player ID that made the move.
+     *
+     * @return      The player ID.
+     */
+    public int getPID()
+    {
+        return pid;
+    }
+
+    /**
+     * Return the number of squares flipped by the move.
+     *
+     * @return      The number of flipped squares.
+     */
+    public int getFlipCount()
+    {
+        return flipCount;
+    }
+
+    /**
+     * Return the square index of a square flipped by the move.
+     *
+     * @param   i   The position of the flipped square in the record,
+     *              from 0 up to the flip count.
+     * @return      The square index of the flipped square.
+     */
+    public int getFlip(int i)
+    {
+        return flips[i];
+    }
+
+    /**
+     * Return the score of a given player ID before the move.
+     *
+     * @param   pid     The given player ID.
+     * @return          The score before the move.
+     */
+    public int getPreviousScore(int pid)
+    {
+        return scores[pid - 1];
+    }
+}
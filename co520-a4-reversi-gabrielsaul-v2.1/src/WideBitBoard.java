@@ -0,0 +1,528 @@
+/**
+ * Class:       WideBitBoard
+ * Category:    Game Logic, Data
+ * Implements:  BoardModel
+ * Summary:     This class represents the state of a board of any size from 2 × 2 up to 11 × 11 for a two-player game of
+ *              Reversi as a pair of 128-bit masks, one for each player ID, where bit (y * size + x) is set if the
+ *              player occupies the square at (x, y). Each 128-bit mask is stored as a low & a high 64-bit word.
+ *              Legal moves & flanked squares are calculated in the same manner as a BitBoard, by shifting both
+ *              words in each of the eight directions & masking off any bits that would wrap around an edge of
+ *              the board. The edge masks for every supported size are precomputed when the class is loaded.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class WideBitBoard implements BoardModel
+{
+    /* * * * * * * * * * * * Class Variables * * * * * * * * * * * */
+
+    // The minimum & maximum sizes of the board represented.
+    public static final int MIN_SIZE = 2;
+    public static final int MAX_SIZE = 11;
+
+    // The number of players represented.
+    public static final int PLAYER_COUNT = 2;
+
+    // The number of directions.
+    private static final int DIRECTION_COUNT = 8;
+
+    // The post-shift masks for each size & direction (E, W, S, N, SE, SW, NE, NW), split into low & high words.
+    private static final long[][] MASKS_LO = new long[MAX_SIZE + 1][DIRECTION_COUNT];
+    private static final long[][] MASKS_HI = new long[MAX_SIZE + 1][DIRECTION_COUNT];
+
+    // The full board masks for each size, split into low & high words.
+    private static final long[] BOARD_LO = new long[MAX_SIZE + 1];
+    private static final long[] BOARD_HI = new long[MAX_SIZE + 1];
+
+    static {
+        for (int size = MIN_SIZE; size <= MAX_SIZE; size++) {
+            createMasks(size);
+        }
+    }
+
+    /* * * * * * * * * * * * Instance Variables * * * * * * * * * * * */
+
+    // The size of the board.
+    private final int size;
+
+    // The shift for each direction.
+    private final int[] shifts;
+
+    // The disk masks, indexed by player ID - 1.
+    private long[] disksLo;
+    private long[] disksHi;
+
+    // The legal move masks, indexed by player ID - 1.
+    private long[] legalMovesLo;
+    private long[] legalMovesHi;
+
+    // Whether or not each legal move mask reflects the current disks.
+    private boolean[] legalMovesValid;
+
+    // The flanked square mask from the most recent flip calculation.
+    private long flipsLo;
+    private long flipsHi;
+
+    /**
+     * (1) Constructor of WideBitBoard objects: Initially empty.
+     *
+     * @param   size    The size of the board.
+     *
+     * @throws          IllegalArgumentException
+     */
+    public WideBitBoard(int size) throws IllegalArgumentException
+    {
+        // Validate size argument.
+        if (size < MIN_SIZE || size > MAX_SIZE) {
+            throw new IllegalArgumentException("Invalid size passed to WideBitBoard constructor");
+        }
+
+        this.size = size;
+        shifts = new int[] { 1, -1, size, -size, size + 1, size - 1, -(size - 1), -(size + 1) };
+
+        disksLo = new long[PLAYER_COUNT];
+        disksHi = new long[PLAYER_COUNT];
+        legalMovesLo = new long[PLAYER_COUNT];
+        legalMovesHi = new long[PLAYER_COUNT];
+        legalMovesValid = new boolean[PLAYER_COUNT];
+    }
+
+    /**
+     * Create the board & edge masks for a given size.
+     *
+     * @param   size    The given size.
+     */
+    private static void createMasks(int size)
+    {
+        long[] notWest = new long[2], notEast = new long[2];
+
+        // Set the bit for every square, excluding the west & east edges where needed.
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                int index = y * size + x;
+                long bit = 1L << (index & 63);
+
+                if ((index >>> 6) == 0) {
+                    BOARD_LO[size] |= bit;
+                }
+                else {
+                    BOARD_HI[size] |= bit;
+                }
+
+                if (x > 0) {
+                    notWest[index >>> 6] |= bit;
+                }
+                if (x < size - 1) {
+                    notEast[index >>> 6] |= bit;
+                }
+            }
+        }
+
+        // Assign the mask for each direction: Eastward shifts can wrap onto the west edge & vice versa.
+        long[][] masks = { notWest, notEast, { BOARD_LO[size], BOARD_HI[size] }, { BOARD_LO[size], BOARD_HI[size] },
+                           notWest, notEast, notWest, notEast };
+        for (int dir = 0; dir < DIRECTION_COUNT; dir++) {
+            MASKS_LO[size][dir] = masks[dir][0];
+            MASKS_HI[size][dir] = masks[dir][1];
+        }
+    }
+
+    /**
+     * Return the size of the board.
+     *
+     * @return      The size of the board.
+     */
+    public int getSize()
+    {
+        return size;
+    }
+
+    /**
+     * Return the player ID held at a given square index,
+     * or 0 if the square is empty.
+     *
+     * @param   index   The square index (y * size + x).
+     * @return          The player ID held at the square.
+     */
+    @Override
+    public int getPID(int index)
+    {
+        long[] disks = ((index >>> 6) == 0) ? disksLo : disksHi;
+        long bit = 1L << (index & 63);
+
+        for (int i = 0; i < PLAYER_COUNT; i++) {
+            if ((disks[i] & bit) != 0) {
+                return i + 1;
+            }
+        }
+
+        return 0;
+    }
+
+    /**
+     * Place a given player ID at a given square index without
+     * flanking, for setting up the initial board.
+     *
+     * @param   index   The square index (y * size + x).
+     * @param   pid     The player ID to place.
+     */
+    @Override
+    public void setPID(int index, int pid)
+    {
+        long[] disks = ((index >>> 6) == 0) ? disksLo : disksHi;
+        long bit = 1L << (index & 63);
+
+        // Clear the square, then fill it.
+        for (int i = 0; i < PLAYER_COUNT; i++) {
+            disks[i] &= ~bit;
+        }
+        disks[pid - 1] |= bit;
+
+        invalidateLegalMoves();
+    }
+
+    /**
+     * Return the number of disks held by a given player ID.
+     *
+     * @param   pid     The given player ID.
+     * @return          The number of disks held by the player ID.
+     */
+    @Override
+    public int getScore(int pid)
+    {
+        return Long.bitCount(disksLo[pid - 1]) + Long.bitCount(disksHi[pid - 1]);
+    }
+
+    /**
+     * Check if a move is legal at a given square index by a
+     * given player ID.
+     *
+     * @param   index   The square index (y * size + x).
+     * @param   pid     The given player ID.
+     * @return          True if the move is legal, else false.
+     */
+    @Override
+    public boolean isMoveLegal(int index, int pid)
+    {
+        updateLegalMoves(pid);
+
+        long legalMoves = ((index >>> 6) == 0) ? legalMovesLo[pid - 1] : legalMovesHi[pid - 1];
+        return (legalMoves & (1L << (index & 63))) != 0;
+    }
+
+    /**
+     * Check if a given player ID currently has a legal move.
+     *
+     * @param   pid     The given player ID.
+     * @return          True if the player ID has a legal move,
+     *                  else false.
+     */
+    @Override
+    public boolean hasLegalMove(int pid)
+    {
+        updateLegalMoves(pid);
+
+        return (legalMovesLo[pid - 1] | legalMovesHi[pid - 1]) != 0;
+    }
+
+    /**
+     * Write the square index of every legal move for a given
+     * player ID into a given buffer.
+     *
+     * @param   pid     The given player ID.
+     * @param   moves   The buffer, with room for every square.
+     * @return          The number of legal moves written.
+     */
+    @Override
+    public int getLegalMoves(int pid, int[] moves)
+    {
+        updateLegalMoves(pid);
+
+        return toIndices(legalMovesLo[pid - 1], legalMovesHi[pid - 1], moves);
+    }
+
+    /**
+     * Return the number of legal moves for a given player ID.
+     *
+     * @param   pid     The given player ID.
+     * @return          The number of legal moves.
+     */
+    @Override
+    public int getLegalMoveCount(int pid)
+    {
+        updateLegalMoves(pid);
+
+        return Long.bitCount(legalMovesLo[pid - 1]) + Long.bitCount(legalMovesHi[pid - 1]);
+    }
+
+    /**
+     * Write the square index of every square flanked by a move at
+     * a given square index by a given player ID into a given buffer.
+     *
+     * @param   index   The square index (y * size + x).
+     * @param   pid     The given player ID.
+     * @param   flips   The buffer, with room for every square.
+     * @return          The number of flanked squares written, or 0
+     *                  if the move is not legal.
+     */
+    @Override
+    public int getFlips(int index, int pid, int[] flips)
+    {
+        long occupied = ((index >>> 6) == 0) ? (disksLo[0] | disksLo[1]) : (disksHi[0] | disksHi[1]);
+        if ((occupied & (1L << (index & 63))) != 0) {
+            return 0;
+        }
+
+        computeFlips(index, pid);
+        return toIndices(flipsLo, flipsHi, flips);
+    }
+
+    /**
+     * Make a move at a given square index by a given player ID, which is
+     * asserted to be legal, writing the flipped square indices & the
+     * player IDs they held into given buffers.
+     *
+     * @param   index           The square index (y * size + x).
+     * @param   pid             The player ID.
+     * @param   flips           The buffer, with room for every square.
+     * @param   flippedPIDs     The buffer, with room for every square.
+     * @return                  The number of flipped squares written.
+     */
+    @Override
+    public int makeMove(int index, int pid, int[] flips, int[] flippedPIDs)
+    {
+        computeFlips(index, pid);
+
+        // Place the disk.
+        if ((index >>> 6) == 0) {
+            disksLo[pid - 1] |= 1L << index;
+        }
+        else {
+            disksHi[pid - 1] |= 1L << (index & 63);
+        }
+
+        // Flip the flanked disks.
+        disksLo[pid - 1] |= flipsLo;
+        disksHi[pid - 1] |= flipsHi;
+        disksLo[PLAYER_COUNT - pid] &= ~flipsLo;
+        disksHi[PLAYER_COUNT - pid] &= ~flipsHi;
+
+        invalidateLegalMoves();
+
+        int flipCount = toIndices(flipsLo, flipsHi, flips);
+        for (int i = 0; i < flipCount; i++) {
+            flippedPIDs[i] = PLAYER_COUNT + 1 - pid;
+        }
+
+        return flipCount;
+    }
+
+    /**
+     * Take back a move at a given square index by a given player ID,
+     * which is asserted to be the most recent move made, restoring
+     * the given flipped squares to the opponent.
+     *
+     * @param   index           The square index (y * size + x).
+     * @param   pid             The player ID that made the move.
+     * @param   flips           The square indices flipped by the move.
+     * @param   flippedPIDs     The player IDs held by the flipped squares,
+     *                          which are always the opponent's.
+     * @param   flipCount       The number of flipped squares.
+     */
+    @Override
+    public void unmakeMove(int index, int pid, int[] flips, int[] flippedPIDs, int flipCount)
+    {
+        long flipMaskLo = 0, flipMaskHi = 0;
+        for (int i = 0; i < flipCount; i++) {
+            if ((flips[i] >>> 6) == 0) {
+                flipMaskLo |= 1L << flips[i];
+            }
+            else {
+                flipMaskHi |= 1L << (flips[i] & 63);
+            }
+        }
+
+        // Empty the square.
+        if ((index >>> 6) == 0) {
+            disksLo[pid - 1] &= ~(1L << index);
+        }
+        else {
+            disksHi[pid - 1] &= ~(1L << (index & 63));
+        }
+
+        // Return the flipped disks.
+        disksLo[pid - 1] &= ~flipMaskLo;
+        disksHi[pid - 1] &= ~flipMaskHi;
+        disksLo[PLAYER_COUNT - pid] |= flipMaskLo;
+        disksHi[PLAYER_COUNT - pid] |= flipMaskHi;
+
+        invalidateLegalMoves();
+    }
+
+    /**
+     * Check if every square on the board is filled.
+     *
+     * @return      True if the board is full, else false.
+     */
+    @Override
+    public boolean isFull()
+    {
+        return (disksLo[0] | disksLo[1]) == BOARD_LO[size] && (disksHi[0] | disksHi[1]) == BOARD_HI[size];
+    }
+
+    /**
+     * Return an independent copy of the bitboard.
+     *
+     * @return      The copy of the bitboard.
+     */
+    @Override
+    public WideBitBoard copy()
+    {
+        WideBitBoard copy = new WideBitBoard(size);
+        System.arraycopy(disksLo, 0, copy.disksLo, 0, PLAYER_COUNT);
+        System.arraycopy(disksHi, 0, copy.disksHi, 0, PLAYER_COUNT);
+
+        return copy;
+    }
+
+    /**
+     * Mark every legal move mask as out of date.
+     */
+    private void invalidateLegalMoves()
+    {
+        for (int i = 0; i < PLAYER_COUNT; i++) {
+            legalMovesValid[i] = false;
+        }
+    }
+
+    /**
+     * Calculate the legal move mask for a given player ID, if the
+     * disks have changed since it was last calculated.
+     *
+     * @param   pid     The given player ID.
+     */
+    private void updateLegalMoves(int pid)
+    {
+        if (legalMovesValid[pid - 1]) {
+            return;
+        }
+
+        long playerLo = disksLo[pid - 1], playerHi = disksHi[pid - 1];
+        long opponentLo = disksLo[PLAYER_COUNT - pid], opponentHi = disksHi[PLAYER_COUNT - pid];
+        long emptyLo = BOARD_LO[size] & ~(playerLo | opponentLo), emptyHi = BOARD_HI[size] & ~(playerHi | opponentHi);
+        long movesLo = 0, movesHi = 0;
+
+        for (int dir = 0; dir < DIRECTION_COUNT; dir++) {
+            // Collect runs of opponent disks adjacent to the player's disks.
+            long runLo = shiftLo(playerLo, playerHi, dir) & opponentLo;
+            long runHi = shiftHi(playerLo, playerHi, dir) & opponentHi;
+            for (int i = 0; i < size - 3; i++) {
+                long nextLo = shiftLo(runLo, runHi, dir) & opponentLo;
+                long nextHi = shiftHi(runLo, runHi, dir) & opponentHi;
+                runLo |= nextLo;
+                runHi |= nextHi;
+            }
+
+            // Any empty square at the end of a run is a legal move.
+            movesLo |= shiftLo(runLo, runHi, dir) & emptyLo;
+            movesHi |= shiftHi(runLo, runHi, dir) & emptyHi;
+        }
+
+        legalMovesLo[pid - 1] = movesLo;
+        legalMovesHi[pid - 1] = movesHi;
+        legalMovesValid[pid - 1] = true;
+    }
+
+    /**
+     * Calculate the mask of squares flanked by a move at a given square
+     * index by a given player ID, storing it as the flip mask. The square
+     * is asserted to be empty.
+     *
+     * @param   index   The square index (y * size + x).
+     * @param   pid     The given player ID.
+     */
+    private void computeFlips(int index, int pid)
+    {
+        long playerLo = disksLo[pid - 1], playerHi = disksHi[pid - 1];
+        long opponentLo = disksLo[PLAYER_COUNT - pid], opponentHi = disksHi[PLAYER_COUNT - pid];
+        long moveLo = ((index >>> 6) == 0) ? (1L << index) : 0, moveHi = ((index >>> 6) == 0) ? 0 : (1L << (index & 63));
+
+        flipsLo = flipsHi = 0;
+        for (int dir = 0; dir < DIRECTION_COUNT; dir++) {
+            // Follow the run of opponent disks in this direction.
+            long runLo = 0, runHi = 0;
+            long nextLo = shiftLo(moveLo, moveHi, dir), nextHi = shiftHi(moveLo, moveHi, dir);
+            while ((nextLo & opponentLo) != 0 || (nextHi & opponentHi) != 0) {
+                runLo |= nextLo;
+                runHi |= nextHi;
+
+                long shiftedLo = shiftLo(nextLo, nextHi, dir);
+                nextHi = shiftHi(nextLo, nextHi, dir);
+                nextLo = shiftedLo;
+            }
+
+            // The run is flanked if it ends at one of the player's disks.
+            if ((nextLo & playerLo) != 0 || (nextHi & playerHi) != 0) {
+                flipsLo |= runLo;
+                flipsHi |= runHi;
+            }
+        }
+    }
+
+    /**
+     * Return the low word of a 128-bit mask shifted one square in
+     * a given direction, removing any bits which leave the board.
+     *
+     * @param   lo      The low word of the mask.
+     * @param   hi      The high word of the mask.
+     * @param   dir     The direction index.
+     * @return          The low word of the shifted mask.
+     */
+    private long shiftLo(long lo, long hi, int dir)
+    {
+        int shift = shifts[dir];
+        long shifted = (shift > 0) ? (lo << shift) : ((lo >>> -shift) | (hi << (64 + shift)));
+
+        return shifted & MASKS_LO[size][dir];
+    }
+
+    /**
+     * Return the high word of a 128-bit mask shifted one square in
+     * a given direction, removing any bits which leave the board.
+     *
+     * @param   lo      The low word of the mask.
+     * @param   hi      The high word of the mask.
+     * @param   dir     The direction index.
+     * @return          The high word of the shifted mask.
+     */
+    private long shiftHi(long lo, long hi, int dir)
+    {
+        int shift = shifts[dir];
+        long shifted = (shift > 0) ? ((hi << shift) | (lo >>> (64 - shift))) : (hi >>> -shift);
+
+        return shifted & MASKS_HI[size][dir];
+    }
+
+    /**
+     * Write the index of every bit set in a 128-bit mask into a
+     * given buffer.
+     *
+     * @param   lo          The low word of the mask.
+     * @param   hi          The high word of the mask.
+     * @param   indices     The buffer.
+     * @return              The number of indices written.
+     */
+    private static int toIndices(long lo, long hi, int[] indices)
+    {
+        int count = 0;
+
+        for (; lo != 0; lo &= lo - 1) {
+            indices[count++] = Long.numberOfTrailingZeros(lo);
+        }
+        for (; hi != 0; hi &= hi - 1) {
+            indices[count++] = 64 + Long.numberOfTrailingZeros(hi);
+        }
+
+        return count;
+    }
+}
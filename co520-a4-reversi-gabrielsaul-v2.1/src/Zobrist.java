@@ -0,0 +1,95 @@
+/**
+ * Class:       Zobrist
+ * Category:    Game Logic
+ * Summary:     This class provides the random 64-bit keys used to hash board positions: One key for each square
+ *              index & player ID pair, and one key for each player ID to move. The hash of a position is the XOR
+ *              of the keys for every filled square and the key for the player to move, so that it can be updated
+ *              by XOR as disks are placed & flipped. Keys are derived from a fixed seed, such that a position has
+ *              the same hash in every session.
+ *
+ * @author  Gabriel Doyle-Finch
+ * @version 2026.10.18
+ */
+public class Zobrist
+{
+    /* * * * * * * * * * * * Class Variables * * * * * * * * * * * */
+
+    // The number of square indices & player IDs covered by the precomputed key table.
+    private static final int TABLE_SQUARES = 128;
+    private static final int TABLE_PIDS = 8;
+
+    // The seed from which every key is derived.
+    private static final long SEED = 0x52455645525349L;
+
+    // The offset separating the turn keys from the square keys.
+    private static final long TURN_KEY_OFFSET = 1L << 32;
+
+    // The precomputed square keys, indexed by (square index * TABLE_PIDS + player ID).
+    private static final long[] SQUARE_KEYS = new long[TABLE_SQUARES * TABLE_PIDS];
+
+    // The precomputed turn keys, indexed by player ID.
+    private static final long[] TURN_KEYS = new long[TABLE_PIDS];
+
+    static {
+        for (int i = 0; i < SQUARE_KEYS.length; i++) {
+            SQUARE_KEYS[i] = mix(i);
+        }
+        for (int pid = 0; pid < TABLE_PIDS; pid++) {
+            TURN_KEYS[pid] = mix(TURN_KEY_OFFSET + pid);
+        }
+    }
+
+    /**
+     * (1) Constructor of Zobrist objects: Not used, as the class
+     *     only provides keys.
+     */
+    private Zobrist()
+    {
+    }
+
+    /**
+     * Return the key for a given player ID occupying a given square index.
+     *
+     * @param   index   The square index (y * size + x).
+     * @param   pid     The player ID.
+     * @return          The key for the square & player ID.
+     */
+    public static long getSquareKey(int index, int pid)
+    {
+        if (index < TABLE_SQUARES && pid < TABLE_PIDS) {
+            return SQUARE_KEYS[index * TABLE_PIDS + pid];
+        }
+
+        return mix((long) index * TABLE_PIDS + pid);
+    }
+
+    /**
+     * Return the key for a given player ID to move.
+     *
+     * @param   pid     The player ID.
+     * @return          The key for the player ID to move.
+     */
+    public static long getTurnKey(int pid)
+    {
+        if (pid < TABLE_PIDS) {
+            return TURN_KEYS[pid];
+        }
+
+        return mix(TURN_KEY_OFFSET + pid);
+    }
+
+    /**
+     * Derive a well-distributed key from a given value (SplitMix64).
+     *
+     * @param   value   The given value.
+     * @return          The derived key.
+     */
+    private static long mix(long value)
+    {
+        long z = SEED + (value + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+
+        return z ^ (z >>> 31);
+    }
+}